@@ -0,0 +1,53 @@
+package com.ledgercore.benchmarks;
+
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.domain.model.*;
+import com.ledgercore.domain.policy.BalancePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BalancePolicy.apply on its three outcomes: accepted, accepted into overdraft, rejected.
+ * The rejected path includes building and throwing InsufficientFundsException.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BalancePolicyBenchmark {
+
+    private final BalancePolicy policy = new BalancePolicy();
+    private final Account strict = new Account(UUID.randomUUID(), AccountStatus.OPEN, false);
+    private final Account overdraft = new Account(UUID.randomUUID(), AccountStatus.OPEN, true);
+    private final Money amount = Money.ofMinor(500, Currency.of("EUR"));
+    private long balance = 1_000;
+    private long emptyBalance = 0;
+
+    @Benchmark
+    public long debitWithinBalance() {
+        return policy.apply(strict, balance, EntryDirection.DEBIT, amount);
+    }
+
+    @Benchmark
+    public long credit() {
+        return policy.apply(strict, balance, EntryDirection.CREDIT, amount);
+    }
+
+    @Benchmark
+    public long debitIntoOverdraft() {
+        return policy.apply(overdraft, emptyBalance, EntryDirection.DEBIT, amount);
+    }
+
+    @Benchmark
+    public Object debitRejected() {
+        try {
+            return policy.apply(strict, emptyBalance, EntryDirection.DEBIT, amount);
+        } catch (InsufficientFundsException e) {
+            return e;
+        }
+    }
+}
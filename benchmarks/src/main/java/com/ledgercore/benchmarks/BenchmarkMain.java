@@ -0,0 +1,54 @@
+package com.ledgercore.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point of benchmarks.jar: plain JMH command line, plus our defaults.
+ *
+ * - GC profiler always on: gc.alloc.rate.norm is the bytes allocated per operation
+ *   (per transfer for TransferHandlerBenchmark).
+ * - JSON results in benchmarks/target/jmh-result.json unless -rf / -rff say otherwise, whatever
+ *   the working directory: the path is resolved next to benchmarks.jar (or target/classes when
+ *   run from an IDE). Compare two runs with any JMH result viewer.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(defaultResultFile().toString());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * benchmarks/target/jmh-result.json, created if missing (JMH fails with "Can not touch the
+     * result file" when the directory does not exist).
+     */
+    static Path defaultResultFile() throws IOException, URISyntaxException {
+        // benchmarks/target/benchmarks.jar or benchmarks/target/classes: either way, its parent is target/.
+        Path codeSource = Path.of(BenchmarkMain.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path target = codeSource.toAbsolutePath().getParent();
+        Files.createDirectories(target);
+        return target.resolve("jmh-result.json");
+    }
+}
@@ -0,0 +1,62 @@
+package com.ledgercore.benchmarks;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction cost of the value types every transfer creates.
+ *
+ * Currency.of returns a shared instance (a map lookup after the first call); moneyWithNewCurrency vs
+ * moneyWithCachedCurrency shows what is left of that lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DomainBenchmark {
+
+    private static final Currency EUR = Currency.of("EUR");
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final Instant now = Instant.now();
+    private String code = "EUR";
+    private long amount = 12_345;
+
+    @Benchmark
+    public Currency currencyOf() {
+        return Currency.of(code);
+    }
+
+    @Benchmark
+    public Money moneyWithNewCurrency() {
+        return Money.ofMinor(amount, Currency.of(code));
+    }
+
+    @Benchmark
+    public Money moneyWithCachedCurrency() {
+        return Money.ofMinor(amount, EUR);
+    }
+
+    @Benchmark
+    public TransferCommand transferCommand() {
+        return new TransferCommand(a, a, b, Money.ofMinor(amount, EUR), "bench");
+    }
+
+    @Benchmark
+    public LedgerEntry ledgerEntry() {
+        return new LedgerEntry(a, b, a, amount, EntryDirection.DEBIT, Money.ofMinor(amount, EUR), now);
+    }
+
+    @Benchmark
+    public Transfer transfer() {
+        return new Transfer(a, b, a, b, Money.ofMinor(amount, EUR), now);
+    }
+}
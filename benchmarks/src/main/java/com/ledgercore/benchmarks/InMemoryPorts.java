@@ -0,0 +1,283 @@
+package com.ledgercore.benchmarks;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.*;
+import com.ledgercore.domain.model.Account;
+import com.ledgercore.domain.model.LedgerEntry;
+import com.ledgercore.domain.model.Transfer;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Single-threaded in-memory port implementations, just enough to drive the handlers.
+ *
+ * IMPORTANT:
+ * - Write-only ports (transfers, entries, outbox, commands) count and forget: a benchmark iteration
+ *   runs millions of transfers, and retaining them would measure the heap, not the handler.
+ *   The command store therefore treats every commandId as new.
+ * - Sequences, snapshots and stripes are kept (bounded by the number of accounts).
+ */
+final class InMemoryPorts {
+
+    private InMemoryPorts() {
+    }
+
+    static final class Accounts implements AccountRepository {
+
+        private final Map<UUID, Account> accounts = new HashMap<>();
+
+        void add(Account account) {
+            accounts.put(account.id(), account);
+        }
+
+        @Override
+        public Optional<Account> findById(UUID accountId) {
+            return Optional.ofNullable(accounts.get(accountId));
+        }
+
+        @Override
+        public Map<UUID, Account> findAllById(Collection<UUID> accountIds) {
+            Map<UUID, Account> found = new HashMap<>();
+            for (UUID accountId : accountIds) {
+                Account account = accounts.get(accountId);
+                if (account != null) {
+                    found.put(accountId, account);
+                }
+            }
+            return found;
+        }
+    }
+
+    static final class Sequences implements AccountSequenceStore {
+
+        private final Map<UUID, Long> next = new HashMap<>();
+
+        void add(UUID accountId) {
+            next.put(accountId, 1L);
+        }
+
+        @Override
+        public SequenceLock nextSequenceForUpdate(UUID accountId) {
+            Long sequence = next.get(accountId);
+            if (sequence == null) {
+                throw new IllegalStateException("Missing or striped account_sequences row for account_id=" + accountId);
+            }
+            next.put(accountId, sequence + 1);
+            return new SequenceLock(sequence, 0);
+        }
+
+        @Override
+        public Map<UUID, SequenceLock> reserveNextSequences(Collection<UUID> accountIds) {
+            Map<UUID, SequenceLock> reserved = new HashMap<>();
+            for (UUID accountId : accountIds) {
+                reserved.put(accountId, nextSequenceForUpdate(accountId));
+            }
+            return reserved;
+        }
+
+        @Override
+        public Map<UUID, SequenceLock> lockNextSequences(Collection<UUID> accountIds) {
+            Map<UUID, SequenceLock> locked = new HashMap<>();
+            for (UUID accountId : accountIds) {
+                Long sequence = next.get(accountId);
+                if (sequence != null) {
+                    locked.put(accountId, new SequenceLock(sequence, 0));
+                }
+            }
+            return locked;
+        }
+
+        @Override
+        public void updateNextSequences(Map<UUID, Long> nextSequences) {
+            next.putAll(nextSequences);
+        }
+    }
+
+    static final class Stripes implements AccountStripeStore {
+
+        private final Map<UUID, Stripe[]> stripes = new HashMap<>();
+
+        void add(UUID accountId, int count) {
+            Stripe[] all = new Stripe[count];
+            for (int s = 0; s < count; s++) {
+                all[s] = new Stripe(accountId, s, 1 + s, 0, 0);
+            }
+            stripes.put(accountId, all);
+        }
+
+        @Override
+        public Reservation reserveForCredit(UUID accountId, int stripe) {
+            return reserve(accountId, stripe);
+        }
+
+        @Override
+        public Reservation reserveForDebit(UUID accountId, int stripe) {
+            return reserve(accountId, stripe);
+        }
+
+        @Override
+        public void applyDelta(UUID accountId, int stripe, long asOfSequence, long deltaMinor) {
+            Stripe[] all = stripes.get(accountId);
+            Stripe current = all[stripe];
+            all[stripe] = new Stripe(accountId, stripe, current.nextSequence(), asOfSequence, current.balanceMinor() + deltaMinor);
+        }
+
+        @Override
+        public Map<UUID, List<Stripe>> findStripes(Collection<UUID> accountIds) {
+            Map<UUID, List<Stripe>> found = new HashMap<>();
+            for (UUID accountId : accountIds) {
+                Stripe[] all = stripes.get(accountId);
+                if (all != null) {
+                    found.put(accountId, List.of(all));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void updateStripes(List<Stripe> updated) {
+            for (Stripe stripe : updated) {
+                stripes.get(stripe.accountId())[stripe.stripe()] = stripe;
+            }
+        }
+
+        private Reservation reserve(UUID accountId, int stripe) {
+            Stripe[] all = stripes.get(accountId);
+            Stripe current = all[stripe];
+            long total = 0;
+            for (Stripe s : all) {
+                total += s.balanceMinor();
+            }
+            all[stripe] = new Stripe(accountId, stripe, current.nextSequence() + all.length,
+                    current.asOfSequence(), current.balanceMinor());
+            return new Reservation(stripe, current.nextSequence(), total, 0);
+        }
+    }
+
+    static final class Snapshots implements SnapshotRepository {
+
+        private final Map<UUID, Long> balances = new HashMap<>();
+
+        @Override
+        public long currentBalanceMinor(UUID accountId) {
+            return balances.getOrDefault(accountId, 0L);
+        }
+
+        @Override
+        public void upsert(UUID accountId, long asOfSequence, long balanceMinor) {
+            balances.put(accountId, balanceMinor);
+        }
+
+        @Override
+        public Map<UUID, Long> currentBalancesMinor(Collection<UUID> accountIds) {
+            Map<UUID, Long> found = new HashMap<>();
+            for (UUID accountId : accountIds) {
+                Long balance = balances.get(accountId);
+                if (balance != null) {
+                    found.put(accountId, balance);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void upsertAll(List<Snapshot> snapshots) {
+            for (Snapshot snapshot : snapshots) {
+                balances.put(snapshot.accountId(), snapshot.balanceMinor());
+            }
+        }
+    }
+
+    static final class Commands implements CommandStore {
+
+        long claimed;
+        long applied;
+
+        @Override
+        public boolean tryInsertReceived(UUID commandId, String commandType, String correlationId, Instant now) {
+            claimed++;
+            return true;
+        }
+
+        @Override
+        public void markApplied(UUID commandId, Instant appliedAt) {
+            applied++;
+        }
+
+        @Override
+        public Optional<UUID> findTransferIdByCommandId(UUID commandId) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Set<UUID> tryInsertAllReceived(List<TransferCommand> commands, String commandType, Instant now) {
+            Set<UUID> inserted = new HashSet<>();
+            for (TransferCommand command : commands) {
+                inserted.add(command.commandId());
+            }
+            claimed += inserted.size();
+            return inserted;
+        }
+
+        @Override
+        public void markAllApplied(Collection<UUID> commandIds, Instant appliedAt) {
+            applied += commandIds.size();
+        }
+
+        @Override
+        public Map<UUID, UUID> findTransferIdsByCommandIds(Collection<UUID> commandIds) {
+            return Map.of();
+        }
+
+        @Override
+        public void deleteReceived(Collection<UUID> commandIds) {
+        }
+    }
+
+    static final class Transfers implements TransferRepository {
+
+        long inserted;
+
+        @Override
+        public void insert(Transfer transfer) {
+            inserted++;
+        }
+
+        @Override
+        public void insertAll(List<Transfer> transfers) {
+            inserted += transfers.size();
+        }
+    }
+
+    static final class Entries implements LedgerRepository {
+
+        long inserted;
+
+        @Override
+        public void insertTransferEntries(Transfer transfer, UUID debitEntryId, long debitSequence,
+                                          UUID creditEntryId, long creditSequence) {
+            inserted += 2;
+        }
+
+        @Override
+        public void insertAll(List<LedgerEntry> entries) {
+            inserted += entries.size();
+        }
+    }
+
+    static final class Outbox implements OutboxRepository {
+
+        long inserted;
+
+        @Override
+        public void insertTransferCompleted(UUID eventId, UUID transferId, UUID commandId, String correlationId) {
+            inserted++;
+        }
+
+        @Override
+        public void insertAllTransferCompleted(List<TransferCompleted> events) {
+            inserted += events.size();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ledgercore.benchmarks;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.Clock;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.application.service.TransferHandler;
+import com.ledgercore.domain.model.Account;
+import com.ledgercore.domain.model.AccountStatus;
+import com.ledgercore.domain.model.Currency;
+import com.ledgercore.domain.model.Money;
+import com.ledgercore.domain.policy.BalancePolicy;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole application-layer transfer path (TransferHandler / BatchTransferHandler) on
+ * in-memory ports: what the handler itself costs per transfer, in time and in allocation
+ * (gc.alloc.rate.norm), without the database.
+ *
+ * Every transfer moves money from a funding account (may go negative) to one of `accounts`
+ * targets; with striped=true the targets are striped, as hot accounts would be.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferHandlerBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final Currency EUR = Currency.of("EUR");
+
+    @Param({"1024"})
+    int accounts;
+
+    @Param({"false", "true"})
+    boolean striped;
+
+    private TransferHandler handler;
+    private BatchTransferHandler batchHandler;
+    private UUID funding;
+    private UUID[] targets;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+        // NOTE: UUID.randomUUID() goes through SecureRandom and would dominate the measurement.
+        UuidGenerator uuids = () -> new UUID(random.nextLong(), random.nextLong());
+        Clock clock = Instant::now;
+
+        InMemoryPorts.Accounts accountRepository = new InMemoryPorts.Accounts();
+        InMemoryPorts.Sequences sequences = new InMemoryPorts.Sequences();
+        InMemoryPorts.Stripes stripes = new InMemoryPorts.Stripes();
+
+        funding = uuids.randomUuid();
+        accountRepository.add(new Account(funding, AccountStatus.OPEN, true));
+        sequences.add(funding);
+
+        targets = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            targets[i] = uuids.randomUuid();
+            // A striped account keeps its (frozen) parent sequence row: the batch handler locks it.
+            sequences.add(targets[i]);
+            if (striped) {
+                accountRepository.add(new Account(targets[i], AccountStatus.OPEN, false, 8));
+                stripes.add(targets[i], 8);
+            } else {
+                accountRepository.add(new Account(targets[i], AccountStatus.OPEN, false));
+            }
+        }
+
+        InMemoryPorts.Commands commands = new InMemoryPorts.Commands();
+        InMemoryPorts.Transfers transfers = new InMemoryPorts.Transfers();
+        InMemoryPorts.Entries entries = new InMemoryPorts.Entries();
+        InMemoryPorts.Snapshots snapshots = new InMemoryPorts.Snapshots();
+        InMemoryPorts.Outbox outbox = new InMemoryPorts.Outbox();
+        BalancePolicy policy = new BalancePolicy();
+
+        handler = new TransferHandler(commands, accountRepository, sequences, stripes,
+                transfers, entries, snapshots, outbox, policy, clock, uuids, TransferMetrics.NONE);
+        batchHandler = new BatchTransferHandler(commands, accountRepository, sequences, stripes,
+                transfers, entries, snapshots, outbox, policy, clock, uuids);
+    }
+
+    @Benchmark
+    public TransferResult handle() {
+        return handler.handle(nextCommand());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TransferOutcome> handleAll() {
+        List<TransferCommand> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(nextCommand());
+        }
+        return batchHandler.handleAll(batch);
+    }
+
+    private TransferCommand nextCommand() {
+        UUID target = targets[random.nextInt(targets.length)];
+        return new TransferCommand(new UUID(random.nextLong(), random.nextLong()), funding, target,
+                Money.ofMinor(1 + random.nextInt(10_000), EUR), "bench");
+    }
+}
@@ -0,0 +1,18 @@
+package com.ledgercore.application.command;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Opens one account. accountId is the idempotency key: opening an existing id again is a no-op.
+ */
+public record OpenAccountCommand(
+        UUID accountId,
+        boolean allowNegative,
+        String correlationId
+) {
+    public OpenAccountCommand {
+        Objects.requireNonNull(accountId, "accountId");
+        // correlationId can be null, but keep it visible as a field
+    }
+}
@@ -0,0 +1,18 @@
+package com.ledgercore.application.ports;
+
+/**
+ * A reservation was asked for on a stripe layout the account no longer has: the unstriped path for
+ * a striped account, or a stripe the account does not have (any more). The caller's Account
+ * predates an (un)striping; reloading it fixes the call.
+ *
+ * A missing account_sequences row is not this: that stays a plain IllegalStateException.
+ */
+public final class AccountLayoutChangedException extends IllegalStateException {
+    public AccountLayoutChangedException(String message) {
+        super(message);
+    }
+
+    public AccountLayoutChangedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
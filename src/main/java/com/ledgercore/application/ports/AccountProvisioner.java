@@ -0,0 +1,22 @@
+package com.ledgercore.application.ports;
+
+import com.ledgercore.application.command.OpenAccountCommand;
+
+import java.util.List;
+
+/**
+ * Creates accounts together with everything a transfer expects to find for them:
+ * the account_sequences row (sequence 1) and a zero balance snapshot.
+ *
+ * IMPORTANT:
+ * - All rows of one call commit together or not at all.
+ * - Idempotent on accountId: existing accounts are left as they are (status and allow_negative
+ *   are not overwritten), but a missing sequence or snapshot row of theirs is added.
+ */
+public interface AccountProvisioner {
+
+    /**
+     * Returns how many of the accounts were newly created.
+     */
+    int provision(List<OpenAccountCommand> accounts);
+}
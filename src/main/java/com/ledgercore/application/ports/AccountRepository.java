@@ -2,6 +2,8 @@ package com.ledgercore.application.ports;
 
 import com.ledgercore.domain.model.Account;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,37 @@ import java.util.UUID;
  */
 public interface AccountRepository {
     Optional<Account> findById(UUID accountId);
+
+    /**
+     * Like {@link #findById}, but null when absent: the transfer hot path allocates no Optional.
+     */
+    default Account findByIdOrNull(UUID accountId) {
+        return findById(accountId).orElse(null);
+    }
+
+    /**
+     * Batch lookup. Unknown ids are simply absent from the result.
+     */
+    Map<UUID, Account> findAllById(Collection<UUID> accountIds);
+
+    /**
+     * Like {@link #findById}, but never served from a cache.
+     * Handlers call it when the account version seen under the row lock differs from the loaded one.
+     */
+    default Optional<Account> reload(UUID accountId) {
+        return findById(accountId);
+    }
+
+    /**
+     * Batch variant of {@link #reload}.
+     */
+    default Map<UUID, Account> reloadAll(Collection<UUID> accountIds) {
+        return findAllById(accountIds);
+    }
+
+    /**
+     * Forgets any cached copy, without touching the database (safe in an aborted transaction).
+     */
+    default void evict(UUID accountId) {
+    }
 }
@@ -1,16 +1,54 @@
 package com.ledgercore.application.ports;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Deterministic per-account sequencing for ledger entries.
- * Implementation MUST lock rows (SELECT ... FOR UPDATE) inside an existing DB transaction.
+ * Implementation MUST lock rows inside an existing DB transaction.
+ *
+ * Lock order: whenever more than one account is involved, rows are locked in
+ * canonical (ascending account id) order, never in command order.
+ * Opposite transfers A->B and B->A therefore queue instead of deadlocking.
+ *
+ * Every lock also reports the account_version seen under it (V7): a transfer that loaded its
+ * Account earlier (possibly from a cache) compares versions and reloads the account on mismatch.
  */
 public interface AccountSequenceStore {
 
     /**
      * Reserves and returns the next sequence number for the account.
      * Must be concurrency-safe.
+     * @throws AccountLayoutChangedException if the account is striped
+     * @throws IllegalStateException if the account has no sequence row
      */
-    long nextSequenceForUpdate(UUID accountId);
+    SequenceLock nextSequenceForUpdate(UUID accountId);
+
+    /**
+     * Reserves the next sequence number for every given account in one operation,
+     * locking the rows in canonical order.
+     * @return accountId -> reserved sequence
+     * @throws AccountLayoutChangedException if any account is striped
+     * @throws IllegalStateException if any account has no sequence row
+     */
+    Map<UUID, SequenceLock> reserveNextSequences(Collection<UUID> accountIds);
+
+    /**
+     * Batch variant: locks the sequence rows of all given accounts (in a canonical order)
+     * and returns their current next_sequence. Accounts without a row are absent from the result.
+     * Nothing is reserved yet; the caller assigns sequences and then calls {@link #updateNextSequences}.
+     */
+    Map<UUID, SequenceLock> lockNextSequences(Collection<UUID> accountIds);
+
+    /**
+     * Stores new next_sequence values for rows previously locked via {@link #lockNextSequences}.
+     */
+    void updateNextSequences(Map<UUID, Long> nextSequences);
+
+    /**
+     * @param sequence reserved sequence (reserve*) or current next_sequence ({@link #lockNextSequences})
+     * @param accountVersion account_version of the locked row
+     */
+    record SequenceLock(long sequence, long accountVersion) { }
 }
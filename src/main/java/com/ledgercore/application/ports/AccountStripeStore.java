@@ -0,0 +1,59 @@
+package com.ledgercore.application.ports;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sequencing + cached balance for striped (hot) accounts.
+ * Implementation MUST lock rows inside an existing DB transaction.
+ *
+ * A striped account has N stripes; each stripe owns an interleaved slice of the
+ * account's sequence numbers and a partial balance. Account balance = sum of the stripes.
+ *
+ * Lock protocol (see V4 migration):
+ * - credits share the account's sequence row and lock ONE stripe => credits spread over N row locks;
+ * - debits lock the account's sequence row exclusively => they see the exact total,
+ *   so the no-negative check stays exact.
+ */
+public interface AccountStripeStore {
+
+    /**
+     * Reserves the stripe's next sequence for a CREDIT.
+     * The returned balance is a committed total, not necessarily the latest one
+     * (credits only raise the balance, so they never need it exact).
+     * @throws AccountLayoutChangedException if the account does not have this stripe (any more)
+     */
+    Reservation reserveForCredit(UUID accountId, int stripe);
+
+    /**
+     * Reserves the stripe's next sequence for a DEBIT, after locking the whole account.
+     * The returned balance is the exact total before this posting.
+     * @throws AccountLayoutChangedException if the account does not have this stripe (any more)
+     */
+    Reservation reserveForDebit(UUID accountId, int stripe);
+
+    /**
+     * Adds deltaMinor to a stripe previously reserved in this transaction and moves its as_of_sequence.
+     */
+    void applyDelta(UUID accountId, int stripe, long asOfSequence, long deltaMinor);
+
+    /**
+     * Batch read of every stripe of the given accounts. Unstriped accounts are absent.
+     * Caller must already hold the accounts' sequence rows exclusively (see AccountSequenceStore#lockNextSequences).
+     */
+    Map<UUID, List<Stripe>> findStripes(Collection<UUID> accountIds);
+
+    /**
+     * Stores stripes previously read via {@link #findStripes}.
+     */
+    void updateStripes(List<Stripe> stripes);
+
+    /**
+     * @param accountVersion account_version seen under the parent-row lock (see AccountSequenceStore)
+     */
+    record Reservation(int stripe, long sequence, long balanceMinor, long accountVersion) { }
+
+    record Stripe(UUID accountId, int stripe, long nextSequence, long asOfSequence, long balanceMinor) { }
+}
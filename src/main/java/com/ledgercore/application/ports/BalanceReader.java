@@ -0,0 +1,45 @@
+package com.ledgercore.application.ports;
+
+import com.ledgercore.application.result.AccountBalance;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read side of balances: snapshot + the entries the snapshot does not cover yet.
+ *
+ * IMPORTANT:
+ * - Never locks: implementations must not take the row locks the write path serializes on.
+ * - Each call reads one consistent point in time (snapshot and entries agree).
+ */
+public interface BalanceReader {
+
+    /**
+     * Unknown ids are simply absent from the result.
+     */
+    Map<UUID, AccountBalance> readAll(Collection<UUID> accountIds);
+
+    /**
+     * Balance including every entry with sequence <= the given one
+     * (nearest balance checkpoint + at most K entries after it).
+     */
+    Optional<AccountBalance> readAsOfSequence(UUID accountId, long sequence);
+
+    /**
+     * Balance as of the latest entry created at or before the given time
+     * (resolved to a sequence via idx_ledger_account_created, then as {@link #readAsOfSequence}).
+     */
+    Optional<AccountBalance> readAsOf(UUID accountId, Instant at);
+
+    /**
+     * Current balance, read from a source that has applied at least the entry with sequence
+     * minSequence (e.g. the caller's own last posting). A single database always has.
+     */
+    default Optional<AccountBalance> readAtLeast(UUID accountId, long minSequence) {
+        return Optional.ofNullable(readAll(List.of(accountId)).get(accountId));
+    }
+}
@@ -1,7 +1,13 @@
 package com.ledgercore.application.ports;
 
+import com.ledgercore.application.command.TransferCommand;
+
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,4 +32,26 @@ public interface CommandStore {
      * This allows retries to return the original result.
      */
     Optional<UUID> findTransferIdByCommandId(UUID commandId);
+
+    /**
+     * Batch variant of {@link #tryInsertReceived}: claims all commands in one statement.
+     * @return the commandIds that were inserted by this call (first time seen).
+     */
+    Set<UUID> tryInsertAllReceived(List<TransferCommand> commands, String commandType, Instant now);
+
+    /**
+     * Batch variant of {@link #markApplied}.
+     */
+    void markAllApplied(Collection<UUID> commandIds, Instant appliedAt);
+
+    /**
+     * Batch variant of {@link #findTransferIdByCommandId}: commandId -> transferId, missing ids are absent.
+     */
+    Map<UUID, UUID> findTransferIdsByCommandIds(Collection<UUID> commandIds);
+
+    /**
+     * Releases RECEIVED claims of commands that were rejected inside the current transaction.
+     * Equivalent to the rollback a rejected single command gets, so a corrected retry can still succeed.
+     */
+    void deleteReceived(Collection<UUID> commandIds);
 }
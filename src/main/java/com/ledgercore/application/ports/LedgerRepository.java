@@ -1,7 +1,18 @@
 package com.ledgercore.application.ports;
 
 import com.ledgercore.domain.model.LedgerEntry;
+import com.ledgercore.domain.model.Transfer;
+
+import java.util.List;
+import java.util.UUID;
 
 public interface LedgerRepository {
-    void insert(LedgerEntry entry);
+    /**
+     * Appends both entries of a transfer: a DEBIT on transfer.fromAccountId and a CREDIT on
+     * transfer.toAccountId, each for transfer.money, stamped transfer.createdAt.
+     * Takes the parts instead of two {@link LedgerEntry} records (single-transfer hot path).
+     */
+    void insertTransferEntries(Transfer transfer, UUID debitEntryId, long debitSequence, UUID creditEntryId, long creditSequence);
+
+    void insertAll(List<LedgerEntry> entries);
 }
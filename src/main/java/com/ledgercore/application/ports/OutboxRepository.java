@@ -1,11 +1,19 @@
 package com.ledgercore.application.ports;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Outbox repository for atomic event recording.
  * Publishing happens elsewhere; this is only the write side.
+ *
+ * The TransferCompleted payload ({"transferId": ..., "commandId": ...}) is encoded by the
+ * implementation, the same way ledger_transfer (V2) does it server-side.
  */
 public interface OutboxRepository {
-    void insertTransferCompleted(UUID eventId, UUID transferId, UUID commandId, String correlationId, String payloadJson);
+    void insertTransferCompleted(UUID eventId, UUID transferId, UUID commandId, String correlationId);
+
+    void insertAllTransferCompleted(List<TransferCompleted> events);
+
+    record TransferCompleted(UUID eventId, UUID transferId, UUID commandId, String correlationId) { }
 }
@@ -1,5 +1,8 @@
 package com.ledgercore.application.ports;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -12,4 +15,16 @@ public interface SnapshotRepository {
     long currentBalanceMinor(UUID accountId);
 
     void upsert(UUID accountId, long asOfSequence, long balanceMinor);
+
+    /**
+     * Batch read. Accounts without a snapshot are absent (callers treat them as 0).
+     */
+    Map<UUID, Long> currentBalancesMinor(Collection<UUID> accountIds);
+
+    /**
+     * Batch variant of {@link #upsert}.
+     */
+    void upsertAll(List<Snapshot> snapshots);
+
+    record Snapshot(UUID accountId, long asOfSequence, long balanceMinor) { }
 }
@@ -0,0 +1,31 @@
+package com.ledgercore.application.ports;
+
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Account statements: an account's ledger entries in sequence order, each with its running balance.
+ *
+ * IMPORTANT:
+ * - Keyset pagination on (account_id, sequence): a page is "sequence > afterSequence", never OFFSET,
+ *   so page 10 000 costs the same as page 1.
+ * - The running balance starts from the nearest balance checkpoint or snapshot at or before
+ *   afterSequence, not from the first entry.
+ * - Each call reads one consistent point in time and takes no locks.
+ */
+public interface StatementReader {
+
+    /**
+     * At most limit lines after afterSequence (0 = from the first entry).
+     */
+    StatementPage page(UUID accountId, long afterSequence, int limit);
+
+    /**
+     * Every line after afterSequence, pushed to sink as it is read (server-side cursor, constant
+     * memory). Returns the number of lines.
+     */
+    long stream(UUID accountId, long afterSequence, Consumer<StatementLine> sink);
+}
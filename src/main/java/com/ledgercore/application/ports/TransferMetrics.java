@@ -0,0 +1,103 @@
+package com.ledgercore.application.ports;
+
+/**
+ * Hot-path timings and outcome counts of the transfer use case.
+ * Implementation MUST be thread-safe and cheap: it is called about a dozen times per transfer.
+ *
+ * Durations are nanoseconds (System.nanoTime deltas). Every attempt counts, so a transfer retried
+ * after a deadlock records its steps twice; a step that throws records nothing.
+ */
+public interface TransferMetrics {
+
+    /**
+     * The numbered steps of TransferHandler#handle.
+     */
+    enum Step {
+        IDEMPOTENCY_GATE,
+        LOAD_ACCOUNTS,
+        INSERT_TRANSFER,
+        RESERVE_POSITIONS,
+        BALANCE_POLICY,
+        APPEND_ENTRIES,
+        UPDATE_BALANCES,
+        OUTBOX,
+        MARK_APPLIED
+    }
+
+    enum Rejection {
+        INSUFFICIENT_FUNDS,
+        ACCOUNT_NOT_OPEN
+    }
+
+    /**
+     * Why an asynchronously submitted transfer was turned away before it ran.
+     */
+    enum Shed {
+        QUEUE_FULL,
+        DEADLINE_EXPIRED,
+        CANCELLED
+    }
+
+    TransferMetrics NONE = new TransferMetrics() {
+        @Override
+        public void recordStep(Step step, long nanos) {
+        }
+
+        @Override
+        public void recordLockWait(long nanos) {
+        }
+
+        @Override
+        public void recordCommit(long nanos) {
+        }
+
+        @Override
+        public void recordReplay() {
+        }
+
+        @Override
+        public void recordRejection(Rejection rejection) {
+        }
+
+        @Override
+        public void recordQueueWait(long nanos) {
+        }
+
+        @Override
+        public void recordExecution(long nanos) {
+        }
+
+        @Override
+        public void recordShed(Shed reason) {
+        }
+    };
+
+    void recordStep(Step step, long nanos);
+
+    /**
+     * Time spent in a statement that takes account row locks (sequence row, stripe).
+     * Under contention that is almost entirely lock wait.
+     */
+    void recordLockWait(long nanos);
+
+    void recordCommit(long nanos);
+
+    /**
+     * A command that was already applied; the original result was returned.
+     */
+    void recordReplay();
+
+    void recordRejection(Rejection rejection);
+
+    /**
+     * Async submission: time from admission until a worker started the transfer.
+     */
+    void recordQueueWait(long nanos);
+
+    /**
+     * Async submission: time the worker spent in the transfer itself (retries included).
+     */
+    void recordExecution(long nanos);
+
+    void recordShed(Shed reason);
+}
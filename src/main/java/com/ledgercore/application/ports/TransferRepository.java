@@ -2,6 +2,10 @@ package com.ledgercore.application.ports;
 
 import com.ledgercore.domain.model.Transfer;
 
+import java.util.List;
+
 public interface TransferRepository {
     void insert(Transfer transfer);
+
+    void insertAll(List<Transfer> transfers);
 }
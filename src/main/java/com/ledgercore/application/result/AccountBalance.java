@@ -0,0 +1,21 @@
+package com.ledgercore.application.result;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Balance of one account as of a ledger sequence.
+ *
+ * asOfSequence = highest ledger_entries.sequence folded into balanceMinor (0 = no entries yet).
+ * For striped accounts stripes advance independently, so a slower stripe can still hand out
+ * a lower sequence later: there asOfSequence is "highest included", not a watermark.
+ */
+public record AccountBalance(
+        UUID accountId,
+        long balanceMinor,
+        long asOfSequence
+) {
+    public AccountBalance {
+        Objects.requireNonNull(accountId, "accountId");
+    }
+}
@@ -0,0 +1,23 @@
+package com.ledgercore.application.result;
+
+import com.ledgercore.domain.model.EntryDirection;
+import com.ledgercore.domain.model.LedgerEntry;
+
+import java.util.Objects;
+
+/**
+ * One ledger entry of an account statement with the account balance right after it.
+ */
+public record StatementLine(
+        LedgerEntry entry,
+        long balanceAfterMinor
+) {
+    public StatementLine {
+        Objects.requireNonNull(entry, "entry");
+    }
+
+    public long signedAmountMinor() {
+        long amount = entry.money().amountMinor();
+        return entry.direction() == EntryDirection.CREDIT ? amount : -amount;
+    }
+}
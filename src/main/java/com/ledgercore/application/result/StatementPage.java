@@ -0,0 +1,32 @@
+package com.ledgercore.application.result;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One keyset page of an account statement.
+ *
+ * openingBalanceMinor = balance including every entry with sequence <= afterSequence.
+ * The next page starts after {@link #nextAfterSequence()}; there is none when hasMore is false.
+ */
+public record StatementPage(
+        UUID accountId,
+        long afterSequence,
+        long openingBalanceMinor,
+        List<StatementLine> lines,
+        boolean hasMore
+) {
+    public StatementPage {
+        Objects.requireNonNull(accountId, "accountId");
+        lines = List.copyOf(lines);
+    }
+
+    public long nextAfterSequence() {
+        return lines.isEmpty() ? afterSequence : lines.getLast().entry().sequence();
+    }
+
+    public long closingBalanceMinor() {
+        return lines.isEmpty() ? openingBalanceMinor : lines.getLast().balanceAfterMinor();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ledgercore.application.result;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Per-command result of a batch.
+ * A batch never fails as a whole because of one command; each command reports its own outcome.
+ *
+ * - APPLIED:   transfer committed with this batch (transferId set)
+ * - DUPLICATE: commandId was already applied earlier or earlier in the same batch (original transferId set)
+ * - REJECTED:  business rule violated, nothing recorded for this command (reason set)
+ */
+public record TransferOutcome(
+        UUID commandId,
+        Status status,
+        UUID transferId,
+        String reason
+) {
+    public enum Status {
+        APPLIED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    public TransferOutcome {
+        Objects.requireNonNull(commandId, "commandId");
+        Objects.requireNonNull(status, "status");
+        // transferId is null for REJECTED, reason is null unless REJECTED
+    }
+
+    public static TransferOutcome applied(UUID commandId, UUID transferId) {
+        return new TransferOutcome(commandId, Status.APPLIED, Objects.requireNonNull(transferId, "transferId"), null);
+    }
+
+    public static TransferOutcome duplicate(UUID commandId, UUID transferId) {
+        return new TransferOutcome(commandId, Status.DUPLICATE, Objects.requireNonNull(transferId, "transferId"), null);
+    }
+
+    public static TransferOutcome rejected(UUID commandId, String reason) {
+        return new TransferOutcome(commandId, Status.REJECTED, null, Objects.requireNonNull(reason, "reason"));
+    }
+
+    public boolean isRejected() {
+        return status == Status.REJECTED;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.application.command.OpenAccountCommand;
+import com.ledgercore.application.ports.AccountProvisioner;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Opens accounts in bulk (partner onboarding).
+ *
+ * The list is written batchSize accounts at a time; each batch commits on its own. A failed call
+ * can simply be repeated with the same list: accounts that already exist are skipped.
+ */
+public final class AccountProvisioningService {
+
+    private final AccountProvisioner accountProvisioner;
+    private final int batchSize;
+
+    public AccountProvisioningService(AccountProvisioner accountProvisioner, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1, got: " + batchSize);
+        }
+        this.accountProvisioner = Objects.requireNonNull(accountProvisioner, "accountProvisioner");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns how many accounts were newly created (0 for a full repeat).
+     */
+    public long provision(List<OpenAccountCommand> accounts) {
+        Objects.requireNonNull(accounts, "accounts");
+        long created = 0;
+        for (int from = 0; from < accounts.size(); from += batchSize) {
+            created += accountProvisioner.provision(accounts.subList(from, Math.min(from + batchSize, accounts.size())));
+        }
+        return created;
+    }
+}
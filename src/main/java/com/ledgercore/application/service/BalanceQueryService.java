@@ -0,0 +1,74 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.application.ports.BalanceReader;
+import com.ledgercore.application.result.AccountBalance;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Balance queries (read-only use case).
+ *
+ * balance = balance_snapshots + ledger_entries with sequence > as_of_sequence, folded at read time.
+ * The snapshot is only a starting point, so a stale or freshly rebuilt one stays cheap to catch up.
+ *
+ * Point-in-time queries start from the nearest balance checkpoint instead (V6 migration),
+ * so they fold at most K entries however old the account is.
+ */
+public final class BalanceQueryService {
+
+    private final BalanceReader balanceReader;
+
+    public BalanceQueryService(BalanceReader balanceReader) {
+        this.balanceReader = Objects.requireNonNull(balanceReader, "balanceReader");
+    }
+
+    public Optional<AccountBalance> balance(UUID accountId) {
+        Objects.requireNonNull(accountId, "accountId");
+        return Optional.ofNullable(balanceReader.readAll(List.of(accountId)).get(accountId));
+    }
+
+    /**
+     * Read-your-writes variant: the balance includes at least the entry with sequence
+     * atLeastSequence, even when queries are served by a lagging replica.
+     */
+    public Optional<AccountBalance> balance(UUID accountId, long atLeastSequence) {
+        Objects.requireNonNull(accountId, "accountId");
+        if (atLeastSequence < 0) {
+            throw new IllegalArgumentException("atLeastSequence must be >= 0, got: " + atLeastSequence);
+        }
+        return balanceReader.readAtLeast(accountId, atLeastSequence);
+    }
+
+    /**
+     * Bulk variant: one round trip for all ids. Unknown ids are absent from the result.
+     */
+    public Map<UUID, AccountBalance> balances(Collection<UUID> accountIds) {
+        Objects.requireNonNull(accountIds, "accountIds");
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        // NOTE: duplicates would only make the id array bigger.
+        return balanceReader.readAll(new LinkedHashSet<>(accountIds));
+    }
+
+    /**
+     * Balance as of ledger position `sequence` (every entry with sequence <= it).
+     */
+    public Optional<AccountBalance> balanceAt(UUID accountId, long sequence) {
+        Objects.requireNonNull(accountId, "accountId");
+        if (sequence < 0) {
+            throw new IllegalArgumentException("sequence must be >= 0, got: " + sequence);
+        }
+        return balanceReader.readAsOfSequence(accountId, sequence);
+    }
+
+    /**
+     * Balance as of time `at`: up to and including the latest entry created at or before it.
+     */
+    public Optional<AccountBalance> balanceAt(UUID accountId, Instant at) {
+        Objects.requireNonNull(accountId, "accountId");
+        Objects.requireNonNull(at, "at");
+        return balanceReader.readAsOf(accountId, at);
+    }
+}
@@ -0,0 +1,343 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.*;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.domain.errors.DomainException;
+import com.ledgercore.domain.model.*;
+import com.ledgercore.domain.policy.BalancePolicy;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Pure application use-case: executes many transfers in one transaction.
+ *
+ * Same steps as TransferHandler, but set-based: every step is one (batched) call per batch
+ * instead of one call per command. Balances and sequences are tracked in memory
+ * while the batch is evaluated in command order, then written in bulk.
+ *
+ * IMPORTANT:
+ * - No Spring annotations here.
+ * - Assumes it's executed inside a transaction (provided by infrastructure).
+ * - A rejected command (insufficient funds, unknown/closed account, ...) does not abort the batch;
+ *   it leaves no rows behind, exactly like a rolled back single transfer.
+ * - Striped accounts: the batch holds their sequence rows exclusively, so it owns all their stripes
+ *   and posts to them in memory like to any other account (balance = sum of the stripes).
+ */
+public final class BatchTransferHandler {
+
+    private final CommandStore commandStore;
+    private final AccountRepository accountRepository;
+    private final AccountSequenceStore accountSequenceStore;
+    private final AccountStripeStore accountStripeStore;
+    private final TransferRepository transferRepository;
+    private final LedgerRepository ledgerRepository;
+    private final SnapshotRepository snapshotRepository;
+    private final OutboxRepository outboxRepository;
+    private final BalancePolicy balancePolicy;
+    private final Clock clock;
+    private final UuidGenerator uuidGenerator;
+
+    public BatchTransferHandler(
+            CommandStore commandStore,
+            AccountRepository accountRepository,
+            AccountSequenceStore accountSequenceStore,
+            AccountStripeStore accountStripeStore,
+            TransferRepository transferRepository,
+            LedgerRepository ledgerRepository,
+            SnapshotRepository snapshotRepository,
+            OutboxRepository outboxRepository,
+            BalancePolicy balancePolicy,
+            Clock clock,
+            UuidGenerator uuidGenerator
+    ) {
+        this.commandStore = Objects.requireNonNull(commandStore, "commandStore");
+        this.accountRepository = Objects.requireNonNull(accountRepository, "accountRepository");
+        this.accountSequenceStore = Objects.requireNonNull(accountSequenceStore, "accountSequenceStore");
+        this.accountStripeStore = Objects.requireNonNull(accountStripeStore, "accountStripeStore");
+        this.transferRepository = Objects.requireNonNull(transferRepository, "transferRepository");
+        this.ledgerRepository = Objects.requireNonNull(ledgerRepository, "ledgerRepository");
+        this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "snapshotRepository");
+        this.outboxRepository = Objects.requireNonNull(outboxRepository, "outboxRepository");
+        this.balancePolicy = Objects.requireNonNull(balancePolicy, "balancePolicy");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.uuidGenerator = Objects.requireNonNull(uuidGenerator, "uuidGenerator");
+    }
+
+    /**
+     * @return one outcome per command, in the same order as the input
+     */
+    public List<TransferOutcome> handleAll(List<TransferCommand> cmds) {
+        Objects.requireNonNull(cmds, "cmds");
+        if (cmds.isEmpty()) {
+            return List.of();
+        }
+
+        Instant now = clock.now();
+
+        // 1) Idempotency gate for the whole batch
+        Set<UUID> claimed = commandStore.tryInsertAllReceived(cmds, "Transfer", now);
+
+        Set<UUID> seenBefore = new HashSet<>();
+        Set<UUID> touchedAccounts = new HashSet<>();
+        for (TransferCommand cmd : cmds) {
+            if (claimed.contains(cmd.commandId())) {
+                touchedAccounts.add(cmd.fromAccountId());
+                touchedAccounts.add(cmd.toAccountId());
+            } else {
+                seenBefore.add(cmd.commandId());
+            }
+        }
+        Map<UUID, UUID> previousTransferIds = seenBefore.isEmpty()
+                ? Map.of()
+                : commandStore.findTransferIdsByCommandIds(seenBefore);
+
+        // 2) Load all accounts touched by claimed commands
+        Map<UUID, Account> accounts = touchedAccounts.isEmpty()
+                ? new HashMap<>()
+                : new HashMap<>(accountRepository.findAllById(touchedAccounts));
+
+        // 4) Lock sequences of all touched accounts up front (canonical order in the implementation)
+        Map<UUID, AccountSequenceStore.SequenceLock> locks = accounts.isEmpty()
+                ? Map.of()
+                : accountSequenceStore.lockNextSequences(accounts.keySet());
+        Map<UUID, Long> nextSequences = new HashMap<>();
+        List<UUID> staleAccounts = new ArrayList<>();
+        locks.forEach((accountId, lock) -> {
+            nextSequences.put(accountId, lock.sequence());
+            if (accounts.get(accountId).version() != lock.accountVersion()) {
+                staleAccounts.add(accountId);
+            }
+        });
+        // Revalidate under the locks: a (cached) Account may predate a close / allow_negative change;
+        // such a change bumps account_version under the same row lock (V7).
+        if (!staleAccounts.isEmpty()) {
+            accounts.putAll(accountRepository.reloadAll(staleAccounts));
+        }
+
+        // Stripes read AFTER the exclusive locks are the truth about which accounts are striped
+        // (an Account loaded before the lock may predate a concurrent (un)striping).
+        Map<UUID, AccountStripeStore.Stripe[]> stripes = new HashMap<>();
+        if (!nextSequences.isEmpty()) {
+            accountStripeStore.findStripes(nextSequences.keySet()).forEach((accountId, list) ->
+                    stripes.put(accountId, list.toArray(AccountStripeStore.Stripe[]::new)));
+        }
+
+        // 5) Current cached balances, read after the locks like the single-command path
+        Map<UUID, Long> balances = nextSequences.isEmpty()
+                ? new HashMap<>()
+                : new HashMap<>(snapshotRepository.currentBalancesMinor(nextSequences.keySet()));
+        stripes.forEach((accountId, accountStripes) -> {
+            long total = 0;
+            for (AccountStripeStore.Stripe stripe : accountStripes) {
+                total += stripe.balanceMinor();
+            }
+            balances.put(accountId, total);
+        });
+
+        Batch batch = new Batch(cmds.size());
+        Map<UUID, TransferOutcome> outcomesByCommand = new HashMap<>();
+        List<TransferOutcome> outcomes = new ArrayList<>(cmds.size());
+
+        for (TransferCommand cmd : cmds) {
+            UUID commandId = cmd.commandId();
+            TransferOutcome earlier = outcomesByCommand.get(commandId);
+
+            TransferOutcome outcome;
+            if (earlier != null) {
+                // Same commandId repeated inside this batch
+                outcome = earlier.isRejected()
+                        ? earlier
+                        : TransferOutcome.duplicate(commandId, earlier.transferId());
+            } else if (claimed.contains(commandId)) {
+                outcome = apply(cmd, now, accounts, nextSequences, stripes, balances, batch);
+            } else {
+                UUID transferId = previousTransferIds.get(commandId);
+                outcome = transferId != null
+                        ? TransferOutcome.duplicate(commandId, transferId)
+                        // Command row exists without a transfer: inconsistent state, reject instead of guessing.
+                        : TransferOutcome.rejected(commandId, "Command exists but no transfer found for commandId=" + commandId);
+            }
+
+            outcomesByCommand.putIfAbsent(commandId, outcome);
+            outcomes.add(outcome);
+        }
+
+        // 3, 6, 7, 8, 9) Write everything in bulk
+        if (!batch.transfers.isEmpty()) {
+            transferRepository.insertAll(batch.transfers);
+            ledgerRepository.insertAll(batch.entries);
+            accountSequenceStore.updateNextSequences(batch.nextSequences(nextSequences));
+            snapshotRepository.upsertAll(batch.snapshots(balances));
+            if (!batch.touchedStripes.isEmpty()) {
+                accountStripeStore.updateStripes(batch.stripes(stripes));
+            }
+            outboxRepository.insertAllTransferCompleted(batch.events);
+            commandStore.markAllApplied(batch.appliedCommandIds, now);
+        }
+        if (!batch.rejectedClaims.isEmpty()) {
+            commandStore.deleteReceived(batch.rejectedClaims);
+        }
+
+        return outcomes;
+    }
+
+    private TransferOutcome apply(
+            TransferCommand cmd,
+            Instant now,
+            Map<UUID, Account> accounts,
+            Map<UUID, Long> nextSequences,
+            Map<UUID, AccountStripeStore.Stripe[]> stripes,
+            Map<UUID, Long> balances,
+            Batch batch
+    ) {
+        try {
+            Account from = accounts.get(cmd.fromAccountId());
+            if (from == null) {
+                throw new IllegalArgumentException("fromAccount not found: " + cmd.fromAccountId());
+            }
+            Account to = accounts.get(cmd.toAccountId());
+            if (to == null) {
+                throw new IllegalArgumentException("toAccount not found: " + cmd.toAccountId());
+            }
+            if (!from.isOpen() || !to.isOpen()) {
+                throw new IllegalArgumentException("Both accounts must be OPEN to transfer");
+            }
+
+            UUID transferId = uuidGenerator.randomUuid();
+            Transfer transfer = new Transfer(
+                    transferId,
+                    cmd.commandId(),
+                    cmd.fromAccountId(),
+                    cmd.toAccountId(),
+                    cmd.money(),
+                    now
+            );
+
+            if (!nextSequences.containsKey(from.id()) || !nextSequences.containsKey(to.id())) {
+                throw new IllegalArgumentException("Missing account_sequences row for account_id="
+                        + (nextSequences.containsKey(from.id()) ? to.id() : from.id()));
+            }
+            long fromSeq = peekSequence(from.id(), cmd.commandId(), nextSequences, stripes);
+            long toSeq = peekSequence(to.id(), cmd.commandId(), nextSequences, stripes);
+
+            long fromNext = balancePolicy.apply(from, balances.getOrDefault(from.id(), 0L), EntryDirection.DEBIT, cmd.money());
+            long toNext = balancePolicy.apply(to, balances.getOrDefault(to.id(), 0L), EntryDirection.CREDIT, cmd.money());
+
+            // Only now, with every rule passed, mutate the in-memory state of the batch
+            advance(from.id(), cmd.commandId(), fromSeq, -cmd.money().amountMinor(), nextSequences, stripes, batch);
+            advance(to.id(), cmd.commandId(), toSeq, cmd.money().amountMinor(), nextSequences, stripes, batch);
+            balances.put(from.id(), fromNext);
+            balances.put(to.id(), toNext);
+
+            batch.transfers.add(transfer);
+            batch.entries.add(new LedgerEntry(
+                    uuidGenerator.randomUuid(), transferId, from.id(), fromSeq, EntryDirection.DEBIT, cmd.money(), now));
+            batch.entries.add(new LedgerEntry(
+                    uuidGenerator.randomUuid(), transferId, to.id(), toSeq, EntryDirection.CREDIT, cmd.money(), now));
+
+            batch.events.add(new OutboxRepository.TransferCompleted(
+                    uuidGenerator.randomUuid(), transferId, cmd.commandId(), cmd.correlationId()));
+            batch.appliedCommandIds.add(cmd.commandId());
+
+            return TransferOutcome.applied(cmd.commandId(), transferId);
+        } catch (DomainException | IllegalArgumentException e) {
+            batch.rejectedClaims.add(cmd.commandId());
+            return TransferOutcome.rejected(cmd.commandId(), e.getMessage());
+        }
+    }
+
+    private static long peekSequence(
+            UUID accountId,
+            UUID routingKey,
+            Map<UUID, Long> nextSequences,
+            Map<UUID, AccountStripeStore.Stripe[]> stripes
+    ) {
+        AccountStripeStore.Stripe[] accountStripes = stripes.get(accountId);
+        if (accountStripes == null) {
+            return nextSequences.get(accountId);
+        }
+        return accountStripes[stripeIndex(routingKey, accountStripes)].nextSequence();
+    }
+
+    private static void advance(
+            UUID accountId,
+            UUID routingKey,
+            long sequence,
+            long deltaMinor,
+            Map<UUID, Long> nextSequences,
+            Map<UUID, AccountStripeStore.Stripe[]> stripes,
+            Batch batch
+    ) {
+        AccountStripeStore.Stripe[] accountStripes = stripes.get(accountId);
+        if (accountStripes == null) {
+            nextSequences.put(accountId, sequence + 1);
+            batch.lastSequences.put(accountId, sequence);
+            return;
+        }
+        int index = stripeIndex(routingKey, accountStripes);
+        AccountStripeStore.Stripe stripe = accountStripes[index];
+        accountStripes[index] = new AccountStripeStore.Stripe(
+                accountId,
+                stripe.stripe(),
+                stripe.nextSequence() + accountStripes.length,
+                sequence,
+                stripe.balanceMinor() + deltaMinor
+        );
+        batch.touchedStripes.computeIfAbsent(accountId, id -> new TreeSet<>()).add(index);
+    }
+
+    // NOTE: same routing as Account.stripeFor, but sized by the stripes actually read under the lock.
+    private static int stripeIndex(UUID routingKey, AccountStripeStore.Stripe[] accountStripes) {
+        return Math.floorMod(routingKey.hashCode(), accountStripes.length);
+    }
+
+    /**
+     * Rows accumulated while evaluating the batch; written once at the end.
+     */
+    private static final class Batch {
+        final List<Transfer> transfers;
+        final List<LedgerEntry> entries;
+        final List<OutboxRepository.TransferCompleted> events;
+        final List<UUID> appliedCommandIds;
+        final List<UUID> rejectedClaims = new ArrayList<>();
+        // accountId -> last sequence assigned in this batch (drives snapshot + sequence writes; unstriped only)
+        final Map<UUID, Long> lastSequences = new HashMap<>();
+        // striped accountId -> stripes posted to in this batch
+        final Map<UUID, Set<Integer>> touchedStripes = new HashMap<>();
+
+        Batch(int expectedSize) {
+            this.transfers = new ArrayList<>(expectedSize);
+            this.entries = new ArrayList<>(expectedSize * 2);
+            this.events = new ArrayList<>(expectedSize);
+            this.appliedCommandIds = new ArrayList<>(expectedSize);
+        }
+
+        Map<UUID, Long> nextSequences(Map<UUID, Long> nextSequences) {
+            Map<UUID, Long> changed = new HashMap<>();
+            for (UUID accountId : lastSequences.keySet()) {
+                changed.put(accountId, nextSequences.get(accountId));
+            }
+            return changed;
+        }
+
+        List<SnapshotRepository.Snapshot> snapshots(Map<UUID, Long> balances) {
+            List<SnapshotRepository.Snapshot> snapshots = new ArrayList<>(lastSequences.size());
+            for (Map.Entry<UUID, Long> last : lastSequences.entrySet()) {
+                snapshots.add(new SnapshotRepository.Snapshot(last.getKey(), last.getValue(), balances.get(last.getKey())));
+            }
+            return snapshots;
+        }
+
+        List<AccountStripeStore.Stripe> stripes(Map<UUID, AccountStripeStore.Stripe[]> stripes) {
+            List<AccountStripeStore.Stripe> changed = new ArrayList<>();
+            touchedStripes.forEach((accountId, indexes) -> {
+                for (int index : indexes) {
+                    changed.add(stripes.get(accountId)[index]);
+                }
+            });
+            return changed;
+        }
+    }
+}
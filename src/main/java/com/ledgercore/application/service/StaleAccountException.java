@@ -0,0 +1,12 @@
+package com.ledgercore.application.service;
+
+/**
+ * The reservation did not match the account's stripe layout, most likely because the handler
+ * worked from cached metadata that predates (un)striping. The stale entries are already evicted,
+ * so re-running the whole command is expected to succeed.
+ */
+public final class StaleAccountException extends IllegalStateException {
+    public StaleAccountException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.application.ports.StatementReader;
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Account statements (read-only use case).
+ *
+ * Clients page with the sequence they stopped at ({@link StatementPage#nextAfterSequence()}),
+ * never with an offset. Large exports use {@link #forEach}, which does not hold the statement in memory.
+ */
+public final class StatementQueryService {
+
+    private final StatementReader statementReader;
+    private final int maxPageSize;
+
+    public StatementQueryService(StatementReader statementReader, int maxPageSize) {
+        if (maxPageSize < 1) {
+            throw new IllegalArgumentException("maxPageSize must be >= 1, got: " + maxPageSize);
+        }
+        this.statementReader = Objects.requireNonNull(statementReader, "statementReader");
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Up to limit lines after afterSequence (0 = from the first entry); limit is capped at maxPageSize.
+     */
+    public StatementPage page(UUID accountId, long afterSequence, int limit) {
+        Objects.requireNonNull(accountId, "accountId");
+        if (afterSequence < 0) {
+            throw new IllegalArgumentException("afterSequence must be >= 0, got: " + afterSequence);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be >= 1, got: " + limit);
+        }
+        return statementReader.page(accountId, afterSequence, Math.min(limit, maxPageSize));
+    }
+
+    /**
+     * Every line after afterSequence, in order. Returns the number of lines.
+     */
+    public long forEach(UUID accountId, long afterSequence, Consumer<StatementLine> sink) {
+        Objects.requireNonNull(accountId, "accountId");
+        Objects.requireNonNull(sink, "sink");
+        if (afterSequence < 0) {
+            throw new IllegalArgumentException("afterSequence must be >= 0, got: " + afterSequence);
+        }
+        return statementReader.stream(accountId, afterSequence, sink);
+    }
+}
@@ -3,10 +3,13 @@ package com.ledgercore.application.service;
 import com.ledgercore.application.command.TransferCommand;
 import com.ledgercore.application.ports.*;
 import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.domain.errors.InsufficientFundsException;
 import com.ledgercore.domain.model.*;
 import com.ledgercore.domain.policy.BalancePolicy;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -16,12 +19,14 @@ import java.util.UUID;
  * IMPORTANT:
  * - No Spring annotations here.
  * - Assumes it's executed inside a transaction (provided by infrastructure).
+ * - Each numbered step below is timed through the TransferMetrics port (one nanoTime per step).
  */
 public final class TransferHandler {
 
     private final CommandStore commandStore;
     private final AccountRepository accountRepository;
     private final AccountSequenceStore accountSequenceStore;
+    private final AccountStripeStore accountStripeStore;
     private final TransferRepository transferRepository;
     private final LedgerRepository ledgerRepository;
     private final SnapshotRepository snapshotRepository;
@@ -29,22 +34,26 @@ public final class TransferHandler {
     private final BalancePolicy balancePolicy;
     private final Clock clock;
     private final UuidGenerator uuidGenerator;
+    private final TransferMetrics metrics;
 
     public TransferHandler(
             CommandStore commandStore,
             AccountRepository accountRepository,
             AccountSequenceStore accountSequenceStore,
+            AccountStripeStore accountStripeStore,
             TransferRepository transferRepository,
             LedgerRepository ledgerRepository,
             SnapshotRepository snapshotRepository,
             OutboxRepository outboxRepository,
             BalancePolicy balancePolicy,
             Clock clock,
-            UuidGenerator uuidGenerator
+            UuidGenerator uuidGenerator,
+            TransferMetrics metrics
     ) {
         this.commandStore = Objects.requireNonNull(commandStore, "commandStore");
         this.accountRepository = Objects.requireNonNull(accountRepository, "accountRepository");
         this.accountSequenceStore = Objects.requireNonNull(accountSequenceStore, "accountSequenceStore");
+        this.accountStripeStore = Objects.requireNonNull(accountStripeStore, "accountStripeStore");
         this.transferRepository = Objects.requireNonNull(transferRepository, "transferRepository");
         this.ledgerRepository = Objects.requireNonNull(ledgerRepository, "ledgerRepository");
         this.snapshotRepository = Objects.requireNonNull(snapshotRepository, "snapshotRepository");
@@ -52,35 +61,47 @@ public final class TransferHandler {
         this.balancePolicy = Objects.requireNonNull(balancePolicy, "balancePolicy");
         this.clock = Objects.requireNonNull(clock, "clock");
         this.uuidGenerator = Objects.requireNonNull(uuidGenerator, "uuidGenerator");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
     }
 
     public TransferResult handle(TransferCommand cmd) {
         Objects.requireNonNull(cmd, "cmd");
 
         Instant now = clock.now();
+        long mark = System.nanoTime();
 
         // 1) Idempotency gate: insert command as RECEIVED
         boolean inserted = commandStore.tryInsertReceived(cmd.commandId(), "Transfer", cmd.correlationId(), now);
         if (!inserted) {
             // Already seen. Return the original result if present.
-            return commandStore.findTransferIdByCommandId(cmd.commandId())
+            TransferResult original = commandStore.findTransferIdByCommandId(cmd.commandId())
                     .map(transferId -> new TransferResult(transferId, cmd.commandId()))
                     // If command exists but transferId missing, that's inconsistent state.
                     // We fail hard here; infrastructure/tests should catch it.
                     .orElseThrow(() -> new IllegalStateException(
                             "Command exists but no transfer found for commandId=" + cmd.commandId()
                     ));
+            lap(TransferMetrics.Step.IDEMPOTENCY_GATE, mark);
+            metrics.recordReplay();
+            return original;
         }
+        mark = lap(TransferMetrics.Step.IDEMPOTENCY_GATE, mark);
 
         // 2) Validate accounts exist and are open (minimal checks)
-        Account from = accountRepository.findById(cmd.fromAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("fromAccount not found: " + cmd.fromAccountId()));
-        Account to = accountRepository.findById(cmd.toAccountId())
-                .orElseThrow(() -> new IllegalArgumentException("toAccount not found: " + cmd.toAccountId()));
+        Account from = accountRepository.findByIdOrNull(cmd.fromAccountId());
+        if (from == null) {
+            throw new IllegalArgumentException("fromAccount not found: " + cmd.fromAccountId());
+        }
+        Account to = accountRepository.findByIdOrNull(cmd.toAccountId());
+        if (to == null) {
+            throw new IllegalArgumentException("toAccount not found: " + cmd.toAccountId());
+        }
 
         if (!from.isOpen() || !to.isOpen()) {
+            metrics.recordRejection(TransferMetrics.Rejection.ACCOUNT_NOT_OPEN);
             throw new IllegalArgumentException("Both accounts must be OPEN to transfer");
         }
+        mark = lap(TransferMetrics.Step.LOAD_ACCOUNTS, mark);
 
         // 3) Create transfer aggregate record
         UUID transferId = uuidGenerator.randomUuid();
@@ -93,56 +114,144 @@ public final class TransferHandler {
                 now
         );
         transferRepository.insert(transfer);
+        mark = lap(TransferMetrics.Step.INSERT_TRANSFER, mark);
 
-        // 4) Reserve deterministic sequences (must be locked by implementation)
-        long fromSeq = accountSequenceStore.nextSequenceForUpdate(from.id());
-        long toSeq = accountSequenceStore.nextSequenceForUpdate(to.id());
-
-        // 5) Enforce no-negative (default) using snapshots as current cached state
-        long fromBalance = snapshotRepository.currentBalanceMinor(from.id());
-        // From account is decreased by transfer amount => DEBIT (per our convention)
-        long fromNext = balancePolicy.apply(from, fromBalance, EntryDirection.DEBIT, cmd.money());
+        // 4) Reserve deterministic sequences for both accounts
+        //    (locked by implementation, always in canonical order => no A->B / B->A deadlock)
+        // 5) ...and read current balances (snapshots, or the stripe total for a striped account)
+        Position fromPos;
+        Position toPos;
+        try {
+            if (!from.isStriped() && !to.isStriped()) {
+                Map<UUID, AccountSequenceStore.SequenceLock> sequences =
+                        accountSequenceStore.reserveNextSequences(List.of(from.id(), to.id()));
+                fromPos = Position.unstriped(sequences.get(from.id()), snapshotRepository.currentBalanceMinor(from.id()));
+                toPos = Position.unstriped(sequences.get(to.id()), snapshotRepository.currentBalanceMinor(to.id()));
+            } else if (precedes(from.id(), to.id())) {
+                fromPos = reserve(from, EntryDirection.DEBIT, cmd.commandId());
+                toPos = reserve(to, EntryDirection.CREDIT, cmd.commandId());
+            } else {
+                toPos = reserve(to, EntryDirection.CREDIT, cmd.commandId());
+                fromPos = reserve(from, EntryDirection.DEBIT, cmd.commandId());
+            }
+        } catch (AccountLayoutChangedException e) {
+            // A cached stripe count may predate (un)striping, so the wrong path was taken.
+            // Part of this transaction may already be reserved: drop the entries and let the
+            // whole command be retried from scratch (no sequence gaps after rollback).
+            accountRepository.evict(from.id());
+            accountRepository.evict(to.id());
+            throw new StaleAccountException("Account layout changed while transferring " + cmd.commandId(), e);
+        }
+        long fromSeq = fromPos.sequence();
+        long toSeq = toPos.sequence();
 
-        long toBalance = snapshotRepository.currentBalanceMinor(to.id());
-        // To account is increased => CREDIT
-        long toNext = balancePolicy.apply(to, toBalance, EntryDirection.CREDIT, cmd.money());
+        // 4b) Revalidate under the locks: from/to may come from a cache and predate a close or
+        //     allow_negative change. Such a change bumps account_version under the same row lock (V7),
+        //     so equal versions prove the loaded Account is current until we commit.
+        if (from.version() != fromPos.accountVersion()) {
+            from = reloadOpen(from.id());
+        }
+        if (to.version() != toPos.accountVersion()) {
+            to = reloadOpen(to.id());
+        }
+        mark = lap(TransferMetrics.Step.RESERVE_POSITIONS, mark);
 
-        // 6) Append ledger entries (two entries per transfer)
-        LedgerEntry fromEntry = new LedgerEntry(
-                uuidGenerator.randomUuid(),
-                transferId,
-                from.id(),
-                fromSeq,
-                EntryDirection.DEBIT,
-                cmd.money(),
-                now
-        );
+        // 5) Enforce no-negative (default) using snapshots as current cached state
+        long fromNext;
+        long toNext;
+        try {
+            // From account is decreased by transfer amount => DEBIT (per our convention)
+            fromNext = balancePolicy.apply(from, fromPos.balanceMinor(), EntryDirection.DEBIT, cmd.money());
 
-        LedgerEntry toEntry = new LedgerEntry(
-                uuidGenerator.randomUuid(),
-                transferId,
-                to.id(),
-                toSeq,
-                EntryDirection.CREDIT,
-                cmd.money(),
-                now
-        );
+            // To account is increased => CREDIT
+            toNext = balancePolicy.apply(to, toPos.balanceMinor(), EntryDirection.CREDIT, cmd.money());
+        } catch (InsufficientFundsException e) {
+            metrics.recordRejection(TransferMetrics.Rejection.INSUFFICIENT_FUNDS);
+            throw e;
+        }
+        mark = lap(TransferMetrics.Step.BALANCE_POLICY, mark);
 
-        ledgerRepository.insert(fromEntry);
-        ledgerRepository.insert(toEntry);
+        // 6) Append ledger entries (two entries per transfer, one statement)
+        //    NOTE: the entries are described by the Transfer itself (DEBIT from, CREDIT to, same money),
+        //    so no LedgerEntry records are built on this path.
+        ledgerRepository.insertTransferEntries(transfer, uuidGenerator.randomUuid(), fromSeq, uuidGenerator.randomUuid(), toSeq);
+        mark = lap(TransferMetrics.Step.APPEND_ENTRIES, mark);
 
         // 7) Update snapshots (cache)
-        snapshotRepository.upsert(from.id(), fromSeq, fromNext);
-        snapshotRepository.upsert(to.id(), toSeq, toNext);
+        storeBalance(from, fromPos, fromNext);
+        storeBalance(to, toPos, toNext);
+        mark = lap(TransferMetrics.Step.UPDATE_BALANCES, mark);
 
         // 8) Record outbox event (atomic with the above changes)
         UUID eventId = uuidGenerator.randomUuid();
-        String payloadJson = "{\"transferId\":\"" + transferId + "\",\"commandId\":\"" + cmd.commandId() + "\"}";
-        outboxRepository.insertTransferCompleted(eventId, transferId, cmd.commandId(), cmd.correlationId(), payloadJson);
+        outboxRepository.insertTransferCompleted(eventId, transferId, cmd.commandId(), cmd.correlationId());
+        mark = lap(TransferMetrics.Step.OUTBOX, mark);
 
         // 9) Mark command applied
         commandStore.markApplied(cmd.commandId(), now);
+        lap(TransferMetrics.Step.MARK_APPLIED, mark);
 
         return new TransferResult(transferId, cmd.commandId());
     }
+
+    /**
+     * One account's position, reserved on its own (needed as soon as either side is striped).
+     * A striped account posts to the stripe chosen by the commandId, so a retry hits the same stripe.
+     */
+    private Position reserve(Account account, EntryDirection direction, UUID routingKey) {
+        if (!account.isStriped()) {
+            AccountSequenceStore.SequenceLock lock = accountSequenceStore.nextSequenceForUpdate(account.id());
+            return Position.unstriped(lock, snapshotRepository.currentBalanceMinor(account.id()));
+        }
+        int stripe = account.stripeFor(routingKey);
+        AccountStripeStore.Reservation reservation = direction == EntryDirection.DEBIT
+                ? accountStripeStore.reserveForDebit(account.id(), stripe)
+                : accountStripeStore.reserveForCredit(account.id(), stripe);
+        return new Position(reservation.sequence(), reservation.balanceMinor(), stripe, reservation.accountVersion());
+    }
+
+    // NOTE: runs after the row lock, so the reloaded Account cannot change before commit.
+    private Account reloadOpen(UUID accountId) {
+        Account account = accountRepository.reload(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId));
+        if (!account.isOpen()) {
+            metrics.recordRejection(TransferMetrics.Rejection.ACCOUNT_NOT_OPEN);
+            throw new IllegalArgumentException("Both accounts must be OPEN to transfer");
+        }
+        return account;
+    }
+
+    private void storeBalance(Account account, Position position, long nextBalanceMinor) {
+        if (position.stripe() == Position.UNSTRIPED) {
+            snapshotRepository.upsert(account.id(), position.sequence(), nextBalanceMinor);
+        } else {
+            // NOTE: a stripe holds only part of the balance => apply the delta, not the new total.
+            accountStripeStore.applyDelta(account.id(), position.stripe(), position.sequence(),
+                    nextBalanceMinor - position.balanceMinor());
+        }
+    }
+
+    // Records the step that started at startedNanos; returns the start of the next one.
+    private long lap(TransferMetrics.Step step, long startedNanos) {
+        long now = System.nanoTime();
+        metrics.recordStep(step, now - startedNanos);
+        return now;
+    }
+
+    // NOTE: PostgreSQL orders uuid as unsigned bytes; UUID.compareTo compares signed longs.
+    private static boolean precedes(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        if (high != 0) {
+            return high < 0;
+        }
+        return Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits()) < 0;
+    }
+
+    private record Position(long sequence, long balanceMinor, int stripe, long accountVersion) {
+        static final int UNSTRIPED = -1;
+
+        static Position unstriped(AccountSequenceStore.SequenceLock lock, long balanceMinor) {
+            return new Position(lock.sequence(), balanceMinor, UNSTRIPED, lock.accountVersion());
+        }
+    }
 }
@@ -6,16 +6,37 @@ import java.util.UUID;
 /**
  * Account is intentionally minimal.
  * No stored balance. Balance is derived from ledger history (plus optional snapshots).
+ *
+ * A striped account (stripeCount > 1) spreads its postings over N independent
+ * sequence/balance stripes; its balance is the sum of the stripes (see V4 migration).
+ *
+ * version changes whenever status, allowNegative or stripeCount change (see V7 migration);
+ * it tells a cached Account apart from the current one.
  */
 public final class Account {
     private final UUID id;
     private final AccountStatus status;
     private final boolean allowNegative;
+    private final int stripeCount;
+    private final long version;
 
     public Account(UUID id, AccountStatus status, boolean allowNegative) {
+        this(id, status, allowNegative, 1);
+    }
+
+    public Account(UUID id, AccountStatus status, boolean allowNegative, int stripeCount) {
+        this(id, status, allowNegative, stripeCount, 0);
+    }
+
+    public Account(UUID id, AccountStatus status, boolean allowNegative, int stripeCount, long version) {
         this.id = Objects.requireNonNull(id, "id");
         this.status = Objects.requireNonNull(status, "status");
         this.allowNegative = allowNegative;
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("stripeCount must be >= 1, got: " + stripeCount);
+        }
+        this.stripeCount = stripeCount;
+        this.version = version;
     }
 
     public UUID id() {
@@ -33,4 +54,24 @@ public final class Account {
     public boolean isOpen() {
         return status == AccountStatus.OPEN;
     }
+
+    public int stripeCount() {
+        return stripeCount;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean isStriped() {
+        return stripeCount > 1;
+    }
+
+    /**
+     * Stripe a posting routed by the given key goes to.
+     * Deterministic, so a retried command lands on the same stripe.
+     */
+    public int stripeFor(UUID routingKey) {
+        return Math.floorMod(routingKey.hashCode(), stripeCount);
+    }
 }
@@ -1,20 +1,43 @@
 package com.ledgercore.domain.model;
 
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * ISO-4217 currency code. For this project we keep it simple: 3-letter uppercase.
+ *
+ * {@link #of} returns one shared instance per code, so the code is validated once, not per transfer.
+ * NOTE: at most 26^3 valid codes exist, so the instance cache needs no bound.
  */
 public record Currency(String code) {
 
+    private static final ConcurrentMap<String, Currency> INSTANCES = new ConcurrentHashMap<>();
+
     public Currency {
         Objects.requireNonNull(code, "code");
-        if (!code.matches("^[A-Z]{3}$")) {
+        if (!isValidCode(code)) {
             throw new IllegalArgumentException("Currency code must be 3 uppercase letters, got: " + code);
         }
     }
 
     public static Currency of(String code) {
-        return new Currency(code);
+        Objects.requireNonNull(code, "code");
+        Currency cached = INSTANCES.get(code);
+        return cached != null ? cached : INSTANCES.computeIfAbsent(code, Currency::new);
+    }
+
+    // Same rule as ^[A-Z]{3}$, without a regex.
+    private static boolean isValidCode(String code) {
+        if (code.length() != 3) {
+            return false;
+        }
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
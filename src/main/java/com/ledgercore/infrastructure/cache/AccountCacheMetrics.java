@@ -0,0 +1,59 @@
+package com.ledgercore.infrastructure.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters kept by the account cache.
+ * - hits / misses:  lookups served from / not found in the cache
+ * - reloads:        accounts reloaded because the version seen under the row lock differed
+ * - invalidations:  entries dropped by account_changed notifications (or a LISTEN reconnect)
+ * - evictions:      entries dropped by the size bound
+ */
+public final class AccountCacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void recordHits(long lookups) {
+        hits.add(lookups);
+    }
+
+    void recordMisses(long lookups) {
+        misses.add(lookups);
+    }
+
+    void recordReloads(long accounts) {
+        reloads.add(accounts);
+    }
+
+    void recordInvalidation() {
+        invalidations.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long reloads() {
+        return reloads.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,161 @@
+package com.ledgercore.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.ledgercore.application.ports.AccountRepository;
+import com.ledgercore.domain.model.Account;
+
+import java.util.*;
+
+/**
+ * Bounded in-process cache in front of an {@link AccountRepository}.
+ *
+ * Account metadata (status, allow_negative, stripe_count) almost never changes, yet every
+ * transfer needs it for both sides; a hit saves one SELECT per account.
+ *
+ * Correctness does NOT depend on this cache being fresh (revalidation strategy):
+ * - every metadata change bumps account_sequences.account_version under that row's lock (V7);
+ * - every posting locks the same row and gets the version back from its reservation;
+ * - handlers compare it with the cached Account's version and {@link #reload} on mismatch,
+ *   still inside the locked section. A stale "OPEN" therefore can never post to a closed account.
+ *
+ * Freshness (so mismatches stay rare): each bump sends NOTIFY account_changed '<id>', and
+ * {@link #invalidate} drops the entry on every node. After a LISTEN reconnect everything is dropped.
+ *
+ * IMPORTANT:
+ * - Unknown ids are not cached (no negative caching).
+ * - Stores keep the higher version when two loads race, so an old load never replaces a newer entry.
+ */
+public final class CachingAccountRepository implements AccountRepository {
+
+    /** NOTIFY channel of trg_accounts_version / trg_account_sequences_version (V7 migration). */
+    public static final String NOTIFY_CHANNEL = "account_changed";
+
+    private final AccountRepository delegate;
+    private final AccountCacheMetrics metrics;
+    private final Cache<UUID, Account> cache;
+
+    public CachingAccountRepository(AccountRepository delegate, long maximumSize, AccountCacheMetrics metrics) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be >= 1, got: " + maximumSize);
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .removalListener((UUID accountId, Account account, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        metrics.recordEviction();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<Account> findById(UUID accountId) {
+        Account cached = cache.getIfPresent(accountId);
+        if (cached != null) {
+            metrics.recordHits(1);
+            return Optional.of(cached);
+        }
+        metrics.recordMisses(1);
+        Optional<Account> loaded = delegate.findById(accountId);
+        loaded.ifPresent(this::store);
+        return loaded;
+    }
+
+    @Override
+    public Account findByIdOrNull(UUID accountId) {
+        Account cached = cache.getIfPresent(accountId);
+        if (cached != null) {
+            metrics.recordHits(1);
+            return cached;
+        }
+        metrics.recordMisses(1);
+        Account loaded = delegate.findByIdOrNull(accountId);
+        if (loaded != null) {
+            store(loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Map<UUID, Account> findAllById(Collection<UUID> accountIds) {
+        Map<UUID, Account> accounts = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID accountId : accountIds) {
+            Account cached = cache.getIfPresent(accountId);
+            if (cached != null) {
+                accounts.put(accountId, cached);
+            } else {
+                missing.add(accountId);
+            }
+        }
+        metrics.recordHits(accounts.size());
+        metrics.recordMisses(missing.size());
+        if (!missing.isEmpty()) {
+            Map<UUID, Account> loaded = delegate.findAllById(missing);
+            loaded.values().forEach(this::store);
+            accounts.putAll(loaded);
+        }
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> reload(UUID accountId) {
+        metrics.recordReloads(1);
+        Optional<Account> loaded = delegate.findById(accountId);
+        loaded.ifPresentOrElse(this::store, () -> cache.invalidate(accountId));
+        return loaded;
+    }
+
+    @Override
+    public Map<UUID, Account> reloadAll(Collection<UUID> accountIds) {
+        metrics.recordReloads(accountIds.size());
+        Map<UUID, Account> loaded = delegate.findAllById(accountIds);
+        loaded.values().forEach(this::store);
+        return loaded;
+    }
+
+    @Override
+    public void evict(UUID accountId) {
+        cache.invalidate(accountId);
+    }
+
+    /**
+     * Drops one entry (account_changed notification payload).
+     */
+    public void invalidate(UUID accountId) {
+        metrics.recordInvalidation();
+        cache.invalidate(accountId);
+    }
+
+    /**
+     * Drops everything: notifications may have been missed (e.g. LISTEN connection re-established).
+     */
+    public void invalidateAll() {
+        metrics.recordInvalidation();
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Runs pending maintenance (size eviction is otherwise applied asynchronously).
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    public AccountCacheMetrics metrics() {
+        return metrics;
+    }
+
+    private void store(Account account) {
+        cache.asMap().merge(account.id(), account,
+                (current, loaded) -> loaded.version() >= current.version() ? loaded : current);
+    }
+}
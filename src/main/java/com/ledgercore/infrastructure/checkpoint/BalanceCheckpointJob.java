@@ -0,0 +1,99 @@
+package com.ledgercore.infrastructure.checkpoint;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Periodically appends balance checkpoints for every account that moved at least K entries.
+ *
+ * One run walks all due accounts in account_id order, accountsPerRound at a time (keyset cursor),
+ * so a huge account table is never loaded at once and every account gets its turn.
+ *
+ * IMPORTANT:
+ * - Safe on several instances: ledger_write_checkpoints serializes per account (advisory lock).
+ * - Accounts below K new entries are left alone until they reach it.
+ */
+public final class BalanceCheckpointJob implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceCheckpointJob.class);
+
+    private final JdbcBalanceCheckpointWriter writer;
+    private final int accountsPerRound;
+    private final Duration interval;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public BalanceCheckpointJob(JdbcBalanceCheckpointWriter writer, int accountsPerRound, Duration interval) {
+        if (accountsPerRound < 1) {
+            throw new IllegalArgumentException("accountsPerRound must be >= 1, got: " + accountsPerRound);
+        }
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.accountsPerRound = accountsPerRound;
+        this.interval = Objects.requireNonNull(interval, "interval");
+    }
+
+    /**
+     * One pass over all due accounts on the calling thread.
+     * @return number of checkpoints written
+     */
+    public int runOnce() {
+        int written = 0;
+        UUID cursor = null;
+        while (true) {
+            List<UUID> due = writer.dueAccounts(cursor, accountsPerRound);
+            for (UUID accountId : due) {
+                written += writer.checkpoint(accountId);
+            }
+            if (due.size() < accountsPerRound) {
+                return written;
+            }
+            cursor = due.get(due.size() - 1);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofVirtual().name("balance-checkpoints").start(this::runLoop);
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                int written = runOnce();
+                if (written > 0) {
+                    log.debug("Wrote {} balance checkpoints", written);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Balance checkpoint run failed", e);
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
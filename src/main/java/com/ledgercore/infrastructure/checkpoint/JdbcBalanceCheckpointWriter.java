@@ -0,0 +1,79 @@
+package com.ledgercore.infrastructure.checkpoint;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Appends balance_checkpoints (V6 migration) through ledger_write_checkpoints.
+ *
+ * IMPORTANT:
+ * - Read-only towards the write path: no locks on account_sequences / account_stripes / snapshots,
+ *   so checkpointing never delays transfers.
+ * - Each account is checkpointed in its own autocommit statement; a failure loses nothing,
+ *   the next run continues after the last checkpoint that exists.
+ */
+public final class JdbcBalanceCheckpointWriter {
+
+    private final JdbcTemplate jdbc;
+    private final int every;
+
+    /**
+     * @param every K: one checkpoint per K entries; an as-of read folds at most K entries
+     */
+    public JdbcBalanceCheckpointWriter(JdbcTemplate jdbc, int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("every must be >= 1, got: " + every);
+        }
+        this.jdbc = jdbc;
+        this.every = every;
+    }
+
+    /**
+     * @return number of checkpoints written for this account
+     */
+    public int checkpoint(UUID accountId) {
+        Integer written = jdbc.queryForObject("SELECT ledger_write_checkpoints(?, ?)", Integer.class, accountId, every);
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Accounts after `afterAccountId` (null = from the start) with at least K sequences
+     * not covered by a checkpoint, in account_id order (keyset cursor for the job).
+     *
+     * NOTE: a striped account only counts up to its slowest stripe, the same watermark
+     * ledger_write_checkpoints stops at; otherwise it would stay due while writing nothing.
+     */
+    public List<UUID> dueAccounts(UUID afterAccountId, int limit) {
+        return jdbc.query("""
+            SELECT q.account_id
+            FROM account_sequences q
+            LEFT JOIN LATERAL (
+              SELECT MIN(st.next_sequence) AS next_sequence
+              FROM account_stripes st
+              WHERE st.account_id = q.account_id
+                AND q.stripe_count > 1
+            ) st ON TRUE
+            LEFT JOIN LATERAL (
+              SELECT k.sequence
+              FROM balance_checkpoints k
+              WHERE k.account_id = q.account_id
+              ORDER BY k.sequence DESC
+              LIMIT 1
+            ) k ON TRUE
+            WHERE (?::uuid IS NULL OR q.account_id > ?::uuid)
+              AND COALESCE(st.next_sequence, q.next_sequence) - 1 - COALESCE(k.sequence, 0) >= ?
+            ORDER BY q.account_id
+            LIMIT ?
+            """,
+                ps -> {
+                    ps.setObject(1, afterAccountId);
+                    ps.setObject(2, afterAccountId);
+                    ps.setInt(3, every);
+                    ps.setInt(4, limit);
+                },
+                (rs, rowNum) -> (UUID) rs.getObject("account_id")
+        );
+    }
+}
@@ -1,17 +1,62 @@
 package com.ledgercore.infrastructure.config;
 
 import com.ledgercore.application.ports.*;
+import com.ledgercore.application.service.AccountProvisioningService;
+import com.ledgercore.application.service.BalanceQueryService;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.application.service.StatementQueryService;
 import com.ledgercore.application.service.TransferHandler;
 import com.ledgercore.domain.policy.BalancePolicy;
-import com.ledgercore.infrastructure.outbox.JdbcOutboxRepository;
+import com.ledgercore.infrastructure.cache.AccountCacheMetrics;
+import com.ledgercore.infrastructure.cache.CachingAccountRepository;
+import com.ledgercore.infrastructure.checkpoint.BalanceCheckpointJob;
+import com.ledgercore.infrastructure.checkpoint.JdbcBalanceCheckpointWriter;
+import com.ledgercore.infrastructure.id.UuidV7Generator;
+import com.ledgercore.infrastructure.importer.HistoricalTransferImporter;
+import com.ledgercore.infrastructure.metrics.LaneMeterBinder;
+import com.ledgercore.infrastructure.metrics.LedgerCounterBinder;
+import com.ledgercore.infrastructure.metrics.MicrometerTransferMetrics;
+import com.ledgercore.infrastructure.outbox.*;
+import com.ledgercore.infrastructure.partition.JdbcPartitionManager;
+import com.ledgercore.infrastructure.partition.PartitionMaintenanceJob;
 import com.ledgercore.infrastructure.persistence.jdbc.*;
+import com.ledgercore.infrastructure.reconciliation.LedgerReconciler;
+import com.ledgercore.infrastructure.reconciliation.SnapshotRebuilder;
+import com.ledgercore.infrastructure.replica.ReadReplica;
+import com.ledgercore.infrastructure.replica.ReplicaReadMetrics;
+import com.ledgercore.infrastructure.replica.RoutingBalanceReader;
+import com.ledgercore.infrastructure.replica.RoutingStatementReader;
+import com.ledgercore.infrastructure.retry.RetryMetrics;
+import com.ledgercore.infrastructure.retry.RetryPolicy;
+import com.ledgercore.infrastructure.retry.RetryingTransactionExecutor;
+import com.ledgercore.infrastructure.service.AsyncTransferService;
+import com.ledgercore.infrastructure.service.PartitionedTransferService;
+import com.ledgercore.infrastructure.service.ReplayCachingTransferService;
+import com.ledgercore.infrastructure.service.RetryingTransferService;
+import com.ledgercore.infrastructure.service.SqlFunctionTransferService;
 import com.ledgercore.infrastructure.service.TransferService;
 import com.ledgercore.infrastructure.service.TransactionalTransferService;
+import com.ledgercore.infrastructure.statement.StatementExporter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Configuration
@@ -29,14 +74,26 @@ public class AppConfig {
         return new JdbcCommandStore(jdbc);
     }
 
+    // NOTE: the cache is safe to enable: handlers revalidate account versions under the row locks.
+    @Bean
+    AccountRepository accountRepository(
+            JdbcTemplate jdbc,
+            AccountCacheMetrics accountCacheMetrics,
+            @Value("${ledger.accounts.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${ledger.accounts.cache.maximum-size:100000}") long maximumSize
+    ) {
+        AccountRepository repository = new JdbcAccountRepository(jdbc);
+        return cacheEnabled ? new CachingAccountRepository(repository, maximumSize, accountCacheMetrics) : repository;
+    }
+
     @Bean
-    AccountRepository accountRepository(JdbcTemplate jdbc) {
-        return new JdbcAccountRepository(jdbc);
+    AccountSequenceStore accountSequenceStore(JdbcTemplate jdbc, TransferMetrics transferMetrics) {
+        return new JdbcAccountSequenceStore(jdbc, transferMetrics);
     }
 
     @Bean
-    AccountSequenceStore accountSequenceStore(JdbcTemplate jdbc) {
-        return new JdbcAccountSequenceStore(jdbc);
+    AccountStripeStore accountStripeStore(JdbcTemplate jdbc, TransferMetrics transferMetrics) {
+        return new JdbcAccountStripeStore(jdbc, transferMetrics);
     }
 
     @Bean
@@ -59,15 +116,70 @@ public class AppConfig {
         return new JdbcOutboxRepository(jdbc);
     }
 
+    @Bean
+    AccountProvisioner accountProvisioner(JdbcTemplate jdbc) {
+        return new JdbcAccountProvisioner(jdbc);
+    }
+
+    // NOTE: with a read replica configured, queries route to it (RoutingBalanceReader).
+    @Bean
+    BalanceReader balanceReader(
+            JdbcTemplate jdbc,
+            Optional<ReadReplica> readReplica,
+            ReplicaReadMetrics replicaReadMetrics,
+            @Value("${ledger.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${ledger.datasource.replica.max-wait:200ms}") Duration maxWait
+    ) {
+        BalanceReader primary = new JdbcBalanceReader(jdbc);
+        return readReplica
+                .<BalanceReader>map(replica -> new RoutingBalanceReader(primary,
+                        new JdbcBalanceReader(replica.jdbc()), replica, maxLag, maxWait, replicaReadMetrics))
+                .orElse(primary);
+    }
+
+    // ---------- Read replica ----------
+    // NOTE: not a DataSource bean, so Boot's primary DataSource, Flyway and transactions are untouched.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.datasource.replica.url")
+    ReadReplica readReplica(
+            JdbcTemplate jdbc,
+            @Value("${ledger.datasource.replica.url}") String url,
+            @Value("${ledger.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${ledger.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${ledger.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${ledger.datasource.replica.probe-interval:1s}") Duration probeInterval
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("ledger-replica");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        return new ReadReplica(dataSource, jdbc, probeInterval);
+    }
+
+    @Bean
+    ReplicaReadMetrics replicaReadMetrics() {
+        return new ReplicaReadMetrics();
+    }
+
     // ---------- Pure utilities as ports ----------
     @Bean
     Clock clock() {
         return Instant::now;
     }
 
+    // NOTE: v7 = time-ordered keys (UuidV7Generator); random = UUID.randomUUID (v4).
     @Bean
-    UuidGenerator uuidGenerator() {
-        return UUID::randomUUID;
+    UuidGenerator uuidGenerator(@Value("${ledger.ids.generator:v7}") String generator) {
+        return switch (generator) {
+            case "v7" -> new UuidV7Generator();
+            case "random" -> UUID::randomUUID;
+            default -> throw new IllegalArgumentException("Unknown ledger.ids.generator: " + generator);
+        };
     }
 
     // ---------- Application handler (pure) ----------
@@ -76,18 +188,51 @@ public class AppConfig {
             CommandStore commandStore,
             AccountRepository accountRepository,
             AccountSequenceStore accountSequenceStore,
+            AccountStripeStore accountStripeStore,
             TransferRepository transferRepository,
             LedgerRepository ledgerRepository,
             SnapshotRepository snapshotRepository,
             OutboxRepository outboxRepository,
             BalancePolicy balancePolicy,
             Clock clock,
-            UuidGenerator uuidGenerator
+            UuidGenerator uuidGenerator,
+            TransferMetrics transferMetrics
     ) {
         return new TransferHandler(
                 commandStore,
                 accountRepository,
                 accountSequenceStore,
+                accountStripeStore,
+                transferRepository,
+                ledgerRepository,
+                snapshotRepository,
+                outboxRepository,
+                balancePolicy,
+                clock,
+                uuidGenerator,
+                transferMetrics
+        );
+    }
+
+    @Bean
+    BatchTransferHandler batchTransferHandler(
+            CommandStore commandStore,
+            AccountRepository accountRepository,
+            AccountSequenceStore accountSequenceStore,
+            AccountStripeStore accountStripeStore,
+            TransferRepository transferRepository,
+            LedgerRepository ledgerRepository,
+            SnapshotRepository snapshotRepository,
+            OutboxRepository outboxRepository,
+            BalancePolicy balancePolicy,
+            Clock clock,
+            UuidGenerator uuidGenerator
+    ) {
+        return new BatchTransferHandler(
+                commandStore,
+                accountRepository,
+                accountSequenceStore,
+                accountStripeStore,
                 transferRepository,
                 ledgerRepository,
                 snapshotRepository,
@@ -98,9 +243,341 @@ public class AppConfig {
         );
     }
 
+    @Bean
+    AccountProvisioningService accountProvisioningService(
+            AccountProvisioner accountProvisioner,
+            @Value("${ledger.accounts.provisioning.batch-size:10000}") int batchSize
+    ) {
+        return new AccountProvisioningService(accountProvisioner, batchSize);
+    }
+
+    @Bean
+    BalanceQueryService balanceQueryService(BalanceReader balanceReader) {
+        return new BalanceQueryService(balanceReader);
+    }
+
+    // ---------- Account statements ----------
+    @Bean
+    StatementReader statementReader(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.statements.fetch-size:5000}") int fetchSize
+    ) {
+        return new JdbcStatementReader(dataSource, transactionManager, fetchSize);
+    }
+
+    @Bean
+    StatementQueryService statementQueryService(
+            StatementReader statementReader,
+            @Value("${ledger.statements.max-page-size:1000}") int maxPageSize
+    ) {
+        return new StatementQueryService(statementReader, maxPageSize);
+    }
+
+    // NOTE: pages read the primary (fresh); exports hold one long read transaction, so they run
+    // on the read replica when one is configured and its lag is within max-lag (RoutingStatementReader).
+    @Bean
+    StatementExporter statementExporter(
+            StatementQueryService statementQueryService,
+            StatementReader statementReader,
+            Optional<ReadReplica> readReplica,
+            ReplicaReadMetrics replicaReadMetrics,
+            @Value("${ledger.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${ledger.statements.fetch-size:5000}") int fetchSize,
+            @Value("${ledger.statements.max-page-size:1000}") int maxPageSize
+    ) {
+        return new StatementExporter(readReplica
+                .map(replica -> new StatementQueryService(new RoutingStatementReader(statementReader,
+                        new JdbcStatementReader(replica.dataSource(), new DataSourceTransactionManager(replica.dataSource()),
+                                fetchSize), replica, maxLag, replicaReadMetrics), maxPageSize))
+                .orElse(statementQueryService));
+    }
+
     // ---------- Transaction boundary (Spring) ----------
     @Bean
-    TransferService transferService(TransferHandler handler) {
-        return new TransactionalTransferService(handler);
+    RetryPolicy retryPolicy(
+            @Value("${ledger.transfer.retry.max-attempts:5}") int maxAttempts,
+            @Value("${ledger.transfer.retry.initial-backoff:10ms}") Duration initialBackoff,
+            @Value("${ledger.transfer.retry.max-backoff:500ms}") Duration maxBackoff,
+            @Value("${ledger.transfer.retry.lock-timeout:2s}") Duration lockTimeout,
+            @Value("${ledger.transfer.retry.statement-timeout:10s}") Duration statementTimeout
+    ) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, lockTimeout, statementTimeout);
+    }
+
+    @Bean
+    RetryMetrics retryMetrics() {
+        return new RetryMetrics();
+    }
+
+    @Bean
+    RetryingTransactionExecutor retryingTransactionExecutor(
+            TransactionTemplate tx,
+            JdbcTemplate jdbc,
+            RetryPolicy retryPolicy,
+            RetryMetrics retryMetrics
+    ) {
+        return new RetryingTransactionExecutor(tx, jdbc, retryPolicy, retryMetrics);
+    }
+
+    // NOTE: "handler" runs TransferHandler step by step; "sql-function" runs the same steps
+    // server-side in one round trip (ledger_transfer, V2 migration).
+    // Either engine joins the per-attempt transaction opened by the retrying executor.
+    // ledger.transfer.lanes > 0 adds account-partitioned single-writer lanes in front of it,
+    // with per-lane queue depth and utilization gauges (LaneMeterBinder).
+    // ledger.transfer.replay-cache answers retries of committed commands before all of that.
+    @Bean
+    TransferService transferService(
+            @Value("${ledger.transfer.engine:handler}") String engine,
+            TransferHandler handler,
+            BatchTransferHandler batchHandler,
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            Clock clock,
+            UuidGenerator uuidGenerator,
+            RetryingTransactionExecutor retryingTransactionExecutor,
+            TransferMetrics transferMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.transfer.lanes:0}") int lanes,
+            @Value("${ledger.transfer.replay-cache.enabled:true}") boolean replayCacheEnabled,
+            @Value("${ledger.transfer.replay-cache.maximum-size:100000}") long replayCacheMaximumSize,
+            @Value("${ledger.transfer.replay-cache.expire-after-write:10m}") Duration replayCacheExpireAfterWrite
+    ) {
+        TransferService engineService = switch (engine) {
+            case "handler" -> new TransactionalTransferService(handler, batchHandler, transferMetrics);
+            case "sql-function" -> new SqlFunctionTransferService(jdbc, clock, uuidGenerator, batchHandler, tx);
+            default -> throw new IllegalArgumentException("Unknown ledger.transfer.engine: " + engine);
+        };
+        TransferService retrying = new RetryingTransferService(engineService, retryingTransactionExecutor);
+        TransferService laned = retrying;
+        if (lanes > 0) {
+            PartitionedTransferService partitioned = new PartitionedTransferService(retrying, lanes);
+            new LaneMeterBinder(partitioned).bindTo(meterRegistry);
+            laned = partitioned;
+        }
+        // Outermost: a replay returns before taking a lane, a connection or a transaction.
+        return replayCacheEnabled
+                ? new ReplayCachingTransferService(laned, replayCacheMaximumSize, replayCacheExpireAfterWrite, transferMetrics)
+                : laned;
+    }
+
+    // NOTE: wraps the whole transferService stack above. max-concurrency is checked against the
+    // primary pool minus the connections the LISTEN beans keep (0 = all of those): beyond it, transfers
+    // would only wait for a connection instead of in the bounded queue.
+    @Bean(destroyMethod = "close")
+    AsyncTransferService asyncTransferService(
+            TransferService transferService,
+            TransferMetrics transferMetrics,
+            DataSource dataSource,
+            ObjectProvider<PgNotificationListener> listeners,
+            @Value("${ledger.transfer.async.max-concurrency:0}") int maxConcurrency,
+            @Value("${ledger.transfer.async.max-queued:100}") int maxQueued,
+            @Value("${ledger.transfer.async.deadline:2s}") Duration deadline
+    ) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            if (maxConcurrency < 1) {
+                throw new IllegalStateException("Set ledger.transfer.async.max-concurrency: pool size of "
+                        + dataSource.getClass().getName() + " is unknown");
+            }
+            return new AsyncTransferService(transferService, maxConcurrency, maxQueued, deadline, transferMetrics);
+        }
+        int dedicated = (int) listeners.stream().count();
+        return new AsyncTransferService(transferService,
+                AsyncTransferService.maxConcurrencyFor(maxConcurrency, hikari.getMaximumPoolSize(), dedicated),
+                maxQueued, deadline, transferMetrics);
+    }
+
+    // ---------- Metrics (Micrometer; scraped at /actuator/prometheus) ----------
+    @Bean
+    TransferMetrics transferMetrics(MeterRegistry meterRegistry) {
+        return new MicrometerTransferMetrics(meterRegistry);
+    }
+
+    @Bean
+    LedgerCounterBinder ledgerCounterBinder(
+            RetryMetrics retryMetrics,
+            AccountCacheMetrics accountCacheMetrics,
+            OutboxPublisherMetrics outboxPublisherMetrics,
+            ReplicaReadMetrics replicaReadMetrics
+    ) {
+        return new LedgerCounterBinder(retryMetrics, accountCacheMetrics, outboxPublisherMetrics, replicaReadMetrics);
+    }
+
+    // ---------- Account cache ----------
+    @Bean
+    AccountCacheMetrics accountCacheMetrics() {
+        return new AccountCacheMetrics();
+    }
+
+    // NOTE: one pooled connection stays checked out for LISTEN while this bean lives.
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.accounts.cache.enabled", havingValue = "true", matchIfMissing = true)
+    PgNotificationListener accountChangeListener(DataSource dataSource, AccountRepository accountRepository) {
+        CachingAccountRepository cache = (CachingAccountRepository) accountRepository;
+        return new PgNotificationListener(dataSource, CachingAccountRepository.NOTIFY_CHANNEL,
+                payload -> cache.invalidate(UUID.fromString(payload)), cache::invalidateAll, Duration.ofSeconds(1));
+    }
+
+    // ---------- Reconciliation ----------
+    // NOTE: on a replica, long slices can be cancelled by recovery conflicts unless the standby
+    // runs with hot_standby_feedback = on.
+    @Bean
+    LedgerReconciler ledgerReconciler(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            Optional<ReadReplica> readReplica,
+            @Value("${ledger.reconciliation.parallelism:4}") int parallelism,
+            @Value("${ledger.reconciliation.ranges:64}") int ranges,
+            @Value("${ledger.reconciliation.fetch-size:5000}") int fetchSize
+    ) {
+        if (readReplica.isPresent()) {
+            DataSource replica = readReplica.get().dataSource();
+            return new LedgerReconciler(replica, new DataSourceTransactionManager(replica), parallelism, ranges, fetchSize);
+        }
+        return new LedgerReconciler(dataSource, transactionManager, parallelism, ranges, fetchSize);
+    }
+
+    @Bean
+    SnapshotRebuilder snapshotRebuilder(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            @Value("${ledger.snapshots.rebuild.parallelism:4}") int parallelism,
+            @Value("${ledger.snapshots.rebuild.chunk-size:500}") int chunkSize
+    ) {
+        return new SnapshotRebuilder(jdbc, tx, parallelism, chunkSize);
+    }
+
+    // Set run-id to rebuild (or resume rebuilding) at startup; the node serves traffic meanwhile.
+    @Bean
+    @ConditionalOnProperty(name = "ledger.snapshots.rebuild.run-id")
+    ApplicationRunner snapshotRebuildRunner(
+            SnapshotRebuilder snapshotRebuilder,
+            @Value("${ledger.snapshots.rebuild.run-id}") String runId,
+            @Value("${ledger.snapshots.rebuild.ranges:64}") int ranges
+    ) {
+        return args -> Thread.ofVirtual().name("snapshot-rebuild").start(() -> snapshotRebuilder.run(runId, ranges));
+    }
+
+    // ---------- Historical import (V11) ----------
+    // NOTE: reads balances from the primary, never the replica: the import continues from them.
+    @Bean
+    HistoricalTransferImporter historicalTransferImporter(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            UuidGenerator uuidGenerator,
+            @Value("${ledger.import.chunk-size:10000}") int chunkSize
+    ) {
+        return new HistoricalTransferImporter(jdbc, tx, new JdbcBalanceReader(jdbc), uuidGenerator, chunkSize);
+    }
+
+    // Set run-id and file to import (or resume importing) at startup. Offline: stop transfers first.
+    @Bean
+    @ConditionalOnProperty(name = "ledger.import.run-id")
+    ApplicationRunner historicalImportRunner(
+            HistoricalTransferImporter historicalTransferImporter,
+            @Value("${ledger.import.run-id}") String runId,
+            @Value("${ledger.import.file}") Path file
+    ) {
+        return args -> Thread.ofVirtual().name("historical-import").start(() -> historicalTransferImporter.run(runId, file));
+    }
+
+    // ---------- Balance checkpoints ----------
+    @Bean
+    JdbcBalanceCheckpointWriter balanceCheckpointWriter(
+            JdbcTemplate jdbc,
+            @Value("${ledger.balance.checkpoints.every:1000}") int every
+    ) {
+        return new JdbcBalanceCheckpointWriter(jdbc, every);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.balance.checkpoints.enabled", havingValue = "true")
+    BalanceCheckpointJob balanceCheckpointJob(
+            JdbcBalanceCheckpointWriter balanceCheckpointWriter,
+            @Value("${ledger.balance.checkpoints.accounts-per-round:500}") int accountsPerRound,
+            @Value("${ledger.balance.checkpoints.interval:1m}") Duration interval
+    ) {
+        return new BalanceCheckpointJob(balanceCheckpointWriter, accountsPerRound, interval);
+    }
+
+    // ---------- Partition maintenance (V10) ----------
+    @Bean
+    JdbcPartitionManager partitionManager(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            @Value("${ledger.partitions.lock-timeout:1s}") Duration lockTimeout
+    ) {
+        return new JdbcPartitionManager(jdbc, tx, lockTimeout);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.partitions.maintenance.enabled", havingValue = "true")
+    PartitionMaintenanceJob partitionMaintenanceJob(
+            JdbcPartitionManager partitionManager,
+            Clock clock,
+            @Value("${ledger.partitions.months-ahead:2}") int monthsAhead,
+            @Value("${ledger.partitions.ledger.hash-partitions:0}") int ledgerHashPartitions,
+            @Value("${ledger.partitions.outbox.retention:30d}") Duration outboxRetention,
+            @Value("${ledger.partitions.outbox.drop-detached:true}") boolean dropDetached,
+            @Value("${ledger.partitions.interval:1h}") Duration interval
+    ) {
+        return new PartitionMaintenanceJob(partitionManager, clock, monthsAhead, ledgerHashPartitions,
+                outboxRetention, dropDetached, interval);
+    }
+
+    // ---------- Outbox publishing ----------
+    @Bean
+    JdbcOutboxQueue outboxQueue(JdbcTemplate jdbc) {
+        return new JdbcOutboxQueue(jdbc);
+    }
+
+    @Bean
+    OutboxPublisherPolicy outboxPublisherPolicy(
+            @Value("${ledger.outbox.publisher.workers:2}") int workers,
+            @Value("${ledger.outbox.publisher.batch-size:100}") int batchSize,
+            @Value("${ledger.outbox.publisher.lease:30s}") Duration lease,
+            @Value("${ledger.outbox.publisher.poll-interval:5s}") Duration pollInterval,
+            @Value("${ledger.outbox.publisher.max-attempts:10}") int maxAttempts,
+            @Value("${ledger.outbox.publisher.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${ledger.outbox.publisher.max-backoff:5m}") Duration maxBackoff
+    ) {
+        return new OutboxPublisherPolicy(workers, batchSize, lease, pollInterval, maxAttempts, initialBackoff, maxBackoff);
+    }
+
+    @Bean
+    OutboxPublisherMetrics outboxPublisherMetrics() {
+        return new OutboxPublisherMetrics();
+    }
+
+    // NOTE: stand-in sinks only; a broker-backed OutboxSink bean replaces this one.
+    @Bean
+    OutboxSink outboxSink(
+            @Value("${ledger.outbox.sink.type:memory}") String type,
+            @Value("${ledger.outbox.sink.file:outbox/events.ndjson}") String file
+    ) {
+        return switch (type) {
+            case "memory" -> new InMemoryOutboxSink();
+            case "file" -> new FileOutboxSink(Path.of(file));
+            default -> throw new IllegalArgumentException("Unknown ledger.outbox.sink.type: " + type);
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "ledger.outbox.publisher.enabled", havingValue = "true")
+    OutboxPublisher outboxPublisher(
+            JdbcOutboxQueue outboxQueue,
+            OutboxSink outboxSink,
+            OutboxPublisherPolicy outboxPublisherPolicy,
+            OutboxPublisherMetrics outboxPublisherMetrics
+    ) {
+        return new OutboxPublisher(outboxQueue, outboxSink, outboxPublisherPolicy, outboxPublisherMetrics);
+    }
+
+    // NOTE: one pooled connection stays checked out for LISTEN while this bean lives.
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = {"ledger.outbox.publisher.enabled", "ledger.outbox.publisher.listen"}, havingValue = "true")
+    PgNotificationListener outboxNotificationListener(DataSource dataSource, OutboxPublisher outboxPublisher) {
+        return new PgNotificationListener(dataSource, OutboxPublisher.NOTIFY_CHANNEL,
+                payload -> outboxPublisher.wakeup(), outboxPublisher::wakeup, Duration.ofSeconds(1));
     }
 }
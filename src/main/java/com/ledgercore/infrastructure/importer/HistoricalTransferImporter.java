@@ -0,0 +1,427 @@
+package com.ledgercore.infrastructure.importer;
+
+import com.ledgercore.application.ports.BalanceReader;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.domain.model.Account;
+import com.ledgercore.domain.model.AccountStatus;
+import com.ledgercore.domain.model.Currency;
+import com.ledgercore.domain.model.EntryDirection;
+import com.ledgercore.domain.model.Money;
+import com.ledgercore.domain.policy.BalancePolicy;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcArrays;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Offline bulk import of historical transfers (migration from a legacy ledger).
+ *
+ * Streams a CSV file, one transfer per line:
+ *   command_id,transfer_id,from_account_id,to_account_id,amount_minor,currency,created_at
+ * (created_at as ISO-8601, e.g. 2019-03-01T12:00:00Z; an optional header line is skipped).
+ *
+ * Lines are validated and sequenced in memory, then written chunkSize at a time: one transaction
+ * per chunk with three binary COPYs (commands, transfers, ledger_entries), the chunk's final
+ * account_sequences and balance_snapshots values, and the run's line count in import_progress (V11).
+ * A run that stops for any reason resumes after the last committed chunk.
+ *
+ * Checked while streaming, before anything of the chunk is written:
+ * - shape: ids, amount > 0, distinct accounts, currency code, created_at never before the line above,
+ * - per account: one currency (that of its existing entries, else of its first imported line), and
+ *   created_at never before its last existing entry,
+ * - no negative balances: the running balance of every account goes through {@link BalancePolicy}.
+ * The first violation stops the run with the line number; fix the file and run again.
+ * Each line becomes one DEBIT and one CREDIT of its amount, so every chunk balances by construction.
+ *
+ * IMPORTANT:
+ * - Offline: transfers on the imported accounts must be stopped. account_sequences is updated
+ *   compare-and-set, so a concurrent posting fails the chunk instead of being overwritten.
+ * - Sequences continue after each account's existing history; existing balances are read once
+ *   per account through {@link BalanceReader}. Striped accounts are refused.
+ * - Sequence order must stay time order: as-of-time reads map a time to a sequence by created_at.
+ *   History older than an account's existing entries is therefore refused, not interleaved.
+ * - No outbox events are written: history is not news to downstream consumers.
+ * - The file must not change between attempts of a run (only its name is checked).
+ */
+public final class HistoricalTransferImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoricalTransferImporter.class);
+
+    private static final String HEADER_PREFIX = "command_id,";
+    private static final int FIELDS = 7;
+
+    private static final String COPY_COMMANDS = """
+        COPY commands(command_id, command_type, correlation_id, status, created_at, applied_at)
+        FROM STDIN (FORMAT binary)""";
+    private static final String COPY_TRANSFERS = """
+        COPY transfers(id, command_id, from_account_id, to_account_id, amount_minor, currency, created_at)
+        FROM STDIN (FORMAT binary)""";
+    private static final String COPY_ENTRIES = """
+        COPY ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+        FROM STDIN (FORMAT binary)""";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final BalanceReader balanceReader;
+    private final UuidGenerator uuidGenerator;
+    private final BalancePolicy balancePolicy = new BalancePolicy();
+    private final int chunkSize;
+
+    public HistoricalTransferImporter(JdbcTemplate jdbc, TransactionTemplate tx, BalanceReader balanceReader,
+                                      UuidGenerator uuidGenerator, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be >= 1, got: " + chunkSize);
+        }
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+        this.tx = Objects.requireNonNull(tx, "tx");
+        this.balanceReader = Objects.requireNonNull(balanceReader, "balanceReader");
+        this.uuidGenerator = Objects.requireNonNull(uuidGenerator, "uuidGenerator");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs (or resumes) the import named runId from file until its last line.
+     */
+    public ImportSummary run(String runId, Path file) {
+        Objects.requireNonNull(runId, "runId");
+        Objects.requireNonNull(file, "file");
+        long started = System.nanoTime();
+        String source = file.getFileName().toString();
+
+        jdbc.update("""
+            INSERT INTO import_progress(run_id, source)
+            VALUES (?, ?)
+            ON CONFLICT (run_id) DO NOTHING
+            """, runId, source);
+        Progress progress = jdbc.queryForObject(
+                "SELECT source, lines, done FROM import_progress WHERE run_id = ?",
+                (rs, rowNum) -> new Progress(rs.getString("source"), rs.getLong("lines"), rs.getBoolean("done")),
+                runId);
+        if (!progress.source().equals(source)) {
+            throw new IllegalArgumentException("Run " + runId + " imports " + progress.source() + ", not " + source);
+        }
+        if (progress.done()) {
+            log.info("Import {}: already done ({} lines)", runId, progress.lines());
+            return new ImportSummary(0, 0, progress.lines(), Duration.ZERO);
+        }
+
+        Run run = new Run(runId, progress.lines());
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line = reader.readLine();
+            if (line != null && line.startsWith(HEADER_PREFIX)) {
+                line = reader.readLine();
+            }
+            for (long skipped = 0; skipped < progress.lines() && line != null; skipped++) {
+                line = reader.readLine();
+            }
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            while (line != null) {
+                if (!line.isBlank()) {
+                    chunk.add(run.parse(line));
+                    if (chunk.size() == chunkSize) {
+                        run.write(chunk);
+                        chunk.clear();
+                    }
+                }
+                run.lineNumber++;
+                line = reader.readLine();
+            }
+            run.write(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+        jdbc.update("UPDATE import_progress SET done = TRUE, updated_at = NOW() WHERE run_id = ?", runId);
+
+        ImportSummary summary = new ImportSummary(run.transfers, run.transfers * 2, progress.lines(),
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Import {}: {} transfers, {} entries in {} ({} transfers/s, {} entries/s)",
+                runId, summary.transfers(), summary.entries(), summary.elapsed(),
+                Math.round(summary.transfersPerSecond()), Math.round(summary.entriesPerSecond()));
+        return summary;
+    }
+
+    /**
+     * State of one attempt: where it is in the file and every account it has touched so far.
+     */
+    private final class Run {
+
+        private final String runId;
+        private final String correlationId;
+        private final long startedAt = System.nanoTime();
+        private final Map<UUID, AccountState> accounts = new HashMap<>();
+        // Counts every line after the header, blank or not, so restarts can skip by count.
+        private long lineNumber;
+        private long committedLines;
+        private long transfers;
+        private Instant lastCreatedAt;
+
+        Run(String runId, long committedLines) {
+            this.runId = runId;
+            this.correlationId = "import:" + runId;
+            this.lineNumber = committedLines;
+            this.committedLines = committedLines;
+        }
+
+        Row parse(String line) {
+            long number = lineNumber + 1;
+            String[] f = line.split(",", -1);
+            if (f.length != FIELDS) {
+                throw new IllegalArgumentException("line " + number + ": expected " + FIELDS + " fields, got " + f.length);
+            }
+            try {
+                Row row = new Row(number, UUID.fromString(f[0].strip()), UUID.fromString(f[1].strip()),
+                        UUID.fromString(f[2].strip()), UUID.fromString(f[3].strip()),
+                        Money.ofMinor(Long.parseLong(f[4].strip()), Currency.of(f[5].strip())),
+                        Instant.parse(f[6].strip()));
+                if (row.from().equals(row.to())) {
+                    throw new IllegalArgumentException("from and to account are the same");
+                }
+                if (lastCreatedAt != null && row.createdAt().isBefore(lastCreatedAt)) {
+                    throw new IllegalArgumentException("created_at " + row.createdAt() + " is before the line above");
+                }
+                lastCreatedAt = row.createdAt();
+                return row;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("line " + number + ": " + e.getMessage(), e);
+            }
+        }
+
+        void write(List<Row> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            load(chunk);
+
+            PgBinaryCopy commands = new PgBinaryCopy();
+            PgBinaryCopy transferRows = new PgBinaryCopy();
+            PgBinaryCopy entries = new PgBinaryCopy();
+            Map<UUID, AccountState> touched = new LinkedHashMap<>();
+            for (Row row : chunk) {
+                AccountState from = accounts.get(row.from());
+                AccountState to = accounts.get(row.to());
+                long amount = row.money().amountMinor();
+                from.accept(row);
+                to.accept(row);
+                try {
+                    from.balance = balancePolicy.apply(from.account, from.balance, EntryDirection.DEBIT, row.money());
+                    to.balance = balancePolicy.apply(to.account, to.balance, EntryDirection.CREDIT, row.money());
+                } catch (InsufficientFundsException e) {
+                    throw new InsufficientFundsException("line " + row.line() + ": account " + row.from() + ": " + e.getMessage());
+                }
+                long debitSequence = from.nextSequence++;
+                long creditSequence = to.nextSequence++;
+                touched.put(from.account.id(), from);
+                touched.put(to.account.id(), to);
+
+                String currency = row.money().currency().code();
+                commands.row(6).uuid(row.commandId()).text("Transfer").text(correlationId).text("APPLIED")
+                        .timestamptz(row.createdAt()).timestamptz(row.createdAt());
+                transferRows.row(7).uuid(row.transferId()).uuid(row.commandId()).uuid(row.from()).uuid(row.to())
+                        .bigint(amount).text(currency).timestamptz(row.createdAt());
+                entries.row(8).uuid(uuidGenerator.randomUuid()).uuid(row.transferId()).uuid(row.from())
+                        .bigint(debitSequence).text("DEBIT").bigint(amount).text(currency).timestamptz(row.createdAt());
+                entries.row(8).uuid(uuidGenerator.randomUuid()).uuid(row.transferId()).uuid(row.to())
+                        .bigint(creditSequence).text("CREDIT").bigint(amount).text(currency).timestamptz(row.createdAt());
+            }
+
+            long lines = chunk.getLast().line() - committedLines;
+            tx.executeWithoutResult(status -> {
+                copy(COPY_COMMANDS, commands);
+                copy(COPY_TRANSFERS, transferRows);
+                copy(COPY_ENTRIES, entries);
+                advance(touched.values());
+                jdbc.update("""
+                    UPDATE import_progress
+                    SET lines      = lines + ?,
+                        transfers  = transfers + ?,
+                        updated_at = NOW()
+                    WHERE run_id = ?
+                    """, lines, chunk.size(), runId);
+            });
+            touched.values().forEach(state -> state.storedNextSequence = state.nextSequence);
+            committedLines += lines;
+            transfers += chunk.size();
+
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            log.debug("Import {}: {} lines committed, {} transfers/s", runId, committedLines, Math.round(transfers / seconds));
+        }
+
+        /**
+         * Sequence counter, balance and last entry of accounts seen for the first time, one query each for the chunk.
+         */
+        private void load(List<Row> chunk) {
+            Set<UUID> unknown = new LinkedHashSet<>();
+            for (Row row : chunk) {
+                if (!accounts.containsKey(row.from())) {
+                    unknown.add(row.from());
+                }
+                if (!accounts.containsKey(row.to())) {
+                    unknown.add(row.to());
+                }
+            }
+            if (unknown.isEmpty()) {
+                return;
+            }
+            Map<UUID, AccountBalance> balances = balanceReader.readAll(unknown);
+            jdbc.query("""
+                SELECT q.account_id, q.next_sequence, q.stripe_count, a.status, a.allow_negative,
+                       last.currency, last.created_at
+                FROM account_sequences q
+                JOIN accounts a ON a.id = q.account_id
+                LEFT JOIN LATERAL (
+                  SELECT e.currency, e.created_at
+                  FROM ledger_entries e
+                  WHERE e.account_id = q.account_id
+                  ORDER BY e.sequence DESC
+                  LIMIT 1
+                ) last ON TRUE
+                WHERE q.account_id = ANY(?)
+                """,
+                    ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), unknown)),
+                    (RowCallbackHandler) rs -> {
+                        UUID id = (UUID) rs.getObject("account_id");
+                        if (rs.getInt("stripe_count") > 1) {
+                            throw new IllegalArgumentException("Account " + id + " is striped; unstripe it before importing");
+                        }
+                        Account account = new Account(id, AccountStatus.valueOf(rs.getString("status")), rs.getBoolean("allow_negative"));
+                        AccountBalance balance = balances.get(id);
+                        String currency = rs.getString("currency");
+                        Timestamp lastCreatedAt = rs.getTimestamp("created_at");
+                        accounts.put(id, new AccountState(account, rs.getLong("next_sequence"),
+                                balance == null ? 0 : balance.balanceMinor(),
+                                currency == null ? null : Currency.of(currency),
+                                lastCreatedAt == null ? null : lastCreatedAt.toInstant()));
+                    });
+            for (Row row : chunk) {
+                for (UUID id : List.of(row.from(), row.to())) {
+                    if (!accounts.containsKey(id)) {
+                        throw new IllegalArgumentException("line " + row.line() + ": unknown account " + id);
+                    }
+                }
+            }
+        }
+
+        private void advance(Iterable<AccountState> touched) {
+            List<UUID> ids = new ArrayList<>();
+            List<Long> expected = new ArrayList<>();
+            List<Long> next = new ArrayList<>();
+            List<Long> balances = new ArrayList<>();
+            for (AccountState state : touched) {
+                ids.add(state.account.id());
+                expected.add(state.storedNextSequence);
+                next.add(state.nextSequence);
+                balances.add(state.balance);
+            }
+            int advanced = jdbc.update("""
+                UPDATE account_sequences q
+                SET next_sequence = v.next_sequence
+                FROM unnest(?::uuid[], ?::bigint[], ?::bigint[]) AS v(account_id, expected, next_sequence)
+                WHERE q.account_id = v.account_id
+                  AND q.next_sequence = v.expected
+                """, ps -> {
+                ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), ids));
+                ps.setArray(2, JdbcArrays.bigints(ps.getConnection(), expected));
+                ps.setArray(3, JdbcArrays.bigints(ps.getConnection(), next));
+            });
+            if (advanced != ids.size()) {
+                throw new IllegalStateException("account_sequences changed during import " + runId
+                        + "; stop transfers on the imported accounts and run again");
+            }
+            jdbc.update("""
+                INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+                SELECT v.account_id, v.next_sequence - 1, v.balance_minor, NOW()
+                FROM unnest(?::uuid[], ?::bigint[], ?::bigint[]) AS v(account_id, next_sequence, balance_minor)
+                ON CONFLICT (account_id)
+                DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                              balance_minor  = EXCLUDED.balance_minor,
+                              updated_at     = NOW()
+                """, ps -> {
+                ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), ids));
+                ps.setArray(2, JdbcArrays.bigints(ps.getConnection(), next));
+                ps.setArray(3, JdbcArrays.bigints(ps.getConnection(), balances));
+            });
+        }
+
+        private void copy(String sql, PgBinaryCopy rows) {
+            Connection con = DataSourceUtils.getConnection(Objects.requireNonNull(jdbc.getDataSource()));
+            try {
+                CopyManager copy = con.unwrap(PGConnection.class).getCopyAPI();
+                copy.copyIn(sql, new ByteArrayInputStream(rows.finish()));
+            } catch (SQLException | IOException e) {
+                throw new IllegalStateException("COPY failed in import " + runId + ": " + e.getMessage(), e);
+            } finally {
+                DataSourceUtils.releaseConnection(con, jdbc.getDataSource());
+            }
+        }
+    }
+
+    private static final class AccountState {
+        final Account account;
+        long nextSequence;
+        long storedNextSequence;
+        long balance;
+        Currency currency;
+        Instant lastCreatedAt;
+
+        AccountState(Account account, long nextSequence, long balance, Currency currency, Instant lastCreatedAt) {
+            this.account = account;
+            this.nextSequence = nextSequence;
+            this.storedNextSequence = nextSequence;
+            this.balance = balance;
+            this.currency = currency;
+            this.lastCreatedAt = lastCreatedAt;
+        }
+
+        /**
+         * Refuses a line that would give this account a second currency or break its sequence/time order.
+         */
+        void accept(Row row) {
+            Currency lineCurrency = row.money().currency();
+            if (currency != null && !currency.equals(lineCurrency)) {
+                throw new IllegalArgumentException("line " + row.line() + ": account " + account.id()
+                        + " holds " + currency.code() + ", not " + lineCurrency.code());
+            }
+            if (lastCreatedAt != null && row.createdAt().isBefore(lastCreatedAt)) {
+                throw new IllegalArgumentException("line " + row.line() + ": created_at " + row.createdAt()
+                        + " is before the last entry of account " + account.id() + " (" + lastCreatedAt + ")");
+            }
+            currency = lineCurrency;
+            lastCreatedAt = row.createdAt();
+        }
+    }
+
+    private record Row(long line, UUID commandId, UUID transferId, UUID from, UUID to, Money money, Instant createdAt) {
+    }
+
+    private record Progress(String source, long lines, boolean done) {
+    }
+}
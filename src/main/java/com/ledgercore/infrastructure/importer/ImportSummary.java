@@ -0,0 +1,33 @@
+package com.ledgercore.infrastructure.importer;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * What one {@link HistoricalTransferImporter#run} invocation did (a resumed run only counts its own part).
+ *
+ * skippedLines = lines committed by earlier attempts of the same run and not read again.
+ */
+public record ImportSummary(
+        long transfers,
+        long entries,
+        long skippedLines,
+        Duration elapsed
+) {
+    public ImportSummary {
+        Objects.requireNonNull(elapsed, "elapsed");
+    }
+
+    public double transfersPerSecond() {
+        return perSecond(transfers);
+    }
+
+    public double entriesPerSecond() {
+        return perSecond(entries);
+    }
+
+    private double perSecond(long count) {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return count * 1e9 / nanos;
+    }
+}
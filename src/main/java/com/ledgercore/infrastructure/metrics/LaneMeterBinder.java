@@ -0,0 +1,97 @@
+package com.ledgercore.infrastructure.metrics;
+
+import com.ledgercore.infrastructure.service.PartitionedTransferService;
+import com.ledgercore.infrastructure.service.PartitionedTransferService.LaneStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Exposes {@link PartitionedTransferService#laneStats()} per lane, tagged "lane":
+ * - ledger.transfer.lane.queue.depth: tasks waiting to start;
+ * - ledger.transfer.lane.utilization: share of wall time the lane was busy since the previous read (0..1);
+ * - ledger.transfer.lane.busy (seconds) and ledger.transfer.lane.completed: cumulative counters.
+ *
+ * NOTE:
+ * - Everything is read at scrape time; nothing changes on the lane's hot path.
+ * - The utilization gauge assumes one reader (the Prometheus scrape). With several registries,
+ *   rate(ledger_transfer_lane_busy_seconds_total) gives the same number independent of who reads.
+ * - A task's busy time is recorded when it finishes, so a lane stuck in one long task shows 0 until then.
+ */
+public final class LaneMeterBinder implements MeterBinder {
+
+    private final PartitionedTransferService lanes;
+    private final LongSupplier nanoClock;
+
+    public LaneMeterBinder(PartitionedTransferService lanes) {
+        this(lanes, System::nanoTime);
+    }
+
+    LaneMeterBinder(PartitionedTransferService lanes, LongSupplier nanoClock) {
+        this.lanes = Objects.requireNonNull(lanes, "lanes");
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        int laneCount = lanes.laneStats().size();
+        for (int lane = 0; lane < laneCount; lane++) {
+            int index = lane;
+            String tag = Integer.toString(lane);
+            Gauge.builder("ledger.transfer.lane.queue.depth", lanes, l -> l.laneStats().get(index).queueDepth())
+                    .description("Transfers waiting to start on this lane")
+                    .tag("lane", tag)
+                    .register(registry);
+            Utilization utilization = new Utilization(index);
+            Gauge.builder("ledger.transfer.lane.utilization", utilization, Utilization::sample)
+                    .description("Share of wall time the lane was busy since the previous read")
+                    .tag("lane", tag)
+                    .register(registry);
+            FunctionCounter.builder("ledger.transfer.lane.busy", lanes,
+                            l -> l.laneStats().get(index).busyNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                    .description("Cumulative time the lane was occupied")
+                    .baseUnit("seconds")
+                    .tag("lane", tag)
+                    .register(registry);
+            FunctionCounter.builder("ledger.transfer.lane.completed", lanes, l -> l.laneStats().get(index).completed())
+                    .description("Tasks finished on this lane (a cross-lane transfer counts on both lanes)")
+                    .tag("lane", tag)
+                    .register(registry);
+        }
+    }
+
+    private final class Utilization {
+        private final int lane;
+        private long lastBusyNanos;
+        private long lastReadNanos;
+
+        Utilization(int lane) {
+            this.lane = lane;
+            this.lastBusyNanos = stats().busyNanos();
+            this.lastReadNanos = nanoClock.getAsLong();
+        }
+
+        synchronized double sample() {
+            long busy = stats().busyNanos();
+            long now = nanoClock.getAsLong();
+            long elapsed = now - lastReadNanos;
+            if (elapsed <= 0) {
+                return 0.0;
+            }
+            double share = (busy - lastBusyNanos) / (double) elapsed;
+            lastBusyNanos = busy;
+            lastReadNanos = now;
+            // A task finishing now reports its whole duration, part of which may predate the previous read.
+            return Math.min(1.0, share);
+        }
+
+        private LaneStats stats() {
+            return lanes.laneStats().get(lane);
+        }
+    }
+}
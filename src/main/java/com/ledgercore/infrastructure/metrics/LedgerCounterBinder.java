@@ -0,0 +1,76 @@
+package com.ledgercore.infrastructure.metrics;
+
+import com.ledgercore.infrastructure.cache.AccountCacheMetrics;
+import com.ledgercore.infrastructure.outbox.OutboxPublisherMetrics;
+import com.ledgercore.infrastructure.replica.ReplicaReadMetrics;
+import com.ledgercore.infrastructure.retry.RetryCause;
+import com.ledgercore.infrastructure.retry.RetryMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes the existing LongAdder counters (retries, account cache, outbox publisher,
+ * replica routing) as Micrometer
+ * function counters. They are read at scrape time; nothing changes on the hot path.
+ */
+public final class LedgerCounterBinder implements MeterBinder {
+
+    private final RetryMetrics retryMetrics;
+    private final AccountCacheMetrics accountCacheMetrics;
+    private final OutboxPublisherMetrics outboxPublisherMetrics;
+    private final ReplicaReadMetrics replicaReadMetrics;
+
+    public LedgerCounterBinder(
+            RetryMetrics retryMetrics,
+            AccountCacheMetrics accountCacheMetrics,
+            OutboxPublisherMetrics outboxPublisherMetrics,
+            ReplicaReadMetrics replicaReadMetrics
+    ) {
+        this.retryMetrics = Objects.requireNonNull(retryMetrics, "retryMetrics");
+        this.accountCacheMetrics = Objects.requireNonNull(accountCacheMetrics, "accountCacheMetrics");
+        this.outboxPublisherMetrics = Objects.requireNonNull(outboxPublisherMetrics, "outboxPublisherMetrics");
+        this.replicaReadMetrics = Objects.requireNonNull(replicaReadMetrics, "replicaReadMetrics");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RetryCause cause : RetryCause.values()) {
+            String tag = cause.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("ledger.transfer.retries", retryMetrics, m -> m.retries(cause))
+                    .description("Transfer attempts that failed transiently and were retried")
+                    .tag("cause", tag)
+                    .register(registry);
+            FunctionCounter.builder("ledger.transfer.retries.exhausted", retryMetrics, m -> m.exhausted(cause))
+                    .description("Transient failures returned to the caller because attempts ran out")
+                    .tag("cause", tag)
+                    .register(registry);
+        }
+
+        counter(registry, "ledger.accounts.cache.hits", accountCacheMetrics, AccountCacheMetrics::hits);
+        counter(registry, "ledger.accounts.cache.misses", accountCacheMetrics, AccountCacheMetrics::misses);
+        counter(registry, "ledger.accounts.cache.reloads", accountCacheMetrics, AccountCacheMetrics::reloads);
+        counter(registry, "ledger.accounts.cache.invalidations", accountCacheMetrics, AccountCacheMetrics::invalidations);
+        counter(registry, "ledger.accounts.cache.evictions", accountCacheMetrics, AccountCacheMetrics::evictions);
+
+        counter(registry, "ledger.outbox.claims", outboxPublisherMetrics, OutboxPublisherMetrics::claims);
+        counter(registry, "ledger.outbox.sent", outboxPublisherMetrics, OutboxPublisherMetrics::sent);
+        counter(registry, "ledger.outbox.failed", outboxPublisherMetrics, OutboxPublisherMetrics::failed);
+        counter(registry, "ledger.outbox.parked", outboxPublisherMetrics, OutboxPublisherMetrics::parked);
+        counter(registry, "ledger.outbox.stale", outboxPublisherMetrics, OutboxPublisherMetrics::stale);
+        counter(registry, "ledger.outbox.loop.errors", outboxPublisherMetrics, OutboxPublisherMetrics::loopErrors);
+        counter(registry, "ledger.outbox.wakeups", outboxPublisherMetrics, OutboxPublisherMetrics::wakeups);
+
+        counter(registry, "ledger.balance.reads.replica", replicaReadMetrics, ReplicaReadMetrics::replicaReads);
+        counter(registry, "ledger.balance.reads.primary", replicaReadMetrics, ReplicaReadMetrics::primaryReads);
+        counter(registry, "ledger.balance.reads.replica.waits", replicaReadMetrics, ReplicaReadMetrics::waits);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToLongFunction<T> count) {
+        FunctionCounter.builder(name, source, s -> count.applyAsLong(s)).register(registry);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ledgercore.infrastructure.metrics;
+
+import com.ledgercore.application.ports.TransferMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransferMetrics on Micrometer.
+ *
+ * Meters (Prometheus names in brackets):
+ * - ledger.transfer.step{step}           [ledger_transfer_step_seconds]      one per TransferHandler step
+ * - ledger.transfer.lock.wait            [ledger_transfer_lock_wait_seconds] sequence / stripe row locks
+ * - ledger.transfer.commit               [ledger_transfer_commit_seconds]
+ * - ledger.transfer.replays              [ledger_transfer_replays_total]
+ * - ledger.transfer.rejections{reason}   [ledger_transfer_rejections_total]
+ * - ledger.transfer.queue.wait           [ledger_transfer_queue_wait_seconds] async: admitted -> started
+ * - ledger.transfer.execution            [ledger_transfer_execution_seconds]  async: started -> done
+ * - ledger.transfer.shed{reason}         [ledger_transfer_shed_total]         async: turned away unrun
+ *
+ * NOTE: every meter is registered up front; the hot path only looks them up in EnumMaps.
+ * Timers publish histogram buckets so percentiles can be aggregated across instances.
+ */
+public final class MicrometerTransferMetrics implements TransferMetrics {
+
+    private final Map<Step, Timer> steps = new EnumMap<>(Step.class);
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Map<Shed, Counter> shed = new EnumMap<>(Shed.class);
+    private final Timer lockWait;
+    private final Timer commit;
+    private final Counter replays;
+    private final Timer queueWait;
+    private final Timer execution;
+
+    public MicrometerTransferMetrics(MeterRegistry registry) {
+        Objects.requireNonNull(registry, "registry");
+        for (Step step : Step.values()) {
+            steps.put(step, Timer.builder("ledger.transfer.step")
+                    .description("Time spent in one step of a transfer")
+                    .tag("step", tagValue(step))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("ledger.transfer.rejections")
+                    .description("Transfers rejected by a business rule")
+                    .tag("reason", tagValue(rejection))
+                    .register(registry));
+        }
+        for (Shed reason : Shed.values()) {
+            shed.put(reason, Counter.builder("ledger.transfer.shed")
+                    .description("Async transfers turned away before they ran")
+                    .tag("reason", tagValue(reason))
+                    .register(registry));
+        }
+        lockWait = Timer.builder("ledger.transfer.lock.wait")
+                .description("Time spent in statements that take account row locks")
+                .publishPercentileHistogram()
+                .register(registry);
+        commit = Timer.builder("ledger.transfer.commit")
+                .description("Commit latency of transfer transactions")
+                .publishPercentileHistogram()
+                .register(registry);
+        replays = Counter.builder("ledger.transfer.replays")
+                .description("Commands already applied; the original result was returned")
+                .register(registry);
+        queueWait = Timer.builder("ledger.transfer.queue.wait")
+                .description("Time async transfers waited for a worker after admission")
+                .publishPercentileHistogram()
+                .register(registry);
+        execution = Timer.builder("ledger.transfer.execution")
+                .description("Time async transfers spent executing")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public void recordStep(Step step, long nanos) {
+        steps.get(step).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordCommit(long nanos) {
+        commit.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordReplay() {
+        replays.increment();
+    }
+
+    @Override
+    public void recordRejection(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    @Override
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordExecution(long nanos) {
+        execution.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordShed(Shed reason) {
+        shed.get(reason).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
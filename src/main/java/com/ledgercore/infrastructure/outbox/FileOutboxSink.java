@@ -0,0 +1,61 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Stand-in sink: appends one JSON line per event to a local file (NDJSON).
+ *
+ * A batch is written and flushed as one unit before it counts as delivered.
+ * Writers from several workers are serialized on this instance.
+ */
+public final class FileOutboxSink implements OutboxSink, AutoCloseable {
+
+    private final BufferedWriter writer;
+
+    public FileOutboxSink(Path file) {
+        Objects.requireNonNull(file, "file");
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open outbox file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized Map<UUID, String> publish(List<OutboxEvent> events) {
+        try {
+            for (OutboxEvent event : events) {
+                writer.write("{\"id\":\"" + event.id()
+                        + "\",\"eventType\":\"" + event.eventType()
+                        + "\",\"aggregateId\":\"" + event.aggregateId()
+                        + "\",\"attempts\":" + event.attempts()
+                        + ",\"payload\":" + event.payloadJson() + "}");
+                writer.newLine();
+            }
+            writer.flush();
+            return Map.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to outbox file", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
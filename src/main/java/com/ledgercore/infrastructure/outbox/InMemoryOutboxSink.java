@@ -0,0 +1,36 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Stand-in sink: keeps every delivered event in memory (tests, benchmarks, local runs).
+ */
+public final class InMemoryOutboxSink implements OutboxSink {
+
+    private final ConcurrentLinkedQueue<OutboxEvent> delivered = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public Map<UUID, String> publish(List<OutboxEvent> events) {
+        delivered.addAll(events);
+        return Map.of();
+    }
+
+    /**
+     * Snapshot of everything delivered so far, in delivery order.
+     */
+    public List<OutboxEvent> delivered() {
+        return new ArrayList<>(delivered);
+    }
+
+    public int size() {
+        return delivered.size();
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,156 @@
+package com.ledgercore.infrastructure.outbox;
+
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcArrays;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcBatches;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read/claim side of outbox_events, used by the publisher.
+ *
+ * Claim = lease: one autocommit statement picks due rows with FOR UPDATE SKIP LOCKED,
+ * bumps attempts and pushes available_at to now + lease. Concurrent claimers (threads or
+ * processes) skip each other's rows instead of waiting, and no transaction stays open while
+ * the sink publishes.
+ *
+ * IMPORTANT:
+ * - Due = status PENDING or FAILED, available_at <= now (served by idx_outbox_pending).
+ * - Marks are fenced on attempts: once a lease expired and another worker re-claimed a row,
+ *   the first worker's late SENT/FAILED mark matches nothing.
+ * - Parked events are FAILED with available_at = 'infinity'; requeue them by resetting available_at.
+ */
+public final class JdbcOutboxQueue {
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcOutboxQueue(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @return claimed events in created_at order (empty if nothing is due)
+     */
+    public List<OutboxEvent> claim(int batchSize, Duration lease) {
+        List<OutboxEvent> claimed = jdbc.query("""
+            WITH due AS MATERIALIZED (
+              SELECT id
+              FROM outbox_events
+              WHERE status IN ('PENDING', 'FAILED')
+                AND available_at <= NOW()
+              ORDER BY available_at
+              LIMIT ?
+              FOR UPDATE SKIP LOCKED
+            )
+            UPDATE outbox_events e
+            SET attempts     = e.attempts + 1,
+                available_at = NOW() + ? * INTERVAL '1 millisecond'
+            FROM due
+            WHERE e.id = due.id
+            RETURNING e.id, e.aggregate_type, e.aggregate_id, e.event_type, e.payload_json::text AS payload_json,
+                      e.command_id, e.correlation_id, e.attempts, e.created_at
+            """,
+                ps -> {
+                    ps.setInt(1, batchSize);
+                    ps.setLong(2, lease.toMillis());
+                },
+                rs -> {
+                    List<OutboxEvent> events = new ArrayList<>();
+                    while (rs.next()) {
+                        events.add(new OutboxEvent(
+                                (UUID) rs.getObject("id"),
+                                rs.getString("aggregate_type"),
+                                (UUID) rs.getObject("aggregate_id"),
+                                rs.getString("event_type"),
+                                rs.getString("payload_json"),
+                                (UUID) rs.getObject("command_id"),
+                                rs.getString("correlation_id"),
+                                rs.getInt("attempts"),
+                                rs.getTimestamp("created_at").toInstant()
+                        ));
+                    }
+                    return events;
+                }
+        );
+        // NOTE: UPDATE ... RETURNING has no defined order.
+        claimed.sort(Comparator.comparing(OutboxEvent::createdAt));
+        return claimed;
+    }
+
+    /**
+     * @return number of rows actually marked (fewer than given => some leases were lost)
+     */
+    public int markSent(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = new ArrayList<>(events.size());
+        List<Integer> attempts = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ids.add(event.id());
+            attempts.add(event.attempts());
+        }
+
+        return jdbc.update("""
+        UPDATE outbox_events e
+        SET status = 'SENT', last_error = NULL
+        FROM unnest(?::uuid[], ?::int[]) AS c(id, attempts)
+        WHERE e.id = c.id
+          AND e.attempts = c.attempts
+          AND e.status <> 'SENT'
+        """,
+                ps -> {
+                    ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), ids));
+                    ps.setArray(2, JdbcArrays.ints(ps.getConnection(), attempts));
+                }
+        );
+    }
+
+    /**
+     * Marks deliveries FAILED and due again after their retry delay; a null delay parks the event.
+     * @return number of rows actually marked
+     */
+    public int markFailed(List<Failure> failures) {
+        if (failures.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbc.batchUpdate("""
+        UPDATE outbox_events
+        SET status       = 'FAILED',
+            last_error   = ?,
+            available_at = CASE WHEN ?::bigint IS NULL THEN 'infinity'::timestamptz
+                                ELSE NOW() + ?::bigint * INTERVAL '1 millisecond' END
+        WHERE id = ?
+          AND attempts = ?
+          AND status <> 'SENT'
+        """,
+                failures,
+                JdbcBatches.BATCH_SIZE,
+                (ps, failure) -> {
+                    Long retryMillis = failure.retryAfter() == null ? null : failure.retryAfter().toMillis();
+                    ps.setString(1, failure.error());
+                    ps.setObject(2, retryMillis, Types.BIGINT);
+                    ps.setObject(3, retryMillis, Types.BIGINT);
+                    ps.setObject(4, failure.event().id());
+                    ps.setInt(5, failure.event().attempts());
+                }
+        );
+        int marked = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                marked += Math.max(count, 0);
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * @param retryAfter delay until the event is due again; null = park it
+     */
+    public record Failure(OutboxEvent event, String error, Duration retryAfter) { }
+}
@@ -1,10 +1,16 @@
 package com.ledgercore.infrastructure.outbox;
 
 import com.ledgercore.application.ports.OutboxRepository;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcBatches;
 import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * NOTE: the payload is built in SQL (jsonb_build_object), like ledger_transfer does (V2):
+ * no JSON string is assembled in Java per transfer.
+ */
 public final class JdbcOutboxRepository implements OutboxRepository {
 
     private final JdbcTemplate jdbc;
@@ -18,8 +24,7 @@ public final class JdbcOutboxRepository implements OutboxRepository {
             UUID eventId,
             UUID transferId,
             UUID commandId,
-            String correlationId,
-            String payloadJson
+            String correlationId
     ) {
         jdbc.update("""
         INSERT INTO outbox_events(
@@ -30,13 +35,44 @@ public final class JdbcOutboxRepository implements OutboxRepository {
           status, attempts, available_at,
           created_at, last_error
         )
-        VALUES (?, 'Transfer', ?, 'TransferCompleted', CAST(? AS JSONB), ?, ?, 'PENDING', 0, NOW(), NOW(), NULL)
+        VALUES (?, 'Transfer', ?, 'TransferCompleted',
+                jsonb_build_object('transferId', ?::uuid, 'commandId', ?::uuid), ?, ?, 'PENDING', 0, NOW(), NOW(), NULL)
         """,
-                eventId,
-                transferId,
-                payloadJson,
-                commandId,
-                correlationId
+                ps -> {
+                    ps.setObject(1, eventId);
+                    ps.setObject(2, transferId);
+                    ps.setObject(3, transferId);
+                    ps.setObject(4, commandId);
+                    ps.setObject(5, commandId);
+                    ps.setString(6, correlationId);
+                }
+        );
+    }
+
+    @Override
+    public void insertAllTransferCompleted(List<TransferCompleted> events) {
+        jdbc.batchUpdate("""
+        INSERT INTO outbox_events(
+          id,
+          aggregate_type, aggregate_id,
+          event_type, payload_json,
+          command_id, correlation_id,
+          status, attempts, available_at,
+          created_at, last_error
+        )
+        VALUES (?, 'Transfer', ?, 'TransferCompleted',
+                jsonb_build_object('transferId', ?::uuid, 'commandId', ?::uuid), ?, ?, 'PENDING', 0, NOW(), NOW(), NULL)
+        """,
+                events,
+                JdbcBatches.BATCH_SIZE,
+                (ps, event) -> {
+                    ps.setObject(1, event.eventId());
+                    ps.setObject(2, event.transferId());
+                    ps.setObject(3, event.transferId());
+                    ps.setObject(4, event.commandId());
+                    ps.setObject(5, event.commandId());
+                    ps.setString(6, event.correlationId());
+                }
         );
     }
 }
@@ -0,0 +1,33 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One claimed outbox row, as handed to an {@link OutboxSink}.
+ *
+ * attempts already counts the current delivery (1 on first delivery) and doubles as the claim's
+ * fencing token: only the claim that set it may mark the row SENT or FAILED.
+ */
+public record OutboxEvent(
+        UUID id,
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        String payloadJson,
+        UUID commandId,
+        String correlationId,
+        int attempts,
+        Instant createdAt
+) {
+    public OutboxEvent {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(aggregateType, "aggregateType");
+        Objects.requireNonNull(aggregateId, "aggregateId");
+        Objects.requireNonNull(eventType, "eventType");
+        Objects.requireNonNull(payloadJson, "payloadJson");
+        Objects.requireNonNull(commandId, "commandId");
+        Objects.requireNonNull(createdAt, "createdAt");
+    }
+}
@@ -0,0 +1,199 @@
+package com.ledgercore.infrastructure.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers outbox_events to an {@link OutboxSink}: claim a batch, publish, mark SENT / FAILED.
+ *
+ * Scales horizontally: any number of workers, in this process or others, claim through
+ * {@link JdbcOutboxQueue} with SKIP LOCKED leases, so no event is handed to two claims at once.
+ *
+ * IMPORTANT:
+ * - At-least-once: if a worker dies between publish and mark, the lease expires and the
+ *   event is delivered again (with a higher attempts value). Sinks/consumers dedupe on event id.
+ * - Failed deliveries become due again after exponential backoff with full jitter;
+ *   after maxAttempts they are parked (FAILED, never due again).
+ * - A claim only works on rows it still owns: marks are fenced on attempts.
+ * - Idle workers sleep up to pollInterval; {@link #wakeup()} (LISTEN/NOTIFY) ends the sleep at once,
+ *   so with notifications the poll interval is only a safety net.
+ */
+public final class OutboxPublisher implements AutoCloseable {
+
+    /** NOTIFY channel of trg_outbox_notify (V5 migration). */
+    public static final String NOTIFY_CHANNEL = "outbox_events";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+
+    private final JdbcOutboxQueue queue;
+    private final OutboxSink sink;
+    private final OutboxPublisherPolicy policy;
+    private final OutboxPublisherMetrics metrics;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    // NOTE: ReentrantLock rather than synchronized/wait: workers are virtual threads.
+    private final ReentrantLock wakeLock = new ReentrantLock();
+    private final Condition wakeCondition = wakeLock.newCondition();
+    private long wakeGeneration;
+
+    public OutboxPublisher(JdbcOutboxQueue queue, OutboxSink sink, OutboxPublisherPolicy policy, OutboxPublisherMetrics metrics) {
+        this.queue = Objects.requireNonNull(queue, "queue");
+        this.sink = Objects.requireNonNull(sink, "sink");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    /**
+     * One claim/publish/mark cycle on the calling thread.
+     * @return number of events claimed (0 = nothing was due)
+     */
+    public int publishOnce() {
+        List<OutboxEvent> claimed = queue.claim(policy.batchSize(), policy.lease());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        metrics.recordClaim();
+
+        Map<UUID, String> errors;
+        try {
+            errors = sink.publish(claimed);
+        } catch (RuntimeException e) {
+            String error = String.valueOf(e.getMessage());
+            errors = new HashMap<>();
+            for (OutboxEvent event : claimed) {
+                errors.put(event.id(), error);
+            }
+        }
+
+        List<OutboxEvent> sent = new ArrayList<>(claimed.size());
+        List<JdbcOutboxQueue.Failure> failures = new ArrayList<>(errors.size());
+        int parked = 0;
+        for (OutboxEvent event : claimed) {
+            String error = errors.get(event.id());
+            if (error == null) {
+                sent.add(event);
+            } else if (event.attempts() >= policy.maxAttempts()) {
+                failures.add(new JdbcOutboxQueue.Failure(event, error, null));
+                parked++;
+            } else {
+                failures.add(new JdbcOutboxQueue.Failure(event, error, retryDelay(event.attempts())));
+            }
+        }
+
+        int marked = queue.markSent(sent) + queue.markFailed(failures);
+
+        metrics.recordSent(sent.size());
+        metrics.recordFailed(failures.size() - parked);
+        metrics.recordParked(parked);
+        metrics.recordStale(claimed.size() - marked);
+        return claimed.size();
+    }
+
+    /**
+     * Starts policy.workers() claim loops on virtual threads.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < policy.workers(); i++) {
+            workers.add(Thread.ofVirtual().name("outbox-publisher-" + i).start(this::runLoop));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(policy.lease().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    /**
+     * Ends the idle sleep of every worker (new events were committed).
+     */
+    public void wakeup() {
+        wakeLock.lock();
+        try {
+            wakeGeneration++;
+            wakeCondition.signalAll();
+        } finally {
+            wakeLock.unlock();
+        }
+        metrics.recordWakeup();
+    }
+
+    public OutboxPublisherMetrics metrics() {
+        return metrics;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                // Read the generation BEFORE claiming: a wakeup during the claim must not be lost.
+                long generation = currentGeneration();
+                // A full batch means more is probably due: claim again right away.
+                if (publishOnce() < policy.batchSize()) {
+                    awaitWakeup(generation);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                metrics.recordLoopError();
+                log.warn("Outbox publisher iteration failed", e);
+                try {
+                    Thread.sleep(policy.maxBackoff());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private long currentGeneration() {
+        wakeLock.lock();
+        try {
+            return wakeGeneration;
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    /**
+     * Sleeps until a wakeup newer than seenGeneration or until pollInterval elapsed.
+     */
+    private void awaitWakeup(long seenGeneration) throws InterruptedException {
+        long remainingNanos = policy.pollInterval().toNanos();
+        wakeLock.lock();
+        try {
+            while (wakeGeneration == seenGeneration && remainingNanos > 0) {
+                remainingNanos = wakeCondition.awaitNanos(remainingNanos);
+            }
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    private Duration retryDelay(int failedAttempt) {
+        long ceilingNanos = policy.backoffCeiling(failedAttempt).toNanos();
+        return Duration.ofNanos(ceilingNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceilingNanos + 1));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters kept by the outbox publisher.
+ * - claims:    non-empty claims
+ * - sent:      events marked SENT
+ * - failed:    deliveries that failed and were rescheduled with backoff
+ * - parked:    events that reached maxAttempts (FAILED, no longer due)
+ * - stale:     marks skipped because the lease had expired and another claim owns the row
+ * - loopErrors: worker iterations that threw (database unreachable, ...)
+ * - wakeups:   LISTEN/NOTIFY wakeups received
+ */
+public final class OutboxPublisherMetrics {
+
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder parked = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder loopErrors = new LongAdder();
+    private final LongAdder wakeups = new LongAdder();
+
+    void recordClaim() {
+        claims.increment();
+    }
+
+    void recordSent(long events) {
+        sent.add(events);
+    }
+
+    void recordFailed(long events) {
+        failed.add(events);
+    }
+
+    void recordParked(long events) {
+        parked.add(events);
+    }
+
+    void recordStale(long events) {
+        stale.add(events);
+    }
+
+    void recordLoopError() {
+        loopErrors.increment();
+    }
+
+    void recordWakeup() {
+        wakeups.increment();
+    }
+
+    public long claims() {
+        return claims.sum();
+    }
+
+    public long sent() {
+        return sent.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long parked() {
+        return parked.sum();
+    }
+
+    public long stale() {
+        return stale.sum();
+    }
+
+    public long loopErrors() {
+        return loopErrors.sum();
+    }
+
+    public long wakeups() {
+        return wakeups.sum();
+    }
+}
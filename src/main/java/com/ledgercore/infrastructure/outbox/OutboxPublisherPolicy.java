@@ -0,0 +1,62 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How outbox publisher workers claim and retry.
+ *
+ * - workers:        concurrent claim loops in this process (other processes may run more)
+ * - batchSize:      max events per claim
+ * - lease:          how long a claim is exclusive; an unfinished claim becomes due again after it
+ * - pollInterval:   idle sleep when a claim came back empty
+ * - maxAttempts:    deliveries before an event is parked (FAILED, never due again)
+ * - initialBackoff: upper bound of the first retry delay; doubles per attempt ("full jitter")
+ * - maxBackoff:     cap for the exponential bound
+ */
+public record OutboxPublisherPolicy(
+        int workers,
+        int batchSize,
+        Duration lease,
+        Duration pollInterval,
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff
+) {
+    public OutboxPublisherPolicy {
+        Objects.requireNonNull(lease, "lease");
+        Objects.requireNonNull(pollInterval, "pollInterval");
+        Objects.requireNonNull(initialBackoff, "initialBackoff");
+        Objects.requireNonNull(maxBackoff, "maxBackoff");
+
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be >= 1, got: " + workers);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be >= 1, got: " + batchSize);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1, got: " + maxAttempts);
+        }
+        if (lease.isNegative() || lease.isZero() || pollInterval.isNegative()) {
+            throw new IllegalArgumentException("Expected lease > 0 and pollInterval >= 0, got: "
+                    + lease + " / " + pollInterval);
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Expected 0 <= initialBackoff <= maxBackoff, got: "
+                    + initialBackoff + " / " + maxBackoff);
+        }
+    }
+
+    /**
+     * Upper bound of the delay after the given failed attempt (1-based): initialBackoff * 2^(attempt-1), capped.
+     */
+    public Duration backoffCeiling(int failedAttempt) {
+        int shift = Math.min(Math.max(failedAttempt - 1, 0), 30);
+        long ceilingNanos = initialBackoff.toNanos() << shift;
+        if (ceilingNanos < 0 || ceilingNanos > maxBackoff.toNanos()) {
+            return maxBackoff;
+        }
+        return Duration.ofNanos(ceilingNanos);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ledgercore.infrastructure.outbox;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where the publisher delivers events (message broker, webhook, file, ...).
+ *
+ * IMPORTANT:
+ * - Delivery is at-least-once: a worker that crashes after publish but before marking SENT
+ *   redelivers once its lease expires. Consumers deduplicate on the event id.
+ * - Events of one claim arrive in created_at order; there is no ordering across claims/workers.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers one claimed batch.
+     *
+     * @return failed event id -> error message; empty if every event was delivered.
+     *         Throwing fails the whole batch.
+     */
+    Map<UUID, String> publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,134 @@
+package com.ledgercore.infrastructure.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Creates and retires the monthly created_at partitions of ledger_entries and outbox_events (V10 migration).
+ *
+ * Partitions are read from the catalog, not derived from names: the legacy partition
+ * (everything before V10) and the DEFAULT partition take part like any other.
+ *
+ * IMPORTANT:
+ * - New months always continue from the highest existing upper bound, so they never overlap.
+ * - Creating a month fails if the DEFAULT partition already holds rows of it: move those rows
+ *   into the new month by hand (detach DEFAULT, create the month, INSERT ... SELECT, re-attach).
+ * - Detaching takes an ACCESS EXCLUSIVE lock on outbox_events, which queues transfers behind it:
+ *   lockTimeout bounds how long it waits for that lock before giving up until the next run.
+ */
+public final class JdbcPartitionManager {
+
+    public static final String LEDGER_ENTRIES = "ledger_entries";
+    public static final String OUTBOX_EVENTS = "outbox_events";
+
+    // Upper bound parsed from "FOR VALUES FROM (...) TO ('2026-11-01 00:00:00+00')"; NULL for DEFAULT.
+    private static final String PARTITIONS_SQL = """
+        SELECT c.relname AS name,
+               substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamptz AS upper_bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = ?::regclass
+        ORDER BY upper_bound NULLS LAST, c.relname
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Duration lockTimeout;
+
+    public JdbcPartitionManager(JdbcTemplate jdbc, TransactionTemplate tx, Duration lockTimeout) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+        this.tx = Objects.requireNonNull(tx, "tx");
+        this.lockTimeout = Objects.requireNonNull(lockTimeout, "lockTimeout");
+        if (lockTimeout.isNegative() || lockTimeout.isZero()) {
+            throw new IllegalArgumentException("lockTimeout must be > 0, got: " + lockTimeout);
+        }
+    }
+
+    /**
+     * One partition of a partitioned table. upperBound is exclusive; null for the DEFAULT partition.
+     */
+    public record Partition(String name, Instant upperBound) {
+        public Partition {
+            Objects.requireNonNull(name, "name");
+        }
+    }
+
+    /**
+     * Direct partitions of `parent` in upper-bound order, DEFAULT last.
+     */
+    public List<Partition> partitions(String parent) {
+        return jdbc.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            Timestamp upper = rs.getTimestamp("upper_bound");
+            return new Partition(rs.getString("name"), upper == null ? null : upper.toInstant());
+        }, parent);
+    }
+
+    /**
+     * Appends monthly partitions (UTC) to `parent` until one covers `until`.
+     *
+     * @param hashPartitions > 1: each new ledger_entries month is subdivided by HASH(account_id)
+     * @return names of the partitions created, oldest first
+     */
+    public List<String> createUntil(String parent, Instant until, int hashPartitions) {
+        Objects.requireNonNull(until, "until");
+        if (hashPartitions < 0) {
+            throw new IllegalArgumentException("hashPartitions must be >= 0, got: " + hashPartitions);
+        }
+        Instant upper = partitions(parent).stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElseThrow(() -> new IllegalStateException("No range partition of " + parent + " (V10 migration missing?)"));
+
+        List<String> created = new ArrayList<>();
+        while (!upper.isAfter(until)) {
+            Instant next = upper.atOffset(ZoneOffset.UTC).plusMonths(1).toInstant();
+            String name = jdbc.queryForObject("SELECT ledger_create_partition(?, ?, ?, ?)", String.class,
+                    parent, Timestamp.from(upper), Timestamp.from(next), hashPartitions);
+            if (name != null) {
+                created.add(name);
+            }
+            upper = next;
+        }
+        return created;
+    }
+
+    /**
+     * Detaches one partition of outbox_events and, if `drop`, drops it. One transaction:
+     * if any event in it is still PENDING or FAILED, it is rolled back and nothing changes.
+     *
+     * @return true if the partition was detached (and dropped)
+     */
+    public boolean retireOutboxPartition(String partition, boolean drop) {
+        Objects.requireNonNull(partition, "partition");
+        String table = identifier(partition);
+        Boolean retired = tx.execute(status -> {
+            jdbc.execute("SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+            jdbc.execute("ALTER TABLE " + OUTBOX_EVENTS + " DETACH PARTITION " + table);
+            // NOTE: checked after the detach, under its lock: no publisher can change a status meanwhile.
+            Boolean undelivered = jdbc.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE status IN ('PENDING', 'FAILED'))", Boolean.class);
+            if (Boolean.TRUE.equals(undelivered)) {
+                status.setRollbackOnly();
+                return false;
+            }
+            if (drop) {
+                jdbc.execute("DROP TABLE " + table);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(retired);
+    }
+
+    private static String identifier(String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+}
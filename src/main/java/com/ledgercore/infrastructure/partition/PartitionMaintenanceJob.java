@@ -0,0 +1,142 @@
+package com.ledgercore.infrastructure.partition;
+
+import com.ledgercore.application.ports.Clock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.ledgercore.infrastructure.partition.JdbcPartitionManager.LEDGER_ENTRIES;
+import static com.ledgercore.infrastructure.partition.JdbcPartitionManager.OUTBOX_EVENTS;
+
+/**
+ * Keeps the created_at partitions of ledger_entries and outbox_events (V10) ahead of time and
+ * retires expired outbox months, so SENT events go away with a DROP TABLE instead of a huge DELETE.
+ *
+ * Each run:
+ * - creates months until `monthsAhead` months from now are covered (ledger months optionally
+ *   subdivided into `ledgerHashPartitions` account-hash partitions),
+ * - detaches every outbox partition whose upper bound is older than `outboxRetention`, if all
+ *   its events are SENT, and drops it unless `dropDetached` is false (kept for archiving).
+ *
+ * IMPORTANT:
+ * - Safe on several instances: creation is idempotent per month and a detach either wins or fails.
+ * - ledger_entries partitions are never retired; the entries are the truth.
+ * - If no run happens for longer than `monthsAhead`, rows land in the DEFAULT partition
+ *   (see {@link JdbcPartitionManager} for moving them).
+ */
+public final class PartitionMaintenanceJob implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceJob.class);
+
+    private final JdbcPartitionManager manager;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int ledgerHashPartitions;
+    private final Duration outboxRetention;
+    private final boolean dropDetached;
+    private final Duration interval;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PartitionMaintenanceJob(
+            JdbcPartitionManager manager,
+            Clock clock,
+            int monthsAhead,
+            int ledgerHashPartitions,
+            Duration outboxRetention,
+            boolean dropDetached,
+            Duration interval
+    ) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("monthsAhead must be >= 1, got: " + monthsAhead);
+        }
+        if (ledgerHashPartitions < 0) {
+            throw new IllegalArgumentException("ledgerHashPartitions must be >= 0, got: " + ledgerHashPartitions);
+        }
+        this.manager = Objects.requireNonNull(manager, "manager");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.monthsAhead = monthsAhead;
+        this.ledgerHashPartitions = ledgerHashPartitions;
+        this.outboxRetention = Objects.requireNonNull(outboxRetention, "outboxRetention");
+        this.dropDetached = dropDetached;
+        this.interval = Objects.requireNonNull(interval, "interval");
+    }
+
+    /**
+     * One maintenance pass on the calling thread.
+     */
+    public PartitionMaintenanceSummary runOnce() {
+        Instant now = clock.now();
+        Instant horizon = now.atOffset(ZoneOffset.UTC).plusMonths(monthsAhead).toInstant();
+
+        List<String> created = new ArrayList<>(manager.createUntil(LEDGER_ENTRIES, horizon, ledgerHashPartitions));
+        created.addAll(manager.createUntil(OUTBOX_EVENTS, horizon, 0));
+
+        List<String> retired = new ArrayList<>();
+        Instant cutoff = now.minus(outboxRetention);
+        for (JdbcPartitionManager.Partition partition : manager.partitions(OUTBOX_EVENTS)) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            try {
+                if (manager.retireOutboxPartition(partition.name(), dropDetached)) {
+                    retired.add(partition.name());
+                } else {
+                    log.info("Keeping outbox partition {}: it still has PENDING or FAILED events", partition.name());
+                }
+            } catch (DataAccessException e) {
+                // Typically lock_timeout behind a long transaction; the next run tries again.
+                log.warn("Could not retire outbox partition {}", partition.name(), e);
+            }
+        }
+        return new PartitionMaintenanceSummary(created, retired);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofVirtual().name("partition-maintenance").start(this::runLoop);
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(interval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                PartitionMaintenanceSummary summary = runOnce();
+                if (!summary.created().isEmpty() || !summary.retired().isEmpty()) {
+                    log.info("Partitions created {}, outbox partitions retired {}", summary.created(), summary.retired());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Partition maintenance run failed", e);
+            }
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ledgercore.infrastructure.partition;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * What one {@link PartitionMaintenanceJob#runOnce} did.
+ *
+ * retired = outbox partitions detached (and dropped, if configured); partitions that still had
+ * PENDING or FAILED events are kept and not listed.
+ */
+public record PartitionMaintenanceSummary(
+        List<String> created,
+        List<String> retired
+) {
+    public PartitionMaintenanceSummary {
+        created = List.copyOf(Objects.requireNonNull(created, "created"));
+        retired = List.copyOf(Objects.requireNonNull(retired, "retired"));
+    }
+}
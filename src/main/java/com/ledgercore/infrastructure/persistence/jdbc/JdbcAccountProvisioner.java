@@ -0,0 +1,75 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.application.command.OpenAccountCommand;
+import com.ledgercore.application.ports.AccountProvisioner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One statement per call: the accounts, account_sequences and balance_snapshots inserts are
+ * data-modifying CTEs over the same unnest(...) input, so a batch of any size is one round trip
+ * and one transaction.
+ */
+public final class JdbcAccountProvisioner implements AccountProvisioner {
+
+    // NOTE: sequences / snapshots come from all input ids, not only `created`: that also repairs
+    // an existing account whose rows are missing. Foreign keys are checked at the end of the
+    // statement, when the new accounts rows exist.
+    private static final String PROVISION_SQL = """
+        WITH input AS (
+          SELECT DISTINCT ON (id) id, allow_negative, correlation_id
+          FROM unnest(?::uuid[], ?::boolean[], ?::text[]) AS t(id, allow_negative, correlation_id)
+          ORDER BY id
+        ), created AS (
+          INSERT INTO accounts(id, status, allow_negative, correlation_id)
+          SELECT id, 'OPEN', allow_negative, correlation_id FROM input
+          ON CONFLICT (id) DO NOTHING
+          RETURNING id
+        ), sequences AS (
+          INSERT INTO account_sequences(account_id, next_sequence)
+          SELECT id, 1 FROM input
+          ON CONFLICT (account_id) DO NOTHING
+        ), snapshots AS (
+          INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor)
+          SELECT id, 0, 0 FROM input
+          ON CONFLICT (account_id) DO NOTHING
+        )
+        SELECT COUNT(*) FROM created
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    public JdbcAccountProvisioner(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public int provision(List<OpenAccountCommand> accounts) {
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = new ArrayList<>(accounts.size());
+        List<Boolean> allowNegative = new ArrayList<>(accounts.size());
+        List<String> correlationIds = new ArrayList<>(accounts.size());
+        for (OpenAccountCommand account : accounts) {
+            ids.add(account.accountId());
+            allowNegative.add(account.allowNegative());
+            correlationIds.add(account.correlationId());
+        }
+        Integer created = jdbc.query(PROVISION_SQL,
+                ps -> {
+                    ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), ids));
+                    ps.setArray(2, JdbcArrays.booleans(ps.getConnection(), allowNegative));
+                    ps.setArray(3, JdbcArrays.texts(ps.getConnection(), correlationIds));
+                },
+                rs -> {
+                    rs.next();
+                    return rs.getInt(1);
+                }
+        );
+        return created == null ? 0 : created;
+    }
+}
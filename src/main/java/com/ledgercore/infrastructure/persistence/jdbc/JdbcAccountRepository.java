@@ -5,8 +5,9 @@ import com.ledgercore.domain.model.Account;
 import com.ledgercore.domain.model.AccountStatus;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
 
 public final class JdbcAccountRepository implements AccountRepository {
 
@@ -19,18 +20,47 @@ public final class JdbcAccountRepository implements AccountRepository {
     @Override
     public Optional<Account> findById(UUID accountId) {
         return jdbc.query("""
-            SELECT id, status, allow_negative
-            FROM accounts
-            WHERE id = ?
+            SELECT a.id, a.status, a.allow_negative,
+                   COALESCE(q.stripe_count, 1) AS stripe_count, COALESCE(q.account_version, 0) AS account_version
+            FROM accounts a
+            LEFT JOIN account_sequences q ON q.account_id = a.id
+            WHERE a.id = ?
             """,
                 ps -> ps.setObject(1, accountId),
                 rs -> {
                     if (!rs.next()) return Optional.empty();
-                    UUID id = (UUID) rs.getObject("id");
-                    AccountStatus status = AccountStatus.valueOf(rs.getString("status"));
-                    boolean allowNegative = rs.getBoolean("allow_negative");
-                    return Optional.of(new Account(id, status, allowNegative));
+                    return Optional.of(mapAccount(rs));
                 }
         );
     }
+
+    @Override
+    public Map<UUID, Account> findAllById(Collection<UUID> accountIds) {
+        return jdbc.query("""
+            SELECT a.id, a.status, a.allow_negative,
+                   COALESCE(q.stripe_count, 1) AS stripe_count, COALESCE(q.account_version, 0) AS account_version
+            FROM accounts a
+            LEFT JOIN account_sequences q ON q.account_id = a.id
+            WHERE a.id = ANY(?)
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds)),
+                rs -> {
+                    Map<UUID, Account> accounts = new HashMap<>();
+                    while (rs.next()) {
+                        Account account = mapAccount(rs);
+                        accounts.put(account.id(), account);
+                    }
+                    return accounts;
+                }
+        );
+    }
+
+    private static Account mapAccount(ResultSet rs) throws SQLException {
+        UUID id = (UUID) rs.getObject("id");
+        AccountStatus status = AccountStatus.valueOf(rs.getString("status"));
+        boolean allowNegative = rs.getBoolean("allow_negative");
+        int stripeCount = rs.getInt("stripe_count");
+        long version = rs.getLong("account_version");
+        return new Account(id, status, allowNegative, stripeCount, version);
+    }
 }
@@ -1,42 +1,156 @@
 package com.ledgercore.infrastructure.persistence.jdbc;
 
+import com.ledgercore.application.ports.AccountLayoutChangedException;
 import com.ledgercore.application.ports.AccountSequenceStore;
+import com.ledgercore.application.ports.TransferMetrics;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Supplier;
 
+/**
+ * NOTE: the locking statements report their duration as lock wait (TransferMetrics#recordLockWait).
+ */
 public final class JdbcAccountSequenceStore implements AccountSequenceStore {
 
     private final JdbcTemplate jdbc;
+    private final TransferMetrics metrics;
 
-    public JdbcAccountSequenceStore(JdbcTemplate jdbc) {
+    public JdbcAccountSequenceStore(JdbcTemplate jdbc, TransferMetrics metrics) {
         this.jdbc = jdbc;
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
     }
 
     @Override
-    public long nextSequenceForUpdate(UUID accountId) {
+    public SequenceLock nextSequenceForUpdate(UUID accountId) {
         // IMPORTANT: This MUST run inside a DB transaction.
-        // We lock the row to guarantee deterministic ordering under concurrency.
-        Long current = jdbc.query("""
-            SELECT next_sequence
-            FROM account_sequences
+        // The UPDATE takes the row lock and reserves in one round trip (no SELECT ... FOR UPDATE first).
+        SequenceLock reserved = locking(() -> jdbc.query("""
+            UPDATE account_sequences
+            SET next_sequence = next_sequence + 1
             WHERE account_id = ?
-            FOR UPDATE
+              AND stripe_count = 1
+            RETURNING next_sequence - 1 AS reserved_sequence, account_version
             """,
                 ps -> ps.setObject(1, accountId),
-                rs -> rs.next() ? rs.getLong("next_sequence") : null
-        );
+                rs -> rs.next() ? new SequenceLock(rs.getLong("reserved_sequence"), rs.getLong("account_version")) : null
+        ));
 
-        if (current == null) {
-            throw new IllegalStateException("Missing account_sequences row for account_id=" + accountId);
+        if (reserved == null) {
+            throw notReserved(accountId);
         }
 
-        jdbc.update("""
-        UPDATE account_sequences
-        SET next_sequence = next_sequence + 1
-        WHERE account_id = ?
-        """, accountId);
+        return reserved;
+    }
+
+    @Override
+    public Map<UUID, SequenceLock> reserveNextSequences(Collection<UUID> accountIds) {
+        // IMPORTANT: This MUST run inside a DB transaction.
+        // The MATERIALIZED CTE locks the rows in account_id order (ORDER BY sits below the
+        // row-locking step); the UPDATE then reserves on rows this transaction already holds.
+        // One statement, and A->B / B->A can no longer lock in opposite orders.
+        Map<UUID, SequenceLock> reserved = locking(() -> jdbc.query("""
+            WITH locked AS MATERIALIZED (
+              SELECT account_id
+              FROM account_sequences
+              WHERE account_id = ANY(?)
+              ORDER BY account_id
+              FOR UPDATE
+            )
+            UPDATE account_sequences s
+            SET next_sequence = s.next_sequence + 1
+            FROM locked
+            WHERE s.account_id = locked.account_id
+              AND s.stripe_count = 1
+            RETURNING s.account_id, s.next_sequence - 1 AS reserved_sequence, s.account_version
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds)),
+                rs -> {
+                    Map<UUID, SequenceLock> sequences = new HashMap<>();
+                    while (rs.next()) {
+                        sequences.put((UUID) rs.getObject("account_id"),
+                                new SequenceLock(rs.getLong("reserved_sequence"), rs.getLong("account_version")));
+                    }
+                    return sequences;
+                }
+        ));
+
+        for (UUID accountId : accountIds) {
+            if (!reserved.containsKey(accountId)) {
+                throw notReserved(accountId);
+            }
+        }
+
+        return reserved;
+    }
+
+    @Override
+    public Map<UUID, SequenceLock> lockNextSequences(Collection<UUID> accountIds) {
+        // IMPORTANT: This MUST run inside a DB transaction.
+        // ORDER BY sits below the row-locking step, so rows are locked in account_id order:
+        // two batches touching the same accounts cannot deadlock each other.
+        return locking(() -> jdbc.query("""
+            SELECT account_id, next_sequence, account_version
+            FROM account_sequences
+            WHERE account_id = ANY(?)
+            ORDER BY account_id
+            FOR UPDATE
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds)),
+                rs -> {
+                    Map<UUID, SequenceLock> nextSequences = new HashMap<>();
+                    while (rs.next()) {
+                        nextSequences.put((UUID) rs.getObject("account_id"),
+                                new SequenceLock(rs.getLong("next_sequence"), rs.getLong("account_version")));
+                    }
+                    return nextSequences;
+                }
+        ));
+    }
+
+    // Failure path only: a striped row is a stale layout (retryable), a missing row is not.
+    private IllegalStateException notReserved(UUID accountId) {
+        List<Integer> stripeCount = jdbc.queryForList(
+                "SELECT stripe_count FROM account_sequences WHERE account_id = ?", Integer.class, accountId);
+        if (stripeCount.isEmpty()) {
+            return new IllegalStateException("Missing account_sequences row for account_id=" + accountId);
+        }
+        return new AccountLayoutChangedException("Striped account_sequences row for account_id=" + accountId
+                + " (stripe_count=" + stripeCount.get(0) + ")");
+    }
+
+    // NOTE: failures count too: a wait that ends in a lock timeout or deadlock is the one worth seeing.
+    private <T> T locking(Supplier<T> statement) {
+        long started = System.nanoTime();
+        try {
+            return statement.get();
+        } finally {
+            metrics.recordLockWait(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public void updateNextSequences(Map<UUID, Long> nextSequences) {
+        if (nextSequences.isEmpty()) {
+            return;
+        }
+        List<UUID> accountIds = new ArrayList<>(nextSequences.keySet());
+        List<Long> values = new ArrayList<>(accountIds.size());
+        for (UUID accountId : accountIds) {
+            values.add(nextSequences.get(accountId));
+        }
 
-        return current;
+        jdbc.update("""
+        UPDATE account_sequences s
+        SET next_sequence = u.next_sequence
+        FROM unnest(?::uuid[], ?::bigint[]) AS u(account_id, next_sequence)
+        WHERE s.account_id = u.account_id
+          AND s.stripe_count = 1
+        """,
+                ps -> {
+                    ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds));
+                    ps.setArray(2, JdbcArrays.bigints(ps.getConnection(), values));
+                }
+        );
     }
 }
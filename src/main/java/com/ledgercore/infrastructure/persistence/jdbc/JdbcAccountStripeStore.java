@@ -0,0 +1,132 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.application.ports.AccountLayoutChangedException;
+import com.ledgercore.application.ports.AccountStripeStore;
+import com.ledgercore.application.ports.TransferMetrics;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * NOTE: reservations report their duration as lock wait (TransferMetrics#recordLockWait).
+ */
+public final class JdbcAccountStripeStore implements AccountStripeStore {
+
+    private final JdbcTemplate jdbc;
+    private final TransferMetrics metrics;
+
+    public JdbcAccountStripeStore(JdbcTemplate jdbc, TransferMetrics metrics) {
+        this.jdbc = jdbc;
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public Reservation reserveForCredit(UUID accountId, int stripe) {
+        return reserve(accountId, stripe, false);
+    }
+
+    @Override
+    public Reservation reserveForDebit(UUID accountId, int stripe) {
+        return reserve(accountId, stripe, true);
+    }
+
+    private Reservation reserve(UUID accountId, int stripe, boolean exclusive) {
+        // IMPORTANT: This MUST run inside a DB transaction.
+        // ledger_reserve_position (V4, V7) locks the parent row, then reserves on the stripe and reads
+        // the total in a LATER statement than the lock: one round trip, and the debit total is exact.
+        long started = System.nanoTime();
+        try {
+            return jdbc.query("""
+                SELECT o_sequence, o_balance, o_account_version
+                FROM ledger_reserve_position(?, ?, ?)
+                """,
+                    ps -> {
+                        ps.setObject(1, accountId);
+                        ps.setInt(2, stripe);
+                        ps.setBoolean(3, exclusive);
+                    },
+                    rs -> {
+                        rs.next();
+                        return new Reservation(stripe, rs.getLong("o_sequence"), rs.getLong("o_balance"),
+                                rs.getLong("o_account_version"));
+                    }
+            );
+        } catch (DataAccessException e) {
+            // LC902 (V12): the stripe layout changed since the caller loaded the account.
+            if (e.getMostSpecificCause() instanceof SQLException sql && "LC902".equals(sql.getSQLState())) {
+                throw new AccountLayoutChangedException("Missing stripe " + stripe + " for account_id=" + accountId, e);
+            }
+            if (e.getMostSpecificCause() instanceof SQLException sql && "LC901".equals(sql.getSQLState())) {
+                throw new IllegalStateException("Missing account_sequences row for account_id=" + accountId, e);
+            }
+            throw e;
+        } finally {
+            metrics.recordLockWait(System.nanoTime() - started);
+        }
+    }
+
+    @Override
+    public void applyDelta(UUID accountId, int stripe, long asOfSequence, long deltaMinor) {
+        jdbc.update("""
+        UPDATE account_stripes
+        SET balance_minor  = balance_minor + ?,
+            as_of_sequence = ?,
+            updated_at     = NOW()
+        WHERE account_id = ?
+          AND stripe = ?
+        """,
+                deltaMinor, asOfSequence, accountId, stripe
+        );
+    }
+
+    @Override
+    public Map<UUID, List<Stripe>> findStripes(Collection<UUID> accountIds) {
+        return jdbc.query("""
+            SELECT account_id, stripe, next_sequence, as_of_sequence, balance_minor
+            FROM account_stripes
+            WHERE account_id = ANY(?)
+            ORDER BY account_id, stripe
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds)),
+                rs -> {
+                    Map<UUID, List<Stripe>> stripes = new HashMap<>();
+                    while (rs.next()) {
+                        UUID accountId = (UUID) rs.getObject("account_id");
+                        stripes.computeIfAbsent(accountId, id -> new ArrayList<>()).add(new Stripe(
+                                accountId,
+                                rs.getInt("stripe"),
+                                rs.getLong("next_sequence"),
+                                rs.getLong("as_of_sequence"),
+                                rs.getLong("balance_minor")
+                        ));
+                    }
+                    return stripes;
+                }
+        );
+    }
+
+    @Override
+    public void updateStripes(List<Stripe> stripes) {
+        jdbc.batchUpdate("""
+        UPDATE account_stripes
+        SET next_sequence  = ?,
+            as_of_sequence = ?,
+            balance_minor  = ?,
+            updated_at     = NOW()
+        WHERE account_id = ?
+          AND stripe = ?
+        """,
+                stripes,
+                JdbcBatches.BATCH_SIZE,
+                (ps, stripe) -> {
+                    ps.setLong(1, stripe.nextSequence());
+                    ps.setLong(2, stripe.asOfSequence());
+                    ps.setLong(3, stripe.balanceMinor());
+                    ps.setObject(4, stripe.accountId());
+                    ps.setInt(5, stripe.stripe());
+                }
+        );
+    }
+}
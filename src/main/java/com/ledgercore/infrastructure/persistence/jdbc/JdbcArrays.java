@@ -0,0 +1,37 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Array parameters for set-based statements (= ANY(?), unnest(?)).
+ * One array parameter replaces one round trip per element.
+ */
+public final class JdbcArrays {
+
+    private JdbcArrays() {
+    }
+
+    public static Array uuids(Connection con, Collection<UUID> ids) throws SQLException {
+        return con.createArrayOf("uuid", ids.toArray());
+    }
+
+    public static Array bigints(Connection con, Collection<Long> values) throws SQLException {
+        return con.createArrayOf("bigint", values.toArray());
+    }
+
+    public static Array ints(Connection con, Collection<Integer> values) throws SQLException {
+        return con.createArrayOf("integer", values.toArray());
+    }
+
+    public static Array booleans(Connection con, Collection<Boolean> values) throws SQLException {
+        return con.createArrayOf("boolean", values.toArray());
+    }
+
+    public static Array texts(Connection con, Collection<String> values) throws SQLException {
+        return con.createArrayOf("text", values.toArray());
+    }
+}
@@ -0,0 +1,15 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+/**
+ * Shared JDBC batching settings.
+ *
+ * With reWriteBatchedInserts=true on the JDBC URL, the Postgres driver turns each
+ * batch of single-row INSERTs into multi-row INSERTs (one round trip per batch).
+ */
+public final class JdbcBatches {
+
+    public static final int BATCH_SIZE = 1_000;
+
+    private JdbcBatches() {
+    }
+}
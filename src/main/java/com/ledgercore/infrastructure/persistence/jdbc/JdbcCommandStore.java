@@ -1,12 +1,12 @@
 package com.ledgercore.infrastructure.persistence.jdbc;
 
+import com.ledgercore.application.command.TransferCommand;
 import com.ledgercore.application.ports.CommandStore;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 public final class JdbcCommandStore implements CommandStore {
 
@@ -54,4 +54,75 @@ public final class JdbcCommandStore implements CommandStore {
                 rs -> rs.next() ? Optional.of((UUID) rs.getObject("id")) : Optional.empty()
         );
     }
+
+    @Override
+    public Set<UUID> tryInsertAllReceived(List<TransferCommand> commands, String commandType, Instant now) {
+        List<UUID> commandIds = new ArrayList<>(commands.size());
+        List<String> correlationIds = new ArrayList<>(commands.size());
+        for (TransferCommand command : commands) {
+            commandIds.add(command.commandId());
+            correlationIds.add(command.correlationId());
+        }
+
+        // NOTE: Same insert-first gate as tryInsertReceived, one statement for the whole batch.
+        // RETURNING only yields rows actually inserted; repeats inside the batch conflict with the first one.
+        List<UUID> inserted = jdbc.query("""
+            INSERT INTO commands(command_id, command_type, correlation_id, status, created_at)
+            SELECT c.command_id, ?, c.correlation_id, 'RECEIVED', ?
+            FROM unnest(?::uuid[], ?::text[]) AS c(command_id, correlation_id)
+            ON CONFLICT (command_id) DO NOTHING
+            RETURNING command_id
+            """,
+                ps -> {
+                    ps.setString(1, commandType);
+                    ps.setTimestamp(2, Timestamp.from(now));
+                    ps.setArray(3, JdbcArrays.uuids(ps.getConnection(), commandIds));
+                    ps.setArray(4, JdbcArrays.texts(ps.getConnection(), correlationIds));
+                },
+                (rs, rowNum) -> (UUID) rs.getObject("command_id")
+        );
+        return new HashSet<>(inserted);
+    }
+
+    @Override
+    public void markAllApplied(Collection<UUID> commandIds, Instant appliedAt) {
+        jdbc.update("""
+        UPDATE commands
+        SET status = 'APPLIED', applied_at = ?
+        WHERE command_id = ANY(?)
+        """,
+                ps -> {
+                    ps.setTimestamp(1, Timestamp.from(appliedAt));
+                    ps.setArray(2, JdbcArrays.uuids(ps.getConnection(), commandIds));
+                }
+        );
+    }
+
+    @Override
+    public Map<UUID, UUID> findTransferIdsByCommandIds(Collection<UUID> commandIds) {
+        return jdbc.query("""
+            SELECT command_id, id FROM transfers WHERE command_id = ANY(?)
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), commandIds)),
+                rs -> {
+                    Map<UUID, UUID> transferIds = new HashMap<>();
+                    while (rs.next()) {
+                        transferIds.put((UUID) rs.getObject("command_id"), (UUID) rs.getObject("id"));
+                    }
+                    return transferIds;
+                }
+        );
+    }
+
+    @Override
+    public void deleteReceived(Collection<UUID> commandIds) {
+        // NOTE: Only RECEIVED claims; an APPLIED command is a recorded fact and is never deleted.
+        jdbc.update("""
+        DELETE FROM commands
+        WHERE command_id = ANY(?)
+          AND status = 'RECEIVED'
+        """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), commandIds))
+        );
+    }
 }
@@ -2,9 +2,12 @@ package com.ledgercore.infrastructure.persistence.jdbc;
 
 import com.ledgercore.application.ports.LedgerRepository;
 import com.ledgercore.domain.model.LedgerEntry;
+import com.ledgercore.domain.model.Transfer;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
 
 public final class JdbcLedgerRepository implements LedgerRepository {
 
@@ -15,22 +18,65 @@ public final class JdbcLedgerRepository implements LedgerRepository {
     }
 
     @Override
-    public void insert(LedgerEntry entry) {
+    public void insertTransferEntries(
+            Transfer transfer,
+            UUID debitEntryId,
+            long debitSequence,
+            UUID creditEntryId,
+            long creditSequence
+    ) {
+        // NOTE: both rows in one statement; the setter binds primitives (no boxed varargs array).
+        Timestamp createdAt = Timestamp.from(transfer.createdAt());
+        long amountMinor = transfer.money().amountMinor();
+        String currency = transfer.money().currency().code();
         jdbc.update("""
         INSERT INTO ledger_entries(
           id, transfer_id, account_id,
           sequence, direction, amount_minor, currency, created_at
         )
-        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        VALUES (?, ?, ?, ?, 'DEBIT', ?, ?, ?),
+               (?, ?, ?, ?, 'CREDIT', ?, ?, ?)
         """,
-                entry.id(),
-                entry.transferId(),
-                entry.accountId(),
-                entry.sequence(),
-                entry.direction().name(),
-                entry.money().amountMinor(),
-                entry.money().currency().code(),
-                Timestamp.from(entry.createdAt())
+                ps -> {
+                    ps.setObject(1, debitEntryId);
+                    ps.setObject(2, transfer.id());
+                    ps.setObject(3, transfer.fromAccountId());
+                    ps.setLong(4, debitSequence);
+                    ps.setLong(5, amountMinor);
+                    ps.setString(6, currency);
+                    ps.setTimestamp(7, createdAt);
+                    ps.setObject(8, creditEntryId);
+                    ps.setObject(9, transfer.id());
+                    ps.setObject(10, transfer.toAccountId());
+                    ps.setLong(11, creditSequence);
+                    ps.setLong(12, amountMinor);
+                    ps.setString(13, currency);
+                    ps.setTimestamp(14, createdAt);
+                }
+        );
+    }
+
+    @Override
+    public void insertAll(List<LedgerEntry> entries) {
+        jdbc.batchUpdate("""
+        INSERT INTO ledger_entries(
+          id, transfer_id, account_id,
+          sequence, direction, amount_minor, currency, created_at
+        )
+        VALUES (?, ?, ?, ?, CAST(? AS entry_direction), ?, ?, ?)
+        """,
+                entries,
+                JdbcBatches.BATCH_SIZE,
+                (ps, entry) -> {
+                    ps.setObject(1, entry.id());
+                    ps.setObject(2, entry.transferId());
+                    ps.setObject(3, entry.accountId());
+                    ps.setLong(4, entry.sequence());
+                    ps.setString(5, entry.direction().name());
+                    ps.setLong(6, entry.money().amountMinor());
+                    ps.setString(7, entry.money().currency().code());
+                    ps.setTimestamp(8, Timestamp.from(entry.createdAt()));
+                }
         );
     }
 }
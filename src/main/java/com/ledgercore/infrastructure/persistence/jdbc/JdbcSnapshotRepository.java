@@ -3,7 +3,7 @@ package com.ledgercore.infrastructure.persistence.jdbc;
 import com.ledgercore.application.ports.SnapshotRepository;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.UUID;
+import java.util.*;
 
 public final class JdbcSnapshotRepository implements SnapshotRepository {
 
@@ -39,4 +39,42 @@ public final class JdbcSnapshotRepository implements SnapshotRepository {
                 accountId, asOfSequence, balanceMinor
         );
     }
+
+    @Override
+    public Map<UUID, Long> currentBalancesMinor(Collection<UUID> accountIds) {
+        return jdbc.query("""
+            SELECT account_id, balance_minor
+            FROM balance_snapshots
+            WHERE account_id = ANY(?)
+            """,
+                ps -> ps.setArray(1, JdbcArrays.uuids(ps.getConnection(), accountIds)),
+                rs -> {
+                    Map<UUID, Long> balances = new HashMap<>();
+                    while (rs.next()) {
+                        balances.put((UUID) rs.getObject("account_id"), rs.getLong("balance_minor"));
+                    }
+                    return balances;
+                }
+        );
+    }
+
+    @Override
+    public void upsertAll(List<Snapshot> snapshots) {
+        jdbc.batchUpdate("""
+        INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+        VALUES (?, ?, ?, NOW())
+        ON CONFLICT (account_id)
+        DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                      balance_minor  = EXCLUDED.balance_minor,
+                      updated_at     = NOW()
+        """,
+                snapshots,
+                JdbcBatches.BATCH_SIZE,
+                (ps, snapshot) -> {
+                    ps.setObject(1, snapshot.accountId());
+                    ps.setLong(2, snapshot.asOfSequence());
+                    ps.setLong(3, snapshot.balanceMinor());
+                }
+        );
+    }
 }
@@ -0,0 +1,176 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.application.ports.StatementReader;
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+import com.ledgercore.domain.model.Currency;
+import com.ledgercore.domain.model.EntryDirection;
+import com.ledgercore.domain.model.LedgerEntry;
+import com.ledgercore.domain.model.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JDBC statements: opening balance + entries after it, read in one READ ONLY REPEATABLE READ
+ * transaction so both agree.
+ *
+ * - Opening balance: the highest of the latest balance checkpoint (V6) and the snapshot
+ *   (unstriped accounts only) that are at or before afterSequence, plus the entries between it
+ *   and afterSequence.
+ * - Lines: "sequence > ? ORDER BY sequence LIMIT ?" on every partition's (account_id, sequence)
+ *   index; PostgreSQL merges the partitions in order, so no sort.
+ * - stream() fetches fetchSize rows at a time through a cursor; memory does not grow with history.
+ *
+ * IMPORTANT:
+ * - Striped accounts are listed in sequence order, which is not commit order: a slower stripe can
+ *   still commit a lower sequence after a page past it was read. Such an entry shows up in the
+ *   balance of later pages but not as a line of an earlier one.
+ */
+public final class JdbcStatementReader implements StatementReader {
+
+    private static final String OPENING_BALANCE_SQL = """
+            WITH base AS (
+              SELECT sequence, balance_minor
+              FROM (
+                (SELECT k.sequence, k.balance_minor
+                 FROM balance_checkpoints k
+                 WHERE k.account_id = ?
+                   AND k.sequence <= ?
+                 ORDER BY k.sequence DESC
+                 LIMIT 1)
+                UNION ALL
+                (SELECT b.as_of_sequence, b.balance_minor
+                 FROM balance_snapshots b
+                 LEFT JOIN account_sequences q ON q.account_id = b.account_id
+                 WHERE b.account_id = ?
+                   AND b.as_of_sequence <= ?
+                   AND COALESCE(q.stripe_count, 1) = 1)
+              ) candidates
+              ORDER BY sequence DESC
+              LIMIT 1
+            )
+            SELECT COALESCE((SELECT balance_minor FROM base), 0)
+                 + COALESCE((
+                     SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END)
+                     FROM ledger_entries e
+                     WHERE e.account_id = ?
+                       AND e.sequence > COALESCE((SELECT sequence FROM base), 0)
+                       AND e.sequence <= ?
+                   ), 0)::bigint AS balance_minor
+            """;
+
+    private static final String LINES_SQL = """
+            SELECT e.id, e.transfer_id, e.sequence, e.direction, e.amount_minor, e.currency, e.created_at
+            FROM ledger_entries e
+            WHERE e.account_id = ?
+              AND e.sequence > ?
+            ORDER BY e.sequence
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    public JdbcStatementReader(DataSource dataSource, PlatformTransactionManager transactionManager, int fetchSize) {
+        Objects.requireNonNull(dataSource, "dataSource");
+        Objects.requireNonNull(transactionManager, "transactionManager");
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be >= 1, got: " + fetchSize);
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        // NOTE: the PostgreSQL driver only uses a cursor with autocommit off and a fetch size set.
+        this.jdbc.setFetchSize(fetchSize);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.tx.setReadOnly(true);
+    }
+
+    @Override
+    public StatementPage page(UUID accountId, long afterSequence, int limit) {
+        return tx.execute(status -> {
+            long opening = openingBalance(accountId, afterSequence);
+            // One extra row tells whether another page follows.
+            RunningBalance running = new RunningBalance(accountId, opening, limit + 1);
+            jdbc.query(LINES_SQL + "LIMIT ?", running, accountId, afterSequence, limit + 1);
+            List<StatementLine> lines = running.lines;
+            boolean hasMore = lines.size() > limit;
+            return new StatementPage(accountId, afterSequence, opening,
+                    hasMore ? lines.subList(0, limit) : lines, hasMore);
+        });
+    }
+
+    @Override
+    public long stream(UUID accountId, long afterSequence, Consumer<StatementLine> sink) {
+        Objects.requireNonNull(sink, "sink");
+        Long lines = tx.execute(status -> {
+            RunningBalance running = new RunningBalance(accountId, openingBalance(accountId, afterSequence), sink);
+            jdbc.query(LINES_SQL, running, accountId, afterSequence);
+            return running.count;
+        });
+        return lines == null ? 0 : lines;
+    }
+
+    private long openingBalance(UUID accountId, long afterSequence) {
+        if (afterSequence == 0) {
+            return 0;
+        }
+        Long balance = jdbc.queryForObject(OPENING_BALANCE_SQL, Long.class,
+                accountId, afterSequence, accountId, afterSequence, accountId, afterSequence);
+        return balance == null ? 0 : balance;
+    }
+
+    /**
+     * Folds rows in sequence order into lines; either collects them or hands each to a sink.
+     */
+    private static final class RunningBalance implements RowCallbackHandler {
+
+        private final UUID accountId;
+        private final Consumer<StatementLine> sink;
+        private final List<StatementLine> lines;
+        private long balance;
+        private long count;
+
+        RunningBalance(UUID accountId, long opening, int capacity) {
+            this.accountId = accountId;
+            this.balance = opening;
+            this.lines = new ArrayList<>(capacity);
+            this.sink = lines::add;
+        }
+
+        RunningBalance(UUID accountId, long opening, Consumer<StatementLine> sink) {
+            this.accountId = accountId;
+            this.balance = opening;
+            this.lines = List.of();
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            EntryDirection direction = EntryDirection.valueOf(rs.getString("direction"));
+            long amount = rs.getLong("amount_minor");
+            balance += direction == EntryDirection.CREDIT ? amount : -amount;
+            LedgerEntry entry = new LedgerEntry(
+                    (UUID) rs.getObject("id"),
+                    (UUID) rs.getObject("transfer_id"),
+                    accountId,
+                    rs.getLong("sequence"),
+                    direction,
+                    Money.ofMinor(amount, Currency.of(rs.getString("currency"))),
+                    rs.getTimestamp("created_at").toInstant()
+            );
+            count++;
+            sink.accept(new StatementLine(entry, balance));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ledgercore.domain.model.Transfer;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 public final class JdbcTransferRepository implements TransferRepository {
 
@@ -32,4 +33,27 @@ public final class JdbcTransferRepository implements TransferRepository {
                 Timestamp.from(transfer.createdAt())
         );
     }
+
+    @Override
+    public void insertAll(List<Transfer> transfers) {
+        jdbc.batchUpdate("""
+        INSERT INTO transfers(
+          id, command_id, from_account_id, to_account_id,
+          amount_minor, currency, created_at
+        )
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """,
+                transfers,
+                JdbcBatches.BATCH_SIZE,
+                (ps, transfer) -> {
+                    ps.setObject(1, transfer.id());
+                    ps.setObject(2, transfer.commandId());
+                    ps.setObject(3, transfer.fromAccountId());
+                    ps.setObject(4, transfer.toAccountId());
+                    ps.setLong(5, transfer.money().amountMinor());
+                    ps.setString(6, transfer.money().currency().code());
+                    ps.setTimestamp(7, Timestamp.from(transfer.createdAt()));
+                }
+        );
+    }
 }
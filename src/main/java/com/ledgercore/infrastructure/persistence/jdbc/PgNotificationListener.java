@@ -0,0 +1,123 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Holds one dedicated LISTEN connection on one channel and hands every notification payload
+ * to onNotification (outbox_events: V5 migration, account_changed: V7 migration).
+ *
+ * IMPORTANT:
+ * - The connection is taken from the DataSource and kept for the listener's lifetime:
+ *   size the pool with one extra connection per listener.
+ * - After every (re)connect onConnect runs, because notifications sent while
+ *   no one was listening are lost for us (wake up / drop caches there).
+ * - Notifications are hints only; consumers need their own correctness path (polling, version checks).
+ */
+public final class PgNotificationListener implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+
+    // How long one getNotifications call blocks before re-checking the running flag.
+    private static final int RECEIVE_TIMEOUT_MILLIS = 500;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Consumer<String> onNotification;
+    private final Runnable onConnect;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PgNotificationListener(
+            DataSource dataSource,
+            String channel,
+            Consumer<String> onNotification,
+            Runnable onConnect,
+            Duration reconnectDelay
+    ) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.onNotification = Objects.requireNonNull(onNotification, "onNotification");
+        this.onConnect = Objects.requireNonNull(onConnect, "onConnect");
+        this.reconnectDelay = Objects.requireNonNull(reconnectDelay, "reconnectDelay");
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = Thread.ofVirtual().name("pg-listen-" + channel).start(this::runLoop);
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        // NOTE: the loop notices within one receive timeout. Closing the pooled connection from here
+        // would hand it back to the pool while the loop still uses it.
+        if (thread != null) {
+            try {
+                thread.join(RECEIVE_TIMEOUT_MILLIS * 2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            try (Connection con = dataSource.getConnection()) {
+                con.setAutoCommit(true);
+                execute(con, "LISTEN " + channel);
+                try {
+                    PGConnection pg = con.unwrap(PGConnection.class);
+
+                    onConnect.run();
+                    while (running) {
+                        PGNotification[] notifications = pg.getNotifications(RECEIVE_TIMEOUT_MILLIS);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                onNotification.accept(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    // The connection goes back to the pool: it must not keep listening there.
+                    execute(con, "UNLISTEN *");
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("LISTEN connection for {} lost, reconnecting in {}", channel, reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void execute(Connection con, String sql) throws SQLException {
+        try (Statement statement = con.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
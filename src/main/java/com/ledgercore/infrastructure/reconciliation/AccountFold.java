@@ -0,0 +1,174 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.util.UUID;
+
+/**
+ * Checks one account while its entries stream past in sequence order.
+ *
+ * State is O(stripe count), never O(entries): running folds plus the next expected sequence
+ * per segment, so an account with 100M entries costs the same memory as one with 10.
+ *
+ * Segments (see V4 / V8):
+ * - linear:  sequences below next_sequence (unstriped: all; striped: below the frozen stripe base),
+ *            gap-free from contiguous_from on
+ * - stripe s: base+s, base+s+N, ... below that stripe's next_sequence
+ */
+final class AccountFold {
+
+    private static final long NO_SNAPSHOT = -1;
+
+    private final UUID accountId;
+    private final long limit;
+    private final long contiguousFrom;
+    private final int stripeCount;
+    private final long snapshotAsOf;
+    private final long snapshotBalance;
+    private final long[] stripeNext;
+    private final long[] stripeAsOf;
+    private final long[] stripeBalance;
+
+    private long entries;
+    private long lastSequence;
+    private long expectedLinear;
+    private long linearFold;
+    private long snapshotFold;
+    private final long[] expectedStripe;
+    private final long[] stripeFold;
+    private long stray;
+    private long firstStray;
+
+    AccountFold(
+            UUID accountId,
+            long nextSequence,
+            long contiguousFrom,
+            int stripeCount,
+            Long snapshotAsOf,
+            long snapshotBalance,
+            long[] stripeNext,
+            long[] stripeAsOf,
+            long[] stripeBalance
+    ) {
+        this.accountId = accountId;
+        this.limit = nextSequence;
+        this.contiguousFrom = contiguousFrom;
+        this.stripeCount = stripeCount;
+        this.snapshotAsOf = snapshotAsOf == null ? NO_SNAPSHOT : snapshotAsOf;
+        this.snapshotBalance = snapshotBalance;
+        boolean striped = stripeCount > 1 && stripeNext != null && stripeNext.length == stripeCount;
+        this.stripeNext = striped ? stripeNext : null;
+        this.stripeAsOf = striped ? stripeAsOf : null;
+        this.stripeBalance = striped ? stripeBalance : null;
+        this.expectedLinear = contiguousFrom;
+        this.expectedStripe = new long[striped ? stripeCount : 0];
+        this.stripeFold = new long[striped ? stripeCount : 0];
+        for (int s = 0; s < expectedStripe.length; s++) {
+            expectedStripe[s] = nextSequence + s;
+        }
+    }
+
+    /**
+     * Entries of an account that has no account_sequences row: the counter never handed any out.
+     */
+    static AccountFold withoutCounter(UUID accountId) {
+        return new AccountFold(accountId, 1, 1, 1, null, 0, null, null, null);
+    }
+
+    UUID accountId() {
+        return accountId;
+    }
+
+    long entries() {
+        return entries;
+    }
+
+    /**
+     * @param signedAmountMinor CREDIT positive, DEBIT negative
+     */
+    void accept(long sequence, long signedAmountMinor, DriftListener listener) {
+        entries++;
+        // Entries arrive in sequence order, so a repeated sequence follows its twin directly.
+        if (sequence == lastSequence) {
+            listener.onDrift(new Drift(Drift.Kind.DUPLICATE_SEQUENCE, accountId,
+                    "sequence %d appears more than once".formatted(sequence), sequence, sequence));
+        }
+        lastSequence = sequence;
+        if (sequence <= snapshotAsOf) {
+            snapshotFold += signedAmountMinor;
+        }
+
+        if (sequence < limit) {
+            linearFold += signedAmountMinor;
+            if (sequence >= contiguousFrom) {
+                if (sequence > expectedLinear) {
+                    gap(listener, "missing sequences %d..%d".formatted(expectedLinear, sequence - 1), expectedLinear, sequence);
+                }
+                expectedLinear = sequence + 1;
+            }
+            return;
+        }
+
+        if (stripeNext == null) {
+            stray(sequence);
+            return;
+        }
+        int s = (int) ((sequence - limit) % stripeCount);
+        if (sequence >= stripeNext[s]) {
+            stray(sequence);
+            return;
+        }
+        if (sequence > expectedStripe[s]) {
+            gap(listener, "stripe %d missing sequences %d..%d (step %d)".formatted(s, expectedStripe[s], sequence - stripeCount, stripeCount),
+                    expectedStripe[s], sequence);
+        }
+        expectedStripe[s] = sequence + stripeCount;
+        if (sequence <= stripeAsOf[s]) {
+            stripeFold[s] += signedAmountMinor;
+        }
+    }
+
+    /**
+     * Called after the account's last entry (or right away if it has none).
+     */
+    void finish(DriftListener listener) {
+        if (expectedLinear < limit) {
+            gap(listener, "missing sequences %d..%d".formatted(expectedLinear, limit - 1), expectedLinear, limit);
+        }
+        if (stripeNext != null) {
+            for (int s = 0; s < stripeCount; s++) {
+                if (expectedStripe[s] < stripeNext[s]) {
+                    gap(listener, "stripe %d missing sequences %d..%d (step %d)".formatted(s, expectedStripe[s], stripeNext[s] - stripeCount, stripeCount),
+                            expectedStripe[s], stripeNext[s]);
+                }
+            }
+        }
+        if (stray > 0) {
+            gap(listener, "%d entries from sequence %d on were never handed out by the sequence counter".formatted(stray, firstStray),
+                    limit, firstStray);
+        }
+
+        if (snapshotAsOf != NO_SNAPSHOT && snapshotFold != snapshotBalance) {
+            listener.onDrift(new Drift(Drift.Kind.BALANCE_MISMATCH, accountId,
+                    "balance_snapshots as of sequence " + snapshotAsOf, snapshotFold, snapshotBalance));
+        }
+        if (stripeNext != null) {
+            for (int s = 0; s < stripeCount; s++) {
+                // NOTE: stripe 0 carries the balance from before striping forward (ledger_stripe_account).
+                long expected = stripeFold[s] + (s == 0 ? linearFold : 0);
+                if (expected != stripeBalance[s]) {
+                    listener.onDrift(new Drift(Drift.Kind.BALANCE_MISMATCH, accountId,
+                            "account_stripes stripe %d as of sequence %d".formatted(s, stripeAsOf[s]), expected, stripeBalance[s]));
+                }
+            }
+        }
+    }
+
+    private void stray(long sequence) {
+        if (stray++ == 0) {
+            firstStray = sequence;
+        }
+    }
+
+    private void gap(DriftListener listener, String detail, long firstMissing, long nextPresent) {
+        listener.onDrift(new Drift(Drift.Kind.SEQUENCE_GAP, accountId, detail, firstMissing, nextPresent));
+    }
+}
@@ -0,0 +1,35 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One finding of a reconciliation run.
+ *
+ * subjectId is the account (BALANCE_MISMATCH, SEQUENCE_GAP, DUPLICATE_SEQUENCE) or the transfer (UNBALANCED_TRANSFER).
+ * expected is what the ledger entries say, actual what the stored state says (0 where it does not apply).
+ */
+public record Drift(
+        Kind kind,
+        UUID subjectId,
+        String detail,
+        long expected,
+        long actual
+) {
+    public enum Kind {
+        /** balance_snapshots / account_stripes disagree with the fold of their entries. */
+        BALANCE_MISMATCH,
+        /** Missing sequences, or entries the sequence counter never handed out. */
+        SEQUENCE_GAP,
+        /** Two entries of one account with the same sequence (uniqueness is per partition since V10). */
+        DUPLICATE_SEQUENCE,
+        /** The entries of one transfer do not net to zero (or are not exactly one debit + one credit). */
+        UNBALANCED_TRANSFER
+    }
+
+    public Drift {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(subjectId, "subjectId");
+        Objects.requireNonNull(detail, "detail");
+    }
+}
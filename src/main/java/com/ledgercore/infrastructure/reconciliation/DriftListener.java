@@ -0,0 +1,14 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+/**
+ * Receives drift while a reconciliation run is still going (streamed report).
+ *
+ * IMPORTANT:
+ * - Called concurrently from the run's worker threads: implementations must be thread-safe.
+ * - Throwing aborts the run.
+ */
+@FunctionalInterface
+public interface DriftListener {
+
+    void onDrift(Drift drift);
+}
@@ -0,0 +1,265 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies the derived state against ledger_entries (the truth) and streams every drift it finds:
+ * - balance_snapshots / account_stripes vs the fold of the entries they claim to cover,
+ * - sequence gaps (per segment, see {@link AccountFold}) and duplicated sequences,
+ * - transfers whose entries are not exactly one DEBIT + one CREDIT of the transfer amount.
+ *
+ * The account id space is split into `ranges` slices, reconciled by a fork-join pool of
+ * `parallelism` workers. Each slice streams its entries through a server-side cursor
+ * (fetchSize rows at a time) in (account_id, sequence) order, merged with the accounts' stored
+ * state in the same statement, so memory stays bounded however large the ledger is.
+ * Transfer ids are time-ordered (UUIDv7), so each slice's transfers are cut between the current
+ * MIN/MAX transfer id instead of over the whole id space.
+ *
+ * IMPORTANT:
+ * - Each slice is one READ ONLY, REPEATABLE READ transaction: a consistent MVCC snapshot with no
+ *   row locks, so writers are never blocked and in-flight transfers are simply not visible yet.
+ * - Different slices see different snapshots; every check only compares rows of one slice.
+ * - Workers block on JDBC: parallelism = concurrent connections. Size the pool accordingly.
+ * - A slice's snapshot holds back vacuum while it runs; more ranges = shorter transactions.
+ */
+public final class LedgerReconciler {
+
+    // Stored state first (kind 0), then the account's entries in sequence order (kind 1).
+    private static final String ACCOUNTS_SQL = """
+        SELECT q.account_id, 0 AS kind, NULL::bigint AS sequence, NULL::bigint AS amount_minor,
+               q.next_sequence, q.contiguous_from, q.stripe_count,
+               s.as_of_sequence AS snapshot_as_of, s.balance_minor AS snapshot_balance,
+               st.next_sequences AS stripe_next, st.as_of_sequences AS stripe_as_of, st.balances AS stripe_balance
+        FROM account_sequences q
+        LEFT JOIN balance_snapshots s ON s.account_id = q.account_id
+        LEFT JOIN LATERAL (
+          SELECT array_agg(st.next_sequence ORDER BY st.stripe)  AS next_sequences,
+                 array_agg(st.as_of_sequence ORDER BY st.stripe) AS as_of_sequences,
+                 array_agg(st.balance_minor ORDER BY st.stripe)  AS balances
+          FROM account_stripes st
+          WHERE st.account_id = q.account_id
+            AND q.stripe_count > 1
+        ) st ON TRUE
+        WHERE %1$s
+        UNION ALL
+        SELECT e.account_id, 1, e.sequence,
+               CASE e.direction WHEN 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END,
+               NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL
+        FROM ledger_entries e
+        WHERE %2$s
+        ORDER BY account_id, kind, sequence
+        """;
+
+    // Aggregated server-side: only drifting transfers travel to us.
+    private static final String TRANSFERS_SQL = """
+        SELECT t.id, t.amount_minor,
+               COUNT(e.id) AS entries,
+               COUNT(e.id) FILTER (WHERE e.direction = 'DEBIT') AS debits,
+               COALESCE(SUM(CASE e.direction WHEN 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END), 0) AS net,
+               COUNT(e.id) FILTER (WHERE e.amount_minor <> t.amount_minor OR e.currency <> t.currency) AS mismatched
+        FROM transfers t
+        LEFT JOIN ledger_entries e ON e.transfer_id = t.id
+        WHERE %1$s
+        GROUP BY t.id, t.amount_minor
+        HAVING COUNT(e.id) <> 2
+            OR COUNT(e.id) FILTER (WHERE e.direction = 'DEBIT') <> 1
+            OR COALESCE(SUM(CASE e.direction WHEN 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END), 0) <> 0
+            OR COUNT(e.id) FILTER (WHERE e.amount_minor <> t.amount_minor OR e.currency <> t.currency) > 0
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int parallelism;
+    private final int ranges;
+
+    public LedgerReconciler(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            int parallelism, int ranges, int fetchSize) {
+        Objects.requireNonNull(dataSource, "dataSource");
+        Objects.requireNonNull(transactionManager, "transactionManager");
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1, got: " + parallelism);
+        }
+        if (ranges < 1) {
+            throw new IllegalArgumentException("ranges must be >= 1, got: " + ranges);
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be >= 1, got: " + fetchSize);
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        // NOTE: the PostgreSQL driver only uses a cursor with autocommit off and a fetch size set.
+        this.jdbc.setFetchSize(fetchSize);
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.tx.setReadOnly(true);
+        this.parallelism = parallelism;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Reconciles the whole ledger. Blocks until every slice is done; drift is reported as found.
+     */
+    public ReconciliationSummary run(DriftListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        long started = System.nanoTime();
+
+        LongAdder drifts = new LongAdder();
+        DriftListener counting = drift -> {
+            drifts.increment();
+            listener.onDrift(drift);
+        };
+
+        // Transfer ids may be time-ordered (UuidV7Generator): split them between their min and max.
+        // NOTE: PostgreSQL has no MIN/MAX(uuid); both ends are one primary-key index probe.
+        List<UuidRange> transferRanges = jdbc.query("""
+            SELECT (SELECT id FROM transfers ORDER BY id LIMIT 1)      AS lo,
+                   (SELECT id FROM transfers ORDER BY id DESC LIMIT 1) AS hi
+            """, rs -> {
+            rs.next();
+            UUID lo = (UUID) rs.getObject("lo");
+            return lo == null ? UuidRange.split(ranges) : UuidRange.split(ranges, lo, (UUID) rs.getObject("hi"));
+        });
+        List<UuidRange> accountRanges = UuidRange.split(ranges);
+        List<Slice> slices = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            slices.add(new Slice(accountRanges.get(i), transferRanges.get(i)));
+        }
+
+        Tally tally;
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            tally = pool.invoke(new SliceTask(slices, counting));
+        }
+        return new ReconciliationSummary(tally.accounts(), tally.entries(), drifts.sum(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private Tally reconcile(Slice slice, DriftListener listener) {
+        return tx.execute(status -> {
+            AccountScan scan = new AccountScan(listener);
+            UuidRange accounts = slice.accounts();
+            jdbc.query(ACCOUNTS_SQL.formatted(accounts.predicate("q.account_id"), accounts.predicate("e.account_id")), scan);
+            scan.finish();
+
+            jdbc.query(TRANSFERS_SQL.formatted(slice.transfers().predicate("t.id")), (RowCallbackHandler) rs -> {
+                long net = rs.getLong("net");
+                listener.onDrift(new Drift(Drift.Kind.UNBALANCED_TRANSFER, (UUID) rs.getObject("id"),
+                        "%d entries (%d debits), %d not matching amount %d / currency".formatted(
+                                rs.getLong("entries"), rs.getLong("debits"), rs.getLong("mismatched"), rs.getLong("amount_minor")),
+                        0, net));
+            });
+            return new Tally(scan.accounts, scan.entries);
+        });
+    }
+
+    /**
+     * Consumes the merged (stored state, entries) stream of one slice, one account at a time.
+     */
+    private static final class AccountScan implements RowCallbackHandler {
+
+        private final DriftListener listener;
+        private AccountFold current;
+        private long accounts;
+        private long entries;
+
+        AccountScan(DriftListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID accountId = (UUID) rs.getObject("account_id");
+            if (rs.getInt("kind") == 0) {
+                finish();
+                long snapshotAsOf = rs.getLong("snapshot_as_of");
+                boolean hasSnapshot = !rs.wasNull();
+                current = new AccountFold(
+                        accountId,
+                        rs.getLong("next_sequence"),
+                        rs.getLong("contiguous_from"),
+                        rs.getInt("stripe_count"),
+                        hasSnapshot ? snapshotAsOf : null,
+                        rs.getLong("snapshot_balance"),
+                        longs(rs, "stripe_next"),
+                        longs(rs, "stripe_as_of"),
+                        longs(rs, "stripe_balance")
+                );
+                return;
+            }
+            if (current == null || !current.accountId().equals(accountId)) {
+                finish();
+                current = AccountFold.withoutCounter(accountId);
+            }
+            current.accept(rs.getLong("sequence"), rs.getLong("amount_minor"), listener);
+        }
+
+        void finish() {
+            if (current != null) {
+                current.finish(listener);
+                accounts++;
+                entries += current.entries();
+                current = null;
+            }
+        }
+
+        private static long[] longs(ResultSet rs, String column) throws SQLException {
+            Array array = rs.getArray(column);
+            if (array == null) {
+                return null;
+            }
+            Long[] boxed = (Long[]) array.getArray();
+            long[] values = new long[boxed.length];
+            for (int i = 0; i < boxed.length; i++) {
+                values[i] = boxed[i];
+            }
+            return values;
+        }
+    }
+
+    private final class SliceTask extends RecursiveTask<Tally> {
+
+        private final List<Slice> slices;
+        private final DriftListener listener;
+
+        SliceTask(List<Slice> slices, DriftListener listener) {
+            this.slices = slices;
+            this.listener = listener;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (slices.size() == 1) {
+                return reconcile(slices.get(0), listener);
+            }
+            int mid = slices.size() / 2;
+            SliceTask left = new SliceTask(slices.subList(0, mid), listener);
+            left.fork();
+            Tally right = new SliceTask(slices.subList(mid, slices.size()), listener).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    private record Slice(UuidRange accounts, UuidRange transfers) {
+    }
+
+    private record Tally(long accounts, long entries) {
+        Tally plus(Tally other) {
+            return new Tally(accounts + other.accounts, entries + other.entries);
+        }
+    }
+}
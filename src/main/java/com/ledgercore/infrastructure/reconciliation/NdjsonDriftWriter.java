@@ -0,0 +1,43 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writes one JSON line per drift (NDJSON), flushed per line so a long run can be tailed.
+ * Writers from several worker threads are serialized on this instance.
+ */
+public final class NdjsonDriftWriter implements DriftListener, AutoCloseable {
+
+    private final Writer writer;
+
+    public NdjsonDriftWriter(Writer writer) {
+        this.writer = Objects.requireNonNull(writer, "writer");
+    }
+
+    @Override
+    public synchronized void onDrift(Drift drift) {
+        try {
+            writer.write("{\"kind\":\"" + drift.kind()
+                    + "\",\"subjectId\":\"" + drift.subjectId()
+                    + "\",\"detail\":\"" + escape(drift.detail())
+                    + "\",\"expected\":" + drift.expected()
+                    + ",\"actual\":" + drift.actual() + "}\n");
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write drift report", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    // NOTE: details are built from column names and numbers; quotes and backslashes are all we need.
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
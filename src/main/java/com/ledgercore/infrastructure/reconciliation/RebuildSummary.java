@@ -0,0 +1,33 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * What one {@link SnapshotRebuilder#run} invocation did (a resumed run only counts its own part).
+ *
+ * written = snapshots inserted or corrected; rows that were already right are left untouched.
+ */
+public record RebuildSummary(
+        long accounts,
+        long entries,
+        long written,
+        Duration elapsed
+) {
+    public RebuildSummary {
+        Objects.requireNonNull(elapsed, "elapsed");
+    }
+
+    public double accountsPerSecond() {
+        return perSecond(accounts);
+    }
+
+    public double entriesPerSecond() {
+        return perSecond(entries);
+    }
+
+    private double perSecond(long count) {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return count * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Totals of one reconciliation run. The findings themselves went to the {@link DriftListener}.
+ */
+public record ReconciliationSummary(
+        long accounts,
+        long entries,
+        long drifts,
+        Duration elapsed
+) {
+    public ReconciliationSummary {
+        Objects.requireNonNull(elapsed, "elapsed");
+    }
+
+    public boolean clean() {
+        return drifts == 0;
+    }
+}
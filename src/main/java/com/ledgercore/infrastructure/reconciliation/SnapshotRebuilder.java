@@ -0,0 +1,247 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import com.ledgercore.infrastructure.retry.RetryCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recomputes balance_snapshots from ledger_entries while transfers keep running (repair after
+ * drift, or bootstrapping a new replica).
+ *
+ * The account id space is split into `ranges` slices, worked on by a fork-join pool of
+ * `parallelism` workers. Each slice advances in chunks of chunkSize accounts; one chunk is one
+ * short transaction that folds the entries, swaps in the results and advances the slice's
+ * cursor in snapshot_rebuild_progress (V9). A run interrupted at any point resumes from there.
+ *
+ * IMPORTANT:
+ * - No locks on the write path. A row is swapped in only if the stored as_of_sequence is older
+ *   (or equal with a different balance), so a newer row written by a concurrent
+ *   JdbcSnapshotRepository.upsert is never replaced by an older value.
+ * - Folds stop below account_sequences.next_sequence: for a striped account that is the frozen
+ *   stripe base, matching its frozen snapshot. Stripe balances are not rewritten here.
+ * - A transfer that read a drifted row just before the swap still commits its successor from it.
+ *   Reconcile again after a repair; a second run fixes what such a race left behind.
+ */
+public final class SnapshotRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotRebuilder.class);
+
+    // A chunk can deadlock with transfers upserting two snapshot rows; it simply runs again.
+    private static final int CHUNK_ATTEMPTS = 5;
+
+    // One chunk: pick the next accounts after the cursor, fold, compare-and-swap.
+    private static final String CHUNK_SQL = """
+        WITH chunk AS (
+          SELECT q.account_id, q.next_sequence
+          FROM account_sequences q
+          WHERE %1$s
+            AND (?::uuid IS NULL OR q.account_id > ?::uuid)
+          ORDER BY q.account_id
+          LIMIT ?
+        ), folded AS (
+          SELECT c.account_id,
+                 MAX(e.sequence) AS as_of_sequence,
+                 SUM(CASE e.direction WHEN 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END) AS balance_minor,
+                 COUNT(*) AS entries
+          FROM chunk c
+          JOIN ledger_entries e ON e.account_id = c.account_id AND e.sequence < c.next_sequence
+          GROUP BY c.account_id
+        ), swapped AS (
+          INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+          SELECT account_id, as_of_sequence, balance_minor, NOW()
+          FROM folded
+          ORDER BY account_id
+          ON CONFLICT (account_id)
+          DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                        balance_minor  = EXCLUDED.balance_minor,
+                        updated_at     = NOW()
+          WHERE balance_snapshots.as_of_sequence < EXCLUDED.as_of_sequence
+             OR (balance_snapshots.as_of_sequence = EXCLUDED.as_of_sequence
+                 AND balance_snapshots.balance_minor <> EXCLUDED.balance_minor)
+          RETURNING account_id
+        )
+        SELECT (SELECT COUNT(*) FROM chunk) AS accounts,
+               (SELECT account_id FROM chunk ORDER BY account_id DESC LIMIT 1) AS last_account_id,
+               (SELECT COALESCE(SUM(entries), 0) FROM folded) AS entries,
+               (SELECT COUNT(*) FROM swapped) AS written
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public SnapshotRebuilder(JdbcTemplate jdbc, TransactionTemplate tx, int parallelism, int chunkSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1, got: " + parallelism);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be >= 1, got: " + chunkSize);
+        }
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+        this.tx = Objects.requireNonNull(tx, "tx");
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs (or resumes) the rebuild named runId until every slice is done.
+     *
+     * @param ranges number of slices; must match what an earlier attempt of the same run used
+     */
+    public RebuildSummary run(String runId, int ranges) {
+        Objects.requireNonNull(runId, "runId");
+        if (ranges < 1) {
+            throw new IllegalArgumentException("ranges must be >= 1, got: " + ranges);
+        }
+        long started = System.nanoTime();
+
+        // Checked before inserting: a mismatched resume must not add slices of its own to the run.
+        Integer stored = jdbc.queryForObject(
+                "SELECT MAX(ranges) FROM snapshot_rebuild_progress WHERE run_id = ?", Integer.class, runId);
+        if (stored != null && stored != ranges) {
+            throw new IllegalArgumentException("Run " + runId + " was started with " + stored + " ranges, not " + ranges);
+        }
+        jdbc.update("""
+            INSERT INTO snapshot_rebuild_progress(run_id, range_index, ranges)
+            SELECT ?, i, ?
+            FROM generate_series(0, ? - 1) AS i
+            ON CONFLICT (run_id, range_index) DO NOTHING
+            """, runId, ranges, ranges);
+
+        List<UuidRange> slices = UuidRange.split(ranges);
+        List<Slice> pending = jdbc.query("""
+            SELECT range_index, cursor
+            FROM snapshot_rebuild_progress
+            WHERE run_id = ?
+              AND NOT done
+            ORDER BY range_index
+            """,
+                (rs, rowNum) -> new Slice(rs.getInt("range_index"), slices.get(rs.getInt("range_index")),
+                        (UUID) rs.getObject("cursor")),
+                runId
+        );
+
+        Counts counts = new Counts(0, 0, 0);
+        if (!pending.isEmpty()) {
+            try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                counts = pool.invoke(new SliceTask(runId, pending));
+            }
+        }
+
+        RebuildSummary summary = new RebuildSummary(counts.accounts(), counts.entries(), counts.written(),
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Snapshot rebuild {}: {} accounts, {} entries, {} snapshots written in {} ({} accounts/s, {} entries/s)",
+                runId, summary.accounts(), summary.entries(), summary.written(), summary.elapsed(),
+                Math.round(summary.accountsPerSecond()), Math.round(summary.entriesPerSecond()));
+        return summary;
+    }
+
+    private Counts rebuild(String runId, Slice slice) {
+        Counts total = new Counts(0, 0, 0);
+        UUID cursor = slice.cursor();
+        boolean done = false;
+        while (!done) {
+            Chunk chunk = rebuildChunk(runId, slice, cursor);
+            total = total.plus(new Counts(chunk.accounts(), chunk.entries(), chunk.written()));
+            cursor = chunk.lastAccountId() == null ? cursor : chunk.lastAccountId();
+            done = chunk.accounts() < chunkSize;
+        }
+        log.debug("Snapshot rebuild {}: range {} done ({} accounts, {} written)",
+                runId, slice.index(), total.accounts(), total.written());
+        return total;
+    }
+
+    private Chunk rebuildChunk(String runId, Slice slice, UUID after) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attemptChunk(runId, slice, after);
+            } catch (RuntimeException e) {
+                if (RetryCause.of(e).isEmpty() || attempt >= CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Snapshot rebuild {}: range {} chunk failed transiently, retrying", runId, slice.index(), e);
+            }
+        }
+    }
+
+    private Chunk attemptChunk(String runId, Slice slice, UUID after) {
+        return tx.execute(status -> {
+            Chunk result = jdbc.query(CHUNK_SQL.formatted(slice.range().predicate("q.account_id")),
+                    ps -> {
+                        ps.setObject(1, after);
+                        ps.setObject(2, after);
+                        ps.setInt(3, chunkSize);
+                    },
+                    rs -> {
+                        rs.next();
+                        return new Chunk(
+                                rs.getLong("accounts"),
+                                (UUID) rs.getObject("last_account_id"),
+                                rs.getLong("entries"),
+                                rs.getLong("written"));
+                    }
+            );
+            jdbc.update("""
+                UPDATE snapshot_rebuild_progress
+                SET cursor     = COALESCE(?::uuid, cursor),
+                    done       = ?,
+                    accounts   = accounts + ?,
+                    entries    = entries + ?,
+                    written    = written + ?,
+                    updated_at = NOW()
+                WHERE run_id = ?
+                  AND range_index = ?
+                """,
+                    result.lastAccountId(), result.accounts() < chunkSize,
+                    result.accounts(), result.entries(), result.written(),
+                    runId, slice.index());
+            return result;
+        });
+    }
+
+    private final class SliceTask extends RecursiveTask<Counts> {
+
+        private final String runId;
+        private final List<Slice> slices;
+
+        SliceTask(String runId, List<Slice> slices) {
+            this.runId = runId;
+            this.slices = slices;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (slices.size() == 1) {
+                return rebuild(runId, slices.get(0));
+            }
+            int mid = slices.size() / 2;
+            SliceTask left = new SliceTask(runId, new ArrayList<>(slices.subList(0, mid)));
+            left.fork();
+            Counts right = new SliceTask(runId, new ArrayList<>(slices.subList(mid, slices.size()))).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    private record Slice(int index, UuidRange range, UUID cursor) {
+    }
+
+    private record Chunk(long accounts, UUID lastAccountId, long entries, long written) {
+    }
+
+    private record Counts(long accounts, long entries, long written) {
+        Counts plus(Counts other) {
+            return new Counts(accounts + other.accounts, entries + other.entries, written + other.written);
+        }
+    }
+}
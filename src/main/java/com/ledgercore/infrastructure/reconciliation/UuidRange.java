@@ -0,0 +1,64 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * [from, to) in PostgreSQL uuid order (unsigned, byte-wise); to == null = open end.
+ * Random (v4) ids spread evenly, so equal slices of the id space hold about equal numbers of accounts.
+ * Time-ordered (v7) ids do not: they cluster under the current timestamp, so tables keyed by them
+ * are split between their observed min and max instead.
+ */
+record UuidRange(UUID from, UUID to) {
+
+    static List<UuidRange> split(int count) {
+        BigInteger space = BigInteger.ONE.shiftLeft(64);
+        List<UuidRange> result = new ArrayList<>(count);
+        UUID from = new UUID(0, 0);
+        for (int i = 1; i <= count; i++) {
+            UUID to = i == count
+                    ? null
+                    : new UUID(space.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)).longValue(), 0);
+            result.add(new UuidRange(from, to));
+            from = to;
+        }
+        return result;
+    }
+
+    /**
+     * count slices with interior bounds spread evenly over [min, max]; the first slice still starts
+     * at the lowest uuid and the last one is open-ended, so ids outside [min, max] are covered too.
+     */
+    static List<UuidRange> split(int count, UUID min, UUID max) {
+        BigInteger low = unsigned(min);
+        BigInteger width = unsigned(max).subtract(low);
+        List<UuidRange> result = new ArrayList<>(count);
+        UUID from = new UUID(0, 0);
+        for (int i = 1; i <= count; i++) {
+            UUID to = i == count
+                    ? null
+                    : uuid(low.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count))));
+            result.add(new UuidRange(from, to));
+            from = to;
+        }
+        return result;
+    }
+
+    private static BigInteger unsigned(UUID id) {
+        BigInteger msb = new BigInteger(Long.toUnsignedString(id.getMostSignificantBits()));
+        BigInteger lsb = new BigInteger(Long.toUnsignedString(id.getLeastSignificantBits()));
+        return msb.shiftLeft(64).or(lsb);
+    }
+
+    private static UUID uuid(BigInteger value) {
+        return new UUID(value.shiftRight(64).longValue(), value.longValue());
+    }
+
+    // NOTE: bounds are generated here, never user input, so they are inlined as literals.
+    String predicate(String column) {
+        String lower = column + " >= '" + from + "'::uuid";
+        return to == null ? lower : lower + " AND " + column + " < '" + to + "'::uuid";
+    }
+}
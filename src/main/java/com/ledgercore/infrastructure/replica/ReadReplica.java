@@ -0,0 +1,109 @@
+package com.ledgercore.infrastructure.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * A read-only streaming replica of the ledger database and how far it trails the primary.
+ *
+ * A probe reads the primary's current WAL position first, then asks the replica. lag() is 0 if the
+ * replica has already replayed up to that position, so an idle primary does not look like lag;
+ * otherwise it is the age of the last replayed transaction. The probe runs at most once per
+ * probeInterval; between probes the last value is served.
+ *
+ * IMPORTANT:
+ * - Nothing here writes. Write-path adapters never get this DataSource.
+ * - A failing probe (replica or primary down) reports {@link #UNKNOWN}: reads go to the primary
+ *   until the replica answers again.
+ * - So does a replica whose WAL receiver is not streaming (stopped, disconnected, still
+ *   connecting). Having replayed everything it received says nothing about what it missed.
+ * - Long queries on a hot standby can be cancelled by recovery conflicts; set
+ *   hot_standby_feedback = on (or raise max_standby_streaming_delay) for reporting workloads.
+ */
+public final class ReadReplica implements AutoCloseable {
+
+    public static final Duration UNKNOWN = Duration.ofSeconds(Long.MAX_VALUE);
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplica.class);
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+
+    // NULL = no streaming WAL receiver, or never replayed a transaction: treated as UNKNOWN.
+    private static final String LAG_MILLIS_SQL = """
+        SELECT CASE
+                 WHEN NOT pg_is_in_recovery() THEN 0
+                 WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                 WHEN pg_last_wal_replay_lsn() >= ?::pg_lsn THEN 0
+                 ELSE (EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+               END
+        """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate primary;
+    private final long probeIntervalNanos;
+
+    private volatile Duration lag = UNKNOWN;
+    private volatile long probedAt;
+    private volatile boolean probed;
+
+    /**
+     * @param primary only used to read the primary's current WAL position
+     */
+    public ReadReplica(DataSource dataSource, JdbcTemplate primary, Duration probeInterval) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource");
+        this.primary = Objects.requireNonNull(primary, "primary");
+        Objects.requireNonNull(probeInterval, "probeInterval");
+        if (probeInterval.isNegative()) {
+            throw new IllegalArgumentException("probeInterval must be >= 0, got: " + probeInterval);
+        }
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.probeIntervalNanos = probeInterval.toNanos();
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    /**
+     * Replay lag as of the last probe (at most probeInterval old), or {@link #UNKNOWN}.
+     */
+    public Duration lag() {
+        long now = System.nanoTime();
+        if (!probed || now - probedAt >= probeIntervalNanos) {
+            // NOTE: concurrent callers may probe twice at an interval boundary; harmless.
+            lag = probe();
+            probedAt = now;
+            probed = true;
+        }
+        return lag;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Duration probe() {
+        try {
+            String primaryLsn = primary.queryForObject(PRIMARY_LSN_SQL, String.class);
+            Long millis = jdbc.queryForObject(LAG_MILLIS_SQL, Long.class, primaryLsn);
+            return millis == null ? UNKNOWN : Duration.ofMillis(Math.max(0, millis));
+        } catch (DataAccessException e) {
+            log.warn("Replica lag probe failed; reading from the primary", e);
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ledgercore.infrastructure.replica;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters kept by {@link RoutingBalanceReader} and {@link RoutingStatementReader}.
+ * - replicaReads:  reads served by the replica
+ * - primaryReads:  reads sent to the primary (replica lag over the bound, replica failed,
+ *                  or it did not reach the requested sequence within max-wait)
+ * - waits:         fresh-enough reads that had to poll the replica at least once
+ */
+public final class ReplicaReadMetrics {
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+
+    void recordReplicaRead() {
+        replicaReads.increment();
+    }
+
+    void recordPrimaryRead() {
+        primaryReads.increment();
+    }
+
+    void recordWait() {
+        waits.increment();
+    }
+
+    public long replicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long primaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long waits() {
+        return waits.sum();
+    }
+}
@@ -0,0 +1,147 @@
+package com.ledgercore.infrastructure.replica;
+
+import com.ledgercore.application.ports.BalanceReader;
+import com.ledgercore.application.result.AccountBalance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * {@link BalanceReader} that serves queries from a {@link ReadReplica} while it is fresh enough
+ * and from the primary otherwise.
+ *
+ * - readAll / readAsOf(time): replica if its lag is within maxLag, else primary.
+ * - readAsOfSequence / readAtLeast: the caller names a sequence, so staleness is checked exactly:
+ *   the replica serves once it has replayed that entry, polled with backoff for up to maxWait;
+ *   after that the primary answers.
+ *
+ * IMPORTANT:
+ * - Replay is in commit order, so once the entry with sequence N is visible on the replica,
+ *   everything committed before it is too: a read that follows a write sees that write.
+ * - A replica error is never surfaced: the read is retried once on the primary.
+ * - Query side only. Transfers, snapshot rebuilds and checkpoint writes use the primary.
+ */
+public final class RoutingBalanceReader implements BalanceReader {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingBalanceReader.class);
+
+    private static final String HAS_ENTRY_SQL = """
+            SELECT EXISTS (
+              SELECT 1 FROM ledger_entries WHERE account_id = ? AND sequence = ?
+            )
+            """;
+
+    private static final long FIRST_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final BalanceReader primary;
+    private final BalanceReader replicaReader;
+    private final ReadReplica replica;
+    private final Duration maxLag;
+    private final long maxWaitNanos;
+    private final ReplicaReadMetrics metrics;
+
+    public RoutingBalanceReader(BalanceReader primary, BalanceReader replicaReader, ReadReplica replica,
+                                Duration maxLag, Duration maxWait, ReplicaReadMetrics metrics) {
+        this.primary = Objects.requireNonNull(primary, "primary");
+        this.replicaReader = Objects.requireNonNull(replicaReader, "replicaReader");
+        this.replica = Objects.requireNonNull(replica, "replica");
+        this.maxLag = Objects.requireNonNull(maxLag, "maxLag");
+        Objects.requireNonNull(maxWait, "maxWait");
+        if (maxLag.isNegative() || maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxLag and maxWait must be >= 0, got: " + maxLag + ", " + maxWait);
+        }
+        this.maxWaitNanos = maxWait.toNanos();
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public Map<UUID, AccountBalance> readAll(Collection<UUID> accountIds) {
+        return route(() -> replicaReader.readAll(accountIds), () -> primary.readAll(accountIds));
+    }
+
+    @Override
+    public Optional<AccountBalance> readAsOfSequence(UUID accountId, long sequence) {
+        return routeAtLeast(accountId, sequence,
+                () -> replicaReader.readAsOfSequence(accountId, sequence),
+                () -> primary.readAsOfSequence(accountId, sequence));
+    }
+
+    @Override
+    public Optional<AccountBalance> readAsOf(UUID accountId, Instant at) {
+        return route(() -> replicaReader.readAsOf(accountId, at), () -> primary.readAsOf(accountId, at));
+    }
+
+    @Override
+    public Optional<AccountBalance> readAtLeast(UUID accountId, long minSequence) {
+        return routeAtLeast(accountId, minSequence,
+                () -> Optional.ofNullable(replicaReader.readAll(List.of(accountId)).get(accountId)),
+                () -> primary.readAtLeast(accountId, minSequence));
+    }
+
+    private <T> T route(Supplier<T> onReplica, Supplier<T> onPrimary) {
+        if (replica.lag().compareTo(maxLag) <= 0) {
+            try {
+                T result = onReplica.get();
+                metrics.recordReplicaRead();
+                return result;
+            } catch (DataAccessException e) {
+                log.warn("Replica read failed; retrying on the primary", e);
+            }
+        }
+        metrics.recordPrimaryRead();
+        return onPrimary.get();
+    }
+
+    private <T> T routeAtLeast(UUID accountId, long sequence, Supplier<T> onReplica, Supplier<T> onPrimary) {
+        // NOTE: sequence 0 = "no entries yet"; any replica is at least that fresh.
+        try {
+            if (sequence <= 0 || awaitEntry(accountId, sequence)) {
+                T result = onReplica.get();
+                metrics.recordReplicaRead();
+                return result;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replica read failed; retrying on the primary", e);
+        }
+        metrics.recordPrimaryRead();
+        return onPrimary.get();
+    }
+
+    private boolean awaitEntry(UUID accountId, long sequence) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        long backoff = FIRST_BACKOFF_NANOS;
+        boolean waited = false;
+        while (true) {
+            if (Boolean.TRUE.equals(replica.jdbc().queryForObject(HAS_ENTRY_SQL, Boolean.class, accountId, sequence))) {
+                return true;
+            }
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            if (!waited) {
+                metrics.recordWait();
+                waited = true;
+            }
+            LockSupport.parkNanos(Math.min(backoff, left));
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+    }
+}
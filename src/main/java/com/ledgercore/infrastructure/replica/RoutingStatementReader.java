@@ -0,0 +1,88 @@
+package com.ledgercore.infrastructure.replica;
+
+import com.ledgercore.application.ports.StatementReader;
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@link StatementReader} that reads from a {@link ReadReplica} while its lag is within maxLag and
+ * from the primary otherwise (lag over the bound or {@link ReadReplica#UNKNOWN}), with the same
+ * bound as {@link RoutingBalanceReader}.
+ *
+ * IMPORTANT:
+ * - A replica error (including failing to open its read transaction) before the first line is
+ *   retried on the primary. Once lines have reached the sink the error is rethrown: restarting
+ *   on the primary would write them twice.
+ */
+public final class RoutingStatementReader implements StatementReader {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingStatementReader.class);
+
+    private final StatementReader primary;
+    private final StatementReader replicaReader;
+    private final ReadReplica replica;
+    private final Duration maxLag;
+    private final ReplicaReadMetrics metrics;
+
+    public RoutingStatementReader(StatementReader primary, StatementReader replicaReader, ReadReplica replica,
+                                  Duration maxLag, ReplicaReadMetrics metrics) {
+        this.primary = Objects.requireNonNull(primary, "primary");
+        this.replicaReader = Objects.requireNonNull(replicaReader, "replicaReader");
+        this.replica = Objects.requireNonNull(replica, "replica");
+        this.maxLag = Objects.requireNonNull(maxLag, "maxLag");
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("maxLag must be >= 0, got: " + maxLag);
+        }
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    @Override
+    public StatementPage page(UUID accountId, long afterSequence, int limit) {
+        if (fresh()) {
+            try {
+                StatementPage page = replicaReader.page(accountId, afterSequence, limit);
+                metrics.recordReplicaRead();
+                return page;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Replica statement read failed; retrying on the primary", e);
+            }
+        }
+        metrics.recordPrimaryRead();
+        return primary.page(accountId, afterSequence, limit);
+    }
+
+    @Override
+    public long stream(UUID accountId, long afterSequence, Consumer<StatementLine> sink) {
+        if (fresh()) {
+            long[] delivered = new long[1];
+            try {
+                long lines = replicaReader.stream(accountId, afterSequence, line -> {
+                    delivered[0]++;
+                    sink.accept(line);
+                });
+                metrics.recordReplicaRead();
+                return lines;
+            } catch (DataAccessException | TransactionException e) {
+                if (delivered[0] > 0) {
+                    throw e;
+                }
+                log.warn("Replica statement export failed; retrying on the primary", e);
+            }
+        }
+        metrics.recordPrimaryRead();
+        return primary.stream(accountId, afterSequence, sink);
+    }
+
+    private boolean fresh() {
+        return replica.lag().compareTo(maxLag) <= 0;
+    }
+}
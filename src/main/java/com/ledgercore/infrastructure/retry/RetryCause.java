@@ -0,0 +1,51 @@
+package com.ledgercore.infrastructure.retry;
+
+import com.ledgercore.application.service.StaleAccountException;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Transient database failures that are safe to retry for an idempotent command.
+ * Anything else (business rules, constraint violations, bugs) goes straight to the caller.
+ *
+ * STALE_ACCOUNT has no SQLSTATE: the handler detected cached account metadata that predates a
+ * stripe layout change and has already evicted it.
+ */
+public enum RetryCause {
+    SERIALIZATION_FAILURE("40001"),
+    DEADLOCK("40P01"),
+    LOCK_TIMEOUT("55P03"),
+    STATEMENT_TIMEOUT("57014"),
+    STALE_ACCOUNT(null);
+
+    private final String sqlState;
+
+    RetryCause(String sqlState) {
+        this.sqlState = sqlState;
+    }
+
+    public String sqlState() {
+        return sqlState;
+    }
+
+    /**
+     * Walks the cause chain (Spring wraps the driver exception) looking for a retryable SQLSTATE
+     * or a {@link StaleAccountException}.
+     */
+    public static Optional<RetryCause> of(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof StaleAccountException) {
+                return Optional.of(STALE_ACCOUNT);
+            }
+            if (t instanceof SQLException sql && sql.getSQLState() != null) {
+                for (RetryCause cause : values()) {
+                    if (sql.getSQLState().equals(cause.sqlState)) {
+                        return Optional.of(cause);
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ledgercore.infrastructure.retry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters kept by the retrying executor, per cause.
+ * - retries:   attempts that failed transiently and were retried
+ * - exhausted: transient failures that were returned to the caller because attempts ran out
+ */
+public final class RetryMetrics {
+
+    private final Map<RetryCause, LongAdder> retries = new EnumMap<>(RetryCause.class);
+    private final Map<RetryCause, LongAdder> exhausted = new EnumMap<>(RetryCause.class);
+
+    public RetryMetrics() {
+        for (RetryCause cause : RetryCause.values()) {
+            retries.put(cause, new LongAdder());
+            exhausted.put(cause, new LongAdder());
+        }
+    }
+
+    void recordRetry(RetryCause cause) {
+        retries.get(cause).increment();
+    }
+
+    void recordExhausted(RetryCause cause) {
+        exhausted.get(cause).increment();
+    }
+
+    public long retries(RetryCause cause) {
+        return retries.get(cause).sum();
+    }
+
+    public long exhausted(RetryCause cause) {
+        return exhausted.get(cause).sum();
+    }
+}
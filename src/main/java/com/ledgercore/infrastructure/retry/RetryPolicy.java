@@ -0,0 +1,51 @@
+package com.ledgercore.infrastructure.retry;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How the executor retries a transaction.
+ *
+ * - maxAttempts:      total attempts including the first one (1 = no retry)
+ * - initialBackoff:   upper bound of the first sleep; doubles per attempt ("full jitter")
+ * - maxBackoff:       cap for the exponential bound
+ * - lockTimeout:      per-attempt lock_timeout (ZERO = server default)
+ * - statementTimeout: per-attempt statement_timeout (ZERO = server default)
+ */
+public record RetryPolicy(
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        Duration lockTimeout,
+        Duration statementTimeout
+) {
+    public RetryPolicy {
+        Objects.requireNonNull(initialBackoff, "initialBackoff");
+        Objects.requireNonNull(maxBackoff, "maxBackoff");
+        Objects.requireNonNull(lockTimeout, "lockTimeout");
+        Objects.requireNonNull(statementTimeout, "statementTimeout");
+
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1, got: " + maxAttempts);
+        }
+        if (initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Expected 0 <= initialBackoff <= maxBackoff, got: "
+                    + initialBackoff + " / " + maxBackoff);
+        }
+        if (lockTimeout.isNegative() || statementTimeout.isNegative()) {
+            throw new IllegalArgumentException("Timeouts must not be negative");
+        }
+    }
+
+    /**
+     * Upper bound of the sleep after the given failed attempt (1-based): initialBackoff * 2^(attempt-1), capped.
+     */
+    public Duration backoffCeiling(int failedAttempt) {
+        int shift = Math.min(failedAttempt - 1, 30);
+        long ceilingNanos = initialBackoff.toNanos() << shift;
+        if (ceilingNanos < 0 || ceilingNanos > maxBackoff.toNanos()) {
+            return maxBackoff;
+        }
+        return Duration.ofNanos(ceilingNanos);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ledgercore.infrastructure.retry;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and retries it on transient failures
+ * (serialization failure, deadlock, lock/statement timeout).
+ *
+ * IMPORTANT:
+ * - Only safe for idempotent work. Transfers are: the commandId gate makes a replay return
+ *   the original result instead of applying twice.
+ * - Each attempt is a fresh transaction with its own SET LOCAL lock_timeout / statement_timeout,
+ *   so a stuck lock wait fails fast and is retried instead of holding a connection.
+ * - Backoff is exponential with full jitter: concurrent losers spread out instead of
+ *   colliding again on the same hot rows.
+ * - If the caller already runs inside a transaction, the work runs once, unchanged:
+ *   an aborted outer transaction cannot be retried from in here.
+ */
+public final class RetryingTransactionExecutor {
+
+    private final TransactionTemplate tx;
+    private final JdbcTemplate jdbc;
+    private final RetryPolicy policy;
+    private final RetryMetrics metrics;
+
+    public RetryingTransactionExecutor(TransactionTemplate tx, JdbcTemplate jdbc, RetryPolicy policy, RetryMetrics metrics) {
+        this.tx = Objects.requireNonNull(tx, "tx");
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        Objects.requireNonNull(work, "work");
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tx.execute(status -> {
+                    applyTimeouts();
+                    return work.get();
+                });
+            } catch (RuntimeException e) {
+                Optional<RetryCause> cause = RetryCause.of(e);
+                if (cause.isEmpty()) {
+                    throw e;
+                }
+                if (attempt >= policy.maxAttempts()) {
+                    metrics.recordExhausted(cause.get());
+                    throw e;
+                }
+                metrics.recordRetry(cause.get());
+                sleepBeforeRetry(attempt, e);
+            }
+        }
+    }
+
+    private void applyTimeouts() {
+        if (policy.lockTimeout().isZero() && policy.statementTimeout().isZero()) {
+            return;
+        }
+        // NOTE: set_config(..., true) == SET LOCAL, but accepts bind parameters. One round trip for both.
+        jdbc.query("""
+            SELECT set_config('lock_timeout', COALESCE(?, current_setting('lock_timeout')), true),
+                   set_config('statement_timeout', COALESCE(?, current_setting('statement_timeout')), true)
+            """,
+                ps -> {
+                    ps.setString(1, millis(policy.lockTimeout()));
+                    ps.setString(2, millis(policy.statementTimeout()));
+                },
+                rs -> null
+        );
+    }
+
+    private void sleepBeforeRetry(int failedAttempt, RuntimeException failure) {
+        long ceilingNanos = policy.backoffCeiling(failedAttempt).toNanos();
+        long sleepNanos = ceilingNanos == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceilingNanos + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(sleepNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.addSuppressed(e);
+            throw failure;
+        }
+    }
+
+    // NOTE: null => COALESCE keeps the session's current setting for a timeout left at ZERO.
+    private static String millis(Duration timeout) {
+        return timeout.isZero() ? null : timeout.toMillis() + "ms";
+    }
+}
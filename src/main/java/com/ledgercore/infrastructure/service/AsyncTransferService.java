@@ -0,0 +1,215 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.result.TransferResult;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous front of a {@link TransferService}: submit returns at once with a future, and the
+ * transfer runs on a virtual thread. Callers no longer hold a platform thread per in-flight transfer.
+ *
+ * Admission is bounded:
+ * - at most maxConcurrency transfers execute at once (sized to the connection pool, see
+ *   {@link #maxConcurrencyFor}); the others wait in FIFO order, parked on a virtual thread,
+ * - at most maxQueued more may wait; beyond that submit fails at once with
+ *   RejectedExecutionException, so overload turns into fast, explicit rejections instead of
+ *   a growing pile of threads that all time out,
+ * - a transfer still waiting when its deadline passes is dropped and fails with TimeoutException,
+ * - a transfer whose future is cancelled (or otherwise completed) while it waits is dropped at once
+ *   and frees its place in the queue.
+ *
+ * IMPORTANT:
+ * - A shed transfer (queue full, deadline expired, cancelled while waiting) never ran:
+ *   retrying it is safe, and would be anyway, since commandId makes transfers idempotent.
+ * - The deadline only bounds the wait. Once started, a transfer runs to the end (bounded by the
+ *   retry policy's lock and statement timeouts); cancelling the future does not roll it back.
+ */
+public final class AsyncTransferService implements AutoCloseable {
+
+    private final TransferService delegate;
+    private final TransferMetrics metrics;
+    private final Duration defaultDeadline;
+    private final int capacity;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final ExecutorService workers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-async-", 0).factory());
+
+    public AsyncTransferService(TransferService delegate, int maxConcurrency, int maxQueued,
+                                Duration defaultDeadline, TransferMetrics metrics) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be >= 1, got: " + maxConcurrency);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("maxQueued must be >= 0, got: " + maxQueued);
+        }
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.defaultDeadline = requirePositive(defaultDeadline, "defaultDeadline");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.capacity = maxConcurrency + maxQueued;
+        this.admitted = new Semaphore(capacity);
+        // NOTE: fair, so waiting transfers start in arrival order and the oldest cannot starve.
+        this.running = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * maxConcurrency for a pool of poolSize connections, dedicated of which stay checked out for good
+     * (LISTEN connections): configured if > 0, otherwise every connection left. A transfer above that
+     * would wait for a connection (Hikari's connectionTimeout) instead of in the deadline-bounded queue.
+     *
+     * @throws IllegalStateException if configured exceeds the connections left, or none are left
+     */
+    public static int maxConcurrencyFor(int configured, int poolSize, int dedicated) {
+        int available = poolSize - dedicated;
+        if (available < 1) {
+            throw new IllegalStateException("Connection pool of " + poolSize + " leaves no connection for transfers after "
+                    + dedicated + " dedicated ones");
+        }
+        if (configured > available) {
+            throw new IllegalStateException("max-concurrency " + configured + " exceeds the " + available
+                    + " pooled connections left for transfers (pool " + poolSize + ", " + dedicated + " dedicated)");
+        }
+        return configured > 0 ? configured : available;
+    }
+
+    public CompletableFuture<TransferResult> submit(TransferCommand command) {
+        return submit(command, defaultDeadline);
+    }
+
+    /**
+     * @param deadline how long the transfer may wait for a worker before it is dropped
+     */
+    public CompletableFuture<TransferResult> submit(TransferCommand command, Duration deadline) {
+        Objects.requireNonNull(command, "command");
+        requirePositive(deadline, "deadline");
+
+        if (!admitted.tryAcquire()) {
+            metrics.recordShed(TransferMetrics.Shed.QUEUE_FULL);
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Transfer queue is full; command " + command.commandId() + " not admitted"));
+        }
+        CompletableFuture<TransferResult> future = new CompletableFuture<>();
+        Ticket ticket = new Ticket();
+        future.whenComplete((result, failure) -> {
+            // Completed by the caller while still waiting: wake the waiter so it gives its slot back.
+            if (ticket.drop()) {
+                metrics.recordShed(TransferMetrics.Shed.CANCELLED);
+                Thread waiter = ticket.waiter;
+                if (waiter != null) {
+                    waiter.interrupt();
+                }
+            }
+        });
+        long admittedAt = System.nanoTime();
+        try {
+            workers.execute(() -> run(command, future, ticket, admittedAt, admittedAt + deadline.toNanos()));
+        } catch (RejectedExecutionException e) {
+            // Closed: nothing will ever run it.
+            admitted.release();
+            ticket.drop();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Transfers admitted and not finished yet (waiting or executing).
+     */
+    public int inFlight() {
+        return capacity - admitted.availablePermits();
+    }
+
+    /**
+     * Stops admitting and waits for every admitted transfer to finish.
+     */
+    @Override
+    public void close() {
+        workers.close();
+    }
+
+    private void run(TransferCommand command, CompletableFuture<TransferResult> future, Ticket ticket,
+                     long admittedAt, long deadlineAt) {
+        ticket.waiter = Thread.currentThread();
+        try {
+            if (ticket.isDropped()) {
+                return;
+            }
+            if (!running.tryAcquire(deadlineAt - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                if (ticket.drop()) {
+                    metrics.recordShed(TransferMetrics.Shed.DEADLINE_EXPIRED);
+                    future.completeExceptionally(new TimeoutException(
+                            "Command " + command.commandId() + " waited past its deadline and was not started"));
+                }
+                return;
+            }
+            try {
+                // NOTE: once started, the caller can no longer interrupt this thread.
+                if (!ticket.start()) {
+                    return;
+                }
+                long startedAt = System.nanoTime();
+                metrics.recordQueueWait(startedAt - admittedAt);
+                try {
+                    future.complete(delegate.transfer(command));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    metrics.recordExecution(System.nanoTime() - startedAt);
+                }
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            // Cancelled while waiting (already counted), or the thread was interrupted from elsewhere.
+            if (ticket.drop()) {
+                future.completeExceptionally(e);
+            }
+        } finally {
+            admitted.release();
+        }
+    }
+
+    private static Duration requirePositive(Duration duration, String name) {
+        Objects.requireNonNull(duration, name);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be > 0, got: " + duration);
+        }
+        return duration;
+    }
+
+    /**
+     * Who gets to decide the fate of one admitted transfer: the worker starting it, or whoever
+     * drops it first (its deadline, or the caller completing the future). Exactly one wins.
+     */
+    private static final class Ticket {
+        private static final int WAITING = 0;
+        private static final int STARTED = 1;
+        private static final int DROPPED = 2;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        volatile Thread waiter;
+
+        boolean start() {
+            return state.compareAndSet(WAITING, STARTED);
+        }
+
+        boolean drop() {
+            return state.compareAndSet(WAITING, DROPPED);
+        }
+
+        boolean isDropped() {
+            return state.get() == DROPPED;
+        }
+    }
+}
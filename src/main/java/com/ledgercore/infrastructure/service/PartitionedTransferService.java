@@ -0,0 +1,147 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Account-partitioned single-writer execution.
+ *
+ * Every account hashes to one of N lanes; each lane runs one task at a time on its own
+ * virtual thread. Transfers touching the same account therefore queue in memory (cheap)
+ * instead of on account_sequences / balance_snapshots row locks (each wait pins a pooled connection).
+ *
+ * Cross-lane handoff (deadlock-free):
+ * - a transfer whose accounts live in lanes lo < hi is queued on lane lo;
+ * - once it runs there, it queues itself on lane hi and lane lo waits for it.
+ * A lane only ever waits on a HIGHER lane, so waits cannot form a cycle.
+ *
+ * IMPORTANT:
+ * - Single-writer holds per process. Other nodes still meet on the database locks,
+ *   which remain the source of correctness.
+ * - At most N transfers run at once; size the connection pool to at least N.
+ * - transferAll spans arbitrary accounts and bypasses the lanes.
+ */
+public final class PartitionedTransferService implements TransferService, AutoCloseable {
+
+    private final TransferService delegate;
+    private final Lane[] lanes;
+
+    public PartitionedTransferService(TransferService delegate, int laneCount) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be >= 1, got: " + laneCount);
+        }
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i);
+        }
+    }
+
+    @Override
+    public TransferResult transfer(TransferCommand command) {
+        Objects.requireNonNull(command, "command");
+
+        int a = laneOf(command.fromAccountId());
+        int b = laneOf(command.toAccountId());
+        Lane lo = lanes[Math.min(a, b)];
+        Lane hi = lanes[Math.max(a, b)];
+
+        if (lo == hi) {
+            return await(lo.submit(() -> delegate.transfer(command)));
+        }
+        return await(lo.submit(() -> await(hi.submit(() -> delegate.transfer(command)))));
+    }
+
+    @Override
+    public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+        return delegate.transferAll(commands);
+    }
+
+    public int laneOf(UUID accountId) {
+        return Math.floorMod(accountId.hashCode(), lanes.length);
+    }
+
+    /**
+     * Point-in-time view of every lane (queue depth, busy time, completed tasks).
+     */
+    public List<LaneStats> laneStats() {
+        List<LaneStats> stats = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            stats.add(lane.stats());
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+    }
+
+    /**
+     * @param queueDepth  tasks waiting to start on this lane
+     * @param busyNanos   cumulative time the lane was occupied, including a lower lane's wait for a higher one
+     *                    (utilization = delta busyNanos / delta wall time)
+     * @param completed   tasks finished on this lane (a cross-lane transfer counts on both lanes)
+     */
+    public record LaneStats(int lane, int queueDepth, long busyNanos, long completed) { }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lane", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class Lane {
+        final ExecutorService executor;
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong busyNanos = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final int index;
+
+        Lane(int index) {
+            this.index = index;
+            this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("transfer-lane-" + index).factory());
+        }
+
+        <T> Future<T> submit(Supplier<T> task) {
+            queued.incrementAndGet();
+            return executor.submit(() -> {
+                queued.decrementAndGet();
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    busyNanos.addAndGet(System.nanoTime() - start);
+                    completed.incrementAndGet();
+                }
+            });
+        }
+
+        LaneStats stats() {
+            return new LaneStats(index, queued.get(), busyNanos.get(), completed.get());
+        }
+    }
+}
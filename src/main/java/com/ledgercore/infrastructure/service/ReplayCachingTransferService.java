@@ -0,0 +1,163 @@
+package com.ledgercore.infrastructure.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Idempotent-replay fast path in front of a {@link TransferService}.
+ *
+ * A client retry of a command that already committed is answered from a bounded in-process
+ * cache of recent commandId -> TransferResult: no connection, no transaction, no commands lookup.
+ * A retry that arrives while the original attempt is still running on this node waits for it
+ * in memory instead of on the commands unique index (which pins a pooled connection meanwhile).
+ *
+ * IMPORTANT:
+ * - A result is cached only after its transaction committed: when the delegate returns on a thread
+ *   without a transaction of its own (the delegate's transaction is then done), or in afterCommit
+ *   if the caller runs inside one. A rolled-back attempt is never visible here.
+ * - Failures are not cached. Waiters of a failed attempt run the command themselves, so a
+ *   rejection or transient error is decided again, exactly as without this cache.
+ * - Committed transfers never change, so entries only leave the cache by size or age.
+ * - Per node: a retry routed to another node still takes the database path, which stays correct.
+ * - transferAll is not short-circuited (a batch is one transaction); its applied and duplicate
+ *   outcomes are cached for later single retries.
+ */
+public final class ReplayCachingTransferService implements TransferService, AutoCloseable {
+
+    private final TransferService delegate;
+    private final TransferMetrics metrics;
+    private final Cache<UUID, TransferResult> results;
+    // Attempts running on this node; completed with null when the attempt failed.
+    private final ConcurrentMap<UUID, CompletableFuture<TransferResult>> inFlight = new ConcurrentHashMap<>();
+
+    public ReplayCachingTransferService(TransferService delegate, long maximumSize, Duration expireAfterWrite,
+                                        TransferMetrics metrics) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be >= 1, got: " + maximumSize);
+        }
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @Override
+    public TransferResult transfer(TransferCommand command) {
+        Objects.requireNonNull(command, "command");
+        UUID commandId = command.commandId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The caller's transaction decides when (and whether) the result commits: no joining.
+            TransferResult cached = results.getIfPresent(commandId);
+            if (cached != null) {
+                metrics.recordReplay();
+                return cached;
+            }
+            TransferResult result = delegate.transfer(command);
+            cacheAfterCommit(List.of(result));
+            return result;
+        }
+
+        while (true) {
+            TransferResult cached = results.getIfPresent(commandId);
+            if (cached != null) {
+                metrics.recordReplay();
+                return cached;
+            }
+            CompletableFuture<TransferResult> mine = new CompletableFuture<>();
+            CompletableFuture<TransferResult> running = inFlight.putIfAbsent(commandId, mine);
+            if (running == null) {
+                return lead(command, mine);
+            }
+            TransferResult original = await(running);
+            if (original != null) {
+                metrics.recordReplay();
+                return original;
+            }
+            // The original attempt failed: run the command ourselves.
+        }
+    }
+
+    @Override
+    public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+        List<TransferOutcome> outcomes = delegate.transferAll(commands);
+        List<TransferResult> committed = new ArrayList<>(outcomes.size());
+        for (TransferOutcome outcome : outcomes) {
+            if (!outcome.isRejected()) {
+                committed.add(new TransferResult(outcome.transferId(), outcome.commandId()));
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheAfterCommit(committed);
+        } else {
+            committed.forEach(result -> results.put(result.commandId(), result));
+        }
+        return outcomes;
+    }
+
+    /**
+     * Closes the delegate if it holds resources (e.g. {@link PartitionedTransferService} lanes).
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private TransferResult lead(TransferCommand command, CompletableFuture<TransferResult> mine) {
+        TransferResult result = null;
+        try {
+            result = delegate.transfer(command);
+            // NOTE: cached before leaving inFlight, so a new retry finds one or the other.
+            results.put(command.commandId(), result);
+            return result;
+        } finally {
+            inFlight.remove(command.commandId(), mine);
+            mine.complete(result);
+        }
+    }
+
+    private void cacheAfterCommit(List<TransferResult> committed) {
+        if (committed.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(result -> results.put(result.commandId(), result));
+            }
+        });
+    }
+
+    private static TransferResult await(CompletableFuture<TransferResult> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original attempt", e);
+        } catch (ExecutionException e) {
+            // Never completed exceptionally; a failed attempt completes with null.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
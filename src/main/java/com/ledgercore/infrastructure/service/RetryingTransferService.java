@@ -0,0 +1,37 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.infrastructure.retry.RetryingTransactionExecutor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Central retry for transient database failures (deadlock, serialization failure, lock timeout).
+ *
+ * Decorates an execution engine: every attempt runs inside a fresh transaction owned by the
+ * executor, and the engine joins it. Retrying is safe because commandId is the idempotency key:
+ * an attempt that actually committed is returned as the original result on the next try.
+ */
+public final class RetryingTransferService implements TransferService {
+
+    private final TransferService delegate;
+    private final RetryingTransactionExecutor executor;
+
+    public RetryingTransferService(TransferService delegate, RetryingTransactionExecutor executor) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public TransferResult transfer(TransferCommand command) {
+        return executor.execute(() -> delegate.transfer(command));
+    }
+
+    @Override
+    public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+        return executor.execute(() -> delegate.transferAll(commands));
+    }
+}
@@ -0,0 +1,120 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.Clock;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Alternative execution engine: the whole transfer runs inside the
+ * ledger_transfer(...) server-side function (see V2__transfer_function.sql).
+ *
+ * One statement => one round trip, and the row locks on account_sequences /
+ * balance_snapshots are held only for the time the server needs, not for
+ * ~13 network round trips.
+ *
+ * IMPORTANT:
+ * - Same invariants as TransferHandler (idempotency gate, per-account sequence,
+ *   no-negative policy, outbox in the same transaction).
+ * - A single statement is atomic on its own; no @Transactional needed. If the caller
+ *   already has a transaction open, the call simply joins it.
+ * - Ids and timestamps still come from the UuidGenerator / Clock ports.
+ * - Batches are already set-based (a handful of statements per batch), so transferAll
+ *   uses the same BatchTransferHandler as the default engine.
+ */
+public final class SqlFunctionTransferService implements TransferService {
+
+    private final JdbcTemplate jdbc;
+    private final Clock clock;
+    private final UuidGenerator uuidGenerator;
+    private final BatchTransferHandler batchHandler;
+    private final TransactionTemplate tx;
+
+    public SqlFunctionTransferService(
+            JdbcTemplate jdbc,
+            Clock clock,
+            UuidGenerator uuidGenerator,
+            BatchTransferHandler batchHandler,
+            TransactionTemplate tx
+    ) {
+        this.jdbc = Objects.requireNonNull(jdbc, "jdbc");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.uuidGenerator = Objects.requireNonNull(uuidGenerator, "uuidGenerator");
+        this.batchHandler = Objects.requireNonNull(batchHandler, "batchHandler");
+        this.tx = Objects.requireNonNull(tx, "tx");
+    }
+
+    @Override
+    public TransferResult transfer(TransferCommand cmd) {
+        Objects.requireNonNull(cmd, "cmd");
+
+        Instant now = clock.now();
+
+        try {
+            UUID transferId = jdbc.queryForObject("""
+                SELECT ledger_transfer(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                    (rs, rowNum) -> (UUID) rs.getObject(1),
+                    cmd.commandId(),
+                    cmd.fromAccountId(),
+                    cmd.toAccountId(),
+                    cmd.money().amountMinor(),
+                    cmd.currency().code(),
+                    cmd.correlationId(),
+                    uuidGenerator.randomUuid(),
+                    uuidGenerator.randomUuid(),
+                    uuidGenerator.randomUuid(),
+                    uuidGenerator.randomUuid(),
+                    Timestamp.from(now)
+            );
+            return new TransferResult(transferId, cmd.commandId());
+        } catch (DataAccessException e) {
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+        return tx.execute(status -> batchHandler.handleAll(commands));
+    }
+
+    /**
+     * Maps the function's SQLSTATE contract back to the exceptions TransferHandler throws,
+     * so callers cannot tell the two engines apart.
+     */
+    private static RuntimeException translate(DataAccessException e) {
+        if (!(e.getMostSpecificCause() instanceof SQLException sql) || sql.getSQLState() == null) {
+            return e;
+        }
+        String message = serverMessage(sql);
+        return switch (sql.getSQLState()) {
+            case "LC001" -> new InsufficientFundsException(message);
+            case "LC002", "LC003", "LC004" -> new IllegalArgumentException(message);
+            case "LC900", "LC901", "LC902" -> new IllegalStateException(message);
+            default -> e;
+        };
+    }
+
+    // NOTE: The driver prefixes the severity and appends a "Where:" context line; keep only the RAISE text.
+    private static String serverMessage(SQLException sql) {
+        String message = Objects.toString(sql.getMessage(), "");
+        int newline = message.indexOf('\n');
+        if (newline >= 0) {
+            message = message.substring(0, newline);
+        }
+        return message.startsWith("ERROR: ") ? message.substring("ERROR: ".length()) : message;
+    }
+}
@@ -1,27 +1,69 @@
 package com.ledgercore.infrastructure.service;
 
 import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.result.TransferOutcome;
 import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.application.service.BatchTransferHandler;
 import com.ledgercore.application.service.TransferHandler;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * IMPORTANT: This is where Spring transactions live.
  * The application handler stays pure.
+ *
+ * Commit latency (beforeCommit -> committed) of the surrounding transaction is recorded through
+ * TransferMetrics; the transaction may be opened here or by the retrying executor around us.
  */
 public final class TransactionalTransferService implements TransferService {
 
     private final TransferHandler handler;
+    private final BatchTransferHandler batchHandler;
+    private final TransferMetrics metrics;
 
-    public TransactionalTransferService(TransferHandler handler) {
+    public TransactionalTransferService(TransferHandler handler, BatchTransferHandler batchHandler, TransferMetrics metrics) {
         this.handler = Objects.requireNonNull(handler, "handler");
+        this.batchHandler = Objects.requireNonNull(batchHandler, "batchHandler");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
     }
 
     @Override
     @Transactional
     public TransferResult transfer(TransferCommand command) {
+        timeCommit();
         return handler.handle(command);
     }
+
+    @Override
+    @Transactional
+    public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+        timeCommit();
+        return batchHandler.handleAll(commands);
+    }
+
+    private void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStarted;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStarted = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED && commitStarted != 0) {
+                    metrics.recordCommit(System.nanoTime() - commitStarted);
+                }
+            }
+        });
+    }
 }
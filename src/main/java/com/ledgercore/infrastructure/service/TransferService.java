@@ -1,8 +1,17 @@
 package com.ledgercore.infrastructure.service;
 
 import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
 import com.ledgercore.application.result.TransferResult;
 
+import java.util.List;
+
 public interface TransferService {
     TransferResult transfer(TransferCommand command);
+
+    /**
+     * Applies many transfers in ONE database transaction.
+     * Returns one outcome per command (same order); a rejected command does not abort the others.
+     */
+    List<TransferOutcome> transferAll(List<TransferCommand> commands);
 }
@@ -0,0 +1,86 @@
+package com.ledgercore.infrastructure.statement;
+
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.service.StatementQueryService;
+import com.ledgercore.domain.model.LedgerEntry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Streams an account statement to a Writer as NDJSON (one JSON object per line) or CSV (with header).
+ *
+ * Lines are written as the cursor delivers them, so memory stays constant however many entries
+ * the account has. Buffering and closing the Writer is up to the caller; it is flushed at the end.
+ *
+ * IMPORTANT:
+ * - The whole export is one read transaction. On a primary that holds back vacuum for its
+ *   duration; exporting from a read replica avoids that (ledger.datasource.replica.*).
+ *   The replica is only used while its lag is within max-lag, so a stale or unreachable replica
+ *   never shortens a statement: the export then runs on the primary.
+ */
+public final class StatementExporter {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER =
+            "sequence,entry_id,transfer_id,direction,amount_minor,currency,created_at,balance_after_minor\n";
+
+    private final StatementQueryService statements;
+
+    public StatementExporter(StatementQueryService statements) {
+        this.statements = Objects.requireNonNull(statements, "statements");
+    }
+
+    /**
+     * Writes every line after afterSequence. Returns the number of lines written.
+     */
+    public long export(UUID accountId, long afterSequence, Format format, Writer writer) {
+        Objects.requireNonNull(format, "format");
+        Objects.requireNonNull(writer, "writer");
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            long lines = statements.forEach(accountId, afterSequence, line -> write(line, format, writer));
+            writer.flush();
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write statement of account " + accountId, e);
+        }
+    }
+
+    // NOTE: every field is an id, enum, number, ISO-8601 instant or currency code: nothing to escape.
+    private static void write(StatementLine line, Format format, Writer writer) {
+        LedgerEntry entry = line.entry();
+        try {
+            if (format == Format.NDJSON) {
+                writer.write("{\"sequence\":" + entry.sequence()
+                        + ",\"entryId\":\"" + entry.id()
+                        + "\",\"transferId\":\"" + entry.transferId()
+                        + "\",\"direction\":\"" + entry.direction()
+                        + "\",\"amountMinor\":" + entry.money().amountMinor()
+                        + ",\"currency\":\"" + entry.money().currency().code()
+                        + "\",\"createdAt\":\"" + entry.createdAt()
+                        + "\",\"balanceAfterMinor\":" + line.balanceAfterMinor() + "}\n");
+            } else {
+                writer.write(entry.sequence()
+                        + "," + entry.id()
+                        + "," + entry.transferId()
+                        + "," + entry.direction()
+                        + "," + entry.money().amountMinor()
+                        + "," + entry.money().currency().code()
+                        + "," + entry.createdAt()
+                        + "," + line.balanceAfterMinor() + "\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write statement line " + entry.sequence(), e);
+        }
+    }
+}
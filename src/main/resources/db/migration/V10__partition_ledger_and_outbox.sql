@@ -0,0 +1,178 @@
+-- V10__partition_ledger_and_outbox.sql
+-- Purpose: range-partition ledger_entries and outbox_events by created_at (monthly, UTC)
+-- Key properties:
+--   - the existing tables become the `_legacy` partition FROM (MINVALUE) TO (the first of next month):
+--     no row is copied, attaching only scans them once to check the bound
+--   - later months are created ahead of time by PartitionMaintenanceJob through
+--     ledger_create_partition(); a ledger month can be subdivided by HASH(account_id)
+--   - a DEFAULT partition catches rows no month covers yet, so a late job never fails a transfer
+--   - old outbox months are detached and dropped by the job once every event in them is SENT;
+--     ledger_entries is the truth and is never dropped
+--
+-- Uniqueness:
+--   - a unique index on a partitioned table must contain every partition key below it, so the
+--     primary keys become (id, created_at), and (id, account_id, created_at) for ledger_entries,
+--     whose months may be subdivided by HASH(account_id); ids come from UuidGenerator and are
+--     unique on their own
+--   - uq_ledger_account_sequence / uq_ledger_transfer_account are kept on the legacy partition
+--     and created per partition on every other one (ledger_create_partition). Hash subdivision
+--     is on account_id, so within one month they are as strict as before.
+--   - across months, (account_id, sequence) stays unique by construction: a sequence is handed
+--     out once by its locked account_sequences / account_stripes row, and both entries of a
+--     transfer are written by one statement with one created_at. LedgerReconciler reports any
+--     duplicate it streams past (DUPLICATE_SEQUENCE).
+--
+-- NOTE: CHECK constraints are named after the ones the renamed tables still carry: ATTACH PARTITION
+-- matches them by name.
+--
+-- NOTE: every partition's (account_id, sequence) index is probed by a per-account fold, since
+-- those reads filter on sequence, not created_at. Months, not days, keep that count low.
+
+-- =========================
+-- ledger_entries
+-- =========================
+ALTER TABLE ledger_entries RENAME TO ledger_entries_legacy;
+ALTER TABLE ledger_entries_legacy DROP CONSTRAINT ledger_entries_pkey;
+ALTER TABLE ledger_entries_legacy ALTER COLUMN id SET NOT NULL;
+ALTER INDEX idx_ledger_account_created RENAME TO ledger_entries_legacy_account_created_idx;
+ALTER INDEX idx_ledger_transfer RENAME TO ledger_entries_legacy_transfer_idx;
+
+CREATE TABLE ledger_entries (
+  id           UUID NOT NULL,
+
+  transfer_id  UUID NOT NULL REFERENCES transfers(id),
+  account_id   UUID NOT NULL REFERENCES accounts(id),
+
+  sequence     BIGINT NOT NULL CONSTRAINT ledger_entries_sequence_check CHECK (sequence >= 1),
+  direction    entry_direction NOT NULL,
+  amount_minor BIGINT NOT NULL CONSTRAINT ledger_entries_amount_minor_check CHECK (amount_minor > 0),
+  currency     CHAR(3) NOT NULL,
+
+  created_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+  PRIMARY KEY (id, account_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_ledger_account_created
+  ON ledger_entries(account_id, created_at);
+
+CREATE INDEX idx_ledger_transfer
+  ON ledger_entries(transfer_id);
+
+-- =========================
+-- outbox_events
+-- =========================
+DROP TRIGGER trg_outbox_notify ON outbox_events;
+ALTER TABLE outbox_events RENAME TO outbox_events_legacy;
+ALTER TABLE outbox_events_legacy DROP CONSTRAINT outbox_events_pkey;
+ALTER TABLE outbox_events_legacy ALTER COLUMN id SET NOT NULL;
+ALTER INDEX idx_outbox_pending RENAME TO outbox_events_legacy_pending_idx;
+ALTER INDEX idx_outbox_command RENAME TO outbox_events_legacy_command_idx;
+ALTER INDEX idx_outbox_created_at RENAME TO outbox_events_legacy_created_at_idx;
+
+CREATE TABLE outbox_events (
+  id             UUID NOT NULL,
+
+  aggregate_type TEXT NOT NULL,
+  aggregate_id   UUID NOT NULL,
+  event_type     TEXT NOT NULL,
+  payload_json   JSONB NOT NULL,
+
+  command_id     UUID NOT NULL REFERENCES commands(command_id),
+  correlation_id TEXT,
+
+  status         outbox_status NOT NULL DEFAULT 'PENDING',
+  attempts       INT NOT NULL DEFAULT 0 CONSTRAINT outbox_events_attempts_check CHECK (attempts >= 0),
+  available_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+  created_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  last_error     TEXT,
+
+  PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_outbox_pending
+  ON outbox_events(status, available_at);
+
+CREATE INDEX idx_outbox_command
+  ON outbox_events(command_id);
+
+CREATE INDEX idx_outbox_created_at
+  ON outbox_events(created_at);
+
+-- Same trigger as V5; statement-level triggers fire on the partitioned parent.
+CREATE TRIGGER trg_outbox_notify
+  AFTER INSERT ON outbox_events
+  FOR EACH STATEMENT
+  EXECUTE FUNCTION outbox_notify();
+
+-- =========================
+-- Create one month [p_from, p_to) of ledger_entries or outbox_events, named <parent>_pYYYY_MM.
+-- p_hash_partitions > 1 subdivides a ledger month by HASH(account_id).
+-- Returns the partition name, or NULL if it already exists.
+-- =========================
+CREATE FUNCTION ledger_create_partition(p_parent TEXT, p_from TIMESTAMPTZ, p_to TIMESTAMPTZ, p_hash_partitions INT)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_name TEXT := p_parent || '_p' || to_char(p_from AT TIME ZONE 'UTC', 'YYYY_MM');
+BEGIN
+  IF p_parent NOT IN ('ledger_entries', 'outbox_events') THEN
+    RAISE EXCEPTION 'Not a partitioned ledger table: %', p_parent USING ERRCODE = 'LC004';
+  END IF;
+  IF p_from >= p_to THEN
+    RAISE EXCEPTION 'Empty partition range [%, %)', p_from, p_to USING ERRCODE = 'LC004';
+  END IF;
+  IF p_hash_partitions > 1 AND p_parent <> 'ledger_entries' THEN
+    RAISE EXCEPTION 'Only ledger_entries is subdivided by account hash' USING ERRCODE = 'LC004';
+  END IF;
+
+  IF to_regclass(v_name) IS NOT NULL THEN
+    RETURN NULL;
+  END IF;
+
+  IF p_hash_partitions > 1 THEN
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L) PARTITION BY HASH (account_id)',
+                   v_name, p_parent, p_from, p_to);
+    FOR r IN 0 .. p_hash_partitions - 1 LOOP
+      EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                     v_name || '_h' || r, v_name, p_hash_partitions, r);
+    END LOOP;
+  ELSE
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)', v_name, p_parent, p_from, p_to);
+  END IF;
+
+  -- Per-partition replacements of uq_ledger_account_sequence / uq_ledger_transfer_account.
+  IF p_parent = 'ledger_entries' THEN
+    EXECUTE format('CREATE UNIQUE INDEX %I ON %I (account_id, sequence)', v_name || '_account_sequence_key', v_name);
+    EXECUTE format('CREATE UNIQUE INDEX %I ON %I (transfer_id, account_id)', v_name || '_transfer_account_key', v_name);
+  END IF;
+
+  RETURN v_name;
+END;
+$$;
+
+-- =========================
+-- Legacy, default and next-month partitions
+-- =========================
+DO $$
+DECLARE
+  -- Month arithmetic in UTC wall time: in a DST zone, timestamptz + 1 month would drift by an hour.
+  v_month TIMESTAMP   := date_trunc('month', NOW() AT TIME ZONE 'UTC') + INTERVAL '1 month';
+  v_bound TIMESTAMPTZ := v_month AT TIME ZONE 'UTC';
+  v_next  TIMESTAMPTZ := (v_month + INTERVAL '1 month') AT TIME ZONE 'UTC';
+BEGIN
+  EXECUTE format('ALTER TABLE ledger_entries ATTACH PARTITION ledger_entries_legacy FOR VALUES FROM (MINVALUE) TO (%L)', v_bound);
+  EXECUTE format('ALTER TABLE outbox_events ATTACH PARTITION outbox_events_legacy FOR VALUES FROM (MINVALUE) TO (%L)', v_bound);
+
+  PERFORM ledger_create_partition('ledger_entries', v_bound, v_next, 0);
+  PERFORM ledger_create_partition('outbox_events', v_bound, v_next, 0);
+END;
+$$;
+
+CREATE TABLE ledger_entries_default PARTITION OF ledger_entries DEFAULT;
+CREATE UNIQUE INDEX ledger_entries_default_account_sequence_key ON ledger_entries_default(account_id, sequence);
+CREATE UNIQUE INDEX ledger_entries_default_transfer_account_key ON ledger_entries_default(transfer_id, account_id);
+
+CREATE TABLE outbox_events_default PARTITION OF outbox_events DEFAULT;
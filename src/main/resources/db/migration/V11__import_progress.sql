@@ -0,0 +1,17 @@
+-- V11__import_progress.sql
+-- Purpose: restartable bulk imports of historical transfers (HistoricalTransferImporter)
+-- Key properties:
+--   - one row per import run; a run is named by the operator and bound to one source file
+--   - `lines` = input lines already committed; it is advanced in the same transaction as the
+--     chunk's commands / transfers / ledger_entries, so a restart never skips or repeats a line
+--   - counters are cumulative over every attempt of the run
+
+CREATE TABLE import_progress (
+  run_id      TEXT PRIMARY KEY,
+  source      TEXT NOT NULL,
+
+  lines       BIGINT NOT NULL DEFAULT 0 CHECK (lines >= 0),
+  transfers   BIGINT NOT NULL DEFAULT 0,
+  done        BOOLEAN NOT NULL DEFAULT FALSE,
+  updated_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,80 @@
+-- V12__stripe_layout_errors.sql
+-- Purpose: tell a stale stripe layout apart from a missing account in ledger_reserve_position
+-- Key properties:
+--   - LC901 keeps meaning "no account_sequences row": permanent, never retried
+--   - LC902 (new) means the caller's stripe layout does not match the row: the account was
+--     (un)striped since the caller loaded it, so reloading and retrying succeeds
+--   - same signature and result as V7 otherwise; ledger_transfer reads the layout under the
+--     lock itself and never gets LC902
+
+CREATE OR REPLACE FUNCTION ledger_reserve_position(
+  p_account_id UUID,
+  p_stripe     INT,
+  p_exclusive  BOOLEAN,
+  OUT o_sequence        BIGINT,
+  OUT o_balance         BIGINT,
+  OUT o_account_version BIGINT
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_stripe_count INT;
+BEGIN
+  IF p_stripe IS NULL THEN
+    UPDATE account_sequences
+    SET next_sequence = next_sequence + 1
+    WHERE account_id = p_account_id
+      AND stripe_count = 1
+    RETURNING next_sequence - 1, account_version INTO o_sequence, o_account_version;
+
+    IF NOT FOUND THEN
+      IF EXISTS (SELECT 1 FROM account_sequences WHERE account_id = p_account_id) THEN
+        RAISE EXCEPTION 'Striped account_sequences row for account_id=%', p_account_id
+          USING ERRCODE = 'LC902';
+      END IF;
+      RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_account_id
+        USING ERRCODE = 'LC901';
+    END IF;
+
+    SELECT COALESCE(MAX(balance_minor), 0) INTO o_balance
+    FROM balance_snapshots
+    WHERE account_id = p_account_id;
+    RETURN;
+  END IF;
+
+  IF p_exclusive THEN
+    SELECT stripe_count, account_version INTO v_stripe_count, o_account_version
+    FROM account_sequences WHERE account_id = p_account_id FOR UPDATE;
+  ELSE
+    SELECT stripe_count, account_version INTO v_stripe_count, o_account_version
+    FROM account_sequences WHERE account_id = p_account_id FOR KEY SHARE;
+  END IF;
+
+  IF v_stripe_count IS NULL THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_account_id
+      USING ERRCODE = 'LC901';
+  END IF;
+
+  IF p_stripe >= v_stripe_count THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=% (stripe_count=%)', p_stripe, p_account_id, v_stripe_count
+      USING ERRCODE = 'LC902';
+  END IF;
+
+  -- NOTE: the sub-select reads the statement snapshot (pre-UPDATE values) => balance BEFORE this posting.
+  WITH reserved AS (
+    UPDATE account_stripes
+    SET next_sequence = next_sequence + v_stripe_count
+    WHERE account_id = p_account_id
+      AND stripe = p_stripe
+    RETURNING next_sequence - v_stripe_count AS reserved_sequence
+  )
+  SELECT reserved.reserved_sequence,
+         (SELECT SUM(balance_minor) FROM account_stripes WHERE account_id = p_account_id)
+  INTO o_sequence, o_balance
+  FROM reserved;
+
+  IF o_sequence IS NULL THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=%', p_stripe, p_account_id USING ERRCODE = 'LC902';
+  END IF;
+END;
+$$;
@@ -0,0 +1,178 @@
+-- V3__transfer_function_ordered_locks.sql
+-- Purpose: deadlock-free sequence reservation in ledger_transfer(...)
+-- Key properties:
+--   - both account_sequences rows reserved in ONE statement (UPDATE ... RETURNING)
+--   - locks always taken in canonical account_id order (same rule as JdbcAccountSequenceStore)
+--   - signature, SQLSTATE contract and every other step unchanged from V2
+
+CREATE OR REPLACE FUNCTION ledger_transfer(
+  p_command_id       UUID,
+  p_from_account_id  UUID,
+  p_to_account_id    UUID,
+  p_amount_minor     BIGINT,
+  p_currency         CHAR(3),
+  p_correlation_id   TEXT,
+  p_transfer_id      UUID,
+  p_debit_entry_id   UUID,
+  p_credit_entry_id  UUID,
+  p_event_id         UUID,
+  p_now              TIMESTAMPTZ
+) RETURNS UUID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_existing_transfer_id UUID;
+
+  v_from_status          account_status;
+  v_from_allow_negative  BOOLEAN;
+  v_to_status            account_status;
+  v_to_allow_negative    BOOLEAN;
+
+  v_from_seq             BIGINT;
+  v_to_seq               BIGINT;
+
+  v_from_balance         BIGINT;
+  v_to_balance           BIGINT;
+  v_from_next            BIGINT;
+  v_to_next              BIGINT;
+BEGIN
+  -- 1) Idempotency gate: insert command as RECEIVED
+  INSERT INTO commands(command_id, command_type, correlation_id, status, created_at)
+  VALUES (p_command_id, 'Transfer', p_correlation_id, 'RECEIVED', p_now)
+  ON CONFLICT (command_id) DO NOTHING;
+
+  IF NOT FOUND THEN
+    SELECT id INTO v_existing_transfer_id
+    FROM transfers
+    WHERE command_id = p_command_id;
+
+    IF v_existing_transfer_id IS NULL THEN
+      RAISE EXCEPTION 'Command exists but no transfer found for commandId=%', p_command_id
+        USING ERRCODE = 'LC900';
+    END IF;
+
+    RETURN v_existing_transfer_id;
+  END IF;
+
+  -- 2) Validate accounts exist and are open (minimal checks)
+  SELECT status, allow_negative INTO v_from_status, v_from_allow_negative
+  FROM accounts
+  WHERE id = p_from_account_id;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'fromAccount not found: %', p_from_account_id USING ERRCODE = 'LC002';
+  END IF;
+
+  SELECT status, allow_negative INTO v_to_status, v_to_allow_negative
+  FROM accounts
+  WHERE id = p_to_account_id;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'toAccount not found: %', p_to_account_id USING ERRCODE = 'LC002';
+  END IF;
+
+  IF v_from_status <> 'OPEN' OR v_to_status <> 'OPEN' THEN
+    RAISE EXCEPTION 'Both accounts must be OPEN to transfer' USING ERRCODE = 'LC003';
+  END IF;
+
+  IF p_from_account_id = p_to_account_id THEN
+    RAISE EXCEPTION 'fromAccountId must differ from toAccountId' USING ERRCODE = 'LC004';
+  END IF;
+
+  -- 3) Create transfer aggregate record
+  INSERT INTO transfers(id, command_id, from_account_id, to_account_id, amount_minor, currency, created_at)
+  VALUES (p_transfer_id, p_command_id, p_from_account_id, p_to_account_id, p_amount_minor, p_currency, p_now);
+
+  -- 4) Reserve deterministic sequences for both accounts in one statement.
+  --    Rows are locked in canonical (account_id) order, never in from/to order,
+  --    so opposite transfers A->B and B->A queue instead of deadlocking.
+  WITH locked AS MATERIALIZED (
+    SELECT account_id
+    FROM account_sequences
+    WHERE account_id IN (p_from_account_id, p_to_account_id)
+    ORDER BY account_id
+    FOR UPDATE
+  ),
+  reserved AS (
+    UPDATE account_sequences s
+    SET next_sequence = s.next_sequence + 1
+    FROM locked
+    WHERE s.account_id = locked.account_id
+    RETURNING s.account_id, s.next_sequence - 1 AS reserved_sequence
+  )
+  SELECT MAX(reserved_sequence) FILTER (WHERE account_id = p_from_account_id),
+         MAX(reserved_sequence) FILTER (WHERE account_id = p_to_account_id)
+  INTO v_from_seq, v_to_seq
+  FROM reserved;
+
+  IF v_from_seq IS NULL THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_from_account_id USING ERRCODE = 'LC901';
+  END IF;
+
+  IF v_to_seq IS NULL THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_to_account_id USING ERRCODE = 'LC901';
+  END IF;
+
+  -- 5) Enforce no-negative (mirrors BalancePolicy.apply: CREDIT +, DEBIT -)
+  SELECT COALESCE(MAX(balance_minor), 0) INTO v_from_balance
+  FROM balance_snapshots
+  WHERE account_id = p_from_account_id;
+
+  v_from_next := v_from_balance - p_amount_minor;
+  IF NOT v_from_allow_negative AND v_from_next < 0 THEN
+    RAISE EXCEPTION 'Insufficient funds: current=%, delta=%, next=%', v_from_balance, -p_amount_minor, v_from_next
+      USING ERRCODE = 'LC001';
+  END IF;
+
+  SELECT COALESCE(MAX(balance_minor), 0) INTO v_to_balance
+  FROM balance_snapshots
+  WHERE account_id = p_to_account_id;
+
+  v_to_next := v_to_balance + p_amount_minor;
+  IF NOT v_to_allow_negative AND v_to_next < 0 THEN
+    RAISE EXCEPTION 'Insufficient funds: current=%, delta=%, next=%', v_to_balance, p_amount_minor, v_to_next
+      USING ERRCODE = 'LC001';
+  END IF;
+
+  -- 6) Append ledger entries (two entries per transfer)
+  INSERT INTO ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+  VALUES
+    (p_debit_entry_id,  p_transfer_id, p_from_account_id, v_from_seq, 'DEBIT',  p_amount_minor, p_currency, p_now),
+    (p_credit_entry_id, p_transfer_id, p_to_account_id,   v_to_seq,   'CREDIT', p_amount_minor, p_currency, p_now);
+
+  -- 7) Update snapshots (cache)
+  INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+  VALUES
+    (p_from_account_id, v_from_seq, v_from_next, NOW()),
+    (p_to_account_id,   v_to_seq,   v_to_next,   NOW())
+  ON CONFLICT (account_id)
+  DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                balance_minor  = EXCLUDED.balance_minor,
+                updated_at     = NOW();
+
+  -- 8) Record outbox event (atomic with the above changes)
+  INSERT INTO outbox_events(
+    id,
+    aggregate_type, aggregate_id,
+    event_type, payload_json,
+    command_id, correlation_id,
+    status, attempts, available_at,
+    created_at, last_error
+  )
+  VALUES (
+    p_event_id,
+    'Transfer', p_transfer_id,
+    'TransferCompleted', jsonb_build_object('transferId', p_transfer_id, 'commandId', p_command_id),
+    p_command_id, p_correlation_id,
+    'PENDING', 0, NOW(),
+    NOW(), NULL
+  );
+
+  -- 9) Mark command applied
+  UPDATE commands
+  SET status = 'APPLIED', applied_at = p_now
+  WHERE command_id = p_command_id;
+
+  RETURN p_transfer_id;
+END;
+$$;
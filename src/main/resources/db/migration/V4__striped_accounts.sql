@@ -0,0 +1,424 @@
+-- V4__striped_accounts.sql
+-- Purpose: opt-in striping for hot accounts (fee collector, settlement omnibus, ...)
+-- Key properties:
+--   - a striped account spreads its postings over N stripes, each with its own
+--     sequence counter and balance (one row each => N independent row locks)
+--   - balance of a striped account = SUM(stripe balances)
+--   - uq_ledger_account_sequence is untouched: stripe s of N hands out the interleaved
+--     sequences base+s, base+s+N, base+s+2N, ... so (account_id, sequence) stays unique
+--   - ordering is deterministic and gap-free WITHIN each stripe
+--
+-- Locking protocol (parent row = the account's account_sequences row):
+--   - CREDIT to a striped account: parent FOR KEY SHARE (concurrent credits do not conflict),
+--     then ONE stripe row. Credits never lower the balance, so they need no exact total.
+--   - DEBIT from a striped account: parent FOR UPDATE. That waits for every in-flight credit,
+--     so the debit reads the exact SUM over all stripes and the no-negative check stays exact.
+--   - parent + stripe count as one position in the canonical account_id lock order.
+--
+-- Statement merge order:
+--   entries of a striped account are merged by sequence (ascending). That order is total and
+--   deterministic and interleaves the stripes round-robin; it is NOT commit order across stripes.
+--
+-- For a striped account:
+--   - account_sequences.stripe_count > 1 and next_sequence is frozen at the stripe base
+--   - balance_snapshots is frozen at the conversion point; stripe 0 carries that balance forward
+--   - entry with sequence q >= base belongs to stripe (q - base) % stripe_count
+--   - stripe_count lives on the parent row on purpose: unstriped reservations filter on it, and
+--     that filter is re-checked on the latest row version after a lock wait (no stale-read race)
+
+ALTER TABLE account_sequences
+  ADD COLUMN stripe_count INT NOT NULL DEFAULT 1 CHECK (stripe_count BETWEEN 1 AND 256);
+
+CREATE TABLE account_stripes (
+  account_id     UUID NOT NULL REFERENCES accounts(id),
+  stripe         INT NOT NULL CHECK (stripe >= 0),
+
+  next_sequence  BIGINT NOT NULL CHECK (next_sequence >= 1),
+  as_of_sequence BIGINT NOT NULL CHECK (as_of_sequence >= 0),
+  balance_minor  BIGINT NOT NULL,
+  updated_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+  PRIMARY KEY (account_id, stripe)
+);
+
+-- =========================
+-- Enable striping on an account (no-op if already striped with the same count).
+-- Takes the parent row FOR UPDATE, so it waits for in-flight postings.
+-- =========================
+CREATE FUNCTION ledger_stripe_account(p_account_id UUID, p_stripe_count INT)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_base          BIGINT;
+  v_current_count INT;
+  v_balance       BIGINT;
+BEGIN
+  SELECT next_sequence, stripe_count INTO v_base, v_current_count
+  FROM account_sequences
+  WHERE account_id = p_account_id
+  FOR UPDATE;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_account_id USING ERRCODE = 'LC901';
+  END IF;
+  IF v_current_count = p_stripe_count THEN
+    RETURN;
+  END IF;
+  IF v_current_count <> 1 THEN
+    RAISE EXCEPTION 'Account % is already striped (%); unstripe it first', p_account_id, v_current_count
+      USING ERRCODE = 'LC006';
+  END IF;
+  IF p_stripe_count < 2 THEN
+    RAISE EXCEPTION 'stripe_count must be >= 2, got: %', p_stripe_count USING ERRCODE = 'LC006';
+  END IF;
+
+  SELECT COALESCE(MAX(balance_minor), 0) INTO v_balance
+  FROM balance_snapshots
+  WHERE account_id = p_account_id;
+
+  INSERT INTO account_stripes(account_id, stripe, next_sequence, as_of_sequence, balance_minor, updated_at)
+  SELECT p_account_id, s, v_base + s, v_base - 1, CASE WHEN s = 0 THEN v_balance ELSE 0 END, NOW()
+  FROM generate_series(0, p_stripe_count - 1) AS s;
+
+  UPDATE account_sequences SET stripe_count = p_stripe_count WHERE account_id = p_account_id;
+END;
+$$;
+
+-- =========================
+-- Merge the stripes back into a single sequence + snapshot.
+-- Sequences continue after the highest sequence any stripe handed out
+-- (stripes advance at different rates, so the account-level sequence has gaps there).
+-- =========================
+CREATE FUNCTION ledger_unstripe_account(p_account_id UUID)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_stripe_count INT;
+  v_balance      BIGINT;
+  v_last         BIGINT;
+BEGIN
+  SELECT stripe_count INTO v_stripe_count
+  FROM account_sequences
+  WHERE account_id = p_account_id
+  FOR UPDATE;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_account_id USING ERRCODE = 'LC901';
+  END IF;
+  IF v_stripe_count = 1 THEN
+    RETURN;
+  END IF;
+
+  SELECT SUM(balance_minor), MAX(next_sequence) - v_stripe_count
+  INTO v_balance, v_last
+  FROM account_stripes
+  WHERE account_id = p_account_id;
+
+  UPDATE account_sequences
+  SET next_sequence = v_last + 1, stripe_count = 1
+  WHERE account_id = p_account_id;
+
+  INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+  VALUES (p_account_id, v_last, v_balance, NOW())
+  ON CONFLICT (account_id)
+  DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                balance_minor  = EXCLUDED.balance_minor,
+                updated_at     = NOW();
+
+  DELETE FROM account_stripes WHERE account_id = p_account_id;
+END;
+$$;
+
+-- =========================
+-- Reserve one position (sequence + current balance) on one account.
+--   p_stripe NULL  => unstriped account: account_sequences row + balance_snapshots
+--   p_stripe given => striped account: parent lock (exclusive for debits), then that stripe
+-- The balance is read by a later statement than the lock, so it sees everything committed
+-- before the lock was granted.
+-- =========================
+CREATE FUNCTION ledger_reserve_position(
+  p_account_id UUID,
+  p_stripe     INT,
+  p_exclusive  BOOLEAN,
+  OUT o_sequence BIGINT,
+  OUT o_balance  BIGINT
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_stripe_count INT;
+BEGIN
+  IF p_stripe IS NULL THEN
+    UPDATE account_sequences
+    SET next_sequence = next_sequence + 1
+    WHERE account_id = p_account_id
+      AND stripe_count = 1
+    RETURNING next_sequence - 1 INTO o_sequence;
+
+    IF NOT FOUND THEN
+      RAISE EXCEPTION 'Missing or striped account_sequences row for account_id=%', p_account_id
+        USING ERRCODE = 'LC901';
+    END IF;
+
+    SELECT COALESCE(MAX(balance_minor), 0) INTO o_balance
+    FROM balance_snapshots
+    WHERE account_id = p_account_id;
+    RETURN;
+  END IF;
+
+  IF p_exclusive THEN
+    SELECT stripe_count INTO v_stripe_count FROM account_sequences WHERE account_id = p_account_id FOR UPDATE;
+  ELSE
+    SELECT stripe_count INTO v_stripe_count FROM account_sequences WHERE account_id = p_account_id FOR KEY SHARE;
+  END IF;
+
+  IF v_stripe_count IS NULL OR p_stripe >= v_stripe_count THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=% (stripe_count=%)', p_stripe, p_account_id, v_stripe_count
+      USING ERRCODE = 'LC901';
+  END IF;
+
+  -- NOTE: the sub-select reads the statement snapshot (pre-UPDATE values) => balance BEFORE this posting.
+  WITH reserved AS (
+    UPDATE account_stripes
+    SET next_sequence = next_sequence + v_stripe_count
+    WHERE account_id = p_account_id
+      AND stripe = p_stripe
+    RETURNING next_sequence - v_stripe_count AS reserved_sequence
+  )
+  SELECT reserved.reserved_sequence,
+         (SELECT SUM(balance_minor) FROM account_stripes WHERE account_id = p_account_id)
+  INTO o_sequence, o_balance
+  FROM reserved;
+
+  IF o_sequence IS NULL THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=%', p_stripe, p_account_id USING ERRCODE = 'LC901';
+  END IF;
+END;
+$$;
+
+-- =========================
+-- ledger_transfer(...): same signature and SQLSTATE contract as V3.
+-- Two unstriped accounts keep the single-statement reservation from V3;
+-- otherwise each account is reserved through ledger_reserve_position in canonical order.
+-- =========================
+CREATE OR REPLACE FUNCTION ledger_transfer(
+  p_command_id       UUID,
+  p_from_account_id  UUID,
+  p_to_account_id    UUID,
+  p_amount_minor     BIGINT,
+  p_currency         CHAR(3),
+  p_correlation_id   TEXT,
+  p_transfer_id      UUID,
+  p_debit_entry_id   UUID,
+  p_credit_entry_id  UUID,
+  p_event_id         UUID,
+  p_now              TIMESTAMPTZ
+) RETURNS UUID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_existing_transfer_id UUID;
+
+  v_from_status          account_status;
+  v_from_allow_negative  BOOLEAN;
+  v_from_stripes         INT;
+  v_to_status            account_status;
+  v_to_allow_negative    BOOLEAN;
+  v_to_stripes           INT;
+
+  -- NULL => unstriped; otherwise the stripe this command posts to (stable across retries)
+  v_from_stripe          INT;
+  v_to_stripe            INT;
+
+  v_from_seq             BIGINT;
+  v_to_seq               BIGINT;
+
+  v_from_balance         BIGINT;
+  v_to_balance           BIGINT;
+  v_from_next            BIGINT;
+  v_to_next              BIGINT;
+BEGIN
+  -- 1) Idempotency gate: insert command as RECEIVED
+  INSERT INTO commands(command_id, command_type, correlation_id, status, created_at)
+  VALUES (p_command_id, 'Transfer', p_correlation_id, 'RECEIVED', p_now)
+  ON CONFLICT (command_id) DO NOTHING;
+
+  IF NOT FOUND THEN
+    SELECT id INTO v_existing_transfer_id
+    FROM transfers
+    WHERE command_id = p_command_id;
+
+    IF v_existing_transfer_id IS NULL THEN
+      RAISE EXCEPTION 'Command exists but no transfer found for commandId=%', p_command_id
+        USING ERRCODE = 'LC900';
+    END IF;
+
+    RETURN v_existing_transfer_id;
+  END IF;
+
+  -- 2) Validate accounts exist and are open (minimal checks)
+  SELECT a.status, a.allow_negative, COALESCE(q.stripe_count, 1)
+  INTO v_from_status, v_from_allow_negative, v_from_stripes
+  FROM accounts a
+  LEFT JOIN account_sequences q ON q.account_id = a.id
+  WHERE a.id = p_from_account_id;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'fromAccount not found: %', p_from_account_id USING ERRCODE = 'LC002';
+  END IF;
+
+  SELECT a.status, a.allow_negative, COALESCE(q.stripe_count, 1)
+  INTO v_to_status, v_to_allow_negative, v_to_stripes
+  FROM accounts a
+  LEFT JOIN account_sequences q ON q.account_id = a.id
+  WHERE a.id = p_to_account_id;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'toAccount not found: %', p_to_account_id USING ERRCODE = 'LC002';
+  END IF;
+
+  IF v_from_status <> 'OPEN' OR v_to_status <> 'OPEN' THEN
+    RAISE EXCEPTION 'Both accounts must be OPEN to transfer' USING ERRCODE = 'LC003';
+  END IF;
+
+  IF p_from_account_id = p_to_account_id THEN
+    RAISE EXCEPTION 'fromAccountId must differ from toAccountId' USING ERRCODE = 'LC004';
+  END IF;
+
+  -- 3) Create transfer aggregate record
+  INSERT INTO transfers(id, command_id, from_account_id, to_account_id, amount_minor, currency, created_at)
+  VALUES (p_transfer_id, p_command_id, p_from_account_id, p_to_account_id, p_amount_minor, p_currency, p_now);
+
+  -- 4) + 5) Reserve deterministic sequences and read current balances,
+  --    always locking in canonical (account_id) order.
+  IF v_from_stripes = 1 AND v_to_stripes = 1 THEN
+    WITH locked AS MATERIALIZED (
+      SELECT account_id
+      FROM account_sequences
+      WHERE account_id IN (p_from_account_id, p_to_account_id)
+      ORDER BY account_id
+      FOR UPDATE
+    ),
+    reserved AS (
+      UPDATE account_sequences s
+      SET next_sequence = s.next_sequence + 1
+      FROM locked
+      WHERE s.account_id = locked.account_id
+        AND s.stripe_count = 1
+      RETURNING s.account_id, s.next_sequence - 1 AS reserved_sequence
+    )
+    SELECT MAX(reserved_sequence) FILTER (WHERE account_id = p_from_account_id),
+           MAX(reserved_sequence) FILTER (WHERE account_id = p_to_account_id)
+    INTO v_from_seq, v_to_seq
+    FROM reserved;
+
+    IF v_from_seq IS NULL THEN
+      RAISE EXCEPTION 'Missing or striped account_sequences row for account_id=%', p_from_account_id USING ERRCODE = 'LC901';
+    END IF;
+
+    IF v_to_seq IS NULL THEN
+      RAISE EXCEPTION 'Missing or striped account_sequences row for account_id=%', p_to_account_id USING ERRCODE = 'LC901';
+    END IF;
+
+    SELECT COALESCE(MAX(balance_minor), 0) INTO v_from_balance
+    FROM balance_snapshots
+    WHERE account_id = p_from_account_id;
+
+    SELECT COALESCE(MAX(balance_minor), 0) INTO v_to_balance
+    FROM balance_snapshots
+    WHERE account_id = p_to_account_id;
+  ELSE
+    IF v_from_stripes > 1 THEN
+      v_from_stripe := (hashtext(p_command_id::text) & 2147483647) % v_from_stripes;
+    END IF;
+    IF v_to_stripes > 1 THEN
+      v_to_stripe := (hashtext(p_command_id::text) & 2147483647) % v_to_stripes;
+    END IF;
+
+    IF p_from_account_id < p_to_account_id THEN
+      SELECT o_sequence, o_balance INTO v_from_seq, v_from_balance
+      FROM ledger_reserve_position(p_from_account_id, v_from_stripe, true);
+      SELECT o_sequence, o_balance INTO v_to_seq, v_to_balance
+      FROM ledger_reserve_position(p_to_account_id, v_to_stripe, false);
+    ELSE
+      SELECT o_sequence, o_balance INTO v_to_seq, v_to_balance
+      FROM ledger_reserve_position(p_to_account_id, v_to_stripe, false);
+      SELECT o_sequence, o_balance INTO v_from_seq, v_from_balance
+      FROM ledger_reserve_position(p_from_account_id, v_from_stripe, true);
+    END IF;
+  END IF;
+
+  -- 5) Enforce no-negative (mirrors BalancePolicy.apply: CREDIT +, DEBIT -)
+  v_from_next := v_from_balance - p_amount_minor;
+  IF NOT v_from_allow_negative AND v_from_next < 0 THEN
+    RAISE EXCEPTION 'Insufficient funds: current=%, delta=%, next=%', v_from_balance, -p_amount_minor, v_from_next
+      USING ERRCODE = 'LC001';
+  END IF;
+
+  v_to_next := v_to_balance + p_amount_minor;
+  IF NOT v_to_allow_negative AND v_to_next < 0 THEN
+    RAISE EXCEPTION 'Insufficient funds: current=%, delta=%, next=%', v_to_balance, p_amount_minor, v_to_next
+      USING ERRCODE = 'LC001';
+  END IF;
+
+  -- 6) Append ledger entries (two entries per transfer)
+  INSERT INTO ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+  VALUES
+    (p_debit_entry_id,  p_transfer_id, p_from_account_id, v_from_seq, 'DEBIT',  p_amount_minor, p_currency, p_now),
+    (p_credit_entry_id, p_transfer_id, p_to_account_id,   v_to_seq,   'CREDIT', p_amount_minor, p_currency, p_now);
+
+  -- 7) Update snapshots (cache): absolute value for unstriped accounts, delta on the stripe otherwise
+  IF v_from_stripe IS NULL THEN
+    INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+    VALUES (p_from_account_id, v_from_seq, v_from_next, NOW())
+    ON CONFLICT (account_id)
+    DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                  balance_minor  = EXCLUDED.balance_minor,
+                  updated_at     = NOW();
+  ELSE
+    UPDATE account_stripes
+    SET balance_minor = balance_minor - p_amount_minor, as_of_sequence = v_from_seq, updated_at = NOW()
+    WHERE account_id = p_from_account_id AND stripe = v_from_stripe;
+  END IF;
+
+  IF v_to_stripe IS NULL THEN
+    INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+    VALUES (p_to_account_id, v_to_seq, v_to_next, NOW())
+    ON CONFLICT (account_id)
+    DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                  balance_minor  = EXCLUDED.balance_minor,
+                  updated_at     = NOW();
+  ELSE
+    UPDATE account_stripes
+    SET balance_minor = balance_minor + p_amount_minor, as_of_sequence = v_to_seq, updated_at = NOW()
+    WHERE account_id = p_to_account_id AND stripe = v_to_stripe;
+  END IF;
+
+  -- 8) Record outbox event (atomic with the above changes)
+  INSERT INTO outbox_events(
+    id,
+    aggregate_type, aggregate_id,
+    event_type, payload_json,
+    command_id, correlation_id,
+    status, attempts, available_at,
+    created_at, last_error
+  )
+  VALUES (
+    p_event_id,
+    'Transfer', p_transfer_id,
+    'TransferCompleted', jsonb_build_object('transferId', p_transfer_id, 'commandId', p_command_id),
+    p_command_id, p_correlation_id,
+    'PENDING', 0, NOW(),
+    NOW(), NULL
+  );
+
+  -- 9) Mark command applied
+  UPDATE commands
+  SET status = 'APPLIED', applied_at = p_now
+  WHERE command_id = p_command_id;
+
+  RETURN p_transfer_id;
+END;
+$$;
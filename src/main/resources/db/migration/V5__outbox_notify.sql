@@ -0,0 +1,26 @@
+-- V5__outbox_notify.sql
+-- Purpose: wake outbox publishers on commit instead of making them poll
+-- Key properties:
+--   - statement-level trigger: one pg_notify per INSERT statement (a batched multi-row insert = one)
+--   - constant payload: PostgreSQL folds identical notifications of one transaction into one
+--   - delivered only on COMMIT, so a publisher never wakes for rows it cannot see yet
+--   - listeners just re-claim; the payload carries no data, polling remains the safety net
+--
+-- NOTE: notifying transactions serialize briefly on the notification queue at commit.
+-- If that ever shows up in transfer throughput, disable the trigger
+-- (ALTER TABLE outbox_events DISABLE TRIGGER trg_outbox_notify) and fall back to polling.
+
+CREATE FUNCTION outbox_notify()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  PERFORM pg_notify('outbox_events', '');
+  RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_outbox_notify
+  AFTER INSERT ON outbox_events
+  FOR EACH STATEMENT
+  EXECUTE FUNCTION outbox_notify();
@@ -0,0 +1,84 @@
+-- V6__balance_checkpoints.sql
+-- Purpose: point-in-time balances without folding an account's whole history
+-- Key properties:
+--   - append-only: a checkpoint is never updated, only added after the last one
+--   - one checkpoint every K entries (in sequence order) => an as-of fold reads at most K entries
+--   - balance_minor = balance INCLUDING the entry at `sequence`
+--   - created_at = created_at of that entry (ledger time, not the time the checkpoint was written)
+--
+-- Checkpoints only cover sequences that can no longer change:
+--   - unstriped: everything below account_sequences.next_sequence is committed
+--   - striped:   everything below MIN(account_stripes.next_sequence); a slower stripe can still
+--                hand out sequences above that, so the checkpoint waits for it
+
+CREATE TABLE balance_checkpoints (
+  account_id    UUID NOT NULL REFERENCES accounts(id),
+  sequence      BIGINT NOT NULL CHECK (sequence >= 1),
+  created_at    TIMESTAMPTZ NOT NULL,
+  balance_minor BIGINT NOT NULL,
+
+  PRIMARY KEY (account_id, sequence)
+);
+
+-- =========================
+-- Append checkpoints for one account: every p_every-th entry after the last checkpoint,
+-- up to the account's committed watermark. Returns the number of checkpoints written.
+-- Reads only (no row locks on the write path's rows); safe to run while transfers commit.
+-- =========================
+CREATE FUNCTION ledger_write_checkpoints(p_account_id UUID, p_every INT)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_last_sequence BIGINT;
+  v_last_balance  BIGINT;
+  v_stripe_count  INT;
+  v_watermark     BIGINT;
+  v_written       INT;
+BEGIN
+  IF p_every < 1 THEN
+    RAISE EXCEPTION 'p_every must be >= 1, got: %', p_every USING ERRCODE = 'LC004';
+  END IF;
+
+  -- Serializes writers of the same account (two jobs would compute the same checkpoints).
+  PERFORM pg_advisory_xact_lock(hashtext('balance_checkpoints'), hashtext(p_account_id::text));
+
+  SELECT sequence, balance_minor INTO v_last_sequence, v_last_balance
+  FROM balance_checkpoints
+  WHERE account_id = p_account_id
+  ORDER BY sequence DESC
+  LIMIT 1;
+
+  SELECT next_sequence, stripe_count INTO v_watermark, v_stripe_count
+  FROM account_sequences
+  WHERE account_id = p_account_id;
+
+  IF NOT FOUND THEN
+    RETURN 0;
+  END IF;
+  IF v_stripe_count > 1 THEN
+    SELECT MIN(next_sequence) INTO v_watermark
+    FROM account_stripes
+    WHERE account_id = p_account_id;
+  END IF;
+
+  INSERT INTO balance_checkpoints(account_id, sequence, created_at, balance_minor)
+  SELECT p_account_id, f.sequence, f.created_at, f.balance_minor
+  FROM (
+    SELECT e.sequence,
+           e.created_at,
+           COALESCE(v_last_balance, 0)
+             + SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount_minor ELSE -e.amount_minor END)
+                 OVER (ORDER BY e.sequence) AS balance_minor,
+           row_number() OVER (ORDER BY e.sequence) AS n
+    FROM ledger_entries e
+    WHERE e.account_id = p_account_id
+      AND e.sequence > COALESCE(v_last_sequence, 0)
+      AND e.sequence < v_watermark
+  ) f
+  WHERE f.n % p_every = 0;
+
+  GET DIAGNOSTICS v_written = ROW_COUNT;
+  RETURN v_written;
+END;
+$$;
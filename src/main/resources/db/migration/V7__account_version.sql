@@ -0,0 +1,132 @@
+-- V7__account_version.sql
+-- Purpose: let in-process account caches detect stale metadata inside the locked section
+-- Key properties:
+--   - account_sequences.account_version is bumped whenever status, allow_negative or
+--     stripe_count changes
+--   - the bump takes the parent row FOR UPDATE: it waits for in-flight postings on the account
+--     (including striped credits holding FOR KEY SHARE), and later postings wait for it
+--   - every row lock a posting takes on the parent row therefore sees the version its
+--     transfer is bound by; reservations return it, and the handler reloads the account on mismatch
+--   - each bump sends NOTIFY account_changed '<account_id>' so caches on all nodes drop the entry
+--
+-- NOTE: the NOTIFY is only a prompt invalidation; correctness comes from the version check.
+
+ALTER TABLE account_sequences
+  ADD COLUMN account_version BIGINT NOT NULL DEFAULT 0;
+
+-- =========================
+-- accounts: status / allow_negative changed
+-- =========================
+CREATE FUNCTION accounts_bump_version()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  -- NOTE: explicit FOR UPDATE; the plain UPDATE below alone would only take FOR NO KEY UPDATE,
+  -- which does not conflict with the FOR KEY SHARE held by striped credits.
+  PERFORM 1 FROM account_sequences WHERE account_id = NEW.id FOR UPDATE;
+
+  UPDATE account_sequences
+  SET account_version = account_version + 1
+  WHERE account_id = NEW.id;
+
+  PERFORM pg_notify('account_changed', NEW.id::text);
+  RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_accounts_version
+BEFORE UPDATE OF status, allow_negative ON accounts
+FOR EACH ROW
+WHEN (OLD.status IS DISTINCT FROM NEW.status OR OLD.allow_negative IS DISTINCT FROM NEW.allow_negative)
+EXECUTE FUNCTION accounts_bump_version();
+
+-- =========================
+-- account_sequences: (un)striping (ledger_stripe_account / ledger_unstripe_account hold FOR UPDATE already)
+-- Fires only for UPDATEs that SET stripe_count, so sequence reservations never run it.
+-- =========================
+CREATE FUNCTION account_sequences_bump_version()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  NEW.account_version := OLD.account_version + 1;
+  PERFORM pg_notify('account_changed', NEW.account_id::text);
+  RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_account_sequences_version
+BEFORE UPDATE OF stripe_count ON account_sequences
+FOR EACH ROW
+WHEN (OLD.stripe_count IS DISTINCT FROM NEW.stripe_count)
+EXECUTE FUNCTION account_sequences_bump_version();
+
+-- =========================
+-- ledger_reserve_position: same as V4, plus the account_version seen under the parent lock.
+-- (ledger_transfer selects o_sequence / o_balance by name, so the extra column does not affect it.)
+-- =========================
+DROP FUNCTION ledger_reserve_position(UUID, INT, BOOLEAN);
+
+CREATE FUNCTION ledger_reserve_position(
+  p_account_id UUID,
+  p_stripe     INT,
+  p_exclusive  BOOLEAN,
+  OUT o_sequence        BIGINT,
+  OUT o_balance         BIGINT,
+  OUT o_account_version BIGINT
+)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_stripe_count INT;
+BEGIN
+  IF p_stripe IS NULL THEN
+    UPDATE account_sequences
+    SET next_sequence = next_sequence + 1
+    WHERE account_id = p_account_id
+      AND stripe_count = 1
+    RETURNING next_sequence - 1, account_version INTO o_sequence, o_account_version;
+
+    IF NOT FOUND THEN
+      RAISE EXCEPTION 'Missing or striped account_sequences row for account_id=%', p_account_id
+        USING ERRCODE = 'LC901';
+    END IF;
+
+    SELECT COALESCE(MAX(balance_minor), 0) INTO o_balance
+    FROM balance_snapshots
+    WHERE account_id = p_account_id;
+    RETURN;
+  END IF;
+
+  IF p_exclusive THEN
+    SELECT stripe_count, account_version INTO v_stripe_count, o_account_version
+    FROM account_sequences WHERE account_id = p_account_id FOR UPDATE;
+  ELSE
+    SELECT stripe_count, account_version INTO v_stripe_count, o_account_version
+    FROM account_sequences WHERE account_id = p_account_id FOR KEY SHARE;
+  END IF;
+
+  IF v_stripe_count IS NULL OR p_stripe >= v_stripe_count THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=% (stripe_count=%)', p_stripe, p_account_id, v_stripe_count
+      USING ERRCODE = 'LC901';
+  END IF;
+
+  -- NOTE: the sub-select reads the statement snapshot (pre-UPDATE values) => balance BEFORE this posting.
+  WITH reserved AS (
+    UPDATE account_stripes
+    SET next_sequence = next_sequence + v_stripe_count
+    WHERE account_id = p_account_id
+      AND stripe = p_stripe
+    RETURNING next_sequence - v_stripe_count AS reserved_sequence
+  )
+  SELECT reserved.reserved_sequence,
+         (SELECT SUM(balance_minor) FROM account_stripes WHERE account_id = p_account_id)
+  INTO o_sequence, o_balance
+  FROM reserved;
+
+  IF o_sequence IS NULL THEN
+    RAISE EXCEPTION 'Missing stripe % for account_id=%', p_stripe, p_account_id USING ERRCODE = 'LC901';
+  END IF;
+END;
+$$;
@@ -0,0 +1,53 @@
+-- V8__contiguous_from.sql
+-- Purpose: tell reconciliation where an account's sequences are known to be gap-free
+-- Key properties:
+--   - account_sequences.contiguous_from: every sequence from there up to next_sequence - 1
+--     (unstriped) or up to the stripe base (striped) has exactly one ledger entry
+--   - below it, an earlier striped period may have left holes: stripes advance at different
+--     rates and ledger_unstripe_account continues after the highest one (see V4)
+--   - only ledger_unstripe_account moves it; every other account keeps the default 1
+
+ALTER TABLE account_sequences
+  ADD COLUMN contiguous_from BIGINT NOT NULL DEFAULT 1 CHECK (contiguous_from >= 1);
+
+-- Same as V4, plus contiguous_from = the first sequence after the striped period.
+CREATE OR REPLACE FUNCTION ledger_unstripe_account(p_account_id UUID)
+RETURNS VOID
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_stripe_count INT;
+  v_balance      BIGINT;
+  v_last         BIGINT;
+BEGIN
+  SELECT stripe_count INTO v_stripe_count
+  FROM account_sequences
+  WHERE account_id = p_account_id
+  FOR UPDATE;
+
+  IF NOT FOUND THEN
+    RAISE EXCEPTION 'Missing account_sequences row for account_id=%', p_account_id USING ERRCODE = 'LC901';
+  END IF;
+  IF v_stripe_count = 1 THEN
+    RETURN;
+  END IF;
+
+  SELECT SUM(balance_minor), MAX(next_sequence) - v_stripe_count
+  INTO v_balance, v_last
+  FROM account_stripes
+  WHERE account_id = p_account_id;
+
+  UPDATE account_sequences
+  SET next_sequence = v_last + 1, stripe_count = 1, contiguous_from = v_last + 1
+  WHERE account_id = p_account_id;
+
+  INSERT INTO balance_snapshots(account_id, as_of_sequence, balance_minor, updated_at)
+  VALUES (p_account_id, v_last, v_balance, NOW())
+  ON CONFLICT (account_id)
+  DO UPDATE SET as_of_sequence = EXCLUDED.as_of_sequence,
+                balance_minor  = EXCLUDED.balance_minor,
+                updated_at     = NOW();
+
+  DELETE FROM account_stripes WHERE account_id = p_account_id;
+END;
+$$;
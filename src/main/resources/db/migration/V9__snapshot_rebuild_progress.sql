@@ -0,0 +1,22 @@
+-- V9__snapshot_rebuild_progress.sql
+-- Purpose: resumable snapshot rebuilds (SnapshotRebuilder)
+-- Key properties:
+--   - one row per (run, slice of the account id space); a run is named by the operator
+--   - `cursor` = last account_id whose snapshot was recomputed; it is advanced in the same
+--     transaction as the rewritten snapshots, so a crash never skips or loses a chunk
+--   - counters are cumulative over every attempt of the run
+
+CREATE TABLE snapshot_rebuild_progress (
+  run_id      TEXT NOT NULL,
+  range_index INT NOT NULL CHECK (range_index >= 0),
+  ranges      INT NOT NULL CHECK (ranges >= 1),
+
+  cursor      UUID,
+  done        BOOLEAN NOT NULL DEFAULT FALSE,
+  accounts    BIGINT NOT NULL DEFAULT 0,
+  entries     BIGINT NOT NULL DEFAULT 0,
+  written     BIGINT NOT NULL DEFAULT 0,
+  updated_at  TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+  PRIMARY KEY (run_id, range_index)
+);
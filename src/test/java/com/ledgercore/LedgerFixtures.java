@@ -0,0 +1,58 @@
+package com.ledgercore;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.domain.model.Currency;
+import com.ledgercore.domain.model.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Shared test data helpers.
+ *
+ * Tests seed accounts + account_sequences rows directly (no snapshot row), which also keeps
+ * covering accounts opened before AccountProvisioningService existed.
+ */
+public final class LedgerFixtures {
+
+    public static final Currency EUR = Currency.of("EUR");
+
+    private LedgerFixtures() {
+    }
+
+    /**
+     * Inserts an OPEN account and its account_sequences row.
+     * allowNegative=true is how tests model a "funding" account that money can be drawn from.
+     */
+    public static UUID openAccount(JdbcTemplate jdbc, boolean allowNegative) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("""
+            INSERT INTO accounts(id, status, allow_negative)
+            VALUES (?, 'OPEN', ?)
+            """, id, allowNegative);
+        jdbc.update("""
+            INSERT INTO account_sequences(account_id, next_sequence)
+            VALUES (?, 1)
+            """, id);
+        return id;
+    }
+
+    /**
+     * Turns an existing account into a striped account (ledger_stripe_account, V4 migration).
+     */
+    public static void stripeAccount(JdbcTemplate jdbc, UUID accountId, int stripes) {
+        jdbc.query("SELECT ledger_stripe_account(?, ?)", rs -> null, accountId, stripes);
+    }
+
+    public static void closeAccount(JdbcTemplate jdbc, UUID accountId) {
+        jdbc.update("UPDATE accounts SET status = 'CLOSED' WHERE id = ?", accountId);
+    }
+
+    public static TransferCommand transfer(UUID from, UUID to, long amountMinor) {
+        return transfer(UUID.randomUUID(), from, to, amountMinor);
+    }
+
+    public static TransferCommand transfer(UUID commandId, UUID from, UUID to, long amountMinor) {
+        return new TransferCommand(commandId, from, to, Money.ofMinor(amountMinor, EUR), "test");
+    }
+}
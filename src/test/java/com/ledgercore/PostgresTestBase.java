@@ -29,7 +29,8 @@ public abstract class PostgresTestBase {
     @DynamicPropertySource
     static void configureDb(DynamicPropertyRegistry registry) {
         // --- DataSource (Spring uses these) ---
-        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        // NOTE: reWriteBatchedInserts matches application.properties (batched INSERTs become multi-row).
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl() + "&reWriteBatchedInserts=true");
         registry.add("spring.datasource.username", POSTGRES::getUsername);
         registry.add("spring.datasource.password", POSTGRES::getPassword);
 
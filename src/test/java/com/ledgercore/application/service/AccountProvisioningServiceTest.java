@@ -0,0 +1,96 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.OpenAccountCommand;
+import com.ledgercore.application.ports.AccountProvisioner;
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AccountProvisioningServiceTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    AccountProvisioner accountProvisioner;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Test
+    void provisioned_accounts_are_ready_for_transfers() {
+        List<OpenAccountCommand> accounts = accounts(250, false);
+        UUID funding = UUID.randomUUID();
+        accounts.add(new OpenAccountCommand(funding, true, "onboarding"));
+
+        assertThat(service(100).provision(accounts)).isEqualTo(251);
+
+        UUID first = accounts.getFirst().accountId();
+        assertThat(jdbc.queryForObject("""
+            SELECT COUNT(*) FROM accounts a
+            JOIN account_sequences q ON q.account_id = a.id AND q.next_sequence = 1
+            JOIN balance_snapshots b ON b.account_id = a.id AND b.as_of_sequence = 0 AND b.balance_minor = 0
+            WHERE a.id = ANY(?::uuid[]) AND a.status = 'OPEN'
+            """, Long.class, (Object) ids(accounts))).isEqualTo(251);
+        transferService.transfer(transfer(funding, first, 70));
+        assertThat(balanceQueryService.balance(first)).contains(new AccountBalance(first, 70, 1));
+    }
+
+    @Test
+    void provisioning_again_creates_nothing_and_changes_nothing() {
+        List<OpenAccountCommand> accounts = accounts(30, false);
+        AccountProvisioningService service = service(7);
+        assertThat(service.provision(accounts)).isEqualTo(30);
+
+        List<OpenAccountCommand> repeated = new ArrayList<>();
+        for (OpenAccountCommand account : accounts) {
+            repeated.add(new OpenAccountCommand(account.accountId(), true, "retry"));
+        }
+        repeated.add(repeated.getFirst());
+
+        assertThat(service.provision(repeated)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM accounts WHERE id = ANY(?::uuid[]) AND allow_negative",
+                Long.class, (Object) ids(accounts))).isZero();
+    }
+
+    @Test
+    void an_existing_account_without_a_sequence_row_is_repaired() {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO accounts(id, status, allow_negative) VALUES (?, 'OPEN', FALSE)", id);
+
+        assertThat(service(10).provision(List.of(new OpenAccountCommand(id, false, null)))).isZero();
+        assertThat(jdbc.queryForObject("SELECT next_sequence FROM account_sequences WHERE account_id = ?", Long.class, id))
+                .isEqualTo(1);
+    }
+
+    private AccountProvisioningService service(int batchSize) {
+        return new AccountProvisioningService(accountProvisioner, batchSize);
+    }
+
+    private static List<OpenAccountCommand> accounts(int count, boolean allowNegative) {
+        List<OpenAccountCommand> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(new OpenAccountCommand(UUID.randomUUID(), allowNegative, "onboarding"));
+        }
+        return accounts;
+    }
+
+    private static String[] ids(List<OpenAccountCommand> accounts) {
+        return accounts.stream().map(account -> account.accountId().toString()).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.*;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.stripeAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+class BalanceQueryServiceTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Test
+    void returns_balance_with_the_sequence_it_is_as_of() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 700));
+        transferService.transfer(transfer(funding, target, 300));
+        transferService.transfer(transfer(target, funding, 250));
+
+        assertThat(balanceQueryService.balance(target)).contains(new AccountBalance(target, 750, 3));
+        assertThat(balanceQueryService.balance(funding)).contains(new AccountBalance(funding, -750, 3));
+        assertThat(balanceQueryService.balance(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void stale_or_missing_snapshots_are_caught_up_from_newer_entries() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 100));
+        transferService.transfer(transfer(funding, target, 200));
+        transferService.transfer(transfer(funding, target, 400));
+
+        // Snapshot as it was after the first posting, as a rebuild from an older point would leave it.
+        jdbc.update("UPDATE balance_snapshots SET as_of_sequence = 1, balance_minor = 100 WHERE account_id = ?", target);
+        jdbc.update("DELETE FROM balance_snapshots WHERE account_id = ?", funding);
+
+        assertThat(balanceQueryService.balance(target)).contains(new AccountBalance(target, 700, 3));
+        assertThat(balanceQueryService.balance(funding)).contains(new AccountBalance(funding, -700, 3));
+    }
+
+    @Test
+    void striped_accounts_sum_their_stripes_and_pending_stripe_entries() {
+        UUID funding = openAccount(jdbc, true);
+        UUID fee = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, fee, 1_000));
+        stripeAccount(jdbc, fee, 4);
+        for (int i = 0; i < 20; i++) {
+            transferService.transfer(transfer(funding, fee, 10));
+        }
+        transferService.transfer(transfer(fee, funding, 50));
+
+        // Rewind every stripe to the conversion point: the fold must replay each stripe's own entries.
+        jdbc.update("""
+            UPDATE account_stripes st
+            SET as_of_sequence = q.next_sequence - 1,
+                balance_minor  = CASE WHEN st.stripe = 0 THEN 1000 ELSE 0 END
+            FROM account_sequences q
+            WHERE q.account_id = st.account_id
+              AND st.account_id = ?
+            """, fee);
+
+        AccountBalance balance = balanceQueryService.balance(fee).orElseThrow();
+        assertThat(balance.balanceMinor()).isEqualTo(1_150);
+        assertThat(balance.asOfSequence()).isEqualTo(maxSequence(fee));
+    }
+
+    @Test
+    void bulk_query_returns_every_known_account_in_one_call() {
+        UUID funding = openAccount(jdbc, true);
+        List<UUID> targets = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            targets.add(openAccount(jdbc, false));
+        }
+        for (int i = 0; i < 50; i++) {
+            transferService.transfer(transfer(funding, targets.get(i), i + 1));
+        }
+        List<UUID> query = new ArrayList<>(targets);
+        query.add(UUID.randomUUID());
+        query.add(targets.get(0));
+
+        Map<UUID, AccountBalance> balances = balanceQueryService.balances(query);
+
+        assertThat(balances).hasSize(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            long expected = i < 50 ? i + 1 : 0;
+            assertThat(balances.get(targets.get(i)).balanceMinor()).isEqualTo(expected);
+        }
+        assertThat(balanceQueryService.balances(List.of())).isEmpty();
+    }
+
+    @Test
+    void reads_do_not_wait_for_write_path_row_locks() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 500));
+
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            try (PreparedStatement lock = writer.prepareStatement("""
+                    SELECT 1
+                    FROM account_sequences q
+                    JOIN balance_snapshots b ON b.account_id = q.account_id
+                    WHERE q.account_id = ?
+                    FOR UPDATE
+                    """)) {
+                lock.setObject(1, target);
+                lock.executeQuery().close();
+            }
+
+            AccountBalance balance = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> balanceQueryService.balance(target).orElseThrow());
+            assertThat(balance.balanceMinor()).isEqualTo(500);
+
+            writer.rollback();
+        }
+    }
+
+    private long maxSequence(UUID accountId) {
+        return jdbc.queryForObject("SELECT MAX(sequence) FROM ledger_entries WHERE account_id = ?", Long.class, accountId);
+    }
+}
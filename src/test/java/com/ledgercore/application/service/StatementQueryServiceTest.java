@@ -0,0 +1,116 @@
+package com.ledgercore.application.service;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+import com.ledgercore.domain.model.EntryDirection;
+import com.ledgercore.infrastructure.checkpoint.JdbcBalanceCheckpointWriter;
+import com.ledgercore.infrastructure.service.TransferService;
+import com.ledgercore.infrastructure.statement.StatementExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class StatementQueryServiceTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    StatementQueryService statementQueryService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Autowired
+    StatementExporter statementExporter;
+
+    @Test
+    void pages_follow_each_other_by_sequence_with_a_running_balance() {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        for (int i = 1; i <= 7; i++) {
+            transferService.transfer(transfer(funding, account, 100 * i));
+        }
+        transferService.transfer(transfer(account, funding, 50));
+
+        List<StatementLine> lines = new ArrayList<>();
+        StatementPage page = statementQueryService.page(account, 0, 3);
+        int pages = 1;
+        lines.addAll(page.lines());
+        while (page.hasMore()) {
+            StatementPage next = statementQueryService.page(account, page.nextAfterSequence(), 3);
+            assertThat(next.openingBalanceMinor()).isEqualTo(page.closingBalanceMinor());
+            page = next;
+            lines.addAll(page.lines());
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(lines).extracting(line -> line.entry().sequence()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(lines).extracting(StatementLine::balanceAfterMinor)
+                .containsExactly(100L, 300L, 600L, 1000L, 1500L, 2100L, 2800L, 2750L);
+        assertThat(lines.getLast().entry().direction()).isEqualTo(EntryDirection.DEBIT);
+        assertThat(page.closingBalanceMinor()).isEqualTo(balanceQueryService.balance(account).orElseThrow().balanceMinor());
+    }
+
+    @Test
+    void the_opening_balance_starts_from_the_nearest_checkpoint() {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        for (int i = 1; i <= 10; i++) {
+            transferService.transfer(transfer(funding, account, i));
+        }
+        new JdbcBalanceCheckpointWriter(jdbc, 4).checkpoint(account);
+
+        for (long after : new long[]{3, 4, 6, 8, 9}) {
+            StatementPage page = statementQueryService.page(account, after, 100);
+            assertThat(page.openingBalanceMinor())
+                    .as("after %d", after)
+                    .isEqualTo(balanceQueryService.balanceAt(account, after).orElseThrow().balanceMinor());
+            assertThat(page.lines()).hasSize((int) (10 - after));
+            assertThat(page.hasMore()).isFalse();
+        }
+
+        // A checkpoint is trusted as is: the fold starts there, not at the first entry.
+        jdbc.update("UPDATE balance_checkpoints SET balance_minor = balance_minor + 1000 WHERE account_id = ? AND sequence = 8",
+                account);
+        assertThat(statementQueryService.page(account, 9, 1).openingBalanceMinor()).isEqualTo(45 + 1000);
+    }
+
+    @Test
+    void exports_stream_every_line_as_ndjson_or_csv() {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        for (int i = 1; i <= 5; i++) {
+            transferService.transfer(transfer(funding, account, 10));
+        }
+
+        StringWriter ndjson = new StringWriter();
+        assertThat(statementExporter.export(account, 2, StatementExporter.Format.NDJSON, ndjson)).isEqualTo(3);
+        List<String> json = ndjson.toString().lines().toList();
+        assertThat(json).hasSize(3);
+        assertThat(json.getFirst()).startsWith("{\"sequence\":3,").endsWith(",\"balanceAfterMinor\":30}");
+
+        StringWriter csv = new StringWriter();
+        assertThat(statementExporter.export(account, 0, StatementExporter.Format.CSV, csv)).isEqualTo(5);
+        List<String> rows = csv.toString().lines().toList();
+        assertThat(rows).hasSize(6);
+        assertThat(rows.getFirst()).startsWith("sequence,");
+        assertThat(rows.getLast()).startsWith("5,").contains(",CREDIT,10,EUR,").endsWith(",50");
+    }
+}
@@ -0,0 +1,73 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.OpenAccountCommand;
+import com.ledgercore.application.ports.AccountProvisioner;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.service.AccountProvisioningService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk account provisioning throughput (accounts + account_sequences + zero snapshots) per batch size,
+ * against one insert per account through the same port.
+ *
+ * Every batch size opens fresh accounts, so each run also grows the three tables' indexes.
+ *
+ * One run (PostgreSQL 16 on the same single-core host as the JVM, default settings, 500 000 accounts
+ * per batch size): batch 1 = 1 116/s, 100 = 15 077/s, 1 000 = 13 304/s, 10 000 = 17 517/s,
+ * 50 000 = 15 986/s. One commit per account bounds batch 1; from 100 on the round trip no longer
+ * matters.
+ *
+ * NOTE: that is short of the "tens of thousands per second" target, and the gap is server-side: the
+ * same statement over a server-generated input runs at about 17 800/s, so neither the array
+ * transfer nor COPY would close it. Per 50 000 accounts the accounts insert takes about 0.4s, while
+ * the account_sequences and balance_snapshots inserts take about 0.9s each, of which about 0.75s
+ * each is the per-row foreign-key check against accounts (the same insert into a copy without the
+ * foreign key: 0.18s). ON CONFLICT adds about 0.2s per table. Without dropping those foreign keys
+ * the ceiling on this host is roughly 25 000/s; a host where the database has its own cores should
+ * be measured before sizing bulk onboarding on these numbers.
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=AccountProvisioningBenchmark [-Dbenchmark.accounts=500000]
+ */
+@SpringBootTest
+class AccountProvisioningBenchmark extends PostgresTestBase {
+
+    private static final int ACCOUNTS = Integer.getInteger("benchmark.accounts", 500_000);
+    private static final int SINGLE_ACCOUNTS = 10_000;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    AccountProvisioner accountProvisioner;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Test
+    void accounts_per_second_by_batch_size() {
+        System.out.printf("%-10s %12s %14s%n", "batch", "accounts", "accounts/s");
+        run(1, SINGLE_ACCOUNTS);
+        for (int batchSize : new int[]{100, 1_000, 10_000, 50_000}) {
+            run(batchSize, ACCOUNTS);
+        }
+    }
+
+    private void run(int batchSize, int count) {
+        List<OpenAccountCommand> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(new OpenAccountCommand(uuidGenerator.randomUuid(), false, "benchmark"));
+        }
+        AccountProvisioningService service = new AccountProvisioningService(accountProvisioner, batchSize);
+        long start = System.nanoTime();
+        long created = service.provision(accounts);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10d %12d %14.0f%n", batchSize, created, created / seconds);
+    }
+}
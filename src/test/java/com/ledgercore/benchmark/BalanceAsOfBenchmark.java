@@ -0,0 +1,118 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.service.BalanceQueryService;
+import com.ledgercore.infrastructure.checkpoint.JdbcBalanceCheckpointWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.LongUnaryOperator;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+
+/**
+ * Point-in-time balance on one account with a very long history:
+ * full fold from the first entry vs. nearest checkpoint + bounded fold.
+ *
+ * History is generated server-side (commands, transfers and both ledger legs via generate_series);
+ * going through TransferService would take hours at 10M entries.
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=BalanceAsOfBenchmark [-Dbenchmark.entries=10000000]
+ */
+@SpringBootTest
+class BalanceAsOfBenchmark extends PostgresTestBase {
+
+    private static final long ENTRIES = Long.getLong("benchmark.entries", 10_000_000L);
+    private static final int CHECKPOINT_EVERY = 1_000;
+    private static final int QUERIES = 200;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Test
+    void as_of_latency_full_fold_vs_checkpoints() {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        long start = System.nanoTime();
+        generateHistory(funding, account);
+        System.out.printf("generated %d entries in %.1fs%n", ENTRIES, (System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        int checkpoints = new JdbcBalanceCheckpointWriter(jdbc, CHECKPOINT_EVERY).checkpoint(account);
+        System.out.printf("wrote %d checkpoints in %.1fs%n", checkpoints, (System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%-12s %12s %12s %12s%n", "query", "p50 ms", "p99 ms", "max ms");
+        report("full fold", sequence -> fullFold(account, sequence));
+        report("checkpoint", sequence -> balanceQueryService.balanceAt(account, sequence).orElseThrow().balanceMinor());
+    }
+
+    private void report(String name, LongUnaryOperator balanceAt) {
+        Random random = new Random(42);
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long sequence = 1 + (long) (random.nextDouble() * ENTRIES);
+            long start = System.nanoTime();
+            balanceAt.applyAsLong(sequence);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-12s %12.2f %12.2f %12.2f%n", name,
+                nanos[QUERIES / 2] / 1e6, nanos[QUERIES * 99 / 100] / 1e6, nanos[QUERIES - 1] / 1e6);
+    }
+
+    private long fullFold(UUID accountId, long sequence) {
+        return jdbc.queryForObject("""
+            SELECT COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount_minor ELSE -amount_minor END), 0)
+            FROM ledger_entries
+            WHERE account_id = ?
+              AND sequence <= ?
+            """, Long.class, accountId, sequence);
+    }
+
+    // Every 3rd transfer flows back, so the account history has both directions.
+    // NOTE: not a TEMP table: JdbcTemplate may run each statement on a different pooled connection;
+    // ENTRIES is inlined because CREATE TABLE AS takes no bind parameters.
+    private void generateHistory(UUID funding, UUID account) {
+        jdbc.update("""
+            CREATE UNLOGGED TABLE bench_history AS
+            SELECT g AS n, gen_random_uuid() AS command_id, gen_random_uuid() AS transfer_id,
+                   NOW() - (%1$d - g) * INTERVAL '1 millisecond' AS created_at
+            FROM generate_series(1, %1$d) AS g
+            """.formatted(ENTRIES));
+        jdbc.update("""
+            INSERT INTO commands(command_id, command_type, status, created_at, applied_at)
+            SELECT command_id, 'Transfer', 'APPLIED', created_at, created_at FROM bench_history
+            """);
+        jdbc.update("""
+            INSERT INTO transfers(id, command_id, from_account_id, to_account_id, amount_minor, currency, created_at)
+            SELECT transfer_id, command_id,
+                   CASE WHEN n % 3 = 0 THEN ?::uuid ELSE ?::uuid END,
+                   CASE WHEN n % 3 = 0 THEN ?::uuid ELSE ?::uuid END,
+                   CASE WHEN n % 3 = 0 THEN 1 ELSE 2 END, 'EUR', created_at
+            FROM bench_history
+            """, account, funding, funding, account);
+        jdbc.update("""
+            INSERT INTO ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+            SELECT gen_random_uuid(), transfer_id, ?, n,
+                   (CASE WHEN n % 3 = 0 THEN 'DEBIT' ELSE 'CREDIT' END)::entry_direction,
+                   CASE WHEN n % 3 = 0 THEN 1 ELSE 2 END, 'EUR', created_at
+            FROM bench_history
+            UNION ALL
+            SELECT gen_random_uuid(), transfer_id, ?, n,
+                   (CASE WHEN n % 3 = 0 THEN 'CREDIT' ELSE 'DEBIT' END)::entry_direction,
+                   CASE WHEN n % 3 = 0 THEN 1 ELSE 2 END, 'EUR', created_at
+            FROM bench_history
+            """, account, funding);
+        jdbc.update("UPDATE account_sequences SET next_sequence = ? WHERE account_id IN (?, ?)", ENTRIES + 1, account, funding);
+        jdbc.update("DROP TABLE bench_history");
+        jdbc.execute("ANALYZE ledger_entries");
+    }
+}
@@ -0,0 +1,266 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.infrastructure.retry.RetryCause;
+import com.ledgercore.infrastructure.retry.RetryMetrics;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load against TransferService: closed-loop clients, Zipfian account skew, client
+ * retries (the same commandId submitted again) and transfers that must be rejected.
+ *
+ * The workload is generated up front from load.seed, so two runs with the same settings submit
+ * the same commands in the same order (interleaving across clients still varies).
+ *
+ * Settings (system properties, defaults in brackets):
+ * - load.concurrency         client threads [32]
+ * - load.accounts            accounts the workload draws from [1000]
+ * - load.transfers           commands submitted, duplicates included [20000]
+ * - load.zipf                skew exponent; 0 = uniform, ~1 = a few hot accounts [1.1]
+ * - load.retry-ratio         share of commands that resubmit a recent commandId [0.05]
+ * - load.insufficient-ratio  share of commands that overdraw their source account [0.02]
+ * - load.seed                workload seed [42]
+ *
+ * IMPORTANT:
+ * - After the run, entries must sum to zero per currency across the whole ledger, and every
+ *   resubmitted commandId must have returned the transfer of its first submission.
+ * - Retry counts are deltas of the shared RetryMetrics, i.e. what the server side absorbed.
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=LoadHarnessBenchmark -Dload.concurrency=64 -Dload.zipf=1.3
+ */
+@SpringBootTest
+class LoadHarnessBenchmark extends PostgresTestBase {
+
+    private static final long INITIAL_BALANCE = 1_000_000_000L;
+    private static final int MAX_AMOUNT = 100;
+    // A client retry resubmits one of the last few commands, so it often races the original.
+    private static final int RETRY_WINDOW = 64;
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    RetryMetrics retryMetrics;
+
+    @Test
+    void skewed_load_conserves_money() throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        List<UUID> accounts = fundedAccounts(settings.accounts());
+        List<Op> workload = workload(settings, accounts);
+
+        Map<RetryCause, Long> retriesBefore = retryCounts();
+        Map<RetryCause, Long> exhaustedBefore = exhaustedCounts();
+        Outcomes outcomes = new Outcomes();
+        List<Histogram> histograms = new ArrayList<>();
+
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        long start = System.nanoTime();
+        try {
+            List<Future<Histogram>> futures = new ArrayList<>(settings.concurrency());
+            for (int c = 0; c < settings.concurrency(); c++) {
+                futures.add(clients.submit(() -> {
+                    Histogram latencies = new Histogram(MAX_LATENCY_MICROS, 3);
+                    for (int i = next.getAndIncrement(); i < workload.size(); i = next.getAndIncrement()) {
+                        submit(workload.get(i), latencies, outcomes);
+                    }
+                    return latencies;
+                }));
+            }
+            for (Future<Histogram> future : futures) {
+                histograms.add(future.get());
+            }
+        } finally {
+            clients.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram latencies = new Histogram(MAX_LATENCY_MICROS, 3);
+        histograms.forEach(latencies::add);
+        Map<RetryCause, Long> retries = delta(retriesBefore, retryCounts());
+        Map<RetryCause, Long> exhausted = delta(exhaustedBefore, exhaustedCounts());
+
+        System.out.printf("load: %s%n", settings);
+        System.out.printf("%-12s %10.1f tps (%d commands in %.2f s)%n", "throughput", workload.size() / seconds,
+                workload.size(), seconds);
+        System.out.printf("%-12s p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n", "latency",
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+        System.out.printf("%-12s posted %d, resubmitted %d, insufficient funds %d, failed %d%n", "outcomes",
+                outcomes.posted.sum(), outcomes.resubmitted.sum(), outcomes.insufficientFunds.sum(),
+                outcomes.failed.sum());
+        System.out.printf("%-12s %-22s %10s %10s%n", "retries", "cause", "retried", "exhausted");
+        for (RetryCause cause : RetryCause.values()) {
+            System.out.printf("%-12s %-22s %10d %10d%n", "", cause, retries.get(cause), exhausted.get(cause));
+        }
+
+        assertThat(outcomes.idempotencyViolations.sum()).isZero();
+        assertThat(jdbc.queryForList("""
+            SELECT currency
+            FROM ledger_entries
+            GROUP BY currency
+            HAVING SUM(CASE direction WHEN 'CREDIT' THEN amount_minor ELSE -amount_minor END) <> 0
+            """, String.class)).isEmpty();
+    }
+
+    private void submit(Op op, Histogram latencies, Outcomes outcomes) {
+        long started = System.nanoTime();
+        try {
+            TransferResult result = transferService.transfer(op.command());
+            UUID first = outcomes.transferByCommand.putIfAbsent(result.commandId(), result.transferId());
+            if (first != null && !first.equals(result.transferId())) {
+                outcomes.idempotencyViolations.increment();
+            }
+            (op.resubmission() ? outcomes.resubmitted : outcomes.posted).increment();
+        } catch (InsufficientFundsException e) {
+            outcomes.insufficientFunds.increment();
+        } catch (RuntimeException e) {
+            // Retries exhausted, most likely; the retry table shows which cause.
+            outcomes.failed.increment();
+        } finally {
+            latencies.recordValue(Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - started) / 1_000));
+        }
+    }
+
+    private List<UUID> fundedAccounts(int count) {
+        UUID funding = openAccount(jdbc, true);
+        List<UUID> accounts = new ArrayList<>(count);
+        List<TransferCommand> fundings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID account = openAccount(jdbc, false);
+            accounts.add(account);
+            fundings.add(transfer(funding, account, INITIAL_BALANCE));
+        }
+        transferService.transferAll(fundings);
+        return accounts;
+    }
+
+    private static List<Op> workload(Settings settings, List<UUID> accounts) {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        ZipfSampler hot = new ZipfSampler(accounts.size(), settings.zipf());
+        // More than all the money the workload's accounts hold together: always rejected.
+        long overdraw = INITIAL_BALANCE * accounts.size() + 1;
+
+        List<Op> workload = new ArrayList<>(settings.transfers());
+        for (int i = 0; i < settings.transfers(); i++) {
+            double roll = random.nextDouble();
+            if (i > 0 && roll < settings.retryRatio()) {
+                Op original = workload.get(i - 1 - random.nextInt(Math.min(i, RETRY_WINDOW)));
+                workload.add(new Op(original.command(), true));
+                continue;
+            }
+            UUID from = accounts.get(hot.sample(random));
+            UUID to;
+            do {
+                to = accounts.get(hot.sample(random));
+            } while (to.equals(from));
+            long amount = roll < settings.retryRatio() + settings.insufficientRatio()
+                    ? overdraw
+                    : 1 + random.nextInt(MAX_AMOUNT);
+            workload.add(new Op(transfer(seededUuid(random), from, to, amount), false));
+        }
+        return workload;
+    }
+
+    private static UUID seededUuid(SplittableRandom random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private Map<RetryCause, Long> retryCounts() {
+        Map<RetryCause, Long> counts = new EnumMap<>(RetryCause.class);
+        for (RetryCause cause : RetryCause.values()) {
+            counts.put(cause, retryMetrics.retries(cause));
+        }
+        return counts;
+    }
+
+    private Map<RetryCause, Long> exhaustedCounts() {
+        Map<RetryCause, Long> counts = new EnumMap<>(RetryCause.class);
+        for (RetryCause cause : RetryCause.values()) {
+            counts.put(cause, retryMetrics.exhausted(cause));
+        }
+        return counts;
+    }
+
+    private static Map<RetryCause, Long> delta(Map<RetryCause, Long> before, Map<RetryCause, Long> after) {
+        Map<RetryCause, Long> delta = new EnumMap<>(RetryCause.class);
+        after.forEach((cause, count) -> delta.put(cause, count - before.get(cause)));
+        return delta;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private record Op(TransferCommand command, boolean resubmission) {
+    }
+
+    private static final class Outcomes {
+        final LongAdder posted = new LongAdder();
+        final LongAdder resubmitted = new LongAdder();
+        final LongAdder insufficientFunds = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder idempotencyViolations = new LongAdder();
+        final Map<UUID, UUID> transferByCommand = new ConcurrentHashMap<>();
+    }
+
+    private record Settings(
+            int concurrency,
+            int accounts,
+            int transfers,
+            double zipf,
+            double retryRatio,
+            double insufficientRatio,
+            long seed
+    ) {
+        static Settings fromSystemProperties() {
+            Settings settings = new Settings(
+                    Integer.getInteger("load.concurrency", 32),
+                    Integer.getInteger("load.accounts", 1_000),
+                    Integer.getInteger("load.transfers", 20_000),
+                    Double.parseDouble(System.getProperty("load.zipf", "1.1")),
+                    Double.parseDouble(System.getProperty("load.retry-ratio", "0.05")),
+                    Double.parseDouble(System.getProperty("load.insufficient-ratio", "0.02")),
+                    Long.getLong("load.seed", 42L));
+            if (settings.concurrency() < 1 || settings.accounts() < 2 || settings.transfers() < 1) {
+                throw new IllegalArgumentException("Need concurrency >= 1, accounts >= 2, transfers >= 1: " + settings);
+            }
+            if (settings.retryRatio() + settings.insufficientRatio() > 1) {
+                throw new IllegalArgumentException("retry-ratio + insufficient-ratio must be <= 1: " + settings);
+            }
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.infrastructure.outbox.*;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+
+/**
+ * Outbox drain throughput (events/s, total and per worker) by worker count and batch size.
+ *
+ * Each worker is an independent publisher claiming with SKIP LOCKED, exactly like separate
+ * publisher instances would. The sink is in-memory, so this measures the claim/mark cost.
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=OutboxPublisherBenchmark
+ */
+@SpringBootTest
+class OutboxPublisherBenchmark extends PostgresTestBase {
+
+    private static final int EVENTS = 20_000;
+    private static final int[] WORKERS = {1, 2, 4, 8};
+    private static final int[] BATCH_SIZES = {10, 100, 500};
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    JdbcOutboxQueue queue;
+
+    @Test
+    void drain_throughput_by_workers_and_batch_size() throws Exception {
+        System.out.printf("%-8s %-6s %14s %16s%n", "workers", "batch", "events/s", "events/s/worker");
+        for (int batchSize : BATCH_SIZES) {
+            for (int workers : WORKERS) {
+                drain(1, 500);
+                createEvents();
+                double perSecond = drain(workers, batchSize);
+                System.out.printf("%-8d %-6d %14.1f %16.1f%n", workers, batchSize, perSecond, perSecond / workers);
+            }
+        }
+    }
+
+    private void createEvents() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        List<TransferCommand> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < EVENTS; i++) {
+            batch.add(transfer(funding, target, 1));
+            if (batch.size() == 1_000) {
+                transferService.transferAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            transferService.transferAll(batch);
+        }
+    }
+
+    /**
+     * @return delivered events per second, all workers together
+     */
+    private double drain(int workers, int batchSize) throws Exception {
+        OutboxPublisherPolicy policy = new OutboxPublisherPolicy(
+                1, batchSize, Duration.ofSeconds(30), Duration.ZERO, 10, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                OutboxPublisher publisher = new OutboxPublisher(queue, sink, policy, new OutboxPublisherMetrics());
+                futures.add(pool.submit(() -> {
+                    while (publisher.publishOnce() > 0) {
+                        // drain until nothing is due
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return sink.size() / seconds;
+    }
+}
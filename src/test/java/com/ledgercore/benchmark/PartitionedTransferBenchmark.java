@@ -0,0 +1,102 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.infrastructure.service.PartitionedTransferService;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+
+/**
+ * Throughput of the plain (retrying) TransferService vs. account-partitioned lanes
+ * at increasing hot-account skew.
+ *
+ * skew = probability that a transfer touches the single hot account (e.g. a fee collector).
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=PartitionedTransferBenchmark
+ */
+@SpringBootTest
+class PartitionedTransferBenchmark extends PostgresTestBase {
+
+    private static final int ACCOUNTS = 200;
+    private static final int CLIENT_THREADS = 32;
+    private static final int TRANSFERS = 4_000;
+    private static final int LANES = 8;
+    private static final double[] SKEWS = {0.0, 0.25, 0.5, 0.9};
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Test
+    void throughput_by_hot_account_skew() throws Exception {
+        System.out.printf("%-6s %14s %14s%n", "skew", "plain tps", "lanes tps");
+        for (double skew : SKEWS) {
+            double plain = run(transferService, skew);
+            double partitioned;
+            try (PartitionedTransferService lanes = new PartitionedTransferService(transferService, LANES)) {
+                partitioned = run(lanes, skew);
+            }
+            System.out.printf("%-6.2f %14.1f %14.1f%n", skew, plain, partitioned);
+        }
+    }
+
+    private double run(TransferService service, double skew) throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        List<UUID> accounts = new ArrayList<>();
+        List<TransferCommand> fundings = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            UUID account = openAccount(jdbc, false);
+            accounts.add(account);
+            fundings.add(transfer(funding, account, 1_000_000_000L));
+        }
+        transferService.transferAll(fundings);
+        UUID hot = accounts.get(0);
+
+        Random random = new Random(42);
+        List<TransferCommand> workload = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            UUID a = accounts.get(1 + random.nextInt(ACCOUNTS - 1));
+            UUID b;
+            if (random.nextDouble() < skew) {
+                b = hot;
+            } else {
+                do {
+                    b = accounts.get(1 + random.nextInt(ACCOUNTS - 1));
+                } while (b.equals(a));
+            }
+            workload.add(random.nextBoolean() ? transfer(a, b, 1) : transfer(b, a, 1));
+        }
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENT_THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(TRANSFERS);
+            for (TransferCommand cmd : workload) {
+                futures.add(clients.submit(() -> service.transfer(cmd)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return TRANSFERS / seconds;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ledgercore.benchmark;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.infrastructure.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Insert throughput and primary-key index size: random (v4) vs time-ordered (v7) uuid keys.
+ *
+ * Each generator fills its own table (uuid PK + a ledger_entries-sized payload) in batches of
+ * BATCH rows. Random keys touch a random leaf per insert, so once the index outgrows
+ * shared_buffers throughput falls and half-empty split pages bloat the index; v7 keys append
+ * to the right-most leaf. Compare the first and last chunk, not only the total.
+ *
+ * Run: mvn -Pdb-benchmarks test -Dtest=UuidKeyBenchmark [-Dbenchmark.rows=5000000]
+ */
+@SpringBootTest
+class UuidKeyBenchmark extends PostgresTestBase {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 5_000_000L);
+    private static final int BATCH = 1_000;
+    private static final int CHUNKS = 10;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void insert_throughput_and_index_size_random_vs_v7() {
+        System.out.printf("%-8s %14s %14s %14s %12s %12s%n",
+                "keys", "first rows/s", "last rows/s", "total rows/s", "index MB", "table MB");
+        run("random", UUID::randomUUID);
+        run("v7", new UuidV7Generator());
+    }
+
+    private void run(String name, UuidGenerator generator) {
+        String table = "bench_keys_" + name;
+        // NOTE: not a TEMP table: JdbcTemplate may run each statement on a different pooled connection.
+        jdbc.execute("""
+            CREATE UNLOGGED TABLE %s (
+              id           UUID PRIMARY KEY,
+              account_id   UUID NOT NULL,
+              sequence     BIGINT NOT NULL,
+              amount_minor BIGINT NOT NULL,
+              created_at   TIMESTAMPTZ NOT NULL DEFAULT NOW()
+            )
+            """.formatted(table));
+        String insert = "INSERT INTO %s(id, account_id, sequence, amount_minor) VALUES (?, ?, ?, ?)".formatted(table);
+        UUID account = UUID.randomUUID();
+        long chunk = Math.max(BATCH, ROWS / CHUNKS);
+        double first = 0;
+        double last = 0;
+        long chunkStart = System.nanoTime();
+        long start = chunkStart;
+        long inChunk = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (long n = 1; n <= ROWS; n++) {
+            batch.add(new Object[]{generator.randomUuid(), account, n, n % 1_000});
+            if (batch.size() == BATCH || n == ROWS) {
+                jdbc.batchUpdate(insert, batch);
+                inChunk += batch.size();
+                batch.clear();
+            }
+            if (inChunk >= chunk || n == ROWS) {
+                last = inChunk / ((System.nanoTime() - chunkStart) / 1e9);
+                if (first == 0) {
+                    first = last;
+                }
+                chunkStart = System.nanoTime();
+                inChunk = 0;
+            }
+        }
+        double total = ROWS / ((System.nanoTime() - start) / 1e9);
+
+        long indexBytes = jdbc.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        long tableBytes = jdbc.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table);
+        System.out.printf("%-8s %14.0f %14.0f %14.0f %12.1f %12.1f%n",
+                name, first, last, total, indexBytes / 1048576.0, tableBytes / 1048576.0);
+        jdbc.execute("DROP TABLE " + table);
+    }
+}
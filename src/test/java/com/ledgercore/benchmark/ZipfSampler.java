@@ -0,0 +1,40 @@
+package com.ledgercore.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks 0..n-1 with P(rank k) proportional to 1 / (k + 1)^exponent.
+ *
+ * exponent = 0 is uniform; around 1 a handful of ranks take most of the draws (hot accounts).
+ * The cumulative distribution is precomputed once, each draw is a binary search.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be >= 1, got: " + n);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must be >= 0, got: " + exponent);
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cdf[k] /= sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        // Not found: -(insertion point) - 1, the first rank whose cumulative weight exceeds the draw.
+        int rank = i >= 0 ? i : -i - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ledgercore.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyTest {
+
+    @Test
+    void of_returns_one_shared_instance_per_code() {
+        Currency eur = Currency.of("EUR");
+
+        assertThat(Currency.of(new String(new char[]{'E', 'U', 'R'}))).isSameAs(eur);
+        assertThat(Currency.of("USD")).isNotSameAs(eur);
+        // Direct construction still works and is equal, just not shared.
+        assertThat(new Currency("EUR")).isEqualTo(eur).isNotSameAs(eur);
+    }
+
+    @Test
+    void only_three_uppercase_ascii_letters_are_a_code() {
+        for (String invalid : new String[]{"", "EU", "EURO", "eur", "Eur", "EU1", "E R", "ÄUR", "[UR", "@UR"}) {
+            assertThatThrownBy(() -> Currency.of(invalid))
+                    .as(invalid)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining(invalid);
+        }
+        assertThatThrownBy(() -> Currency.of(null)).isInstanceOf(NullPointerException.class);
+        assertThat(Currency.of("AZZ").code()).isEqualTo("AZZ");
+    }
+
+    @Test
+    void an_invalid_code_is_not_cached() {
+        assertThatThrownBy(() -> Currency.of("abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Currency.of("abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
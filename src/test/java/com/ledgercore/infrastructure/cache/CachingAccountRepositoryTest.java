@@ -0,0 +1,245 @@
+package com.ledgercore.infrastructure.cache;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.*;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.application.service.StaleAccountException;
+import com.ledgercore.application.service.TransferHandler;
+import com.ledgercore.domain.model.Account;
+import com.ledgercore.domain.model.AccountStatus;
+import com.ledgercore.domain.policy.BalancePolicy;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcAccountRepository;
+import com.ledgercore.infrastructure.retry.RetryCause;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.closeAccount;
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.stripeAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CachingAccountRepositoryTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    CommandStore commandStore;
+
+    @Autowired
+    AccountSequenceStore accountSequenceStore;
+
+    @Autowired
+    AccountStripeStore accountStripeStore;
+
+    @Autowired
+    TransferRepository transferRepository;
+
+    @Autowired
+    LedgerRepository ledgerRepository;
+
+    @Autowired
+    SnapshotRepository snapshotRepository;
+
+    @Autowired
+    OutboxRepository outboxRepository;
+
+    @Autowired
+    BalancePolicy balancePolicy;
+
+    @Autowired
+    Clock clock;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Test
+    void repeated_lookups_are_served_from_the_cache() {
+        CachingAccountRepository cache = detachedCache();
+        UUID a = openAccount(jdbc, false);
+        UUID b = openAccount(jdbc, false);
+
+        cache.findById(a);
+        cache.findById(a);
+        cache.findAllById(List.of(a, b, UUID.randomUUID()));
+
+        assertThat(cache.metrics().misses()).isEqualTo(3);
+        assertThat(cache.metrics().hits()).isEqualTo(2);
+        assertThat(cache.estimatedSize()).isEqualTo(2);
+    }
+
+    @Test
+    void size_bound_evicts_entries() {
+        CachingAccountRepository cache = new CachingAccountRepository(new JdbcAccountRepository(jdbc), 10, new AccountCacheMetrics());
+        for (int i = 0; i < 100; i++) {
+            cache.findById(openAccount(jdbc, false));
+        }
+        cache.findById(openAccount(jdbc, false));
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void closing_an_account_invalidates_the_shared_cache_via_notify() throws Exception {
+        CachingAccountRepository cache = (CachingAccountRepository) accountRepository;
+        UUID account = openAccount(jdbc, false);
+        assertThat(cache.findById(account)).get().extracting(Account::status).isEqualTo(AccountStatus.OPEN);
+
+        closeAccount(jdbc, account);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        AccountStatus status = AccountStatus.OPEN;
+        while (status == AccountStatus.OPEN && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = cache.findById(account).orElseThrow().status();
+        }
+        assertThat(status).isEqualTo(AccountStatus.CLOSED);
+    }
+
+    @Test
+    void a_stale_open_entry_never_lets_a_transfer_post_to_a_closed_account() {
+        // No LISTEN on this cache: the entry stays stale, only the version check can catch it.
+        CachingAccountRepository cache = detachedCache();
+        UUID funding = openAccount(jdbc, true);
+        UUID closed = openAccount(jdbc, false);
+        cache.findAllById(List.of(funding, closed));
+        closeAccount(jdbc, closed);
+
+        TransferHandler handler = new TransferHandler(commandStore, cache, accountSequenceStore, accountStripeStore,
+                transferRepository, ledgerRepository, snapshotRepository, outboxRepository, balancePolicy, clock, uuidGenerator,
+                TransferMetrics.NONE);
+        assertThatThrownBy(() -> tx.execute(status -> handler.handle(transfer(funding, closed, 100))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("OPEN");
+
+        assertThat(cache.metrics().reloads()).isEqualTo(1);
+        assertThat(cache.findById(closed)).get().extracting(Account::status).isEqualTo(AccountStatus.CLOSED);
+
+        // The reload above refreshed that cache, so the batch path gets its own stale one.
+        jdbc.update("UPDATE accounts SET status = 'OPEN' WHERE id = ?", closed);
+        CachingAccountRepository batchCache = detachedCache();
+        batchCache.findAllById(List.of(funding, closed));
+        closeAccount(jdbc, closed);
+        BatchTransferHandler batchHandler = new BatchTransferHandler(commandStore, batchCache, accountSequenceStore, accountStripeStore,
+                transferRepository, ledgerRepository, snapshotRepository, outboxRepository, balancePolicy, clock, uuidGenerator);
+        List<TransferOutcome> outcomes = tx.execute(status -> batchHandler.handleAll(List.of(transfer(funding, closed, 100))));
+        assertThat(outcomes).extracting(TransferOutcome::status).containsExactly(TransferOutcome.Status.REJECTED);
+
+        assertThat(entryCount(closed)).isZero();
+        assertThat(batchCache.metrics().reloads()).isEqualTo(1);
+    }
+
+    @Test
+    void a_stale_allow_negative_entry_never_lets_a_balance_go_negative() {
+        CachingAccountRepository cache = detachedCache();
+        UUID overdraft = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        cache.findAllById(List.of(overdraft, target));
+        jdbc.update("UPDATE accounts SET allow_negative = FALSE WHERE id = ?", overdraft);
+
+        TransferHandler handler = new TransferHandler(commandStore, cache, accountSequenceStore, accountStripeStore,
+                transferRepository, ledgerRepository, snapshotRepository, outboxRepository, balancePolicy, clock, uuidGenerator,
+                TransferMetrics.NONE);
+        assertThatThrownBy(() -> tx.execute(status -> handler.handle(transfer(overdraft, target, 100))))
+                .hasMessageContaining("Insufficient funds");
+        assertThat(entryCount(overdraft)).isZero();
+    }
+
+    @Test
+    void striping_an_account_bumps_its_version() {
+        UUID account = openAccount(jdbc, false);
+        Account before = new JdbcAccountRepository(jdbc).findById(account).orElseThrow();
+
+        stripeAccount(jdbc, account, 4);
+
+        Account after = new JdbcAccountRepository(jdbc).findById(account).orElseThrow();
+        assertThat(after.stripeCount()).isEqualTo(4);
+        assertThat(after.version()).isGreaterThan(before.version());
+    }
+
+    @Test
+    void a_stale_stripe_count_fails_retryably_and_the_next_attempt_posts() {
+        CachingAccountRepository cache = detachedCache();
+        UUID funding = openAccount(jdbc, true);
+        UUID hot = openAccount(jdbc, false);
+        cache.findAllById(List.of(funding, hot));
+        stripeAccount(jdbc, hot, 4);
+
+        TransferHandler handler = new TransferHandler(commandStore, cache, accountSequenceStore, accountStripeStore,
+                transferRepository, ledgerRepository, snapshotRepository, outboxRepository, balancePolicy, clock, uuidGenerator,
+                TransferMetrics.NONE);
+        TransferCommand command = transfer(funding, hot, 100);
+        assertThatThrownBy(() -> tx.execute(status -> handler.handle(command)))
+                .isInstanceOf(StaleAccountException.class);
+        assertThat(RetryCause.of(new RuntimeException(new StaleAccountException("stale", null))))
+                .contains(RetryCause.STALE_ACCOUNT);
+
+        tx.execute(status -> handler.handle(command));
+        assertThat(entryCount(hot)).isEqualTo(1);
+        assertThat(entryCount(funding)).isEqualTo(1);
+    }
+
+    @Test
+    void a_stale_striped_entry_of_an_unstriped_account_fails_retryably_too() {
+        CachingAccountRepository cache = detachedCache();
+        UUID funding = openAccount(jdbc, true);
+        UUID hot = openAccount(jdbc, false);
+        stripeAccount(jdbc, hot, 4);
+        cache.findAllById(List.of(funding, hot));
+        jdbc.query("SELECT ledger_unstripe_account(?)", rs -> null, hot);
+
+        TransferHandler handler = handler(cache);
+        TransferCommand command = transfer(funding, hot, 100);
+        assertThatThrownBy(() -> tx.execute(status -> handler.handle(command)))
+                .isInstanceOf(StaleAccountException.class)
+                .hasCauseInstanceOf(AccountLayoutChangedException.class);
+
+        tx.execute(status -> handler.handle(command));
+        assertThat(entryCount(hot)).isEqualTo(1);
+    }
+
+    @Test
+    void a_missing_sequence_row_is_not_mistaken_for_a_stale_layout() {
+        UUID funding = openAccount(jdbc, true);
+        UUID orphan = UUID.randomUUID();
+        jdbc.update("INSERT INTO accounts(id, status, allow_negative) VALUES (?, 'OPEN', FALSE)", orphan);
+
+        TransferHandler handler = handler(detachedCache());
+        assertThatThrownBy(() -> tx.execute(status -> handler.handle(transfer(funding, orphan, 100))))
+                .isExactlyInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Missing account_sequences row for account_id=" + orphan)
+                .satisfies(e -> assertThat(RetryCause.of(e)).isEmpty());
+    }
+
+    private TransferHandler handler(CachingAccountRepository cache) {
+        return new TransferHandler(commandStore, cache, accountSequenceStore, accountStripeStore,
+                transferRepository, ledgerRepository, snapshotRepository, outboxRepository, balancePolicy, clock, uuidGenerator,
+                TransferMetrics.NONE);
+    }
+
+    private CachingAccountRepository detachedCache() {
+        return new CachingAccountRepository(new JdbcAccountRepository(jdbc), 1_000, new AccountCacheMetrics());
+    }
+
+    private int entryCount(UUID accountId) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM ledger_entries WHERE account_id = ?", Integer.class, accountId);
+    }
+}
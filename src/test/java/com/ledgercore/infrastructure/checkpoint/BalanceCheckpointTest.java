@@ -0,0 +1,147 @@
+package com.ledgercore.infrastructure.checkpoint;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.application.service.BalanceQueryService;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.stripeAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BalanceCheckpointTest extends PostgresTestBase {
+
+    private static final int EVERY = 10;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Test
+    void checkpoints_every_k_entries_and_as_of_reads_match_a_full_fold() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        for (int i = 1; i <= 95; i++) {
+            transferService.transfer(transfer(funding, target, i));
+            if (i % 3 == 0) {
+                transferService.transfer(transfer(target, funding, 1));
+            }
+        }
+        long lastSequence = maxSequence(target);
+
+        JdbcBalanceCheckpointWriter writer = new JdbcBalanceCheckpointWriter(jdbc, EVERY);
+        assertThat(writer.checkpoint(target)).isEqualTo((int) (lastSequence / EVERY));
+        // Append-only: nothing new to cover until K more entries exist.
+        assertThat(writer.checkpoint(target)).isZero();
+
+        for (long sequence = 0; sequence <= lastSequence + 2; sequence++) {
+            AccountBalance balance = balanceQueryService.balanceAt(target, sequence).orElseThrow();
+            assertThat(balance.balanceMinor()).as("as of %d", sequence).isEqualTo(fullFold(target, sequence));
+            assertThat(balance.asOfSequence()).isEqualTo(Math.min(sequence, lastSequence));
+        }
+    }
+
+    @Test
+    void as_of_time_resolves_to_the_latest_entry_created_at_or_before_it() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        for (int i = 0; i < 30; i++) {
+            transferService.transfer(transfer(funding, target, 100));
+        }
+        new JdbcBalanceCheckpointWriter(jdbc, EVERY).checkpoint(target);
+
+        Instant at = jdbc.queryForObject(
+                "SELECT created_at FROM ledger_entries WHERE account_id = ? AND sequence = 17",
+                Timestamp.class, target).toInstant();
+
+        AccountBalance balance = balanceQueryService.balanceAt(target, at).orElseThrow();
+        assertThat(balance.asOfSequence()).isGreaterThanOrEqualTo(17);
+        assertThat(balance.balanceMinor()).isEqualTo(fullFold(target, balance.asOfSequence()));
+
+        AccountBalance beforeAnything = balanceQueryService.balanceAt(target, at.minus(Duration.ofDays(1))).orElseThrow();
+        assertThat(beforeAnything).isEqualTo(new AccountBalance(target, 0, 0));
+    }
+
+    @Test
+    void striped_accounts_are_checkpointed_below_the_slowest_stripe_only() {
+        UUID funding = openAccount(jdbc, true);
+        UUID fee = openAccount(jdbc, false);
+        stripeAccount(jdbc, fee, 4);
+        for (int i = 0; i < 60; i++) {
+            transferService.transfer(transfer(funding, fee, 5));
+        }
+
+        JdbcBalanceCheckpointWriter writer = new JdbcBalanceCheckpointWriter(jdbc, EVERY);
+        writer.checkpoint(fee);
+
+        Long watermark = jdbc.queryForObject(
+                "SELECT MIN(next_sequence) FROM account_stripes WHERE account_id = ?", Long.class, fee);
+        Long lastCheckpoint = jdbc.queryForObject(
+                "SELECT MAX(sequence) FROM balance_checkpoints WHERE account_id = ?", Long.class, fee);
+        if (lastCheckpoint != null) {
+            assertThat(lastCheckpoint).isLessThan(watermark);
+        }
+        for (long sequence = 0; sequence <= maxSequence(fee); sequence += 7) {
+            assertThat(balanceQueryService.balanceAt(fee, sequence).orElseThrow().balanceMinor())
+                    .isEqualTo(fullFold(fee, sequence));
+        }
+
+        // One stripe running far ahead (its postings still in flight) does not make the account due.
+        jdbc.update("""
+            UPDATE account_stripes SET next_sequence = next_sequence + ?
+            WHERE account_id = ?
+              AND stripe = (SELECT stripe FROM account_stripes WHERE account_id = ? ORDER BY next_sequence DESC LIMIT 1)
+            """, 4 * EVERY, fee, fee);
+        assertThat(writer.dueAccounts(null, Integer.MAX_VALUE)).doesNotContain(fee);
+        assertThat(writer.checkpoint(fee)).isZero();
+    }
+
+    @Test
+    void job_checkpoints_every_due_account_across_rounds() {
+        UUID funding = openAccount(jdbc, true);
+        UUID[] targets = new UUID[5];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = openAccount(jdbc, false);
+            for (int j = 0; j < EVERY; j++) {
+                transferService.transfer(transfer(funding, targets[i], 1));
+            }
+        }
+
+        BalanceCheckpointJob job = new BalanceCheckpointJob(new JdbcBalanceCheckpointWriter(jdbc, EVERY), 2, Duration.ofMinutes(1));
+        assertThat(job.runOnce()).isGreaterThanOrEqualTo(targets.length);
+
+        for (UUID target : targets) {
+            assertThat(jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM balance_checkpoints WHERE account_id = ?", Integer.class, target)).isEqualTo(1);
+        }
+    }
+
+    private long fullFold(UUID accountId, long sequence) {
+        return jdbc.queryForObject("""
+            SELECT COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount_minor ELSE -amount_minor END), 0)
+            FROM ledger_entries
+            WHERE account_id = ?
+              AND sequence <= ?
+            """, Long.class, accountId, sequence);
+    }
+
+    private long maxSequence(UUID accountId) {
+        return jdbc.queryForObject("SELECT MAX(sequence) FROM ledger_entries WHERE account_id = ?", Long.class, accountId);
+    }
+}
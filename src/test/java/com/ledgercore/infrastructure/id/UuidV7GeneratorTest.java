@@ -0,0 +1,113 @@
+package com.ledgercore.infrastructure.id;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.UuidGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UuidV7GeneratorTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Test
+    void default_generator_is_v7_with_rfc_variant_and_millis_prefix() {
+        long before = System.currentTimeMillis();
+        UUID id = uuidGenerator.randomUuid();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuidGenerator).isInstanceOf(UuidV7Generator.class);
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+    }
+
+    @Test
+    void ids_are_unique_and_increasing_per_thread_under_contention() throws Exception {
+        UuidV7Generator generator = new UuidV7Generator();
+        int threads = 8;
+        int perThread = 20_000;
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(generator.randomUuid());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 1; i < ids.size(); i++) {
+                assertThat(prefix(ids.get(i))).isGreaterThan(prefix(ids.get(i - 1)));
+            }
+            all.addAll(ids);
+        }
+        assertThat(all).hasSize(threads * perThread);
+    }
+
+    @Test
+    void clock_regression_and_counter_overflow_keep_ids_increasing() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7Generator generator = new UuidV7Generator(clock::get);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(generator.randomUuid());
+        }
+        clock.addAndGet(-10_000);
+        for (int i = 0; i < 100; i++) {
+            ids.add(generator.randomUuid());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(prefix(ids.get(i))).isGreaterThan(prefix(ids.get(i - 1)));
+        }
+        // 5000 ids in one millisecond overflow the 12-bit counter into the next one.
+        assertThat(ids.get(4_999).getMostSignificantBits() >>> 16).isEqualTo(1_700_000_000_001L);
+    }
+
+    @Test
+    void postgres_orders_ids_in_generation_order() {
+        UuidV7Generator generator = new UuidV7Generator();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            ids.add(generator.randomUuid());
+        }
+
+        List<UUID> sorted = jdbc.queryForList(
+                "SELECT id FROM unnest(?::uuid[]) AS t(id) ORDER BY id",
+                UUID.class, (Object) ids.stream().map(UUID::toString).toArray(String[]::new));
+
+        assertThat(sorted).containsExactlyElementsOf(ids);
+    }
+
+    // The 60 time + counter bits, without the version nibble.
+    private static long prefix(UUID id) {
+        long msb = id.getMostSignificantBits();
+        return (msb >>> 16) << 12 | (msb & 0xFFFL);
+    }
+}
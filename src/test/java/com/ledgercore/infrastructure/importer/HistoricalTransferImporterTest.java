@@ -0,0 +1,202 @@
+package com.ledgercore.infrastructure.importer;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.application.service.BalanceQueryService;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcBalanceReader;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class HistoricalTransferImporterTest extends PostgresTestBase {
+
+    private static final Instant T0 = Instant.parse("2019-03-01T12:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Test
+    void imports_history_with_final_sequences_and_snapshots_and_live_transfers_continue_after_it() throws IOException {
+        UUID funding = openAccount(jdbc, true);
+        UUID merchant = openAccount(jdbc, false);
+        UUID customer = openAccount(jdbc, false);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("command_id,transfer_id,from_account_id,to_account_id,amount_minor,currency,created_at");
+        lines.add(line(funding, merchant, 1_000, 0));
+        lines.add(line(funding, customer, 500, 1));
+        lines.add(line(customer, merchant, 200, 2));
+        lines.add("");
+        lines.add(line(customer, merchant, 300, 3));
+        lines.add(line(merchant, funding, 1_500, 4));
+        lines.add(line(funding, customer, 50, 5));
+        Path file = write("history.csv", lines);
+
+        ImportSummary summary = importer(2).run("it-" + UUID.randomUUID(), file);
+
+        assertThat(summary.transfers()).isEqualTo(6);
+        assertThat(summary.entries()).isEqualTo(12);
+        assertThat(balanceQueryService.balance(merchant)).contains(new AccountBalance(merchant, 0, 4));
+        assertThat(balanceQueryService.balance(customer)).contains(new AccountBalance(customer, 50, 4));
+        assertThat(balanceQueryService.balance(funding)).contains(new AccountBalance(funding, -50, 4));
+        assertThat(nextSequence(merchant)).isEqualTo(5);
+        assertThat(jdbc.queryForList("SELECT as_of_sequence, balance_minor FROM balance_snapshots WHERE account_id = ?",
+                customer)).containsExactly(Map.of("as_of_sequence", 4L, "balance_minor", 50L));
+        assertThat(jdbc.queryForList("SELECT sequence FROM ledger_entries WHERE account_id = ? ORDER BY sequence",
+                Long.class, merchant)).containsExactly(1L, 2L, 3L, 4L);
+
+        // The counters were left where live transfers continue.
+        transferService.transfer(transfer(funding, merchant, 10));
+        assertThat(balanceQueryService.balance(merchant)).contains(new AccountBalance(merchant, 10, 5));
+
+        // Sequence order is time order, so as-of-time reads see the imported history.
+        assertThat(balanceQueryService.balanceAt(merchant, T0.minusSeconds(1))).contains(new AccountBalance(merchant, 0, 0));
+        assertThat(balanceQueryService.balanceAt(merchant, T0.plusSeconds(60 * 3 + 30)))
+                .contains(new AccountBalance(merchant, 1_500, 3));
+        assertThat(balanceQueryService.balanceAt(merchant, Instant.now().minusSeconds(60)))
+                .contains(new AccountBalance(merchant, 0, 4));
+        assertThat(balanceQueryService.balanceAt(merchant, Instant.now())).contains(new AccountBalance(merchant, 10, 5));
+    }
+
+    @Test
+    void history_older_than_an_accounts_existing_entries_is_refused() throws IOException {
+        UUID funding = openAccount(jdbc, true);
+        UUID merchant = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, merchant, 1_000));
+
+        Path older = write("older.csv", List.of(line(funding, merchant, 10, 0)));
+        assertThatThrownBy(() -> importer(10).run("it-" + UUID.randomUUID(), older))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1: created_at")
+                .hasMessageContaining("before the last entry of account " + funding);
+        assertThat(nextSequence(merchant)).isEqualTo(2);
+
+        // History that starts after the live entries continues their sequences.
+        Instant later = Instant.now().plusSeconds(1);
+        Path newer = write("newer.csv", List.of(line(funding, merchant, 10, later), line(merchant, funding, 5, later.plusSeconds(1))));
+        assertThat(importer(10).run("it-" + UUID.randomUUID(), newer).transfers()).isEqualTo(2);
+        assertThat(jdbc.queryForList("SELECT sequence FROM ledger_entries WHERE account_id = ? ORDER BY sequence",
+                Long.class, merchant)).containsExactly(1L, 2L, 3L);
+        assertThat(balanceQueryService.balance(merchant)).contains(new AccountBalance(merchant, 1_005, 3));
+    }
+
+    @Test
+    void an_overdraft_stops_the_run_and_the_fixed_file_resumes_after_the_last_committed_chunk() throws IOException {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        String runId = "it-" + UUID.randomUUID();
+
+        List<String> lines = new ArrayList<>(List.of(
+                line(funding, account, 100, 0),
+                line(funding, account, 100, 1),
+                line(account, funding, 150, 2),
+                line(funding, account, 100, 3),
+                line(account, funding, 500, 4)));
+        Path file = write("resume.csv", lines);
+
+        assertThatThrownBy(() -> importer(2).run(runId, file))
+                .isInstanceOf(InsufficientFundsException.class)
+                .hasMessageContaining("line 5");
+        assertThat(jdbc.queryForObject("SELECT lines FROM import_progress WHERE run_id = ?", Long.class, runId)).isEqualTo(4);
+        assertThat(balanceQueryService.balance(account)).contains(new AccountBalance(account, 150, 4));
+
+        lines.set(4, line(account, funding, 120, 4));
+        write("resume.csv", lines);
+        ImportSummary resumed = importer(2).run(runId, file);
+
+        assertThat(resumed.skippedLines()).isEqualTo(4);
+        assertThat(resumed.transfers()).isEqualTo(1);
+        assertThat(balanceQueryService.balance(account)).contains(new AccountBalance(account, 30, 5));
+        assertThat(importer(2).run(runId, file).transfers()).isZero();
+    }
+
+    @Test
+    void unknown_accounts_and_malformed_lines_are_reported_with_their_line() throws IOException {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+
+        Path unknown = write("unknown.csv", List.of(line(funding, account, 1, 0), line(funding, UUID.randomUUID(), 1, 1)));
+        assertThatThrownBy(() -> importer(10).run("it-" + UUID.randomUUID(), unknown))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2: unknown account");
+
+        Path backwards = write("backwards.csv", List.of(line(funding, account, 1, 5), line(funding, account, 1, 4)));
+        assertThatThrownBy(() -> importer(10).run("it-" + UUID.randomUUID(), backwards))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2: created_at");
+
+        Path zero = write("zero.csv", List.of(line(funding, account, 1, 0), line(funding, account, 0, 1)));
+        assertThatThrownBy(() -> importer(10).run("it-" + UUID.randomUUID(), zero))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2: ")
+                .hasMessageContaining("> 0");
+
+        Path mixed = write("mixed.csv", List.of(line(funding, account, 1, 0),
+                line(funding, account, 1, "USD", T0.plusSeconds(60))));
+        assertThatThrownBy(() -> importer(10).run("it-" + UUID.randomUUID(), mixed))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2: account " + funding + " holds EUR, not USD");
+        assertThat(nextSequence(account)).isEqualTo(1);
+    }
+
+    private HistoricalTransferImporter importer(int chunkSize) {
+        return new HistoricalTransferImporter(jdbc, tx, new JdbcBalanceReader(jdbc), uuidGenerator, chunkSize);
+    }
+
+    private long nextSequence(UUID accountId) {
+        return jdbc.queryForObject("SELECT next_sequence FROM account_sequences WHERE account_id = ?", Long.class, accountId);
+    }
+
+    private Path write(String name, List<String> lines) throws IOException {
+        return Files.write(dir.resolve(name), lines);
+    }
+
+    private static String line(UUID from, UUID to, long amountMinor, int minutes) {
+        return line(from, to, amountMinor, T0.plusSeconds(60L * minutes));
+    }
+
+    private static String line(UUID from, UUID to, long amountMinor, Instant createdAt) {
+        return line(from, to, amountMinor, "EUR", createdAt);
+    }
+
+    private static String line(UUID from, UUID to, long amountMinor, String currency, Instant createdAt) {
+        return String.join(",", UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+                from.toString(), to.toString(), Long.toString(amountMinor), currency, createdAt.toString());
+    }
+}
@@ -0,0 +1,97 @@
+package com.ledgercore.infrastructure.metrics;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.infrastructure.service.PartitionedTransferService;
+import com.ledgercore.infrastructure.service.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * No database needed: the delegate blocks until released, so queue depth is deterministic.
+ */
+class LaneMeterBinderTest {
+
+    @Test
+    void every_lane_reports_its_queue_depth_busy_time_and_utilization() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TransferService blocking = new TransferService() {
+            @Override
+            public TransferResult transfer(TransferCommand command) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new TransferResult(UUID.randomUUID(), command.commandId());
+            }
+
+            @Override
+            public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        AtomicLong clock = new AtomicLong();
+        MeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PartitionedTransferService lanes = new PartitionedTransferService(blocking, 2);
+             ExecutorService clients = Executors.newFixedThreadPool(3)) {
+            new LaneMeterBinder(lanes, clock::get).bindTo(registry);
+            UUID from = UUID.randomUUID();
+            UUID to = UUID.randomUUID();
+            while (lanes.laneOf(from) != lanes.laneOf(to)) {
+                to = UUID.randomUUID();
+            }
+            String busyLane = Integer.toString(lanes.laneOf(from));
+            String idleLane = Integer.toString(1 - lanes.laneOf(from));
+
+            List<Future<TransferResult>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                TransferCommand command = transfer(from, to, 1);
+                results.add(clients.submit(() -> lanes.transfer(command)));
+            }
+            // One transfer runs and blocks; the other two wait on the same lane.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (gauge(registry, "ledger.transfer.lane.queue.depth", busyLane) < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(gauge(registry, "ledger.transfer.lane.queue.depth", busyLane)).isEqualTo(2);
+            assertThat(gauge(registry, "ledger.transfer.lane.queue.depth", idleLane)).isZero();
+
+            release.countDown();
+            for (Future<TransferResult> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+
+            long busyNanos = lanes.laneStats().get(lanes.laneOf(from)).busyNanos();
+            clock.set(busyNanos * 2);
+            assertThat(gauge(registry, "ledger.transfer.lane.queue.depth", busyLane)).isZero();
+            assertThat(gauge(registry, "ledger.transfer.lane.utilization", busyLane)).isCloseTo(0.5, within(1e-9));
+            assertThat(gauge(registry, "ledger.transfer.lane.utilization", idleLane)).isZero();
+            assertThat(registry.get("ledger.transfer.lane.busy").tag("lane", busyLane).functionCounter().count())
+                    .isCloseTo(busyNanos / 1e9, within(1e-9));
+            assertThat(registry.get("ledger.transfer.lane.completed").tag("lane", busyLane).functionCounter().count())
+                    .isEqualTo(3);
+
+            // The next read only covers the interval since this one: nothing ran in it.
+            clock.set(busyNanos * 3);
+            assertThat(gauge(registry, "ledger.transfer.lane.utilization", busyLane)).isZero();
+        }
+    }
+
+    private static double gauge(MeterRegistry registry, String name, String lane) {
+        return registry.get(name).tag("lane", lane).gauge().value();
+    }
+}
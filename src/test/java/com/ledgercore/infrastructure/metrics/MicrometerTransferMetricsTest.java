@@ -0,0 +1,93 @@
+package com.ledgercore.infrastructure.metrics;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.infrastructure.service.TransferService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.closeAccount;
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class MicrometerTransferMetricsTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void every_step_lock_wait_and_commit_is_timed() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        long[] stepsBefore = stepCounts();
+        long lockWaitsBefore = registry.get("ledger.transfer.lock.wait").timer().count();
+        long commitsBefore = registry.get("ledger.transfer.commit").timer().count();
+
+        transferService.transfer(transfer(funding, target, 10));
+
+        long[] stepsAfter = stepCounts();
+        for (TransferMetrics.Step step : TransferMetrics.Step.values()) {
+            assertThat(stepsAfter[step.ordinal()] - stepsBefore[step.ordinal()]).as(step.name()).isEqualTo(1);
+        }
+        assertThat(registry.get("ledger.transfer.lock.wait").timer().count()).isEqualTo(lockWaitsBefore + 1);
+        assertThat(registry.get("ledger.transfer.commit").timer().count()).isEqualTo(commitsBefore + 1);
+    }
+
+    @Test
+    void replays_and_rejections_are_counted() {
+        UUID funding = openAccount(jdbc, true);
+        UUID poor = openAccount(jdbc, false);
+        UUID closed = openAccount(jdbc, false);
+        closeAccount(jdbc, closed);
+        double replaysBefore = registry.get("ledger.transfer.replays").counter().count();
+        double insufficientBefore = rejections(TransferMetrics.Rejection.INSUFFICIENT_FUNDS);
+        double notOpenBefore = rejections(TransferMetrics.Rejection.ACCOUNT_NOT_OPEN);
+
+        TransferCommand command = transfer(funding, poor, 10);
+        transferService.transfer(command);
+        transferService.transfer(command);
+        assertThatThrownBy(() -> transferService.transfer(transfer(poor, funding, 11)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThatThrownBy(() -> transferService.transfer(transfer(funding, closed, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get("ledger.transfer.replays").counter().count()).isEqualTo(replaysBefore + 1);
+        assertThat(rejections(TransferMetrics.Rejection.INSUFFICIENT_FUNDS)).isEqualTo(insufficientBefore + 1);
+        assertThat(rejections(TransferMetrics.Rejection.ACCOUNT_NOT_OPEN)).isEqualTo(notOpenBefore + 1);
+    }
+
+    private long[] stepCounts() {
+        long[] counts = new long[TransferMetrics.Step.values().length];
+        for (TransferMetrics.Step step : TransferMetrics.Step.values()) {
+            counts[step.ordinal()] = registry.get("ledger.transfer.step")
+                    .tag("step", step.name().toLowerCase(Locale.ROOT))
+                    .timer()
+                    .count();
+        }
+        return counts;
+    }
+
+    private double rejections(TransferMetrics.Rejection rejection) {
+        return registry.get("ledger.transfer.rejections")
+                .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ledgercore.infrastructure.outbox;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class OutboxPublisherTest extends PostgresTestBase {
+
+    private static final OutboxPublisherPolicy POLICY = new OutboxPublisherPolicy(
+            1, 50, Duration.ofSeconds(30), Duration.ZERO, 2, Duration.ZERO, Duration.ZERO);
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    JdbcOutboxQueue queue;
+
+    @Test
+    void concurrent_publishers_deliver_every_event_exactly_once() throws Exception {
+        drain();
+        Set<UUID> eventIds = createEvents(600);
+
+        InMemoryOutboxSink sink = new InMemoryOutboxSink();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                OutboxPublisher publisher = new OutboxPublisher(queue, sink, POLICY, new OutboxPublisherMetrics());
+                futures.add(pool.submit(() -> {
+                    while (publisher.publishOnce() > 0) {
+                        // keep claiming until nothing is due
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<UUID, Integer> deliveries = new HashMap<>();
+        for (OutboxEvent event : sink.delivered()) {
+            deliveries.merge(event.id(), 1, Integer::sum);
+        }
+        assertThat(deliveries.keySet()).containsAll(eventIds);
+        assertThat(deliveries.values()).containsOnly(1);
+        assertThat(statusCount(eventIds, "SENT")).isEqualTo(eventIds.size());
+    }
+
+    @Test
+    void failed_deliveries_back_off_and_park_after_max_attempts() {
+        drain();
+        UUID poison = createEvents(3).iterator().next();
+
+        OutboxSink sink = events -> events.stream().anyMatch(e -> e.id().equals(poison))
+                ? Map.of(poison, "broker said no")
+                : Map.of();
+        OutboxPublisherMetrics metrics = new OutboxPublisherMetrics();
+        OutboxPublisher publisher = new OutboxPublisher(queue, sink, POLICY, metrics);
+
+        publisher.publishOnce();
+        Map<String, Object> afterFirst = row(poison);
+        assertThat(afterFirst.get("status")).isEqualTo("FAILED");
+        assertThat(afterFirst.get("attempts")).isEqualTo(1);
+        assertThat(afterFirst.get("last_error")).isEqualTo("broker said no");
+        assertThat(afterFirst.get("parked")).isEqualTo(false);
+
+        publisher.publishOnce();
+        Map<String, Object> afterSecond = row(poison);
+        assertThat(afterSecond.get("attempts")).isEqualTo(2);
+        assertThat(afterSecond.get("parked")).isEqualTo(true);
+
+        assertThat(publisher.publishOnce()).isZero();
+        assertThat(metrics.sent()).isEqualTo(2);
+        assertThat(metrics.failed()).isEqualTo(1);
+        assertThat(metrics.parked()).isEqualTo(1);
+    }
+
+    @Test
+    void a_late_mark_from_an_expired_lease_is_ignored() throws Exception {
+        drain();
+        UUID eventId = createEvents(1).iterator().next();
+
+        List<OutboxEvent> first = queue.claim(10, Duration.ofMillis(1));
+        Thread.sleep(20);
+        List<OutboxEvent> second = queue.claim(10, Duration.ofSeconds(30));
+
+        assertThat(first).extracting(OutboxEvent::id).containsExactly(eventId);
+        assertThat(second).extracting(OutboxEvent::id).containsExactly(eventId);
+        assertThat(second.get(0).attempts()).isEqualTo(first.get(0).attempts() + 1);
+
+        assertThat(queue.markSent(first)).isZero();
+        assertThat(queue.markSent(second)).isEqualTo(1);
+    }
+
+    private Set<UUID> createEvents(int count) {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        List<TransferCommand> commands = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            commands.add(transfer(funding, target, 1));
+        }
+        transferService.transferAll(commands);
+        return new HashSet<>(jdbc.queryForList("""
+            SELECT o.id
+            FROM outbox_events o
+            JOIN transfers t ON t.id = o.aggregate_id
+            WHERE t.to_account_id = ?
+            """, UUID.class, target));
+    }
+
+    // Delivers whatever earlier tests left PENDING so each test starts from an empty queue.
+    private void drain() {
+        OutboxPublisher publisher = new OutboxPublisher(queue, new InMemoryOutboxSink(), POLICY, new OutboxPublisherMetrics());
+        while (publisher.publishOnce() > 0) {
+            // drain
+        }
+    }
+
+    private Map<String, Object> row(UUID eventId) {
+        return jdbc.queryForMap("""
+            SELECT status::text AS status, attempts, last_error, available_at = 'infinity' AS parked
+            FROM outbox_events
+            WHERE id = ?
+            """, eventId);
+    }
+
+    private int statusCount(Set<UUID> eventIds, String status) {
+        int count = 0;
+        for (UUID eventId : eventIds) {
+            if (status.equals(row(eventId).get("status"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ledgercore.infrastructure.partition;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static com.ledgercore.infrastructure.partition.JdbcPartitionManager.LEDGER_ENTRIES;
+import static com.ledgercore.infrastructure.partition.JdbcPartitionManager.OUTBOX_EVENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PartitionMaintenanceTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    JdbcPartitionManager manager;
+
+    @Test
+    void rows_land_in_month_partitions_and_account_sequence_stays_unique_within_one() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        UUID transferId = transferService.transfer(transfer(funding, target, 10)).transferId();
+
+        List<String> partitions = jdbc.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM ledger_entries WHERE transfer_id = ?", String.class, transferId);
+        assertThat(partitions).hasSize(1).doesNotContain("ledger_entries_default");
+
+        assertThatThrownBy(() -> jdbc.update("""
+            INSERT INTO ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+            SELECT gen_random_uuid(), transfer_id, account_id, sequence, direction, amount_minor, currency, created_at
+            FROM ledger_entries
+            WHERE transfer_id = ? AND account_id = ?
+            """, transferId, target))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void months_are_created_ahead_contiguously_and_optionally_hash_subdivided() {
+        Instant until = Instant.now().atOffset(ZoneOffset.UTC).plusMonths(4).toInstant();
+
+        List<String> created = manager.createUntil(LEDGER_ENTRIES, until, 4);
+
+        assertThat(manager.createUntil(LEDGER_ENTRIES, until, 4)).isEmpty();
+        assertThat(created).isNotEmpty();
+        for (String month : created) {
+            Integer leaves = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM pg_inherits WHERE inhparent = ?::regclass", Integer.class, month);
+            assertThat(leaves).as(month).isEqualTo(4);
+        }
+
+        List<JdbcPartitionManager.Partition> months = manager.partitions(LEDGER_ENTRIES).stream()
+                .filter(partition -> partition.upperBound() != null)
+                .toList();
+        assertThat(months.get(months.size() - 1).upperBound()).isAfter(until);
+        for (int i = 1; i < months.size(); i++) {
+            Instant from = months.get(i - 1).upperBound().atOffset(ZoneOffset.UTC).plusMonths(1).toInstant();
+            assertThat(months.get(i).upperBound()).as(months.get(i).name()).isEqualTo(from);
+        }
+    }
+
+    @Test
+    void outbox_month_is_retired_only_once_every_event_in_it_is_sent() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        TransferCommand command = transfer(funding, target, 10);
+        UUID transferId = transferService.transfer(command).transferId();
+        String month = "outbox_events_p2099_01";
+        try {
+            assertThat(jdbc.queryForObject(
+                    "SELECT ledger_create_partition(?, '2099-01-01 00:00:00+00', '2099-02-01 00:00:00+00', 0)",
+                    String.class, OUTBOX_EVENTS)).isEqualTo(month);
+            UUID eventId = UUID.randomUUID();
+            jdbc.update("""
+                INSERT INTO outbox_events(id, aggregate_type, aggregate_id, event_type, payload_json, command_id,
+                                          status, available_at, created_at)
+                VALUES (?, 'Transfer', ?, 'TransferCompleted', '{}'::jsonb, ?, 'PENDING',
+                        '2099-01-15 00:00:00+00', '2099-01-15 00:00:00+00')
+                """, eventId, transferId, command.commandId());
+
+            assertThat(manager.retireOutboxPartition(month, true)).isFalse();
+            assertThat(manager.partitions(OUTBOX_EVENTS)).extracting(JdbcPartitionManager.Partition::name).contains(month);
+
+            jdbc.update("UPDATE outbox_events SET status = 'SENT' WHERE id = ?", eventId);
+            assertThat(manager.retireOutboxPartition(month, true)).isTrue();
+            assertThat(manager.partitions(OUTBOX_EVENTS)).extracting(JdbcPartitionManager.Partition::name).doesNotContain(month);
+            assertThat(jdbc.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, month)).isTrue();
+        } finally {
+            jdbc.execute("DROP TABLE IF EXISTS " + month);
+        }
+    }
+}
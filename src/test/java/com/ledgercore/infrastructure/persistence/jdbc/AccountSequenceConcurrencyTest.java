@@ -0,0 +1,198 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.AccountSequenceStore;
+import com.ledgercore.application.ports.Clock;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.infrastructure.service.SqlFunctionTransferService;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers opposing transfer pairs (A->B and B->A at the same time).
+ *
+ * With locks taken in command order these deadlock within a few iterations;
+ * with canonical ordering there must be zero failures and gap-free sequences.
+ */
+@SpringBootTest
+class AccountSequenceConcurrencyTest extends PostgresTestBase {
+
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    AccountSequenceStore accountSequenceStore;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    Clock clock;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Autowired
+    BatchTransferHandler batchHandler;
+
+    @Test
+    void opposing_transfers_do_not_deadlock_on_the_handler_engine() throws Exception {
+        hammerOpposingPairs(transferService);
+    }
+
+    @Test
+    void opposing_transfers_do_not_deadlock_on_the_sql_function_engine() throws Exception {
+        hammerOpposingPairs(new SqlFunctionTransferService(jdbc, clock, uuidGenerator, batchHandler, tx));
+    }
+
+    @Test
+    void concurrent_multi_account_reservations_are_gap_free() throws Exception {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            accounts.add(openAccount(jdbc, false));
+        }
+
+        Map<UUID, Set<Long>> reserved = new ConcurrentHashMap<>();
+        for (UUID account : accounts) {
+            reserved.put(account, ConcurrentHashMap.newKeySet());
+        }
+
+        List<Throwable> failures = runConcurrently(thread -> {
+            Random random = new Random(thread);
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                // Random subset in random order: the store must not care about caller order.
+                List<UUID> subset = new ArrayList<>(accounts);
+                Collections.shuffle(subset, random);
+                List<UUID> pick = subset.subList(0, 2 + random.nextInt(accounts.size() - 1));
+
+                Map<UUID, AccountSequenceStore.SequenceLock> sequences =
+                        tx.execute(status -> accountSequenceStore.reserveNextSequences(pick));
+                assertThat(sequences).containsOnlyKeys(pick);
+                sequences.forEach((account, lock) ->
+                        assertThat(reserved.get(account).add(lock.sequence())).as("sequence handed out twice").isTrue());
+            }
+        });
+
+        assertThat(failures).isEmpty();
+        for (UUID account : accounts) {
+            Set<Long> sequences = reserved.get(account);
+            Long next = jdbc.queryForObject(
+                    "SELECT next_sequence FROM account_sequences WHERE account_id = ?", Long.class, account);
+            assertThat(next).isEqualTo(sequences.size() + 1L);
+            for (long expected = 1; expected <= sequences.size(); expected++) {
+                assertThat(sequences).contains(expected);
+            }
+        }
+    }
+
+    private void hammerOpposingPairs(TransferService engine) throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID a = openAccount(jdbc, false);
+        UUID b = openAccount(jdbc, false);
+        engine.transfer(transfer(funding, a, 1_000_000));
+        engine.transfer(transfer(funding, b, 1_000_000));
+
+        List<Throwable> failures = runConcurrently(thread -> {
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                if (thread % 2 == 0) {
+                    engine.transfer(transfer(a, b, 1 + i % 7));
+                } else {
+                    engine.transfer(transfer(b, a, 1 + i % 7));
+                }
+            }
+        });
+
+        assertThat(failures.stream().filter(AccountSequenceConcurrencyTest::isDeadlock).toList())
+                .as("deadlocks")
+                .isEmpty();
+        assertThat(failures).isEmpty();
+
+        long expectedPerAccount = 1 + (long) THREADS * TRANSFERS_PER_THREAD;
+        for (UUID account : List.of(a, b)) {
+            List<Long> sequences = jdbc.queryForList(
+                    "SELECT sequence FROM ledger_entries WHERE account_id = ? ORDER BY sequence", Long.class, account);
+            assertThat(sequences).hasSize((int) expectedPerAccount);
+            for (int i = 0; i < sequences.size(); i++) {
+                assertThat(sequences.get(i)).isEqualTo(i + 1L);
+            }
+
+            Long ledgerBalance = jdbc.queryForObject("""
+                SELECT SUM(CASE direction WHEN 'CREDIT' THEN amount_minor ELSE -amount_minor END)
+                FROM ledger_entries
+                WHERE account_id = ?
+                """, Long.class, account);
+            Map<String, Object> snapshot = jdbc.queryForMap(
+                    "SELECT as_of_sequence, balance_minor FROM balance_snapshots WHERE account_id = ?", account);
+            assertThat(snapshot.get("balance_minor")).isEqualTo(ledgerBalance);
+            assertThat(snapshot.get("as_of_sequence")).isEqualTo(expectedPerAccount);
+        }
+
+        Long total = jdbc.queryForObject("""
+            SELECT SUM(CASE direction WHEN 'CREDIT' THEN amount_minor ELSE -amount_minor END)
+            FROM ledger_entries
+            WHERE account_id IN (?, ?, ?)
+            """, Long.class, funding, a, b);
+        assertThat(total).isZero();
+    }
+
+    private static List<Throwable> runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    try {
+                        start.await();
+                        body.run(thread);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    private static boolean isDeadlock(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && "40P01".equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
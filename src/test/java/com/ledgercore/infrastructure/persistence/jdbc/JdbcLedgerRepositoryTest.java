@@ -0,0 +1,98 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.CommandStore;
+import com.ledgercore.application.ports.LedgerRepository;
+import com.ledgercore.application.ports.TransferRepository;
+import com.ledgercore.domain.model.Currency;
+import com.ledgercore.domain.model.Money;
+import com.ledgercore.domain.model.Transfer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * insertTransferEntries writes both rows of a transfer in one statement, straight from the Transfer.
+ */
+@SpringBootTest
+class JdbcLedgerRepositoryTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    CommandStore commandStore;
+
+    @Autowired
+    TransferRepository transferRepository;
+
+    @Autowired
+    LedgerRepository ledgerRepository;
+
+    @Test
+    void insert_transfer_entries_writes_a_debit_and_a_credit_from_the_transfer() {
+        Transfer transfer = storedTransfer(Money.ofMinor(1_234, Currency.of("USD")));
+        UUID debitId = UUID.randomUUID();
+        UUID creditId = UUID.randomUUID();
+
+        ledgerRepository.insertTransferEntries(transfer, debitId, 7, creditId, 3);
+
+        List<Map<String, Object>> rows = jdbc.queryForList("""
+                SELECT id, account_id, sequence, direction::text AS direction, amount_minor, currency, created_at
+                FROM ledger_entries
+                WHERE transfer_id = ?
+                ORDER BY sequence DESC
+                """, transfer.id());
+        assertThat(rows).hasSize(2);
+        assertEntry(rows.get(0), debitId, transfer.fromAccountId(), 7, "DEBIT", transfer);
+        assertEntry(rows.get(1), creditId, transfer.toAccountId(), 3, "CREDIT", transfer);
+    }
+
+    @Test
+    void insert_transfer_entries_writes_both_rows_or_neither() {
+        Transfer transfer = storedTransfer(Money.ofMinor(500, Currency.of("EUR")));
+
+        // sequence 0 breaks the CHECK on the credit row only.
+        assertThatThrownBy(() -> ledgerRepository.insertTransferEntries(transfer, UUID.randomUUID(), 1, UUID.randomUUID(), 0))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM ledger_entries WHERE transfer_id = ?",
+                Long.class, transfer.id())).isZero();
+    }
+
+    private Transfer storedTransfer(Money money) {
+        UUID from = openAccount(jdbc, true);
+        UUID to = openAccount(jdbc, false);
+        UUID commandId = UUID.randomUUID();
+        // NOTE: PostgreSQL keeps microseconds; truncate so the round trip compares equal.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        commandStore.tryInsertReceived(commandId, "Transfer", "test", now);
+        Transfer transfer = new Transfer(UUID.randomUUID(), commandId, from, to, money, now);
+        transferRepository.insert(transfer);
+        return transfer;
+    }
+
+    private static void assertEntry(Map<String, Object> row, UUID id, UUID accountId, long sequence, String direction,
+                                    Transfer transfer) {
+        assertThat(row.get("id")).isEqualTo(id);
+        assertThat(row.get("account_id")).isEqualTo(accountId);
+        assertThat(row.get("sequence")).isEqualTo(sequence);
+        assertThat(row.get("direction")).isEqualTo(direction);
+        assertThat(row.get("amount_minor")).isEqualTo(transfer.money().amountMinor());
+        assertThat(row.get("currency")).isEqualTo(transfer.money().currency().code());
+        assertThat(((Timestamp) row.get("created_at")).toInstant()).isEqualTo(transfer.createdAt());
+    }
+}
@@ -0,0 +1,224 @@
+package com.ledgercore.infrastructure.persistence.jdbc;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.Clock;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferOutcome.Status;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.infrastructure.service.SqlFunctionTransferService;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.stripeAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hot (striped) account under concurrent credits and sweeping debits.
+ *
+ * Must hold on both engines: balance = sum of stripes = sum of ledger entries,
+ * every stripe gap-free in its own interleaved sequence slice, no negative balance.
+ */
+@SpringBootTest
+class StripedAccountTest extends PostgresTestBase {
+
+    private static final int STRIPES = 4;
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    Clock clock;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Autowired
+    BatchTransferHandler batchHandler;
+
+    @Test
+    void concurrent_credits_and_debits_keep_stripes_consistent_on_the_handler_engine() throws Exception {
+        hammerStripedAccount(transferService);
+    }
+
+    @Test
+    void concurrent_credits_and_debits_keep_stripes_consistent_on_the_sql_function_engine() throws Exception {
+        hammerStripedAccount(new SqlFunctionTransferService(jdbc, clock, uuidGenerator, batchHandler, tx));
+    }
+
+    @Test
+    void striping_carries_the_balance_over_and_unstriping_merges_it_back() {
+        UUID funding = openAccount(jdbc, true);
+        UUID fee = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, fee, 1_000));
+        transferService.transfer(transfer(funding, fee, 500));
+
+        stripeAccount(jdbc, fee, STRIPES);
+        assertThat(stripeTotal(fee)).isEqualTo(1_500L);
+
+        List<TransferOutcome> outcomes = transferService.transferAll(List.of(
+                transfer(funding, fee, 100),
+                transfer(fee, funding, 1_000),
+                transfer(fee, funding, 700),
+                transfer(funding, fee, 25)
+        ));
+        assertThat(outcomes).extracting(TransferOutcome::status).containsExactly(
+                Status.APPLIED, Status.APPLIED, Status.REJECTED, Status.APPLIED);
+        assertThat(stripeTotal(fee)).isEqualTo(625L).isEqualTo(ledgerBalance(fee));
+        assertStripesGapFree(fee, 3);
+
+        jdbc.query("SELECT ledger_unstripe_account(?)", rs -> null, fee);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM account_stripes WHERE account_id = ?", Long.class, fee))
+                .isZero();
+
+        transferService.transfer(transfer(fee, funding, 25));
+        Map<String, Object> snapshot = jdbc.queryForMap(
+                "SELECT as_of_sequence, balance_minor FROM balance_snapshots WHERE account_id = ?", fee);
+        assertThat(snapshot.get("balance_minor")).isEqualTo(600L).isEqualTo(ledgerBalance(fee));
+        assertThat(snapshot.get("as_of_sequence")).isEqualTo(maxSequence(fee));
+    }
+
+    private void hammerStripedAccount(TransferService engine) throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        List<UUID> payers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UUID payer = openAccount(jdbc, false);
+            engine.transfer(transfer(funding, payer, 1_000_000));
+            payers.add(payer);
+        }
+        UUID fee = openAccount(jdbc, false);
+        engine.transfer(transfer(funding, fee, 10));
+        stripeAccount(jdbc, fee, STRIPES);
+
+        List<Throwable> failures = runConcurrently(thread -> {
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                if (thread % 4 == 3) {
+                    // Sweeps race the credits: some may find too little and be rejected, none may overdraw.
+                    try {
+                        engine.transfer(transfer(fee, funding, 40));
+                    } catch (InsufficientFundsException expected) {
+                        // rejected sweep: the exact total was too low at that moment
+                    }
+                } else {
+                    engine.transfer(transfer(payers.get(thread), fee, 1 + i % 7));
+                }
+            }
+        });
+
+        assertThat(failures).isEmpty();
+
+        long total = stripeTotal(fee);
+        assertThat(total).isGreaterThanOrEqualTo(0L).isEqualTo(ledgerBalance(fee));
+        assertStripesGapFree(fee, 2);
+
+        long conservation = ledgerBalance(funding) + ledgerBalance(fee);
+        for (UUID payer : payers) {
+            conservation += ledgerBalance(payer);
+        }
+        assertThat(conservation).isZero();
+    }
+
+    /**
+     * Stripe s owns sequences base+s, base+s+N, ...; each slice must be dense up to the stripe's next_sequence.
+     */
+    private void assertStripesGapFree(UUID accountId, long base) {
+        List<Map<String, Object>> stripes = jdbc.queryForList("""
+            SELECT stripe, next_sequence, as_of_sequence
+            FROM account_stripes
+            WHERE account_id = ?
+            ORDER BY stripe
+            """, accountId);
+        assertThat(stripes).hasSize(STRIPES);
+
+        for (Map<String, Object> stripe : stripes) {
+            int s = (Integer) stripe.get("stripe");
+            long next = (Long) stripe.get("next_sequence");
+            List<Long> sequences = jdbc.queryForList("""
+                SELECT sequence
+                FROM ledger_entries
+                WHERE account_id = ?
+                  AND sequence >= ?
+                  AND (sequence - ?) % ? = ?
+                ORDER BY sequence
+                """, Long.class, accountId, base, base, STRIPES, s);
+
+            long expected = base + s;
+            for (long sequence : sequences) {
+                assertThat(sequence).isEqualTo(expected);
+                expected += STRIPES;
+            }
+            assertThat(next).isEqualTo(expected);
+            if (!sequences.isEmpty()) {
+                assertThat(stripe.get("as_of_sequence")).isEqualTo(sequences.get(sequences.size() - 1));
+            }
+        }
+    }
+
+    private long stripeTotal(UUID accountId) {
+        return jdbc.queryForObject(
+                "SELECT COALESCE(SUM(balance_minor), 0) FROM account_stripes WHERE account_id = ?", Long.class, accountId);
+    }
+
+    private long ledgerBalance(UUID accountId) {
+        return jdbc.queryForObject("""
+            SELECT COALESCE(SUM(CASE direction WHEN 'CREDIT' THEN amount_minor ELSE -amount_minor END), 0)
+            FROM ledger_entries
+            WHERE account_id = ?
+            """, Long.class, accountId);
+    }
+
+    private long maxSequence(UUID accountId) {
+        return jdbc.queryForObject("SELECT MAX(sequence) FROM ledger_entries WHERE account_id = ?", Long.class, accountId);
+    }
+
+    private static List<Throwable> runConcurrently(ThreadBody body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    try {
+                        start.await();
+                        body.run(thread);
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,160 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.stripeAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class LedgerReconcilerTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    LedgerReconciler reconciler;
+
+    @Test
+    void a_consistent_ledger_reports_no_drift_while_writers_keep_posting() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID plain = openAccount(jdbc, false);
+        UUID hot = openAccount(jdbc, false);
+        UUID unstriped = openAccount(jdbc, false);
+        for (int i = 0; i < 20; i++) {
+            transferService.transfer(transfer(funding, plain, 10));
+            transferService.transfer(transfer(funding, hot, 10));
+            transferService.transfer(transfer(funding, unstriped, 10));
+        }
+        stripeAccount(jdbc, hot, 4);
+        stripeAccount(jdbc, unstriped, 3);
+        for (int i = 0; i < 20; i++) {
+            transferService.transfer(transfer(funding, hot, 5));
+            transferService.transfer(transfer(hot, plain, 1));
+            transferService.transfer(transfer(funding, unstriped, 5));
+        }
+        // Stripes advanced unevenly: history keeps holes below contiguous_from (V8).
+        jdbc.query("SELECT ledger_unstripe_account(?)", rs -> null, unstriped);
+        transferService.transfer(transfer(funding, unstriped, 5));
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            while (writing.get()) {
+                transferService.transfer(transfer(funding, hot, 1));
+                transferService.transfer(transfer(funding, plain, 1));
+            }
+        });
+        Queue<Drift> duringWrites = new ConcurrentLinkedQueue<>();
+        ReconciliationSummary summary;
+        try {
+            summary = reconciler.run(duringWrites::add);
+        } finally {
+            writing.set(false);
+            writer.join();
+        }
+        Queue<Drift> afterWrites = new ConcurrentLinkedQueue<>();
+        reconciler.run(afterWrites::add);
+
+        Set<UUID> ours = Set.of(funding, plain, hot, unstriped);
+        assertThat(concerning(duringWrites, ours)).isEmpty();
+        assertThat(concerning(afterWrites, ours)).isEmpty();
+        assertThat(summary.accounts()).isGreaterThanOrEqualTo(4);
+        assertThat(summary.entries()).isGreaterThanOrEqualTo(241);
+    }
+
+    @Test
+    void tampered_state_is_reported_per_kind() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        UUID hot = openAccount(jdbc, false);
+        stripeAccount(jdbc, hot, 2);
+        UUID transferId = null;
+        for (int i = 0; i < 5; i++) {
+            transferService.transfer(transfer(funding, hot, 10));
+            transferId = transferService.transfer(transfer(funding, target, 10)).transferId();
+        }
+        final UUID lastTransfer = transferId;
+
+        jdbc.update("UPDATE balance_snapshots SET balance_minor = balance_minor + 1 WHERE account_id = ?", funding);
+        jdbc.update("UPDATE account_stripes SET balance_minor = balance_minor - 7 WHERE account_id = ? AND stripe = 1", hot);
+        jdbc.update("DELETE FROM ledger_entries WHERE transfer_id = ? AND account_id = ?", lastTransfer, target);
+
+        StringWriter report = new StringWriter();
+        Queue<Drift> drifts = new ConcurrentLinkedQueue<>();
+        try (NdjsonDriftWriter ndjson = new NdjsonDriftWriter(report)) {
+            reconciler.run(drift -> {
+                drifts.add(drift);
+                ndjson.onDrift(drift);
+            });
+        }
+
+        List<Drift> found = concerning(drifts, Set.of(funding, target, hot, lastTransfer));
+        assertThat(found).anySatisfy(drift -> {
+            assertThat(drift.kind()).isEqualTo(Drift.Kind.BALANCE_MISMATCH);
+            assertThat(drift.subjectId()).isEqualTo(funding);
+            assertThat(drift.actual() - drift.expected()).isEqualTo(1);
+        });
+        assertThat(found).anySatisfy(drift -> {
+            assertThat(drift.kind()).isEqualTo(Drift.Kind.BALANCE_MISMATCH);
+            assertThat(drift.subjectId()).isEqualTo(hot);
+            assertThat(drift.detail()).contains("stripe 1");
+        });
+        assertThat(found).anySatisfy(drift -> {
+            assertThat(drift.kind()).isEqualTo(Drift.Kind.SEQUENCE_GAP);
+            assertThat(drift.subjectId()).isEqualTo(target);
+            assertThat(drift.expected()).isEqualTo(5);
+        });
+        assertThat(found).anySatisfy(drift -> {
+            assertThat(drift.kind()).isEqualTo(Drift.Kind.UNBALANCED_TRANSFER);
+            assertThat(drift.subjectId()).isEqualTo(lastTransfer);
+            assertThat(drift.actual()).isEqualTo(-10);
+        });
+        assertThat(report.toString().lines().count()).isEqualTo(drifts.size());
+        assertThat(report.toString()).contains("\"kind\":\"UNBALANCED_TRANSFER\",\"subjectId\":\"" + lastTransfer + "\"");
+    }
+
+    @Test
+    void a_sequence_repeated_in_another_partition_is_reported() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        UUID transferId = transferService.transfer(transfer(funding, target, 10)).transferId();
+
+        // Unique (account_id, sequence) is per partition since V10: a copy one month later is accepted.
+        jdbc.update("""
+            INSERT INTO ledger_entries(id, transfer_id, account_id, sequence, direction, amount_minor, currency, created_at)
+            SELECT gen_random_uuid(), transfer_id, account_id, sequence, direction, amount_minor, currency,
+                   created_at + INTERVAL '1 month'
+            FROM ledger_entries
+            WHERE transfer_id = ? AND account_id = ?
+            """, transferId, target);
+
+        Queue<Drift> drifts = new ConcurrentLinkedQueue<>();
+        reconciler.run(drifts::add);
+
+        assertThat(concerning(drifts, Set.of(target))).anySatisfy(drift -> {
+            assertThat(drift.kind()).isEqualTo(Drift.Kind.DUPLICATE_SEQUENCE);
+            assertThat(drift.expected()).isEqualTo(1);
+        });
+    }
+
+    private static List<Drift> concerning(Queue<Drift> drifts, Set<UUID> subjects) {
+        return drifts.stream().filter(drift -> subjects.contains(drift.subjectId())).toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ledgercore.infrastructure.reconciliation;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SnapshotRebuilderTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    LedgerReconciler reconciler;
+
+    @Test
+    void repairs_drifted_and_missing_snapshots_but_never_replaces_a_newer_one() {
+        UUID funding = openAccount(jdbc, true);
+        UUID drifted = openAccount(jdbc, false);
+        UUID missing = openAccount(jdbc, false);
+        UUID newer = openAccount(jdbc, false);
+        for (int i = 0; i < 10; i++) {
+            transferService.transfer(transfer(funding, drifted, 10));
+            transferService.transfer(transfer(funding, missing, 10));
+            transferService.transfer(transfer(funding, newer, 10));
+        }
+        jdbc.update("UPDATE balance_snapshots SET balance_minor = 1 WHERE account_id = ?", drifted);
+        jdbc.update("DELETE FROM balance_snapshots WHERE account_id = ?", missing);
+        // Stands in for a concurrent upsert that got ahead of the rebuild's fold.
+        jdbc.update("UPDATE balance_snapshots SET as_of_sequence = 11, balance_minor = 110 WHERE account_id = ?", newer);
+
+        RebuildSummary summary = rebuilder(7).run(runId(), 8);
+
+        assertThat(snapshot(drifted)).containsExactly(10L, 100L);
+        assertThat(snapshot(missing)).containsExactly(10L, 100L);
+        assertThat(snapshot(newer)).containsExactly(11L, 110L);
+        assertThat(summary.written()).isGreaterThanOrEqualTo(2);
+        assertThat(summary.entries()).isGreaterThanOrEqualTo(60);
+        assertThat(summary.accountsPerSecond()).isPositive();
+        assertThat(summary.entriesPerSecond()).isPositive();
+    }
+
+    @Test
+    void a_finished_run_resumes_only_the_slices_that_are_not_done() {
+        String runId = runId();
+        SnapshotRebuilder rebuilder = rebuilder(50);
+        RebuildSummary first = rebuilder.run(runId, 4);
+        assertThat(first.accounts()).isPositive();
+
+        assertThat(rebuilder.run(runId, 4).accounts()).isZero();
+
+        // As if the process died inside slice 2: everything after its cursor is redone.
+        jdbc.update("UPDATE snapshot_rebuild_progress SET done = FALSE, cursor = NULL WHERE run_id = ? AND range_index = 2", runId);
+        long slice2 = jdbc.queryForObject("""
+            SELECT COUNT(*) FROM account_sequences
+            WHERE account_id >= '80000000-0000-0000-0000-000000000000'::uuid
+              AND account_id <  'c0000000-0000-0000-0000-000000000000'::uuid
+            """, Long.class);
+        assertThat(rebuilder.run(runId, 4).accounts()).isGreaterThanOrEqualTo(slice2);
+
+        assertThatThrownBy(() -> rebuilder.run(runId, 8)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rebuilding_under_concurrent_transfers_leaves_no_drift() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        for (int i = 0; i < 50; i++) {
+            transferService.transfer(transfer(funding, target, 1));
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            while (writing.get()) {
+                transferService.transfer(transfer(funding, target, 1));
+                transferService.transfer(transfer(target, funding, 1));
+            }
+        });
+        try {
+            rebuilder(3).run(runId(), 16);
+        } finally {
+            writing.set(false);
+            writer.join();
+        }
+
+        ConcurrentLinkedQueue<Drift> drifts = new ConcurrentLinkedQueue<>();
+        reconciler.run(drifts::add);
+        List<Drift> ours = drifts.stream().filter(d -> Set.of(funding, target).contains(d.subjectId())).toList();
+        assertThat(ours).isEmpty();
+    }
+
+    private SnapshotRebuilder rebuilder(int chunkSize) {
+        return new SnapshotRebuilder(jdbc, tx, 4, chunkSize);
+    }
+
+    private List<Long> snapshot(UUID accountId) {
+        return jdbc.queryForObject("SELECT as_of_sequence, balance_minor FROM balance_snapshots WHERE account_id = ?",
+                (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2)), accountId);
+    }
+
+    private static String runId() {
+        return "test-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,294 @@
+package com.ledgercore.infrastructure.replica;
+
+import com.ledgercore.application.result.AccountBalance;
+import com.ledgercore.application.service.BalanceQueryService;
+import com.ledgercore.infrastructure.service.TransferService;
+import com.ledgercore.infrastructure.statement.StatementExporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two containers with streaming replication: the primary (Flyway, writes) and a hot standby
+ * cloned from it with pg_basebackup. Replay on the standby is paused to make it lag on demand.
+ * Every connection borrowed from the replica pool is counted ({@link ReplicaCheckouts}).
+ */
+@SpringBootTest
+class RoutingBalanceReaderTest {
+
+    static final Network NETWORK = Network.newNetwork();
+
+    // NOTE: the image's pg_hba only lets "all" databases in from the network, not replication.
+    static final PostgreSQLContainer<?> PRIMARY =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("ledger")
+                    .withUsername("ledger")
+                    .withPassword("ledger")
+                    .withNetwork(NETWORK)
+                    .withNetworkAliases("primary")
+                    .withCopyToContainer(Transferable.of("""
+                            echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+                            """), "/docker-entrypoint-initdb.d/replication.sh");
+
+    static final GenericContainer<?> REPLICA =
+            new GenericContainer<>("postgres:16")
+                    .withNetwork(NETWORK)
+                    .withEnv("PGPASSWORD", "ledger")
+                    .withExposedPorts(5432)
+                    .withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("bash", "-c", """
+                            set -e
+                            mkdir -p /var/lib/postgresql/standby
+                            chown postgres:postgres /var/lib/postgresql/standby
+                            chmod 700 /var/lib/postgresql/standby
+                            gosu postgres pg_basebackup -h primary -U ledger -D /var/lib/postgresql/standby -R -X stream
+                            exec gosu postgres postgres -D /var/lib/postgresql/standby -c hot_standby=on
+                            """))
+                    .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1))
+                    .dependsOn(PRIMARY);
+
+    static {
+        REPLICA.start();
+    }
+
+    @DynamicPropertySource
+    static void configureDb(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> PRIMARY.getJdbcUrl() + "&reWriteBatchedInserts=true");
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+
+        registry.add("ledger.datasource.replica.url",
+                () -> "jdbc:postgresql://" + REPLICA.getHost() + ":" + REPLICA.getMappedPort(5432) + "/ledger");
+        registry.add("ledger.datasource.replica.username", () -> "ledger");
+        registry.add("ledger.datasource.replica.password", () -> "ledger");
+        registry.add("ledger.datasource.replica.max-wait", () -> "2s");
+        registry.add("ledger.datasource.replica.max-lag", () -> "1s");
+    }
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    ReadReplica replica;
+
+    @Autowired
+    ReplicaReadMetrics metrics;
+
+    @Autowired
+    TransferService transferService;
+
+    @Autowired
+    BalanceQueryService balanceQueryService;
+
+    @Autowired
+    StatementExporter statementExporter;
+
+    @Test
+    void a_read_at_least_as_fresh_as_the_last_posting_is_served_by_a_caught_up_replica() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 400));
+        transferService.transfer(transfer(funding, target, 100));
+        long replicaReads = metrics.replicaReads();
+
+        assertThat(balanceQueryService.balance(target, 2)).contains(new AccountBalance(target, 500, 2));
+        assertThat(metrics.replicaReads()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void a_lagging_replica_falls_back_to_the_primary_and_never_returns_a_stale_balance() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 400));
+        assertThat(balanceQueryService.balance(target, 1)).contains(new AccountBalance(target, 400, 1));
+
+        replica.jdbc().execute("SELECT pg_wal_replay_pause()");
+        try {
+            transferService.transfer(transfer(funding, target, 100));
+            long primaryReads = metrics.primaryReads();
+            long started = System.nanoTime();
+
+            assertThat(balanceQueryService.balance(target, 2)).contains(new AccountBalance(target, 500, 2));
+            assertThat(metrics.primaryReads()).isEqualTo(primaryReads + 1);
+            // Waited for the replica first (max-wait = 2s), then gave up.
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofSeconds(2));
+            assertThat(replica.jdbc().queryForObject("SELECT balance_minor FROM balance_snapshots WHERE account_id = ?",
+                    Long.class, target)).isEqualTo(400L);
+        } finally {
+            replica.jdbc().execute("SELECT pg_wal_replay_resume()");
+        }
+
+        long replicaReads = metrics.replicaReads();
+        assertThat(balanceQueryService.balance(target, 2)).contains(new AccountBalance(target, 500, 2));
+        assertThat(metrics.replicaReads()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void an_export_from_a_stale_replica_runs_on_the_primary_and_lists_every_entry() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 400));
+        assertThat(balanceQueryService.balance(target, 1)).contains(new AccountBalance(target, 400, 1));
+
+        replica.jdbc().execute("SELECT pg_wal_replay_pause()");
+        try {
+            transferService.transfer(transfer(funding, target, 100));
+            // Lag grows past max-lag (1s) while replay is paused; the cached probe (1s) expires too.
+            Thread.sleep(2_500);
+            assertThat(replica.lag()).isGreaterThan(Duration.ofSeconds(1));
+            long primaryReads = metrics.primaryReads();
+
+            StringWriter csv = new StringWriter();
+            assertThat(statementExporter.export(target, 0, StatementExporter.Format.CSV, csv)).isEqualTo(2);
+            assertThat(csv.toString().lines()).hasSize(3);
+            assertThat(metrics.primaryReads()).isEqualTo(primaryReads + 1);
+            assertThat(replica.jdbc().queryForObject("SELECT count(*) FROM ledger_entries WHERE account_id = ?",
+                    Long.class, target)).isEqualTo(1L);
+        } finally {
+            replica.jdbc().execute("SELECT pg_wal_replay_resume()");
+        }
+    }
+
+    @Test
+    void transfers_never_touch_the_replica() {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        int checkouts = ReplicaCheckouts.COUNT.get();
+
+        transferService.transfer(transfer(funding, target, 250));
+
+        assertThat(ReplicaCheckouts.COUNT.get()).isEqualTo(checkouts);
+        assertThat(balanceQueryService.balance(target, 1)).contains(new AccountBalance(target, 250, 1));
+        assertThat(ReplicaCheckouts.COUNT.get()).isGreaterThan(checkouts);
+    }
+
+    @Test
+    void a_replica_whose_wal_receiver_stopped_is_not_read_even_with_nothing_left_to_replay() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID target = openAccount(jdbc, false);
+        transferService.transfer(transfer(funding, target, 400));
+        assertThat(balanceQueryService.balance(target, 1)).contains(new AccountBalance(target, 400, 1));
+
+        String url = "jdbc:postgresql://" + REPLICA.getHost() + ":" + REPLICA.getMappedPort(5432) + "/ledger";
+        try (Connection standby = DriverManager.getConnection(url, "ledger", "ledger");
+             Statement statement = standby.createStatement()) {
+            String conninfo;
+            try (ResultSet rs = statement.executeQuery("SHOW primary_conninfo")) {
+                rs.next();
+                conninfo = rs.getString(1);
+            }
+            statement.execute("ALTER SYSTEM SET primary_conninfo = ''");
+            statement.execute("SELECT pg_reload_conf()");
+            try {
+                awaitReceiver(statement, false);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!replica.lag().equals(ReadReplica.UNKNOWN) && System.nanoTime() < deadline) {
+                    Thread.sleep(50);
+                }
+                assertThat(replica.lag()).isEqualTo(ReadReplica.UNKNOWN);
+
+                long primaryReads = metrics.primaryReads();
+                assertThat(balanceQueryService.balance(target)).contains(new AccountBalance(target, 400, 1));
+                assertThat(metrics.primaryReads()).isEqualTo(primaryReads + 1);
+            } finally {
+                statement.execute("ALTER SYSTEM SET primary_conninfo = '" + conninfo.replace("'", "''") + "'");
+                statement.execute("SELECT pg_reload_conf()");
+                awaitReceiver(statement, true);
+            }
+        }
+    }
+
+    private static void awaitReceiver(Statement statement, boolean streaming) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming')")) {
+                rs.next();
+                if (rs.getBoolean(1) == streaming) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("WAL receiver still " + (streaming ? "not streaming" : "streaming"));
+    }
+
+    /**
+     * Counts every connection borrowed from the replica pool, whoever borrows it.
+     */
+    @TestConfiguration
+    static class ReplicaCheckouts {
+
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countReplicaCheckouts(ObjectProvider<JdbcTemplate> primary) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof ReadReplica replica)) {
+                        return bean;
+                    }
+                    return new ReadReplica(new CountingDataSource(replica.dataSource()), primary.getObject(),
+                            Duration.ofSeconds(1));
+                }
+            };
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReplicaCheckouts.COUNT.incrementAndGet();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            ReplicaCheckouts.COUNT.incrementAndGet();
+            return super.getConnection(username, password);
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.ledgercore.infrastructure.replica;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.StatementReader;
+import com.ledgercore.application.result.StatementLine;
+import com.ledgercore.application.result.StatementPage;
+import com.ledgercore.infrastructure.persistence.jdbc.JdbcStatementReader;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Routing only, on one database: a "replica" that is the primary itself reports lag 0, an
+ * unreachable one reports UNKNOWN. A replica that really lags is covered by RoutingBalanceReaderTest.
+ */
+@SpringBootTest
+class RoutingStatementReaderTest extends PostgresTestBase {
+
+    // NOTE: nothing listens on port 1; connecting fails at once.
+    private static final DataSource UNREACHABLE =
+            new DriverManagerDataSource("jdbc:postgresql://localhost:1/ledger", "ledger", "ledger");
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TransferService transferService;
+
+    private final ReplicaReadMetrics metrics = new ReplicaReadMetrics();
+
+    @Test
+    void a_replica_within_max_lag_serves_the_export() {
+        UUID account = accountWithEntries(3);
+        StatementReader router = router(new ReadReplica(dataSource, jdbc, Duration.ZERO), reader(dataSource));
+
+        assertThat(stream(router, account)).hasSize(3);
+        assertThat(metrics.replicaReads()).isEqualTo(1);
+        assertThat(metrics.primaryReads()).isZero();
+    }
+
+    @Test
+    void a_replica_of_unknown_lag_is_not_read_and_the_primary_exports_everything() {
+        UUID account = accountWithEntries(3);
+        StatementReader router = router(new ReadReplica(UNREACHABLE, jdbc, Duration.ZERO), reader(UNREACHABLE));
+
+        assertThat(stream(router, account)).extracting(line -> line.entry().sequence()).containsExactly(1L, 2L, 3L);
+        StatementPage page = router.page(account, 0, 10);
+        assertThat(page.lines()).hasSize(3);
+        assertThat(metrics.primaryReads()).isEqualTo(2);
+        assertThat(metrics.replicaReads()).isZero();
+    }
+
+    @Test
+    void a_replica_failing_before_the_first_line_is_retried_on_the_primary() {
+        UUID account = accountWithEntries(2);
+        StatementReader router = router(new ReadReplica(dataSource, jdbc, Duration.ZERO), reader(UNREACHABLE));
+
+        assertThat(stream(router, account)).hasSize(2);
+        assertThat(metrics.primaryReads()).isEqualTo(1);
+    }
+
+    @Test
+    void a_replica_failing_after_lines_were_written_is_not_restarted_on_the_primary() {
+        UUID account = accountWithEntries(2);
+        StatementReader primary = reader(dataSource);
+        StatementReader failingMidway = new StatementReader() {
+            @Override
+            public StatementPage page(UUID accountId, long afterSequence, int limit) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public long stream(UUID accountId, long afterSequence, Consumer<StatementLine> sink) {
+                primary.stream(accountId, afterSequence, line -> {
+                    if (line.entry().sequence() == 2) {
+                        throw new DataAccessResourceFailureException("replica went away");
+                    }
+                    sink.accept(line);
+                });
+                return 2;
+            }
+        };
+        StatementReader router = router(new ReadReplica(dataSource, jdbc, Duration.ZERO), failingMidway);
+
+        List<StatementLine> lines = new ArrayList<>();
+        assertThatThrownBy(() -> router.stream(account, 0, lines::add))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(lines).hasSize(1);
+        assertThat(metrics.primaryReads()).isZero();
+    }
+
+    private StatementReader router(ReadReplica replica, StatementReader replicaReader) {
+        return new RoutingStatementReader(reader(dataSource), replicaReader, replica, Duration.ofSeconds(5), metrics);
+    }
+
+    private StatementReader reader(DataSource source) {
+        PlatformTransactionManager tm = source == dataSource ? transactionManager : new DataSourceTransactionManager(source);
+        return new JdbcStatementReader(source, tm, 100);
+    }
+
+    private UUID accountWithEntries(int transfers) {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+        for (int i = 1; i <= transfers; i++) {
+            transferService.transfer(transfer(funding, account, 100L * i));
+        }
+        return account;
+    }
+
+    private static List<StatementLine> stream(StatementReader reader, UUID account) {
+        List<StatementLine> lines = new ArrayList<>();
+        reader.stream(account, 0, lines::add);
+        return lines;
+    }
+}
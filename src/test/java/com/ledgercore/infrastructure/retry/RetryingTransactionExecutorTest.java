@@ -0,0 +1,147 @@
+package com.ledgercore.infrastructure.retry;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.service.BatchTransferHandler;
+import com.ledgercore.application.service.TransferHandler;
+import com.ledgercore.domain.errors.InsufficientFundsException;
+import com.ledgercore.infrastructure.service.RetryingTransferService;
+import com.ledgercore.infrastructure.service.TransactionalTransferService;
+import com.ledgercore.infrastructure.service.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class RetryingTransactionExecutorTest extends PostgresTestBase {
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferHandler handler;
+
+    @Autowired
+    BatchTransferHandler batchHandler;
+
+    @Test
+    void transient_failures_are_retried_and_counted_by_cause() {
+        RetryMetrics metrics = new RetryMetrics();
+        RetryingTransactionExecutor executor = executor(5, Duration.ZERO, metrics);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Integer result = executor.execute(() -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw transientFailure("40P01");
+            }
+            return 42;
+        });
+
+        assertThat(result).isEqualTo(42);
+        assertThat(attempts).hasValue(3);
+        assertThat(metrics.retries(RetryCause.DEADLOCK)).isEqualTo(2);
+        assertThat(metrics.exhausted(RetryCause.DEADLOCK)).isZero();
+    }
+
+    @Test
+    void business_failures_are_not_retried() {
+        RetryMetrics metrics = new RetryMetrics();
+        RetryingTransactionExecutor executor = executor(5, Duration.ZERO, metrics);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new InsufficientFundsException("no");
+        })).isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void exhausted_attempts_surface_the_last_failure() {
+        RetryMetrics metrics = new RetryMetrics();
+        RetryingTransactionExecutor executor = executor(3, Duration.ZERO, metrics);
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw transientFailure("40001");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(metrics.retries(RetryCause.SERIALIZATION_FAILURE)).isEqualTo(2);
+        assertThat(metrics.exhausted(RetryCause.SERIALIZATION_FAILURE)).isEqualTo(1);
+    }
+
+    @Test
+    void timeouts_are_set_per_attempt() {
+        RetryingTransactionExecutor executor = executor(1, Duration.ofMillis(150), new RetryMetrics());
+
+        String inside = executor.execute(() -> jdbc.queryForObject("SHOW lock_timeout", String.class));
+
+        assertThat(inside).isEqualTo("150ms");
+    }
+
+    @Test
+    void lock_wait_beyond_lock_timeout_is_retried_until_the_lock_is_released() throws Exception {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+
+        // Another transaction sits on the sequence row longer than one attempt's lock_timeout.
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            jdbc.queryForList("SELECT next_sequence FROM account_sequences WHERE account_id = ? FOR UPDATE", account);
+            locked.countDown();
+            sleep(Duration.ofMillis(400));
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        RetryMetrics metrics = new RetryMetrics();
+        TransferService service = new RetryingTransferService(
+                new TransactionalTransferService(handler, batchHandler, TransferMetrics.NONE),
+                executor(50, Duration.ofMillis(50), metrics));
+
+        service.transfer(transfer(funding, account, 10));
+        holder.get(10, TimeUnit.SECONDS);
+
+        assertThat(metrics.retries(RetryCause.LOCK_TIMEOUT)).isPositive();
+        assertThat(jdbc.queryForObject(
+                "SELECT balance_minor FROM balance_snapshots WHERE account_id = ?", Long.class, account))
+                .isEqualTo(10L);
+    }
+
+    private RetryingTransactionExecutor executor(int maxAttempts, Duration lockTimeout, RetryMetrics metrics) {
+        RetryPolicy policy = new RetryPolicy(
+                maxAttempts, Duration.ofMillis(5), Duration.ofMillis(50), lockTimeout, Duration.ZERO);
+        return new RetryingTransactionExecutor(tx, jdbc, policy, metrics);
+    }
+
+    private static CannotAcquireLockException transientFailure(String sqlState) {
+        return new CannotAcquireLockException("simulated", new SQLException("simulated", sqlState));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.infrastructure.metrics.MicrometerTransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * No database needed: the delegate blocks until released and tracks how many run at once.
+ */
+class AsyncTransferServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void at_most_max_concurrency_transfers_run_at_once_and_the_rest_complete_later() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(2);
+        AsyncTransferService service = async(delegate, 2, 10, Duration.ofSeconds(10));
+        try (service) {
+            List<CompletableFuture<TransferResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(service.submit(command()));
+            }
+            assertThat(delegate.entered.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            assertThat(delegate.running).hasValue(2);
+            assertThat(service.inFlight()).isEqualTo(6);
+
+            delegate.release.countDown();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            assertThat(delegate.maxRunning).hasValue(2);
+            assertThat(delegate.calls).hasValue(6);
+        }
+        assertThat(service.inFlight()).isZero();
+        assertThat(registry.get("ledger.transfer.queue.wait").timer().count()).isEqualTo(6);
+        assertThat(registry.get("ledger.transfer.execution").timer().count()).isEqualTo(6);
+    }
+
+    @Test
+    void a_full_queue_rejects_at_once() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(1);
+        try (AsyncTransferService service = async(delegate, 1, 1, Duration.ofSeconds(10))) {
+            CompletableFuture<TransferResult> running = service.submit(command());
+            CompletableFuture<TransferResult> queued = service.submit(command());
+            CompletableFuture<TransferResult> rejected = service.submit(command());
+
+            assertThat(rejected).isCompletedExceptionally();
+            assertThatThrownBy(rejected::get).hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(shed("queue_full")).isEqualTo(1);
+
+            delegate.release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+            queued.get(10, TimeUnit.SECONDS);
+            assertThat(delegate.calls).hasValue(2);
+        }
+    }
+
+    @Test
+    void a_transfer_still_queued_at_its_deadline_is_dropped_without_running() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(1);
+        try (AsyncTransferService service = async(delegate, 1, 1, Duration.ofSeconds(10))) {
+            CompletableFuture<TransferResult> running = service.submit(command());
+            assertThat(delegate.entered.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<TransferResult> expired = service.submit(command(), Duration.ofMillis(50));
+
+            assertThatThrownBy(() -> expired.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+            assertThat(shed("deadline_expired")).isEqualTo(1);
+
+            delegate.release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(delegate.calls).hasValue(1);
+        assertThat(registry.get("ledger.transfer.execution").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelling_a_queued_transfer_frees_its_slot_at_once() throws Exception {
+        BlockingDelegate delegate = new BlockingDelegate(1);
+        AsyncTransferService service = async(delegate, 1, 1, Duration.ofSeconds(10));
+        try (service) {
+            CompletableFuture<TransferResult> running = service.submit(command());
+            assertThat(delegate.entered.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<TransferResult> queued = service.submit(command());
+            assertThat(service.submit(command())).isCompletedExceptionally();
+
+            assertThat(queued.cancel(false)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (service.inFlight() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(service.inFlight()).isEqualTo(1);
+            assertThat(shed("cancelled")).isEqualTo(1);
+            // The freed place is usable while the first transfer still holds the only worker.
+            CompletableFuture<TransferResult> next = service.submit(command());
+            assertThat(next).isNotCompletedExceptionally();
+
+            delegate.release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+            next.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(delegate.calls).hasValue(2);
+        assertThat(registry.get("ledger.transfer.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void a_failing_transfer_fails_its_future_and_frees_its_slot() throws Exception {
+        TransferService failing = new BlockingDelegate(0) {
+            @Override
+            public TransferResult transfer(TransferCommand command) {
+                throw new IllegalStateException("could not serialize access");
+            }
+        };
+        AsyncTransferService service = async(failing, 1, 0, Duration.ofSeconds(10));
+        try (service) {
+            assertThatThrownBy(() -> service.submit(command()).get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertThat(service.inFlight()).isZero();
+    }
+
+    @Test
+    void max_concurrency_defaults_to_the_pool_minus_dedicated_connections_and_never_exceeds_it() {
+        assertThat(AsyncTransferService.maxConcurrencyFor(0, 10, 1)).isEqualTo(9);
+        assertThat(AsyncTransferService.maxConcurrencyFor(4, 10, 1)).isEqualTo(4);
+        assertThat(AsyncTransferService.maxConcurrencyFor(9, 10, 1)).isEqualTo(9);
+
+        assertThatThrownBy(() -> AsyncTransferService.maxConcurrencyFor(10, 10, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("max-concurrency 10 exceeds the 9 pooled connections");
+        assertThatThrownBy(() -> AsyncTransferService.maxConcurrencyFor(0, 2, 2))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private AsyncTransferService async(TransferService delegate, int maxConcurrency, int maxQueued, Duration deadline) {
+        return new AsyncTransferService(delegate, maxConcurrency, maxQueued, deadline, new MicrometerTransferMetrics(registry));
+    }
+
+    private double shed(String reason) {
+        return registry.get("ledger.transfer.shed").tag("reason", reason).counter().count();
+    }
+
+    private static TransferCommand command() {
+        return transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+    }
+
+    private static class BlockingDelegate implements TransferService {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch entered;
+        final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingDelegate(int expectedEntries) {
+            this.entered = new CountDownLatch(expectedEntries);
+        }
+
+        @Override
+        public TransferResult transfer(TransferCommand command) {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return new TransferResult(UUID.randomUUID(), command.commandId());
+        }
+
+        @Override
+        public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
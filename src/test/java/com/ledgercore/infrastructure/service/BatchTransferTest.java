@@ -0,0 +1,168 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferOutcome.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.closeAccount;
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BatchTransferTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService transferService;
+
+    @Test
+    void each_command_gets_its_own_outcome_and_rejections_do_not_abort_the_batch() {
+        UUID funding = openAccount(jdbc, true);
+        UUID a = openAccount(jdbc, false);
+        UUID b = openAccount(jdbc, false);
+        UUID closed = openAccount(jdbc, false);
+        closeAccount(jdbc, closed);
+
+        TransferCommand first = transfer(a, b, 300);
+        TransferCommand tooLarge = transfer(a, b, 5_000);
+        TransferCommand toClosed = transfer(a, closed, 1);
+
+        List<TransferOutcome> outcomes = transferService.transferAll(List.of(
+                transfer(funding, a, 1_000),
+                first,
+                tooLarge,
+                transfer(a, b, 200),
+                first,
+                toClosed
+        ));
+
+        assertThat(outcomes).extracting(TransferOutcome::status).containsExactly(
+                Status.APPLIED, Status.APPLIED, Status.REJECTED, Status.APPLIED, Status.DUPLICATE, Status.REJECTED);
+        assertThat(outcomes.get(4).transferId()).isEqualTo(outcomes.get(1).transferId());
+        assertThat(outcomes.get(2).reason()).startsWith("Insufficient funds");
+        assertThat(outcomes.get(5).reason()).isEqualTo("Both accounts must be OPEN to transfer");
+
+        assertThat(balance(a)).isEqualTo(500L);
+        assertThat(balance(b)).isEqualTo(500L);
+        assertThat(sequences(a)).containsExactly(1L, 2L, 3L);
+        assertThat(sequences(b)).containsExactly(1L, 2L);
+
+        // Rejected commands leave nothing behind
+        for (TransferCommand rejected : List.of(tooLarge, toClosed)) {
+            assertThat(jdbc.queryForObject(
+                    "SELECT count(*) FROM commands WHERE command_id = ?", Integer.class, rejected.commandId()))
+                    .isZero();
+        }
+
+        // Applied ones are fully recorded
+        Integer pendingEvents = jdbc.queryForObject("""
+            SELECT count(*)
+            FROM outbox_events o
+            JOIN commands c ON c.command_id = o.command_id
+            WHERE o.command_id = ANY(ARRAY[?, ?]::uuid[])
+              AND c.status = 'APPLIED'
+            """, Integer.class, outcomes.get(1).commandId(), outcomes.get(3).commandId());
+        assertThat(pendingEvents).isEqualTo(2);
+    }
+
+    @Test
+    void resubmitted_batch_returns_duplicates_and_previously_rejected_commands_can_succeed() {
+        UUID funding = openAccount(jdbc, true);
+        UUID a = openAccount(jdbc, false);
+        UUID b = openAccount(jdbc, false);
+
+        List<TransferCommand> batch = List.of(transfer(funding, a, 100), transfer(a, b, 150));
+
+        List<TransferOutcome> firstRun = transferService.transferAll(batch);
+        assertThat(firstRun).extracting(TransferOutcome::status).containsExactly(Status.APPLIED, Status.REJECTED);
+
+        transferService.transfer(transfer(funding, a, 100));
+
+        List<TransferOutcome> secondRun = transferService.transferAll(batch);
+        assertThat(secondRun).extracting(TransferOutcome::status).containsExactly(Status.DUPLICATE, Status.APPLIED);
+        assertThat(secondRun.get(0).transferId()).isEqualTo(firstRun.get(0).transferId());
+
+        assertThat(balance(a)).isEqualTo(50L);
+        assertThat(balance(b)).isEqualTo(150L);
+    }
+
+    @Test
+    void large_batch_preserves_conservation_and_gap_free_sequences() {
+        UUID funding = openAccount(jdbc, true);
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(openAccount(jdbc, false));
+        }
+
+        List<TransferCommand> batch = new ArrayList<>();
+        for (UUID account : accounts) {
+            batch.add(transfer(funding, account, 1_000));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            UUID from = accounts.get(i % accounts.size());
+            UUID to = accounts.get((i * 7 + 3) % accounts.size());
+            if (!from.equals(to)) {
+                batch.add(transfer(from, to, 1 + (i % 50)));
+            }
+        }
+
+        List<TransferOutcome> outcomes = transferService.transferAll(batch);
+        assertThat(outcomes).hasSize(batch.size());
+
+        long applied = outcomes.stream().filter(o -> o.status() == Status.APPLIED).count();
+        Integer transfers = jdbc.queryForObject("""
+            SELECT count(*) FROM transfers WHERE from_account_id = ANY(?::uuid[]) OR to_account_id = ANY(?::uuid[])
+            """, Integer.class, uuidArray(accounts), uuidArray(accounts));
+        assertThat(transfers.longValue()).isEqualTo(applied);
+
+        long total = balance(funding);
+        for (UUID account : accounts) {
+            long balance = balance(account);
+            assertThat(balance).isNotNegative();
+            total += balance;
+
+            List<Long> sequences = sequences(account);
+            for (int i = 0; i < sequences.size(); i++) {
+                assertThat(sequences.get(i)).isEqualTo(i + 1L);
+            }
+            Long next = jdbc.queryForObject(
+                    "SELECT next_sequence FROM account_sequences WHERE account_id = ?", Long.class, account);
+            assertThat(next).isEqualTo(sequences.size() + 1L);
+        }
+        assertThat(total).isZero();
+    }
+
+    private long balance(UUID accountId) {
+        Long balance = jdbc.queryForObject("""
+            SELECT COALESCE(SUM(CASE direction WHEN 'CREDIT' THEN amount_minor ELSE -amount_minor END), 0)
+            FROM ledger_entries
+            WHERE account_id = ?
+            """, Long.class, accountId);
+        Long snapshot = jdbc.queryForObject("""
+            SELECT COALESCE(MAX(balance_minor), 0) FROM balance_snapshots WHERE account_id = ?
+            """, Long.class, accountId);
+        assertThat(snapshot).as("snapshot matches ledger for %s", accountId).isEqualTo(balance);
+        return balance;
+    }
+
+    private List<Long> sequences(UUID accountId) {
+        return jdbc.queryForList(
+                "SELECT sequence FROM ledger_entries WHERE account_id = ? ORDER BY sequence", Long.class, accountId);
+    }
+
+    private static String uuidArray(List<UUID> ids) {
+        return "{" + String.join(",", ids.stream().map(UUID::toString).toList()) + "}";
+    }
+}
@@ -0,0 +1,100 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * No database needed: the delegate only records which accounts are being written concurrently.
+ */
+class PartitionedTransferServiceTest {
+
+    @Test
+    void transfers_on_the_same_account_never_run_concurrently() throws Exception {
+        RecordingDelegate delegate = new RecordingDelegate();
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            accounts.add(UUID.randomUUID());
+        }
+
+        try (PartitionedTransferService lanes = new PartitionedTransferService(delegate, 4);
+             ExecutorService clients = Executors.newFixedThreadPool(16)) {
+            List<Future<TransferResult>> results = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                UUID from = accounts.get(i % accounts.size());
+                UUID to = accounts.get((i * 5 + 1) % accounts.size());
+                if (!from.equals(to)) {
+                    TransferCommand cmd = transfer(from, to, 1);
+                    results.add(clients.submit(() -> lanes.transfer(cmd)));
+                }
+            }
+            for (Future<TransferResult> result : results) {
+                // Cross-lane handoff must never deadlock
+                assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+            }
+
+            assertThat(delegate.overlaps).hasValue(0);
+            assertThat(lanes.laneStats()).allSatisfy(stats -> assertThat(stats.queueDepth()).isZero());
+            assertThat(lanes.laneStats().stream().mapToLong(PartitionedTransferService.LaneStats::completed).sum())
+                    .isGreaterThanOrEqualTo(results.size());
+        }
+    }
+
+    @Test
+    void delegate_failures_reach_the_caller_unchanged() {
+        TransferService failing = new RecordingDelegate() {
+            @Override
+            public TransferResult transfer(TransferCommand command) {
+                throw new IllegalArgumentException("Both accounts must be OPEN to transfer");
+            }
+        };
+
+        try (PartitionedTransferService lanes = new PartitionedTransferService(failing, 4)) {
+            assertThatThrownBy(() -> lanes.transfer(transfer(UUID.randomUUID(), UUID.randomUUID(), 1)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Both accounts must be OPEN to transfer");
+        }
+    }
+
+    private static class RecordingDelegate implements TransferService {
+        final Map<UUID, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        final AtomicInteger overlaps = new AtomicInteger();
+
+        @Override
+        public TransferResult transfer(TransferCommand command) {
+            List<UUID> touched = List.of(command.fromAccountId(), command.toAccountId());
+            for (UUID account : touched) {
+                if (inFlight.computeIfAbsent(account, a -> new AtomicInteger()).incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+            }
+            try {
+                Thread.sleep(0, 50_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (UUID account : touched) {
+                    inFlight.get(account).decrementAndGet();
+                }
+            }
+            return new TransferResult(UUID.randomUUID(), command.commandId());
+        }
+
+        @Override
+        public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.TransferMetrics;
+import com.ledgercore.application.result.TransferOutcome;
+import com.ledgercore.application.result.TransferResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * No database needed: the delegate counts how often a command really reaches the engine.
+ */
+class ReplayCachingTransferServiceTest {
+
+    @Test
+    void a_retry_of_a_committed_command_never_reaches_the_engine() {
+        CountingDelegate delegate = new CountingDelegate();
+        ReplayCachingTransferService service = cached(delegate);
+        TransferCommand command = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+
+        TransferResult first = service.transfer(command);
+        TransferResult retry = service.transfer(command);
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(delegate.calls).hasValue(1);
+    }
+
+    @Test
+    void failures_are_not_cached() {
+        CountingDelegate delegate = new CountingDelegate();
+        delegate.failures.set(1);
+        ReplayCachingTransferService service = cached(delegate);
+        TransferCommand command = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+
+        assertThatThrownBy(() -> service.transfer(command)).isInstanceOf(IllegalStateException.class);
+        TransferResult result = service.transfer(command);
+
+        assertThat(result.commandId()).isEqualTo(command.commandId());
+        assertThat(delegate.calls).hasValue(2);
+    }
+
+    @Test
+    void retries_of_an_in_flight_command_wait_for_the_original_attempt() throws Exception {
+        CountingDelegate delegate = new CountingDelegate();
+        delegate.release = new CountDownLatch(1);
+        ReplayCachingTransferService service = cached(delegate);
+        TransferCommand command = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(8)) {
+            Future<TransferResult> original = clients.submit(() -> service.transfer(command));
+            delegate.entered.await(10, TimeUnit.SECONDS);
+            List<Future<TransferResult>> retries = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                retries.add(clients.submit(() -> service.transfer(command)));
+            }
+            Thread.sleep(50);
+            assertThat(retries).noneMatch(Future::isDone);
+
+            delegate.release.countDown();
+            TransferResult result = original.get(10, TimeUnit.SECONDS);
+            for (Future<TransferResult> retry : retries) {
+                assertThat(retry.get(10, TimeUnit.SECONDS)).isEqualTo(result);
+            }
+        }
+        assertThat(delegate.calls).hasValue(1);
+    }
+
+    @Test
+    void when_the_original_attempt_fails_a_waiting_retry_runs_the_command_itself() throws Exception {
+        CountingDelegate delegate = new CountingDelegate();
+        delegate.release = new CountDownLatch(1);
+        delegate.failures.set(1);
+        ReplayCachingTransferService service = cached(delegate);
+        TransferCommand command = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(2)) {
+            Future<TransferResult> original = clients.submit(() -> service.transfer(command));
+            delegate.entered.await(10, TimeUnit.SECONDS);
+            Future<TransferResult> retry = clients.submit(() -> service.transfer(command));
+            Thread.sleep(50);
+            delegate.release.countDown();
+
+            assertThatThrownBy(() -> original.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(retry.get(10, TimeUnit.SECONDS).commandId()).isEqualTo(command.commandId());
+        }
+        assertThat(delegate.calls).hasValue(2);
+    }
+
+    @Test
+    void inside_a_caller_transaction_the_result_is_cached_only_after_commit() {
+        CountingDelegate delegate = new CountingDelegate();
+        ReplayCachingTransferService service = cached(delegate);
+        TransferCommand rolledBack = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+        TransferCommand committed = transfer(UUID.randomUUID(), UUID.randomUUID(), 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.transfer(rolledBack);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.transfer(committed);
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        service.transfer(rolledBack);
+        service.transfer(committed);
+        assertThat(delegate.calls).hasValue(3);
+    }
+
+    private static ReplayCachingTransferService cached(TransferService delegate) {
+        return new ReplayCachingTransferService(delegate, 1_000, Duration.ofMinutes(1), TransferMetrics.NONE);
+    }
+
+    private static final class CountingDelegate implements TransferService {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch release;
+
+        @Override
+        public TransferResult transfer(TransferCommand command) {
+            calls.incrementAndGet();
+            entered.countDown();
+            CountDownLatch latch = release;
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("could not serialize access");
+            }
+            return new TransferResult(UUID.randomUUID(), command.commandId());
+        }
+
+        @Override
+        public List<TransferOutcome> transferAll(List<TransferCommand> commands) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.ledgercore.infrastructure.service;
+
+import com.ledgercore.PostgresTestBase;
+import com.ledgercore.application.command.TransferCommand;
+import com.ledgercore.application.ports.Clock;
+import com.ledgercore.application.ports.UuidGenerator;
+import com.ledgercore.application.result.TransferResult;
+import com.ledgercore.application.service.BatchTransferHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.ledgercore.LedgerFixtures.closeAccount;
+import static com.ledgercore.LedgerFixtures.openAccount;
+import static com.ledgercore.LedgerFixtures.transfer;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Side-by-side test: the step-by-step handler path and the single round-trip
+ * ledger_transfer(...) path must be indistinguishable in results and in the rows they leave behind.
+ */
+@SpringBootTest
+class SqlFunctionTransferServiceTest extends PostgresTestBase {
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TransferService handlerEngine;
+
+    @Autowired
+    Clock clock;
+
+    @Autowired
+    UuidGenerator uuidGenerator;
+
+    @Autowired
+    BatchTransferHandler batchHandler;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    SqlFunctionTransferService functionEngine;
+
+    @BeforeEach
+    void setUp() {
+        functionEngine = new SqlFunctionTransferService(jdbc, clock, uuidGenerator, batchHandler, tx);
+    }
+
+    @Test
+    void both_engines_produce_the_same_outcomes_and_ledger_state() {
+        Script viaHandler = Script.run(jdbc, handlerEngine);
+        Script viaFunction = Script.run(jdbc, functionEngine);
+
+        assertThat(viaFunction.outcomes).isEqualTo(viaHandler.outcomes);
+        assertThat(viaFunction.state(jdbc)).isEqualTo(viaHandler.state(jdbc));
+
+        // Rejected commands must leave no trace (whole transaction rolled back), on both engines.
+        for (Script script : List.of(viaHandler, viaFunction)) {
+            for (UUID rejected : script.rejectedCommandIds) {
+                Integer commands = jdbc.queryForObject(
+                        "SELECT count(*) FROM commands WHERE command_id = ?", Integer.class, rejected);
+                assertThat(commands).isZero();
+            }
+        }
+    }
+
+    @Test
+    void engines_can_be_interleaved_on_the_same_accounts() {
+        UUID funding = openAccount(jdbc, true);
+        UUID account = openAccount(jdbc, false);
+
+        for (int i = 0; i < 10; i++) {
+            TransferService engine = i % 2 == 0 ? handlerEngine : functionEngine;
+            engine.transfer(transfer(funding, account, 10));
+        }
+
+        List<Long> sequences = jdbc.queryForList("""
+            SELECT sequence FROM ledger_entries WHERE account_id = ? ORDER BY sequence
+            """, Long.class, account);
+        assertThat(sequences).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+
+        Long balance = jdbc.queryForObject(
+                "SELECT balance_minor FROM balance_snapshots WHERE account_id = ?", Long.class, account);
+        assertThat(balance).isEqualTo(100L);
+    }
+
+    /**
+     * The same sequence of commands against a fresh set of accounts.
+     * Outcomes and state are recorded with account roles instead of ids, so two runs compare equal.
+     */
+    private static final class Script {
+        final Map<UUID, String> roles;
+        final List<String> outcomes = new ArrayList<>();
+        final List<UUID> rejectedCommandIds = new ArrayList<>();
+
+        private Script(Map<UUID, String> roles) {
+            this.roles = roles;
+        }
+
+        static Script run(JdbcTemplate jdbc, TransferService engine) {
+            UUID funding = openAccount(jdbc, true);
+            UUID a = openAccount(jdbc, false);
+            UUID b = openAccount(jdbc, false);
+            UUID closed = openAccount(jdbc, false);
+            closeAccount(jdbc, closed);
+
+            Script script = new Script(Map.of(funding, "funding", a, "a", b, "b", closed, "closed"));
+
+            TransferCommand aToB = transfer(a, b, 300);
+
+            script.execute(engine, transfer(funding, a, 1_000));
+            TransferResult first = script.execute(engine, aToB);
+            TransferResult retry = script.execute(engine, aToB);
+            script.outcomes.add(first.equals(retry) ? "replay returned original" : "replay diverged");
+            script.execute(engine, transfer(a, b, 800));
+            script.execute(engine, transfer(a, closed, 1));
+            script.execute(engine, transfer(UUID.randomUUID(), a, 1));
+            script.execute(engine, transfer(b, a, 100));
+            return script;
+        }
+
+        TransferResult execute(TransferService engine, TransferCommand cmd) {
+            try {
+                TransferResult result = engine.transfer(cmd);
+                outcomes.add("applied");
+                return result;
+            } catch (RuntimeException e) {
+                outcomes.add(e.getClass().getSimpleName() + ": " + e.getMessage().replaceAll("[0-9a-f-]{36}", "<id>"));
+                rejectedCommandIds.add(cmd.commandId());
+                return null;
+            }
+        }
+
+        List<String> state(JdbcTemplate jdbc) {
+            List<String> rows = new ArrayList<>();
+            for (Map.Entry<UUID, String> account : roles.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .toList()) {
+                UUID id = account.getKey();
+                String role = account.getValue();
+
+                jdbc.query("""
+                    SELECT sequence, direction, amount_minor, currency
+                    FROM ledger_entries
+                    WHERE account_id = ?
+                    ORDER BY sequence
+                    """,
+                        rs -> {
+                            rows.add(role + " entry " + rs.getLong("sequence") + " " + rs.getString("direction")
+                                    + " " + rs.getLong("amount_minor") + " " + rs.getString("currency"));
+                        },
+                        id);
+
+                jdbc.query("""
+                    SELECT as_of_sequence, balance_minor
+                    FROM balance_snapshots
+                    WHERE account_id = ?
+                    """,
+                        rs -> {
+                            rows.add(role + " snapshot " + rs.getLong("as_of_sequence") + " " + rs.getLong("balance_minor"));
+                        },
+                        id);
+
+                Long next = jdbc.queryForObject(
+                        "SELECT next_sequence FROM account_sequences WHERE account_id = ?", Long.class, id);
+                rows.add(role + " next_sequence " + next);
+
+                Integer outbox = jdbc.queryForObject("""
+                    SELECT count(*)
+                    FROM outbox_events o
+                    JOIN transfers t ON t.id = o.aggregate_id
+                    WHERE t.from_account_id = ?
+                      AND o.status = 'PENDING'
+                      AND o.payload_json = jsonb_build_object('transferId', t.id, 'commandId', t.command_id)
+                    """, Integer.class, id);
+                rows.add(role + " outbox " + outbox);
+
+                Integer applied = jdbc.queryForObject("""
+                    SELECT count(*)
+                    FROM commands c
+                    JOIN transfers t ON t.command_id = c.command_id
+                    WHERE t.from_account_id = ?
+                      AND c.status = 'APPLIED'
+                      AND c.applied_at IS NOT NULL
+                    """, Integer.class, id);
+                rows.add(role + " applied commands " + applied);
+            }
+            return rows;
+        }
+    }
+}